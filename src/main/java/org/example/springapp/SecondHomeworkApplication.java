@@ -4,11 +4,13 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 @SpringBootApplication(scanBasePackages = "org.example.springapp")
 @EnableJpaRepositories
 @EnableAspectJAutoProxy
+@EnableScheduling
 public class SecondHomeworkApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,65 @@
+package org.example.springapp.aspect;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.example.springapp.event.EntityChangedEvent;
+import org.example.springapp.service.CRUDService;
+import org.example.springapp.utils.enums.ChangeType;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Публикует {@link EntityChangedEvent} после успешных create/update/delete в реализациях {@link CRUDService}.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class EntityChangeAspect {
+    private final ApplicationEventPublisher publisher;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Pointcut("execution(* org.example.springapp.service.CRUDService+.create(..))")
+    public void createMethods() {
+    }
+
+    @Pointcut("execution(* org.example.springapp.service.CRUDService+.update(..))")
+    public void updateMethods() {
+    }
+
+    @Pointcut("execution(* org.example.springapp.service.CRUDService+.delete(..))")
+    public void deleteMethods() {
+    }
+
+    @AfterReturning(pointcut = "createMethods()", returning = "created")
+    public void afterCreate(final JoinPoint point, final Object created) {
+        publish(point, identifierOf(created), ChangeType.CREATED);
+    }
+
+    @AfterReturning(pointcut = "updateMethods()")
+    public void afterUpdate(final JoinPoint point) {
+        publish(point, identifierOf(point.getArgs()[0]), ChangeType.UPDATED);
+    }
+
+    @AfterReturning(pointcut = "deleteMethods()")
+    public void afterDelete(final JoinPoint point) {
+        publish(point, (Long) point.getArgs()[0], ChangeType.DELETED);
+    }
+
+    private void publish(final JoinPoint point, final Long id, final ChangeType changeType) {
+        var entityType = EntityTypes.of(point.getTarget());
+        if (entityType != null) {
+            publisher.publishEvent(new EntityChangedEvent(entityType, id, changeType));
+        }
+    }
+
+    private Long identifierOf(final Object entity) {
+        if (entity == null) {
+            return null;
+        }
+        return (Long) entityManagerFactory.getPersistenceUnitUtil().getIdentifier(entity);
+    }
+}
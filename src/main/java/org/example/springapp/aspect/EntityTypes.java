@@ -0,0 +1,27 @@
+package org.example.springapp.aspect;
+
+import org.example.springapp.service.CRUDService;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.ResolvableType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Определяет класс сущности, с которой работает реализация {@link CRUDService}.
+ */
+final class EntityTypes {
+    private static final Map<Class<?>, Class<?>> ENTITY_TYPES = new ConcurrentHashMap<>();
+
+    private EntityTypes() {
+    }
+
+    /**
+     * @param service реализация {@link CRUDService} или её прокси
+     * @return класс сущности или {@code null}, если его не удалось определить
+     */
+    static Class<?> of(final Object service) {
+        return ENTITY_TYPES.computeIfAbsent(AopUtils.getTargetClass(service), type ->
+                ResolvableType.forClass(type).as(CRUDService.class).resolveGeneric(0));
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.springapp.aspect;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.example.springapp.cache.HotKeyTracker;
+import org.springframework.stereotype.Component;
+
+/**
+ * Передаёт ключи запросов методов с {@link TrackHotKey} в {@link HotKeyTracker}.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class HotKeyAspect {
+    private final HotKeyTracker tracker;
+
+    @Before("@annotation(trackHotKey)")
+    public void record(final JoinPoint point, final TrackHotKey trackHotKey) {
+        var args = point.getArgs();
+        if (args.length > 0 && args[0] != null) {
+            tracker.record(trackHotKey.value(), String.valueOf(args[0]));
+        }
+    }
+}
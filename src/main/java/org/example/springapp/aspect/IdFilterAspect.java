@@ -0,0 +1,61 @@
+package org.example.springapp.aspect;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.example.springapp.cache.IdMembershipFilters;
+import org.example.springapp.exception.ResourceNotFoundException;
+import org.example.springapp.service.CRUDService;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Отклоняет getByID/getShapedById/update/delete реализаций {@link CRUDService} для идентификаторов,
+ * которых точно нет в базе, не обращаясь к кэшу и базе данных.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class IdFilterAspect {
+    private final IdMembershipFilters filters;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Around("execution(* org.example.springapp.service.CRUDService+.getByID(Long))"
+            + " || execution(* org.example.springapp.service.CRUDService+.getShapedById(Long, ..))"
+            + " || execution(* org.example.springapp.service.CRUDService+.delete(Long))")
+    public Object guardById(final ProceedingJoinPoint point) throws Throwable {
+        return guard(point, (Long) point.getArgs()[0]);
+    }
+
+    @Around("execution(* org.example.springapp.service.CRUDService+.update(..))")
+    public Object guardByEntity(final ProceedingJoinPoint point) throws Throwable {
+        var entity = point.getArgs()[0];
+        var id = entity == null ? null : (Long) entityManagerFactory.getPersistenceUnitUtil().getIdentifier(entity);
+        return guard(point, id);
+    }
+
+    private Object guard(final ProceedingJoinPoint point, final Long id) throws Throwable {
+        var entityType = EntityTypes.of(point.getTarget());
+        if (filters.isDefinitelyMissing(entityType, id)) {
+            throw new ResourceNotFoundException(displayName(entityType) + " with this id doesn't exist");
+        }
+        try {
+            return point.proceed();
+        } catch (ResourceNotFoundException e) {
+            filters.recordFalsePositive(entityType, id);
+            throw e;
+        }
+    }
+
+    /**
+     * Имя сущности в сообщениях сервисов: {@code TicketInfo} превращается в {@code Ticket info}.
+     */
+    static String displayName(final Class<?> entityType) {
+        var words = entityType.getSimpleName().replaceAll("(?<=[a-z])(?=[A-Z])", " ").toLowerCase();
+        return Character.toUpperCase(words.charAt(0)) + words.substring(1);
+    }
+}
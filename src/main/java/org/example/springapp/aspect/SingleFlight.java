@@ -0,0 +1,15 @@
+package org.example.springapp.aspect;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Помечает метод чтения, одновременные вызовы которого с одинаковыми аргументами
+ * выполняются один раз, а результат разделяется между всеми вызывающими.
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SingleFlight {
+}
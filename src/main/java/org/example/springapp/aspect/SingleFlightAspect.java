@@ -0,0 +1,96 @@
+package org.example.springapp.aspect;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.example.springapp.datasource.QueryDeadline;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Объединяет одновременные вызовы методов с {@link SingleFlight} по ключу "метод + аргументы".
+ * <p>
+ * Первый вызов выполняет загрузку, остальные ждут его результат или исключение.
+ * Аспект стоит внутри кэширующего совета и снаружи транзакционного,
+ * поэтому ожидающие потоки не занимают соединения с базой.
+ * </p>
+ * <p>
+ * Загрузка выполняется со сроком эндпоинта без учёта времени ожидания, переданного клиентом
+ * первого вызова. Время ожидания каждого клиента ограничивает только его собственное ожидание:
+ * по его истечении вызов завершается {@link QueryTimeoutException}, а загрузка продолжается для остальных.
+ * </p>
+ * Метрики: {@code singleflight.coalesced} — количество присоединившихся вызовов,
+ * {@code singleflight.wait} — время их ожидания.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.LOWEST_PRECEDENCE - 100)
+public class SingleFlightAspect {
+    private final MeterRegistry meterRegistry;
+    private final Map<FlightKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private record FlightKey(String method, List<Object> args) {
+    }
+
+    @Around("@annotation(org.example.springapp.aspect.SingleFlight)")
+    public Object coalesce(final ProceedingJoinPoint point) throws Throwable {
+        var key = new FlightKey(point.getSignature().toLongString(), Arrays.asList(point.getArgs()));
+        var flight = new CompletableFuture<>();
+        var leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            return await(leader, point.getSignature().toShortString());
+        }
+        var deadline = QueryDeadline.enterShared();
+        try {
+            var result = point.proceed();
+            flight.complete(result);
+            return result;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            QueryDeadline.restore(deadline);
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private Object await(final CompletableFuture<Object> leader, final String method) throws Throwable {
+        Counter.builder("singleflight.coalesced")
+                .description("Calls that joined an in-flight load instead of starting their own")
+                .tag("method", method)
+                .register(meterRegistry)
+                .increment();
+        long start = System.nanoTime();
+        var deadline = QueryDeadline.current();
+        try {
+            return deadline == null ? leader.get()
+                    : leader.get(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException("Query deadline expired while waiting for " + method);
+        } finally {
+            Timer.builder("singleflight.wait")
+                    .description("Time coalesced calls spent waiting for the in-flight load")
+                    .tag("method", method)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.springapp.aspect;
+
+import org.example.springapp.utils.enums.HotKeyType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Учитывает первый аргумент метода контроллера как ключ запроса указанного вида
+ * для поиска наиболее запрашиваемых ключей.
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TrackHotKey {
+    /**
+     * @return вид ключа
+     */
+    HotKeyType value();
+}
@@ -0,0 +1,35 @@
+package org.example.springapp.cache;
+
+/**
+ * Имена кэшей, используемых сервисным слоем.
+ */
+public final class CacheNames {
+    /**
+     * Кэш {@link org.example.springapp.model.Attraction} по ID.
+     */
+    public static final String ATTRACTIONS = "attractions";
+    /**
+     * Кэш {@link org.example.springapp.model.Address} по ID.
+     */
+    public static final String ADDRESSES = "addresses";
+    /**
+     * Кэш {@link org.example.springapp.model.Service} по ID.
+     */
+    public static final String SERVICES = "services";
+    /**
+     * Кэш {@link org.example.springapp.model.TicketInfo} по ID.
+     */
+    public static final String TICKETS = "tickets";
+    /**
+     * Кэш результатов поиска достопримечательностей по городу, региону и типу услуги.
+     */
+    public static final String ATTRACTION_SEARCH = "attractionSearch";
+    /**
+     * Кэш достопримечательностей и адресов по ID в форме, запрошенной параметрами {@code fields} и {@code expand}.
+     * Ключ содержит тип сущности, ID и {@link org.example.springapp.utils.fields.FieldSelection#cacheKey()}.
+     */
+    public static final String SHAPED_READS = "shapedReads";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.springapp.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.springapp.config.CatalogCacheProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Выполняет фоновое обновление устаревших записей кэша.
+ * <p>
+ * Для каждого ключа одновременно выполняется не больше одного обновления.
+ * Если очередь заполнена, обновление пропускается: запись останется устаревшей
+ * и будет обновлена при следующем обращении.
+ * </p>
+ */
+@Slf4j
+@Component
+public class CacheRefresher implements DisposableBean {
+    private final Executor executor;
+    private final Set<Object> inProgress = ConcurrentHashMap.newKeySet();
+
+    public CacheRefresher(final CatalogCacheProperties properties) {
+        this(new ThreadPoolExecutor(properties.getStale().getRefreshThreads(),
+                properties.getStale().getRefreshThreads(), 1, TimeUnit.MINUTES,
+                new ArrayBlockingQueue<>(properties.getStale().getRefreshQueueCapacity()),
+                new CustomizableThreadFactory("cache-refresh-")));
+    }
+
+    CacheRefresher(final Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Запланировать обновление записи, если оно ещё не выполняется.
+     *
+     * @param key     ключ записи, уникальный в пределах всех кэшей
+     * @param refresh действие, загружающее и сохраняющее новое значение
+     */
+    public void refresh(final Object key, final Runnable refresh) {
+        if (!inProgress.add(key)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    refresh.run();
+                } finally {
+                    inProgress.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inProgress.remove(key);
+            log.debug("Refresh of {} skipped: queue is full", key);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor instanceof ExecutorService service) {
+            service.shutdownNow();
+        }
+    }
+}
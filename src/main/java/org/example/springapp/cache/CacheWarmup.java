@@ -0,0 +1,184 @@
+package org.example.springapp.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.springapp.config.CatalogCacheProperties;
+import org.example.springapp.exception.ResourceNotFoundException;
+import org.example.springapp.service.impl.AddressService;
+import org.example.springapp.service.impl.AttractionService;
+import org.example.springapp.utils.enums.HotKeyType;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Прогревает кэши после старта наиболее запрашиваемыми ключами предыдущего запуска.
+ * <p>
+ * Ключи из {@link HotKeyTracker}, ответы на которые кэшируются, периодически и при остановке
+ * сохраняются в локальный файл по убыванию частоты. При старте они загружаются через сервисы
+ * в несколько потоков, поэтому нагрузка на базу ограничена {@code parallelism} запросами.
+ * Прогрев выполняется до перехода приложения в состояние готовности: Spring Boot сообщает
+ * {@code ACCEPTING_TRAFFIC} только после завершения всех {@link ApplicationRunner}.
+ * Если прогрев не уложился в {@code timeBudget}, оставшиеся ключи пропускаются.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.cache.warmup", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CacheWarmup implements ApplicationRunner, DisposableBean {
+    private static final char SEPARATOR = '\t';
+
+    private final HotKeyTracker tracker;
+    private final AttractionService attractionService;
+    private final AddressService addressService;
+    private final Path file;
+    private final int parallelism;
+    private final Duration timeBudget;
+
+    public CacheWarmup(final HotKeyTracker tracker, final AttractionService attractionService,
+                       final AddressService addressService, final CatalogCacheProperties properties) {
+        var warmup = properties.getWarmup();
+        this.tracker = tracker;
+        this.attractionService = attractionService;
+        this.addressService = addressService;
+        this.file = warmup.getFile();
+        this.parallelism = warmup.getParallelism();
+        this.timeBudget = warmup.getTimeBudget();
+    }
+
+    @Override
+    public void run(final ApplicationArguments args) throws InterruptedException {
+        var keys = readKeys();
+        if (keys.isEmpty()) {
+            return;
+        }
+        long started = System.nanoTime();
+        var warmed = new AtomicInteger();
+        var executor = Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("cache-warmup-"));
+        for (var key : keys) {
+            executor.execute(() -> {
+                if (warm(key)) {
+                    warmed.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(timeBudget.toMillis(), TimeUnit.MILLISECONDS)) {
+            executor.shutdownNow();
+            log.warn("Cache warmup stopped after {}: {} of {} keys loaded", timeBudget, warmed.get(), keys.size());
+            return;
+        }
+        log.info("Cache warmup loaded {} of {} keys in {} ms", warmed.get(), keys.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    /**
+     * Сохранить текущие часто запрашиваемые ключи.
+     * Пустой набор не сохраняется, чтобы только что запущенный экземпляр не стёр ключи предыдущего.
+     */
+    @Scheduled(fixedDelayString = "${app.cache.warmup.persist-interval:PT1M}",
+            initialDelayString = "${app.cache.warmup.persist-interval:PT1M}")
+    public void persist() {
+        var lines = tracker.hotKeys().stream()
+                .filter(hotKey -> hotKey.type().cacheKey(hotKey.value()) != null)
+                .map(hotKey -> hotKey.type().name() + SEPARATOR + hotKey.value())
+                .toList();
+        if (lines.isEmpty()) {
+            return;
+        }
+        try {
+            var parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            var temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            Files.write(temporary, lines, StandardCharsets.UTF_8);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not save hot keys to {}: {}", file, e.toString());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        persist();
+    }
+
+    /**
+     * Ключ, сохранённый для прогрева.
+     *
+     * @param type  вид ключа
+     * @param value значение ключа из запроса
+     */
+    record WarmupKey(HotKeyType type, String value) {
+    }
+
+    List<WarmupKey> readKeys() {
+        if (!Files.isReadable(file)) {
+            return List.of();
+        }
+        List<WarmupKey> keys = new ArrayList<>();
+        try {
+            for (var line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                int separator = line.indexOf(SEPARATOR);
+                if (separator < 0) {
+                    continue;
+                }
+                try {
+                    var type = HotKeyType.valueOf(line.substring(0, separator));
+                    var value = line.substring(separator + 1);
+                    if (type.cacheKey(value) != null) {
+                        keys.add(new WarmupKey(type, value));
+                    }
+                } catch (IllegalArgumentException e) {
+                    log.debug("Skipping hot key line {}", line);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not read hot keys from {}: {}", file, e.toString());
+        }
+        return keys;
+    }
+
+    /**
+     * Загрузить ключ в кэш. Для достопримечательности прогревается и её адрес.
+     *
+     * @return {@code true}, если ключ загружен
+     */
+    private boolean warm(final WarmupKey key) {
+        try {
+            switch (key.type()) {
+                case ATTRACTION_ID -> {
+                    var attraction = attractionService.getByID(Long.valueOf(key.value()));
+                    if (attraction.getAddress() != null) {
+                        addressService.getByID(attraction.getAddress().getId());
+                    }
+                }
+                case CITY -> attractionService.searchAttractionsByCity(key.value());
+                case REGION -> attractionService.searchAttractionsByRegion(key.value());
+                default -> {
+                    return false;
+                }
+            }
+            return true;
+        } catch (ResourceNotFoundException e) {
+            return false;
+        } catch (RuntimeException e) {
+            log.debug("Warmup of {} failed: {}", key, e.toString());
+            return false;
+        }
+    }
+}
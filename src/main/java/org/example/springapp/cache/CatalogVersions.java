@@ -0,0 +1,125 @@
+package org.example.springapp.cache;
+
+import org.example.springapp.event.EntityChangedEvent;
+import org.example.springapp.repository.CatalogVersionRepository;
+import org.example.springapp.repository.CatalogVersionRepository.TableVersion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Вычисляет ETag и Last-Modified по версиям таблиц, из которых строится ответ.
+ * <p>
+ * Версии таблиц читаются из {@code catalog_version} и хранятся в снимке не дольше {@code version-ttl};
+ * локальные изменения делают снимок устаревшим сразу после коммита. Устаревший снимок обновляет
+ * один запрос, остальные в это время получают валидаторы по предыдущему снимку и не ждут базу.
+ * </p>
+ */
+@Component
+public class CatalogVersions {
+    private final CatalogVersionRepository repository;
+    private final Duration versionTtl;
+    private final Clock clock = Clock.systemUTC();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final AtomicLong changes = new AtomicLong();
+
+    /**
+     * Версии таблиц на момент чтения.
+     *
+     * @param versions версии по именам таблиц
+     * @param loadedAt время чтения
+     * @param changes  количество локальных изменений, известных к началу чтения
+     */
+    private record Snapshot(Map<String, TableVersion> versions, Instant loadedAt, long changes) {
+    }
+
+    public CatalogVersions(final CatalogVersionRepository repository,
+                           @Value("${app.conditional-get.version-ttl:1s}") final Duration versionTtl) {
+        this.repository = repository;
+        this.versionTtl = versionTtl;
+    }
+
+    /**
+     * Валидаторы ответа.
+     *
+     * @param etag         слабый ETag
+     * @param lastModified время последнего изменения в миллисекундах
+     */
+    public record Validators(String etag, long lastModified) {
+    }
+
+    /**
+     * Рассчитать валидаторы для ответа, который строится из указанных таблиц.
+     *
+     * @param tables имена таблиц
+     * @return ETag и Last-Modified ответа
+     */
+    public Validators validatorsFor(final Collection<String> tables) {
+        var current = currentVersions();
+        var fingerprint = new StringBuilder();
+        var lastModified = Instant.EPOCH;
+        for (var table : tables) {
+            var version = current.get(table);
+            if (version == null) {
+                continue;
+            }
+            fingerprint.append(table).append(':').append(version.version())
+                    .append(':').append(version.lastUpdated()).append(';');
+            lastModified = latest(lastModified, version.lastUpdated());
+        }
+        var hash = DigestUtils.md5DigestAsHex(fingerprint.toString().getBytes(StandardCharsets.UTF_8));
+        return new Validators("W/\"" + hash + "\"", lastModified.toEpochMilli());
+    }
+
+    /**
+     * Помечает снимок версий устаревшим после локального изменения.
+     *
+     * @param event событие изменения сущности
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(final EntityChangedEvent event) {
+        changes.incrementAndGet();
+    }
+
+    private Map<String, TableVersion> currentVersions() {
+        var current = snapshot.get();
+        if (current == null) {
+            return refresh().versions();
+        }
+        if (isUpToDate(current) || !refreshing.compareAndSet(false, true)) {
+            return current.versions();
+        }
+        try {
+            return refresh().versions();
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private Snapshot refresh() {
+        var observed = changes.get();
+        var loaded = new Snapshot(repository.findTableVersions(), clock.instant(), observed);
+        snapshot.set(loaded);
+        return loaded;
+    }
+
+    private boolean isUpToDate(final Snapshot current) {
+        return current.changes() == changes.get() && !current.loadedAt().plus(versionTtl).isBefore(clock.instant());
+    }
+
+    private static Instant latest(final Instant first, final Instant second) {
+        return second != null && second.isAfter(first) ? second : first;
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.springapp.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Потокобезопасный count-min sketch: приблизительные частоты ключей в памяти фиксированного размера.
+ * Оценка частоты никогда не меньше истинной и превышает её не больше чем на долю порядка
+ * {@code e / width} от общего числа учтённых событий с вероятностью {@code 1 - e^-depth}.
+ */
+public class CountMinSketch {
+    private final int depth;
+    private final int width;
+    private final AtomicLongArray counters;
+
+    /**
+     * @param depth количество строк (хэш-функций)
+     * @param width количество счётчиков в строке
+     */
+    public CountMinSketch(final int depth, final int width) {
+        this.depth = depth;
+        this.width = width;
+        this.counters = new AtomicLongArray(depth * width);
+    }
+
+    /**
+     * Учесть одно появление ключа.
+     *
+     * @param key ключ
+     * @return оценка частоты ключа с учётом этого появления
+     */
+    public long increment(final Object key) {
+        int hash = key.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(hash, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * @param key ключ
+     * @return оценка частоты ключа
+     */
+    public long estimate(final Object key) {
+        int hash = key.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(hash, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Уменьшить все счётчики вдвое, чтобы старые запросы весили меньше новых.
+     */
+    public void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, value -> value >>> 1);
+        }
+    }
+
+    private int index(final int hash, final int row) {
+        long h = (hash & 0xffffffffL) * 0x9E3779B97F4A7C15L + row * 0xC2B2AE3D27D4EB4FL;
+        h ^= h >>> 31;
+        h *= 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 29;
+        return row * width + (int) Math.floorMod(h, (long) width);
+    }
+}
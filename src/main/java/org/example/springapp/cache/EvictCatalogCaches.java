@@ -0,0 +1,24 @@
+package org.example.springapp.cache;
+
+import org.springframework.cache.annotation.CacheEvict;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Полностью очищает кэши связанных сущностей каталога после успешного выполнения метода.
+ * <p>
+ * {@link org.example.springapp.model.Attraction}, {@link org.example.springapp.model.Address}
+ * и {@link org.example.springapp.model.TicketInfo} сериализуются вместе друг с другом,
+ * поэтому изменение любой из них делает неактуальными закэшированные графы остальных
+ * и результаты поиска достопримечательностей.
+ * </p>
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@CacheEvict(cacheNames = {CacheNames.ATTRACTIONS, CacheNames.ADDRESSES, CacheNames.TICKETS,
+        CacheNames.ATTRACTION_SEARCH, CacheNames.SHAPED_READS}, allEntries = true)
+public @interface EvictCatalogCaches {
+}
@@ -0,0 +1,146 @@
+package org.example.springapp.cache;
+
+import org.example.springapp.config.CatalogCacheProperties;
+import org.example.springapp.utils.enums.HotKeyType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Находит наиболее запрашиваемые ключи: идентификаторы достопримечательностей, города, регионы и названия.
+ * <p>
+ * Частоты всех ключей оцениваются одним {@link CountMinSketch}, а для каждого вида ключа хранятся
+ * только {@code topK} самых частых. Счётчики периодически уменьшаются вдвое, чтобы набор
+ * следовал за текущей нагрузкой. Ключи с оценкой не ниже {@code pinThreshold} закрепляются
+ * в соответствующих кэшах через {@link PinnedKeys}.
+ * </p>
+ */
+@Component
+public class HotKeyTracker {
+    private final CountMinSketch sketch;
+    private final Map<HotKeyType, TopK> top = new EnumMap<>(HotKeyType.class);
+    private final PinnedKeys pinnedKeys;
+    private final long pinThreshold;
+
+    /**
+     * Часто запрашиваемый ключ.
+     *
+     * @param type           вид ключа
+     * @param value          значение ключа из запроса
+     * @param estimatedCount оценка количества запросов с учётом затухания
+     */
+    public record HotKey(HotKeyType type, String value, long estimatedCount) {
+    }
+
+    public HotKeyTracker(final CatalogCacheProperties properties, final PinnedKeys pinnedKeys) {
+        var hotKeys = properties.getHotKeys();
+        this.sketch = new CountMinSketch(hotKeys.getSketchDepth(), hotKeys.getSketchWidth());
+        this.pinnedKeys = pinnedKeys;
+        this.pinThreshold = hotKeys.getPinThreshold();
+        for (var type : HotKeyType.values()) {
+            top.put(type, new TopK(hotKeys.getTopK()));
+        }
+    }
+
+    /**
+     * Учесть запрос ключа.
+     *
+     * @param type  вид ключа
+     * @param value значение ключа из запроса
+     */
+    public void record(final HotKeyType type, final String value) {
+        long estimate = sketch.increment(type.name() + ':' + value);
+        top.get(type).offer(value, estimate);
+    }
+
+    /**
+     * @return часто запрашиваемые ключи всех видов по убыванию частоты
+     */
+    public List<HotKey> hotKeys() {
+        List<HotKey> result = new ArrayList<>();
+        top.forEach((type, keys) -> keys.snapshot()
+                .forEach((value, count) -> result.add(new HotKey(type, value, count))));
+        result.sort(Comparator.comparingLong(HotKey::estimatedCount).reversed());
+        return result;
+    }
+
+    /**
+     * Уменьшить все частоты вдвое.
+     */
+    @Scheduled(fixedDelayString = "${app.cache.hot-keys.decay-interval:PT1M}",
+            initialDelayString = "${app.cache.hot-keys.decay-interval:PT1M}")
+    public void decay() {
+        sketch.halve();
+        top.values().forEach(TopK::halve);
+    }
+
+    /**
+     * Закрепить в кэшах ключи с частотой не ниже порога и открепить остальные.
+     */
+    @Scheduled(fixedDelayString = "${app.cache.hot-keys.pin-interval:PT10S}")
+    public void pin() {
+        Map<String, Set<Object>> byCache = new HashMap<>();
+        for (var type : HotKeyType.values()) {
+            if (type.getCacheName() != null) {
+                byCache.putIfAbsent(type.getCacheName(), new HashSet<>());
+            }
+        }
+        for (var hotKey : hotKeys()) {
+            var cacheKey = hotKey.type().cacheKey(hotKey.value());
+            if (cacheKey != null && hotKey.estimatedCount() >= pinThreshold) {
+                byCache.get(hotKey.type().getCacheName()).add(cacheKey);
+            }
+        }
+        byCache.forEach(pinnedKeys::update);
+    }
+
+    /**
+     * Самые частые ключи одного вида.
+     * Оценки count-min sketch между затуханиями только растут, поэтому ключ, оценка которого
+     * не больше наименьшей в заполненном наборе, отбрасывается без блокировки.
+     */
+    static final class TopK {
+        private final int capacity;
+        private final Map<String, Long> counts = new HashMap<>();
+        private volatile long threshold;
+
+        TopK(final int capacity) {
+            this.capacity = capacity;
+        }
+
+        void offer(final String key, final long estimate) {
+            if (estimate <= threshold) {
+                return;
+            }
+            synchronized (this) {
+                counts.merge(key, estimate, Math::max);
+                if (counts.size() > capacity) {
+                    counts.remove(minKey());
+                }
+                threshold = counts.size() < capacity ? 0 : counts.get(minKey());
+            }
+        }
+
+        synchronized void halve() {
+            counts.replaceAll((key, count) -> count >>> 1);
+            counts.values().removeIf(count -> count == 0);
+            threshold = counts.size() < capacity ? 0 : counts.get(minKey());
+        }
+
+        synchronized Map<String, Long> snapshot() {
+            return Map.copyOf(counts);
+        }
+
+        private String minKey() {
+            return counts.entrySet().stream().min(Map.Entry.comparingByValue()).orElseThrow().getKey();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.springapp.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Потокобезопасный фильтр Блума для идентификаторов сущностей.
+ * <p>
+ * {@link #mightContain(long)} никогда не возвращает {@code false} для добавленного идентификатора,
+ * но может вернуть {@code true} для отсутствующего с вероятностью {@link #expectedFalsePositiveRate()}.
+ * Удаление не поддерживается: удалённые идентификаторы исчезают при перестроении фильтра.
+ * </p>
+ */
+public class IdBloomFilter {
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final AtomicLong bitsSet = new AtomicLong();
+
+    /**
+     * @param expectedInsertions ожидаемое количество идентификаторов
+     * @param falsePositiveRate  допустимая доля ложноположительных ответов
+     */
+    public IdBloomFilter(final long expectedInsertions, final double falsePositiveRate) {
+        long n = Math.max(expectedInsertions, 1);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (LN2 * LN2));
+        this.words = new AtomicLongArray(Math.toIntExact((Math.max(bits, Long.SIZE) + Long.SIZE - 1) / Long.SIZE));
+        this.bitSize = (long) words.length() * Long.SIZE;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / n * LN2));
+    }
+
+    /**
+     * Добавить идентификатор.
+     *
+     * @param id идентификатор сущности
+     */
+    public void put(final long id) {
+        long h1 = mix(id);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitSize);
+            long mask = 1L << bit;
+            int index = (int) (bit >>> 6);
+            long previous = words.getAndAccumulate(index, mask, (word, m) -> word | m);
+            if ((previous & mask) == 0) {
+                bitsSet.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * @param id идентификатор сущности
+     * @return {@code false}, если идентификатор точно не добавлялся
+     */
+    public boolean mightContain(final long id) {
+        long h1 = mix(id);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitSize);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Ожидаемая доля ложноположительных ответов при текущей заполненности.
+     *
+     * @return вероятность от 0 до 1
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow((double) bitsSet.get() / bitSize, hashFunctions);
+    }
+
+    /**
+     * @return размер битового массива в байтах
+     */
+    public long memoryBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    /**
+     * Финализатор MurmurHash3: соседние идентификаторы попадают в далёкие биты.
+     */
+    private static long mix(final long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
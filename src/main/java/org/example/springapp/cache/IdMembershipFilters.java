@@ -0,0 +1,177 @@
+package org.example.springapp.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.springapp.config.CatalogCacheProperties;
+import org.example.springapp.event.EntityChangedEvent;
+import org.example.springapp.repository.CatalogIdRepository;
+import org.example.springapp.utils.enums.ChangeType;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+import static org.example.springapp.repository.CatalogVersionRepository.ENTITY_TABLES;
+
+/**
+ * Фильтры Блума существующих идентификаторов для каждой сущности каталога.
+ * <p>
+ * Фильтр строится по полному списку идентификаторов таблицы при старте и затем перестраивается
+ * с интервалом {@code app.cache.id-filter.rebuild-interval}, освобождаясь от удалённых строк.
+ * Созданные сущности добавляются в фильтр сразу после коммита.
+ * </p>
+ * Отклоняются только идентификаторы не больше максимального, найденного <b>предыдущим</b> перестроением,
+ * за вычетом {@code app.cache.id-filter.max-instances} блоков последовательности: строки с такими
+ * идентификаторами, закоммиченные позже, к этому моменту уже попали в фильтр. Блоки нужны потому,
+ * что каждый экземпляр выдаёт ID из своего блока, и другой экземпляр ещё может назначить ID ниже
+ * найденного максимума. Поэтому сразу после старта фильтр ничего не отклоняет,
+ * пока не пройдёт {@code app.cache.id-filter.settle-delay}.
+ * <p>
+ * Если уведомления других экземпляров пропущены, созданные ими ID могли не попасть в фильтр,
+ * поэтому после сброса всех кэшей фильтр сущности ничего не отклоняет до следующего перестроения.
+ * </p>
+ * <p>
+ * Метрики: {@code idfilter.expected.fpp} и {@code idfilter.memory} по каждой сущности,
+ * {@code idfilter.lookups} с результатом {@code rejected}, {@code passed} или {@code false_positive}.
+ * </p>
+ */
+@Slf4j
+@Component
+public class IdMembershipFilters {
+    private final CatalogIdRepository repository;
+    private final MeterRegistry meterRegistry;
+    private final double falsePositiveRate;
+    private final int maxInstances;
+    private final Map<Class<?>, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * Фильтр и границы доверия к нему.
+     *
+     * @param filter     фильтр идентификаторов
+     * @param scannedMax максимальный идентификатор, найденный при построении
+     * @param trustedMax идентификаторы не больше этого значения отклоняются фильтром
+     */
+    private record Snapshot(IdBloomFilter filter, long scannedMax, long trustedMax) {
+    }
+
+    public IdMembershipFilters(final CatalogIdRepository repository, final MeterRegistry meterRegistry,
+                               final CatalogCacheProperties properties) {
+        this.repository = repository;
+        this.meterRegistry = meterRegistry;
+        this.falsePositiveRate = properties.getIdFilter().getFalsePositiveRate();
+        this.maxInstances = properties.getIdFilter().getMaxInstances();
+        ENTITY_TABLES.keySet().forEach(type -> {
+            gauge("idfilter.expected.fpp", type, IdBloomFilter::expectedFalsePositiveRate, null);
+            gauge("idfilter.memory", type, IdBloomFilter::memoryBytes, "bytes");
+        });
+    }
+
+    /**
+     * Построить фильтры при старте приложения.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    /**
+     * Перестроить фильтры всех сущностей.
+     * Если таблица недоступна, продолжает работать предыдущий фильтр.
+     */
+    @Scheduled(initialDelayString = "${app.cache.id-filter.settle-delay:PT30S}",
+            fixedDelayString = "${app.cache.id-filter.rebuild-interval:PT10M}")
+    public synchronized void rebuild() {
+        ENTITY_TABLES.forEach((type, table) -> {
+            try {
+                var filter = new IdBloomFilter(Math.max(repository.countRows(table) * 2, 1_024), falsePositiveRate);
+                long[] max = {0};
+                repository.forEachId(table, id -> {
+                    filter.put(id);
+                    max[0] = Math.max(max[0], id);
+                });
+                var margin = repository.sequenceIncrement(table) * maxInstances;
+                var previous = snapshots.get(type);
+                var trustedMax = previous == null ? 0 : previous.scannedMax() - margin;
+                snapshots.put(type, new Snapshot(filter, max[0], trustedMax));
+            } catch (DataAccessException e) {
+                log.warn("Id filter for {} was not rebuilt: {}", table, e.toString());
+            }
+        });
+    }
+
+    /**
+     * Проверить, что сущности с таким идентификатором точно нет.
+     *
+     * @param type класс сущности
+     * @param id   идентификатор
+     * @return {@code true}, если запрос к базе можно не выполнять
+     */
+    public boolean isDefinitelyMissing(final Class<?> type, final Long id) {
+        var snapshot = id == null ? null : snapshots.get(type);
+        if (snapshot == null || id > snapshot.trustedMax()) {
+            return false;
+        }
+        boolean missing = !snapshot.filter().mightContain(id);
+        lookups(type, missing ? "rejected" : "passed").increment();
+        return missing;
+    }
+
+    /**
+     * Учесть идентификатор, пропущенный фильтром, но не найденный в базе.
+     *
+     * @param type класс сущности
+     * @param id   идентификатор
+     */
+    public void recordFalsePositive(final Class<?> type, final Long id) {
+        var snapshot = id == null ? null : snapshots.get(type);
+        if (snapshot != null && id <= snapshot.trustedMax()) {
+            lookups(type, "false_positive").increment();
+        }
+    }
+
+    /**
+     * Добавляет созданную сущность в фильтр.
+     * Если изменённая сущность неизвестна, фильтр перестаёт отклонять ID до следующего перестроения.
+     *
+     * @param event событие изменения сущности
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(final EntityChangedEvent event) {
+        if (event.id() == null) {
+            snapshots.computeIfPresent(event.entityType(),
+                    (type, snapshot) -> new Snapshot(snapshot.filter(), snapshot.scannedMax(), Long.MIN_VALUE));
+            return;
+        }
+        var snapshot = snapshots.get(event.entityType());
+        if (snapshot != null && event.changeType() == ChangeType.CREATED) {
+            snapshot.filter().put(event.id());
+        }
+    }
+
+    private Counter lookups(final Class<?> type, final String result) {
+        return Counter.builder("idfilter.lookups")
+                .description("Id filter checks by outcome")
+                .tag("entity", type.getSimpleName())
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private void gauge(final String name, final Class<?> type, final ToDoubleFunction<IdBloomFilter> value,
+                       final String baseUnit) {
+        Gauge.builder(name, snapshots, map -> {
+                    var snapshot = map.get(type);
+                    return snapshot == null ? 0 : value.applyAsDouble(snapshot.filter());
+                })
+                .tag("entity", type.getSimpleName())
+                .baseUnit(baseUnit)
+                .register(meterRegistry);
+    }
+}
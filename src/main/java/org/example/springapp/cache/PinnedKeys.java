@@ -0,0 +1,69 @@
+package org.example.springapp.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Ключи записей, которые кэши не должны вытеснять ни по размеру, ни по времени жизни.
+ * <p>
+ * Кэш регистрирует действие, пересчитывающее вес и срок жизни записи. Оно вызывается для каждого
+ * ключа, который был закреплён или откреплён, чтобы изменение применилось и к уже сохранённым записям.
+ * </p>
+ */
+@Component
+public class PinnedKeys {
+    private final Map<String, Set<Object>> pinned = new ConcurrentHashMap<>();
+    private final Map<String, Consumer<Object>> repinActions = new ConcurrentHashMap<>();
+
+    /**
+     * @param cache имя кэша
+     * @param key   ключ записи
+     * @return {@code true}, если запись закреплена
+     */
+    public boolean isPinned(final String cache, final Object key) {
+        return pinned.getOrDefault(cache, Set.of()).contains(key);
+    }
+
+    /**
+     * @param cache имя кэша
+     * @return закреплённые ключи кэша
+     */
+    public Set<Object> pinned(final String cache) {
+        return pinned.getOrDefault(cache, Set.of());
+    }
+
+    /**
+     * Зарегистрировать действие, применяющее закрепление к сохранённой записи.
+     *
+     * @param cache  имя кэша
+     * @param action действие над ключом записи
+     */
+    public void onChange(final String cache, final Consumer<Object> action) {
+        repinActions.put(cache, action);
+    }
+
+    /**
+     * Заменить закреплённые ключи кэша.
+     *
+     * @param cache имя кэша
+     * @param keys  новые закреплённые ключи
+     */
+    public void update(final String cache, final Set<Object> keys) {
+        var previous = pinned.put(cache, Set.copyOf(keys));
+        var action = repinActions.get(cache);
+        if (action == null) {
+            return;
+        }
+        Set<Object> changed = new HashSet<>(keys);
+        if (previous != null) {
+            changed.removeAll(previous);
+            previous.stream().filter(key -> !keys.contains(key)).forEach(changed::add);
+        }
+        changed.forEach(action);
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.springapp.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.example.springapp.cache.l2.TwoTierCache;
+import org.example.springapp.event.EntityChangedEvent;
+import org.example.springapp.model.Service;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Сбрасывает кэши сервисного слоя при изменениях, выполненных другими экземплярами приложения.
+ * Повторяет сброс, который {@link EvictCatalogCaches} и аннотации {@code ServiceService}
+ * выполняют для локальных изменений.
+ */
+@Component
+@RequiredArgsConstructor
+public class RemoteCacheInvalidator {
+    private static final List<String> CATALOG_CACHES = List.of(Objects.requireNonNull(
+            AnnotationUtils.findAnnotation(EvictCatalogCaches.class, CacheEvict.class)).cacheNames());
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Сбрасывает кэши, зависящие от изменённой сущности.
+     *
+     * @param event событие изменения сущности
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(final EntityChangedEvent event) {
+        if (!event.remote()) {
+            return;
+        }
+        if (event.entityType() == Service.class) {
+            var services = cacheManager.getCache(CacheNames.SERVICES);
+            if (services != null && event.id() != null) {
+                services.evict(event.id());
+            } else if (services != null) {
+                services.clear();
+            }
+            clear(CacheNames.ATTRACTION_SEARCH);
+            clear(CacheNames.SHAPED_READS);
+        } else {
+            CATALOG_CACHES.forEach(this::clear);
+        }
+    }
+
+    /**
+     * Второй уровень общий для всех экземпляров и уже очищен экземпляром, выполнившим изменение.
+     */
+    private void clear(final String name) {
+        var cache = cacheManager.getCache(name);
+        if (cache instanceof TwoTierCache twoTier) {
+            twoTier.clearLocal();
+        } else if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package org.example.springapp.cache;
+
+import org.example.springapp.config.ReplicaProperties;
+import org.example.springapp.event.EntityChangedEvent;
+import org.example.springapp.model.Address;
+import org.example.springapp.model.Attraction;
+import org.example.springapp.model.Service;
+import org.example.springapp.model.TicketInfo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Хранит уже сериализованные ответы эндпоинтов {@code /all} вместе с их сжатыми вариантами.
+ * <p>
+ * Запись эндпоинта сбрасывается при изменении любой сущности, которая попадает в его JSON,
+ * и пересобирается при следующем запросе.
+ * </p>
+ * <p>
+ * Ответ хранится без срока жизни, поэтому пересборку сразу после сброса нельзя читать с реплики:
+ * она может ещё не получить изменение, и старые данные остались бы в кэше до следующей записи.
+ * В течение {@code primaryAfterInvalidation} после сброса пересборка выполняется на основной базе.
+ * </p>
+ */
+@Component
+public class SerializedResponseCache {
+    private static final Set<Class<?>> CATALOG_GRAPH = Set.of(Attraction.class, Address.class, TicketInfo.class);
+    /**
+     * Сводки достопримечательностей содержат типы услуг, поэтому их ответ зависит и от {@link Service}.
+     */
+    private static final Set<Class<?>> ATTRACTION_SUMMARIES =
+            Set.of(Attraction.class, Address.class, TicketInfo.class, Service.class);
+
+    private final Map<String, Slot> slots = Map.of(
+            "/api/attractions/all", new Slot(ATTRACTION_SUMMARIES),
+            "/api/addresses/all", new Slot(CATALOG_GRAPH),
+            "/api/tickets/all", new Slot(CATALOG_GRAPH),
+            "/api/services/all", new Slot(Set.of(Service.class))
+    );
+    private final long primaryAfterInvalidationNanos;
+
+    public SerializedResponseCache() {
+        this(Duration.ZERO);
+    }
+
+    public SerializedResponseCache(final Duration primaryAfterInvalidation) {
+        this.primaryAfterInvalidationNanos = primaryAfterInvalidation.toNanos();
+    }
+
+    @Autowired
+    public SerializedResponseCache(final Optional<ReplicaProperties> replica) {
+        this(ReplicaProperties.replicationWindow(replica));
+    }
+
+    /**
+     * Закэшированный ответ.
+     *
+     * @param contentType тип содержимого ответа
+     * @param identity    тело ответа без сжатия
+     * @param gzip        тело ответа, сжатое gzip
+     */
+    public record CachedResponse(String contentType, byte[] identity, byte[] gzip) {
+    }
+
+    /**
+     * Проверяет, кэшируется ли ответ эндпоинта.
+     *
+     * @param endpoint путь запроса
+     * @return {@code true}, если эндпоинт кэшируется
+     */
+    public boolean isCached(final String endpoint) {
+        return slots.containsKey(endpoint);
+    }
+
+    /**
+     * Возвращает закэшированный ответ эндпоинта.
+     *
+     * @param endpoint путь запроса
+     * @return ответ или {@code null}, если его нужно построить заново
+     */
+    public CachedResponse get(final String endpoint) {
+        return slots.get(endpoint).response;
+    }
+
+    /**
+     * Возвращает текущее поколение эндпоинта.
+     * Его нужно запомнить до построения ответа и передать в {@link #store}.
+     *
+     * @param endpoint путь запроса
+     * @return номер поколения
+     */
+    public long generation(final String endpoint) {
+        return slots.get(endpoint).generation;
+    }
+
+    /**
+     * Проверяет, нужно ли строить ответ эндпоинта на основной базе.
+     *
+     * @param endpoint путь запроса
+     * @return {@code true}, если ответ сбрасывался недавно и реплика может ещё не получить изменение
+     */
+    public boolean rebuildsOnPrimary(final String endpoint) {
+        var invalidatedAt = slots.get(endpoint).invalidatedAt;
+        return invalidatedAt != null && System.nanoTime() - invalidatedAt < primaryAfterInvalidationNanos;
+    }
+
+    /**
+     * Сохраняет ответ, если с момента начала его построения данные не менялись.
+     *
+     * @param endpoint    путь запроса
+     * @param generation  поколение, полученное до построения ответа
+     * @param contentType тип содержимого ответа
+     * @param body        тело ответа
+     */
+    public void store(final String endpoint, final long generation, final String contentType, final byte[] body) {
+        var slot = slots.get(endpoint);
+        var response = new CachedResponse(contentType, body, gzip(body));
+        synchronized (slot) {
+            if (slot.generation == generation) {
+                slot.response = response;
+            }
+        }
+    }
+
+    /**
+     * Сбрасывает ответы эндпоинтов, зависящих от изменённой сущности.
+     *
+     * @param event событие изменения сущности
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(final EntityChangedEvent event) {
+        slots.values().stream()
+                .filter(slot -> slot.dependencies.contains(event.entityType()))
+                .forEach(Slot::invalidate);
+    }
+
+    private static byte[] gzip(final byte[] body) {
+        var bytes = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (var gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static final class Slot {
+        private final Set<Class<?>> dependencies;
+        private volatile long generation;
+        private volatile CachedResponse response;
+        private volatile Long invalidatedAt;
+
+        private Slot(final Set<Class<?>> dependencies) {
+            this.dependencies = dependencies;
+        }
+
+        private synchronized void invalidate() {
+            generation++;
+            response = null;
+            invalidatedAt = System.nanoTime();
+        }
+    }
+}
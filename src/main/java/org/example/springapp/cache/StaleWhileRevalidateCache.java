@@ -0,0 +1,251 @@
+package org.example.springapp.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.example.springapp.datasource.ReadRouting;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientException;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Кэш со сроком свежести записей и отдачей устаревших данных.
+ * <ul>
+ *     <li>свежая запись отдаётся сразу;</li>
+ *     <li>запись старше {@code freshFor} отдаётся сразу, а её обновление выполняется в фоне;</li>
+ *     <li>запись, сброшенная после изменения данных, загружается заново, но если база недоступна
+ *     или перегружена, отдаётся последнее известное значение;</li>
+ *     <li>отсутствующая запись загружается, ошибки загрузки пробрасываются как есть.</li>
+ * </ul>
+ * Каждый ответ с устаревшими данными получает заголовок {@value #STALE_HEADER} и {@code Cache-Control: no-store}.
+ * Срок хранения записей (и устаревших тоже) задаётся {@code expireAfterWrite} нативного кэша.
+ * Класс наследует {@link CaffeineCache}, поэтому actuator продолжает собирать для него метрики.
+ * <p>
+ * Устаревшие значения может отдавать только {@link #get(Object, Callable)}, то есть
+ * {@code @Cacheable(sync = true)}, так как фоновому обновлению нужен загрузчик.
+ * </p>
+ * <p>
+ * Сброс записи означает, что данные только что изменились на основной базе, а реплика может их ещё
+ * не получить. Поэтому в течение {@code primaryAfterInvalidation} после сброса загрузки выполняются
+ * на основной базе, см. {@link ReadRouting}, иначе в кэш на весь срок свежести попало бы старое значение.
+ * </p>
+ */
+@Slf4j
+public class StaleWhileRevalidateCache extends CaffeineCache {
+    /**
+     * Заголовок ответа, построенного из устаревших данных.
+     */
+    public static final String STALE_HEADER = "X-Cache-Stale";
+
+    private final Cache<Object, Object> cache;
+    private final long freshForNanos;
+    private final CacheRefresher refresher;
+    private final Ticker ticker;
+    private final AtomicLong generation = new AtomicLong();
+    private final long primaryAfterInvalidationNanos;
+    private volatile long invalidatedAt;
+
+    private record Stamped(Object value, long loadedAt, boolean invalidated) {
+        Stamped invalidate() {
+            return new Stamped(value, loadedAt, true);
+        }
+
+        Stamped copy() {
+            return new Stamped(value, loadedAt, invalidated);
+        }
+    }
+
+    public StaleWhileRevalidateCache(final String name, final Cache<Object, Object> cache, final Duration freshFor,
+                                     final CacheRefresher refresher, final Ticker ticker) {
+        this(name, cache, freshFor, refresher, ticker, Duration.ZERO);
+    }
+
+    public StaleWhileRevalidateCache(final String name, final Cache<Object, Object> cache, final Duration freshFor,
+                                     final CacheRefresher refresher, final Ticker ticker,
+                                     final Duration primaryAfterInvalidation) {
+        super(name, cache);
+        this.cache = cache;
+        this.freshForNanos = freshFor.toNanos();
+        this.refresher = refresher;
+        this.ticker = ticker;
+        this.primaryAfterInvalidationNanos = primaryAfterInvalidation.toNanos();
+        this.invalidatedAt = ticker.read() - primaryAfterInvalidationNanos;
+    }
+
+    /**
+     * Значение записи без служебных полей, используется весами нативного кэша.
+     *
+     * @param stored значение, хранящееся в нативном кэше
+     * @return значение, сохранённое в кэш
+     */
+    public static Object unwrap(final Object stored) {
+        return stored instanceof Stamped stamped ? stamped.value() : stored;
+    }
+
+    @Override
+    protected Object lookup(final Object key) {
+        var entry = (Stamped) cache.getIfPresent(key);
+        return entry != null && isFresh(entry) ? entry.value() : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final Object key, final Callable<T> valueLoader) {
+        var entry = (Stamped) cache.getIfPresent(key);
+        if (entry != null && isFresh(entry)) {
+            return (T) fromStoreValue(entry.value());
+        }
+        long observed = generation.get();
+        if (entry != null && !entry.invalidated()) {
+            refresher.refresh(new SimpleKey(getName(), key), () -> refresh(key, valueLoader, observed));
+            markStale();
+            return (T) fromStoreValue(entry.value());
+        }
+        try {
+            T value = load(valueLoader);
+            store(key, value, observed);
+            return value;
+        } catch (Exception e) {
+            if (entry != null && isOutage(e)) {
+                log.warn("Serving stale {} entry {}: {}", getName(), key, e.toString());
+                markStale();
+                return (T) fromStoreValue(entry.value());
+            }
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(final Object key, final Object value) {
+        cache.put(key, stamp(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(final Object key, final Object value) {
+        var stamped = stamp(value);
+        var result = (Stamped) cache.asMap().merge(key, stamped,
+                (current, ignored) -> ((Stamped) current).invalidated() ? stamped : current);
+        return result == stamped ? null : toValueWrapper(result.value());
+    }
+
+    /**
+     * Помечает запись недействительной, оставляя её значение на случай недоступности базы.
+     */
+    @Override
+    public void evict(final Object key) {
+        evictIfPresent(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(final Object key) {
+        invalidated();
+        var previous = (Stamped) cache.asMap().computeIfPresent(key, (k, v) -> ((Stamped) v).invalidate());
+        return previous != null;
+    }
+
+    /**
+     * Помечает все записи недействительными, оставляя их значения на случай недоступности базы.
+     */
+    @Override
+    public void clear() {
+        invalidated();
+        cache.asMap().replaceAll((key, value) -> ((Stamped) value).invalidate());
+    }
+
+    /**
+     * Перезаписывает запись тем же значением и сроком свежести, чтобы нативный кэш заново
+     * вычислил её вес и срок хранения, например после закрепления ключа в {@link PinnedKeys}.
+     *
+     * @param key ключ записи
+     */
+    public void repin(final Object key) {
+        cache.asMap().computeIfPresent(key, (k, v) -> ((Stamped) v).copy());
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean notEmpty = !cache.asMap().isEmpty();
+        clear();
+        return notEmpty;
+    }
+
+    private void refresh(final Object key, final Callable<?> valueLoader, final long observed) {
+        try {
+            store(key, load(valueLoader), observed);
+        } catch (Exception e) {
+            log.warn("Background refresh of {} entry {} failed: {}", getName(), key, e.toString());
+        }
+    }
+
+    private void invalidated() {
+        invalidatedAt = ticker.read();
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Загружает значение, направляя чтения на основную базу, если кэш недавно сбрасывался.
+     */
+    private <T> T load(final Callable<T> valueLoader) throws Exception {
+        if (ticker.read() - invalidatedAt < primaryAfterInvalidationNanos) {
+            return ReadRouting.onPrimary(valueLoader);
+        }
+        return valueLoader.call();
+    }
+
+    /**
+     * Сохраняет загруженное значение. Если во время загрузки кэш был сброшен,
+     * значение могло устареть, поэтому запись сразу помечается недействительной.
+     */
+    private void store(final Object key, final Object value, final long observed) {
+        cache.put(key, stamp(value));
+        if (generation.get() != observed) {
+            cache.asMap().computeIfPresent(key, (k, v) -> ((Stamped) v).invalidate());
+        }
+    }
+
+    private Stamped stamp(final Object value) {
+        return new Stamped(toStoreValue(value), ticker.read(), false);
+    }
+
+    private boolean isFresh(final Stamped entry) {
+        return !entry.invalidated() && ticker.read() - entry.loadedAt() < freshForNanos;
+    }
+
+    /**
+     * Ошибка означает недоступность или перегрузку базы, а не отсутствие данных.
+     */
+    static boolean isOutage(final Throwable exception) {
+        for (var cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataAccessResourceFailureException
+                    || cause instanceof TransientDataAccessException
+                    || cause instanceof CannotCreateTransactionException
+                    || cause instanceof SQLTransientException
+                    || cause instanceof SQLNonTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void markStale() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletResponse response = attributes.getResponse();
+            if (response != null && !response.isCommitted()) {
+                response.setHeader(STALE_HEADER, "true");
+                response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+            }
+        }
+    }
+}
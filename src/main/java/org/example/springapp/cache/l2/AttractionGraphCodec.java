@@ -0,0 +1,397 @@
+package org.example.springapp.cache.l2;
+
+import org.example.springapp.dto.AttractionSummary;
+import org.example.springapp.model.Address;
+import org.example.springapp.model.Attraction;
+import org.example.springapp.model.TicketInfo;
+import org.example.springapp.utils.enums.AttractionType;
+import org.example.springapp.utils.enums.ServiceType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Двоичное кодирование достопримечательностей и списков достопримечательностей для второго уровня кэша.
+ * <p>
+ * Кодируется тот же граф, что попадает в JSON ответа: достопримечательность, её адрес со всеми
+ * достопримечательностями по этому адресу и информация о билетах. Каждый объект записывается один раз,
+ * ссылки между объектами хранятся как номера. Услуги в JSON не попадают и не кодируются,
+ * у раскодированных достопримечательностей {@code services} равно {@code null}.
+ * </p>
+ * <p>
+ * Результаты поиска хранятся как списки {@link AttractionSummary} и кодируются построчно, без графа.
+ * </p>
+ */
+public class AttractionGraphCodec {
+    private static final byte VERSION = 2;
+    private static final byte SINGLE = 1;
+    private static final byte LIST = 2;
+    private static final byte SUMMARIES = 3;
+    private static final int NONE = -1;
+
+    /**
+     * @param value значение кэша
+     * @return {@code true}, если значение можно закодировать
+     */
+    public boolean supports(final Object value) {
+        return value instanceof Attraction
+                || value instanceof List<?> list && (list.stream().allMatch(Attraction.class::isInstance)
+                || list.stream().allMatch(AttractionSummary.class::isInstance));
+    }
+
+    /**
+     * Закодировать достопримечательность или список достопримечательностей.
+     *
+     * @param value значение, для которого {@link #supports(Object)} вернул {@code true}
+     * @return закодированное значение
+     */
+    @SuppressWarnings("unchecked")
+    public byte[] encode(final Object value) {
+        if (value instanceof List<?> list && !list.isEmpty() && list.get(0) instanceof AttractionSummary) {
+            return encodeSummaries((List<AttractionSummary>) value);
+        }
+        var roots = value instanceof Attraction attraction ? List.of(attraction) : (List<Attraction>) value;
+        var graph = new Graph();
+        roots.forEach(graph::add);
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeByte(value instanceof Attraction ? SINGLE : LIST);
+            writeVarInt(out, graph.addresses.size());
+            writeVarInt(out, graph.attractions.size());
+            writeVarInt(out, graph.tickets.size());
+            for (var address : graph.addresses) {
+                writeLong(out, address.getId());
+                writeInteger(out, address.getBuilding());
+                writeString(out, address.getStreet());
+                writeString(out, address.getRegion());
+                writeString(out, address.getCity());
+                writeDouble(out, address.getLatitude());
+                writeDouble(out, address.getLongitude());
+                writeInstant(out, address.getUpdatedAt());
+                var attractions = address.getAttraction();
+                writeVarInt(out, attractions == null ? NONE : attractions.size());
+                if (attractions != null) {
+                    for (var attraction : attractions) {
+                        writeVarInt(out, graph.indexOf(attraction));
+                    }
+                }
+            }
+            for (var attraction : graph.attractions) {
+                writeLong(out, attraction.getId());
+                writeString(out, attraction.getName());
+                writeString(out, attraction.getDescription());
+                writeString(out, attraction.getAttractionType() == null ? null : attraction.getAttractionType().name());
+                writeInstant(out, attraction.getUpdatedAt());
+                writeVarInt(out, graph.indexOf(attraction.getAddress()));
+                writeVarInt(out, graph.indexOf(attraction.getTicketInfo()));
+            }
+            for (var ticket : graph.tickets) {
+                writeLong(out, ticket.getId());
+                writeDecimal(out, ticket.getPrice());
+                writeString(out, ticket.getCurrency());
+                writeBoolean(out, ticket.getAvailability());
+                writeInstant(out, ticket.getUpdatedAt());
+                writeVarInt(out, graph.indexOf(ticket.getAttraction()));
+            }
+            writeVarInt(out, roots.size());
+            for (var root : roots) {
+                writeVarInt(out, graph.indexOf(root));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Раскодировать значение.
+     *
+     * @param bytes результат {@link #encode(Object)}
+     * @return достопримечательность, список достопримечательностей или список кратких описаний
+     * @throws IllegalArgumentException если данные повреждены или записаны другой версией кодека
+     */
+    public Object decode(final byte[] bytes) {
+        try (var in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (in.readByte() != VERSION) {
+                throw new IllegalArgumentException("Unsupported encoding version");
+            }
+            byte kind = in.readByte();
+            if (kind == SUMMARIES) {
+                return readSummaries(in);
+            }
+            var addresses = new Address[readVarInt(in)];
+            var attractions = new Attraction[readVarInt(in)];
+            var tickets = new TicketInfo[readVarInt(in)];
+            for (int i = 0; i < addresses.length; i++) {
+                addresses[i] = new Address();
+            }
+            for (int i = 0; i < attractions.length; i++) {
+                attractions[i] = new Attraction();
+            }
+            for (int i = 0; i < tickets.length; i++) {
+                tickets[i] = new TicketInfo();
+            }
+            for (var address : addresses) {
+                address.setId(readLong(in));
+                address.setBuilding(readInteger(in));
+                address.setStreet(readString(in));
+                address.setRegion(readString(in));
+                address.setCity(readString(in));
+                address.setLatitude(readDouble(in));
+                address.setLongitude(readDouble(in));
+                address.setUpdatedAt(readInstant(in));
+                int count = readVarInt(in);
+                if (count != NONE) {
+                    List<Attraction> list = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        list.add(attractions[readVarInt(in)]);
+                    }
+                    address.setAttraction(list);
+                }
+            }
+            for (var attraction : attractions) {
+                attraction.setId(readLong(in));
+                attraction.setName(readString(in));
+                attraction.setDescription(readString(in));
+                var type = readString(in);
+                attraction.setAttractionType(type == null ? null : AttractionType.valueOf(type));
+                attraction.setUpdatedAt(readInstant(in));
+                attraction.setAddress(reference(addresses, readVarInt(in)));
+                attraction.setTicketInfo(reference(tickets, readVarInt(in)));
+            }
+            for (var ticket : tickets) {
+                ticket.setId(readLong(in));
+                ticket.setPrice(readDecimal(in));
+                ticket.setCurrency(readString(in));
+                ticket.setAvailability(readBoolean(in));
+                ticket.setUpdatedAt(readInstant(in));
+                ticket.setAttraction(reference(attractions, readVarInt(in)));
+            }
+            List<Attraction> roots = new ArrayList<>();
+            for (int i = readVarInt(in); i > 0; i--) {
+                roots.add(attractions[readVarInt(in)]);
+            }
+            return kind == SINGLE ? roots.get(0) : roots;
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("Corrupted attraction graph", e);
+        }
+    }
+
+    private byte[] encodeSummaries(final List<AttractionSummary> summaries) {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeByte(SUMMARIES);
+            writeVarInt(out, summaries.size());
+            for (var summary : summaries) {
+                writeLong(out, summary.id());
+                writeString(out, summary.name());
+                writeString(out, summary.attractionType() == null ? null : summary.attractionType().name());
+                writeString(out, summary.city());
+                writeString(out, summary.region());
+                writeDecimal(out, summary.price());
+                writeString(out, summary.currency());
+                writeVarInt(out, summary.serviceTypes().size());
+                for (var type : summary.serviceTypes()) {
+                    writeString(out, type.name());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<AttractionSummary> readSummaries(final DataInputStream in) throws IOException {
+        int count = readVarInt(in);
+        List<AttractionSummary> summaries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            var id = readLong(in);
+            var name = readString(in);
+            var type = readString(in);
+            var city = readString(in);
+            var region = readString(in);
+            var price = readDecimal(in);
+            var currency = readString(in);
+            List<ServiceType> serviceTypes = new ArrayList<>();
+            for (int j = readVarInt(in); j > 0; j--) {
+                serviceTypes.add(ServiceType.valueOf(readString(in)));
+            }
+            summaries.add(new AttractionSummary(id, name, type == null ? null : AttractionType.valueOf(type),
+                    city, region, price, currency, serviceTypes));
+        }
+        return summaries;
+    }
+
+    /**
+     * Объекты графа в порядке обхода.
+     */
+    private static final class Graph {
+        private final List<Address> addresses = new ArrayList<>();
+        private final List<Attraction> attractions = new ArrayList<>();
+        private final List<TicketInfo> tickets = new ArrayList<>();
+        private final Map<Object, Integer> indexes = new IdentityHashMap<>();
+
+        void add(final Attraction attraction) {
+            if (register(attraction, attractions)) {
+                add(attraction.getAddress());
+                add(attraction.getTicketInfo());
+            }
+        }
+
+        void add(final Address address) {
+            if (register(address, addresses) && address.getAttraction() != null) {
+                address.getAttraction().forEach(this::add);
+            }
+        }
+
+        void add(final TicketInfo ticket) {
+            if (register(ticket, tickets)) {
+                add(ticket.getAttraction());
+            }
+        }
+
+        int indexOf(final Object value) {
+            return value == null ? NONE : indexes.get(value);
+        }
+
+        private <T> boolean register(final T value, final List<T> list) {
+            if (value == null || indexes.containsKey(value)) {
+                return false;
+            }
+            indexes.put(value, list.size());
+            list.add(value);
+            return true;
+        }
+    }
+
+    private static <T> T reference(final T[] values, final int index) {
+        return index == NONE ? null : values[index];
+    }
+
+    /**
+     * Беззнаковое число переменной длины, {@link #NONE} записывается как 0, остальные значения сдвинуты на 1.
+     */
+    private static void writeVarInt(final DataOutputStream out, final int value) throws IOException {
+        int rest = value + 1;
+        while ((rest & ~0x7F) != 0) {
+            out.writeByte((rest & 0x7F) | 0x80);
+            rest >>>= 7;
+        }
+        out.writeByte(rest);
+    }
+
+    private static int readVarInt(final DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value - 1;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static void writeLong(final DataOutputStream out, final Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readLong(final DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static void writeInteger(final DataOutputStream out, final Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(final DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    private static void writeDouble(final DataOutputStream out, final Double value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeDouble(value);
+        }
+    }
+
+    private static Double readDouble(final DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readDouble() : null;
+    }
+
+    private static void writeBoolean(final DataOutputStream out, final Boolean value) throws IOException {
+        out.writeByte(value == null ? 0 : value ? 1 : 2);
+    }
+
+    private static Boolean readBoolean(final DataInputStream in) throws IOException {
+        byte value = in.readByte();
+        return value == 0 ? null : value == 1;
+    }
+
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, NONE);
+            return;
+        }
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(final DataInputStream in) throws IOException {
+        int length = readVarInt(in);
+        return length == NONE ? null : new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private static void writeDecimal(final DataOutputStream out, final BigDecimal value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, NONE);
+            return;
+        }
+        var unscaled = value.unscaledValue().toByteArray();
+        writeVarInt(out, unscaled.length);
+        out.write(unscaled);
+        out.writeInt(value.scale());
+    }
+
+    private static BigDecimal readDecimal(final DataInputStream in) throws IOException {
+        int length = readVarInt(in);
+        if (length == NONE) {
+            return null;
+        }
+        var unscaled = new BigInteger(in.readNBytes(length));
+        return new BigDecimal(unscaled, in.readInt());
+    }
+
+    private static void writeInstant(final DataOutputStream out, final Instant value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.getEpochSecond());
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static Instant readInstant(final DataInputStream in) throws IOException {
+        return in.readBoolean() ? Instant.ofEpochSecond(in.readLong(), in.readInt()) : null;
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.springapp.cache.l2;
+
+/**
+ * Ошибка доступа к хранилищу второго уровня кэша.
+ */
+public class L2CacheException extends RuntimeException {
+    public L2CacheException(final String message) {
+        super(message);
+    }
+
+    public L2CacheException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.springapp.cache.l2;
+
+import java.time.Duration;
+
+/**
+ * Общее для всех экземпляров приложения хранилище второго уровня кэша.
+ * <p>
+ * Хранилище работает с уже закодированными значениями. Ошибки доступа реализации сообщают через
+ * {@link L2CacheException}, вызывающий код считает их промахом и продолжает работу без второго уровня.
+ * </p>
+ */
+public interface L2CacheStore {
+
+    /**
+     * Получить значение.
+     *
+     * @param cache имя кэша
+     * @param key   ключ записи
+     * @return закодированное значение или {@code null}, если записи нет
+     */
+    byte[] get(String cache, String key);
+
+    /**
+     * Сохранить значение.
+     *
+     * @param cache      имя кэша
+     * @param key        ключ записи
+     * @param value      закодированное значение
+     * @param timeToLive время жизни записи
+     */
+    void put(String cache, String key, byte[] value, Duration timeToLive);
+
+    /**
+     * Удалить запись.
+     *
+     * @param cache имя кэша
+     * @param key   ключ записи
+     */
+    void evict(String cache, String key);
+
+    /**
+     * Удалить все записи кэша.
+     *
+     * @param cache имя кэша
+     */
+    void clear(String cache);
+
+    /**
+     * Забыть сведения о кэше, сохранённые этим экземпляром, например номер поколения.
+     * Вызывается, когда кэш очищен другим экземпляром, чтобы следующее чтение не вернуло записи до очистки.
+     *
+     * @param cache имя кэша
+     */
+    default void forget(String cache) {
+    }
+}
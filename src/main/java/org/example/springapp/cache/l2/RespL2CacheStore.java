@@ -0,0 +1,249 @@
+package org.example.springapp.cache.l2;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.springapp.config.CatalogCacheProperties;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link L2CacheStore} поверх протокола Redis (RESP), совместимый с Redis, Valkey и KeyDB.
+ * <p>
+ * Использует только {@code GET}, {@code SET ... PX}, {@code DEL} и {@code INCR}.
+ * Очистка кэша не перебирает ключи: номер поколения кэша входит в каждый ключ,
+ * {@link #clear(String)} увеличивает его, а старые записи удаляются по истечении времени жизни.
+ * Номер поколения читается не чаще раза в {@code generation-ttl} и перечитывается сразу
+ * после {@link #forget(String)}, когда об очистке сообщил другой экземпляр.
+ * </p>
+ * После ошибки соединения хранилище не используется {@code retry-after}, чтобы запросы
+ * не ждали таймаут каждый раз, пока сервер недоступен.
+ */
+@Slf4j
+public class RespL2CacheStore implements L2CacheStore, Closeable {
+    private final String host;
+    private final int port;
+    private final int timeoutMillis;
+    private final String keyPrefix;
+    private final long generationTtlNanos;
+    private final long retryAfterNanos;
+    private final BlockingQueue<Connection> idle;
+    private final Map<String, Generation> generations = new ConcurrentHashMap<>();
+
+    private volatile long unavailableUntil;
+
+    private record Generation(long value, long readAt) {
+    }
+
+    private record ErrorReply(String message) {
+    }
+
+    public RespL2CacheStore(final CatalogCacheProperties.L2 properties) {
+        this.host = properties.getHost();
+        this.port = properties.getPort();
+        this.timeoutMillis = Math.toIntExact(properties.getTimeout().toMillis());
+        this.keyPrefix = properties.getKeyPrefix();
+        this.generationTtlNanos = properties.getGenerationTtl().toNanos();
+        this.retryAfterNanos = properties.getRetryAfter().toNanos();
+        this.idle = new ArrayBlockingQueue<>(properties.getPoolSize());
+    }
+
+    @Override
+    public byte[] get(final String cache, final String key) {
+        return (byte[]) execute("GET", dataKey(cache, key));
+    }
+
+    @Override
+    public void put(final String cache, final String key, final byte[] value, final Duration timeToLive) {
+        execute("SET", dataKey(cache, key), value, "PX", timeToLive.toMillis());
+    }
+
+    @Override
+    public void evict(final String cache, final String key) {
+        execute("DEL", dataKey(cache, key));
+    }
+
+    @Override
+    public void clear(final String cache) {
+        generations.remove(cache);
+        var generation = (Long) execute("INCR", generationKey(cache));
+        generations.put(cache, new Generation(generation, System.nanoTime()));
+    }
+
+    @Override
+    public void forget(final String cache) {
+        generations.remove(cache);
+    }
+
+    @Override
+    public void close() {
+        for (var connection = idle.poll(); connection != null; connection = idle.poll()) {
+            connection.close();
+        }
+    }
+
+    private String dataKey(final String cache, final String key) {
+        return keyPrefix + ':' + cache + ':' + generation(cache) + ':' + key;
+    }
+
+    private String generationKey(final String cache) {
+        return keyPrefix + ':' + cache + ":generation";
+    }
+
+    private long generation(final String cache) {
+        long now = System.nanoTime();
+        var cached = generations.get(cache);
+        if (cached != null && now - cached.readAt() < generationTtlNanos) {
+            return cached.value();
+        }
+        var raw = (byte[]) execute("GET", generationKey(cache));
+        long value = raw == null ? 0 : Long.parseLong(new String(raw, StandardCharsets.US_ASCII));
+        generations.put(cache, new Generation(value, now));
+        return value;
+    }
+
+    private Object execute(final Object... command) {
+        if (System.nanoTime() - unavailableUntil < 0) {
+            throw new L2CacheException("L2 store " + host + ':' + port + " is unavailable");
+        }
+        var connection = idle.poll();
+        try {
+            if (connection == null) {
+                connection = new Connection(host, port, timeoutMillis);
+            }
+            var reply = connection.execute(command);
+            if (!idle.offer(connection)) {
+                connection.close();
+            }
+            if (reply instanceof ErrorReply error) {
+                throw new L2CacheException("L2 store rejected " + command[0] + ": " + error.message());
+            }
+            return reply;
+        } catch (IOException e) {
+            if (connection != null) {
+                connection.close();
+            }
+            unavailableUntil = System.nanoTime() + retryAfterNanos;
+            log.warn("L2 store {}:{} failed, bypassing it for {} ms: {}",
+                    host, port, retryAfterNanos / 1_000_000, e.toString());
+            throw new L2CacheException("L2 store " + host + ':' + port + " failed", e);
+        }
+    }
+
+    /**
+     * Соединение с сервером. Команда и ответ кодируются по RESP2.
+     */
+    private static final class Connection implements Closeable {
+        private final Socket socket;
+        private final InputStream in;
+        private final BufferedOutputStream out;
+
+        Connection(final String host, final int port, final int timeoutMillis) throws IOException {
+            socket = new Socket();
+            try {
+                socket.connect(new InetSocketAddress(host, port), timeoutMillis);
+                socket.setSoTimeout(timeoutMillis);
+                socket.setTcpNoDelay(true);
+                in = new BufferedInputStream(socket.getInputStream());
+                out = new BufferedOutputStream(socket.getOutputStream());
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        Object execute(final Object[] command) throws IOException {
+            writeHeader('*', command.length);
+            for (var argument : command) {
+                var bytes = argument instanceof byte[] raw
+                        ? raw : String.valueOf(argument).getBytes(StandardCharsets.UTF_8);
+                writeHeader('$', bytes.length);
+                out.write(bytes);
+                out.write('\r');
+                out.write('\n');
+            }
+            out.flush();
+            return read();
+        }
+
+        private void writeHeader(final char type, final int length) throws IOException {
+            out.write(type);
+            out.write(Integer.toString(length).getBytes(StandardCharsets.US_ASCII));
+            out.write('\r');
+            out.write('\n');
+        }
+
+        private Object read() throws IOException {
+            int type = in.read();
+            var line = readLine();
+            return switch (type) {
+                case '+' -> line;
+                case '-' -> new ErrorReply(line);
+                case ':' -> Long.parseLong(line);
+                case '$' -> readBulk(Integer.parseInt(line));
+                case '*' -> readArray(Integer.parseInt(line));
+                case -1 -> throw new EOFException("Connection closed by server");
+                default -> throw new IOException("Unexpected RESP reply type: " + (char) type);
+            };
+        }
+
+        private byte[] readBulk(final int length) throws IOException {
+            if (length < 0) {
+                return null;
+            }
+            var bytes = in.readNBytes(length);
+            if (bytes.length != length || in.read() != '\r' || in.read() != '\n') {
+                throw new EOFException("Truncated bulk reply");
+            }
+            return bytes;
+        }
+
+        private List<Object> readArray(final int length) throws IOException {
+            if (length < 0) {
+                return null;
+            }
+            List<Object> items = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                items.add(read());
+            }
+            return items;
+        }
+
+        private String readLine() throws IOException {
+            var line = new ByteArrayOutputStream();
+            for (int b = in.read(); b != '\r'; b = in.read()) {
+                if (b == -1) {
+                    throw new EOFException("Connection closed by server");
+                }
+                line.write(b);
+            }
+            if (in.read() != '\n') {
+                throw new IOException("Malformed RESP line");
+            }
+            return line.toString(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // соединение всё равно больше не используется
+            }
+        }
+    }
+}
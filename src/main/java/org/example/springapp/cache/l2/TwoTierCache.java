@@ -0,0 +1,192 @@
+package org.example.springapp.cache.l2;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.example.springapp.cache.StaleWhileRevalidateCache;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Двухуровневый кэш: локальный {@link StaleWhileRevalidateCache} и общее хранилище {@link L2CacheStore}.
+ * <p>
+ * При промахе первого уровня значение сначала ищется во втором, и только затем загружается из базы
+ * и записывается в оба уровня. Поэтому новый экземпляр приложения заполняет локальный кэш
+ * значениями, уже загруженными другими экземплярами. Недоступность второго уровня считается промахом.
+ * Очистка и удаление записей выполняются на обоих уровнях, кроме {@link #clearLocal()},
+ * который используется для изменений, уже очищенных в хранилище другим экземпляром.
+ * </p>
+ * Фоновое обновление устаревшей записи тоже читает второй уровень, поэтому время жизни записей
+ * второго уровня стоит держать не больше срока свежести первого.
+ */
+@Slf4j
+public class TwoTierCache implements Cache {
+    @Getter
+    private final StaleWhileRevalidateCache local;
+    private final L2CacheStore shared;
+    private final AttractionGraphCodec codec;
+    private final Duration sharedTimeToLive;
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder localMisses = new LongAdder();
+    private final LongAdder sharedHits = new LongAdder();
+    private final LongAdder sharedMisses = new LongAdder();
+    private final LongAdder sharedErrors = new LongAdder();
+
+    public TwoTierCache(final StaleWhileRevalidateCache local, final L2CacheStore shared,
+                        final AttractionGraphCodec codec, final Duration sharedTimeToLive) {
+        this.local = local;
+        this.shared = shared;
+        this.codec = codec;
+        this.sharedTimeToLive = sharedTimeToLive;
+    }
+
+    @Override
+    public String getName() {
+        return local.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(final Object key) {
+        var wrapper = local.get(key);
+        if (wrapper != null) {
+            localHits.increment();
+            return wrapper;
+        }
+        localMisses.increment();
+        var value = readShared(key);
+        if (value == null) {
+            return null;
+        }
+        local.put(key, value);
+        return new SimpleValueWrapper(value);
+    }
+
+    @Override
+    public <T> T get(final Object key, final Class<T> type) {
+        var wrapper = get(key);
+        var value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return type == null ? null : type.cast(value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final Object key, final Callable<T> valueLoader) {
+        boolean[] missed = {false};
+        T value = local.get(key, () -> {
+            missed[0] = true;
+            var cached = (T) readShared(key);
+            if (cached != null) {
+                return cached;
+            }
+            T loaded = valueLoader.call();
+            writeShared(key, loaded);
+            return loaded;
+        });
+        (missed[0] ? localMisses : localHits).increment();
+        return value;
+    }
+
+    @Override
+    public void put(final Object key, final Object value) {
+        local.put(key, value);
+        writeShared(key, value);
+    }
+
+    @Override
+    public void evict(final Object key) {
+        local.evict(key);
+        try {
+            shared.evict(getName(), key.toString());
+        } catch (L2CacheException e) {
+            sharedErrors.increment();
+        }
+    }
+
+    @Override
+    public void clear() {
+        local.clear();
+        try {
+            shared.clear(getName());
+        } catch (L2CacheException e) {
+            sharedErrors.increment();
+            log.warn("L2 cache {} was not cleared, entries expire in {}", getName(), sharedTimeToLive);
+        }
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean notEmpty = local.invalidate();
+        clear();
+        return notEmpty;
+    }
+
+    /**
+     * Очистить только первый уровень. Сведения о втором уровне, сохранённые этим экземпляром,
+     * сбрасываются, чтобы следующий промах не заполнил первый уровень записями до очистки.
+     */
+    public void clearLocal() {
+        shared.forget(getName());
+        local.clear();
+    }
+
+    public long localHits() {
+        return localHits.sum();
+    }
+
+    public long localMisses() {
+        return localMisses.sum();
+    }
+
+    public long sharedHits() {
+        return sharedHits.sum();
+    }
+
+    public long sharedMisses() {
+        return sharedMisses.sum();
+    }
+
+    public long sharedErrors() {
+        return sharedErrors.sum();
+    }
+
+    private Object readShared(final Object key) {
+        try {
+            var bytes = shared.get(getName(), key.toString());
+            if (bytes == null) {
+                sharedMisses.increment();
+                return null;
+            }
+            var value = codec.decode(bytes);
+            sharedHits.increment();
+            return value;
+        } catch (L2CacheException | IllegalArgumentException e) {
+            sharedErrors.increment();
+            sharedMisses.increment();
+            log.debug("L2 cache {} read of {} failed: {}", getName(), key, e.toString());
+            return null;
+        }
+    }
+
+    private void writeShared(final Object key, final Object value) {
+        if (!codec.supports(value)) {
+            return;
+        }
+        try {
+            shared.put(getName(), key.toString(), codec.encode(value), sharedTimeToLive);
+        } catch (L2CacheException e) {
+            sharedErrors.increment();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.springapp.cache.l2;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Метрики {@link TwoTierCache}: стандартные метрики Caffeine для первого уровня и отдельные счётчики уровней.
+ * <ul>
+ *     <li>{@code cache.tier.gets{tier=l1|l2, result=hit|miss}} — обращения к каждому уровню;</li>
+ *     <li>{@code cache.tier.hit.ratio{tier=l1|l2}} — доля попаданий уровня;</li>
+ *     <li>{@code cache.tier.errors{tier=l2}} — ошибки доступа ко второму уровню.</li>
+ * </ul>
+ */
+public class TwoTierCacheMeterBinderProvider implements CacheMeterBinderProvider<TwoTierCache> {
+
+    @Override
+    public MeterBinder getMeterBinder(final TwoTierCache cache, final Iterable<Tag> tags) {
+        return registry -> {
+            new CaffeineCacheMetrics<>(cache.getLocal().getNativeCache(), cache.getName(), tags).bindTo(registry);
+            var cacheTags = Tags.of(tags).and("cache", cache.getName());
+            tier(registry, cacheTags.and("tier", "l1"), cache, TwoTierCache::localHits, TwoTierCache::localMisses);
+            tier(registry, cacheTags.and("tier", "l2"), cache, TwoTierCache::sharedHits, TwoTierCache::sharedMisses);
+            FunctionCounter.builder("cache.tier.errors", cache, TwoTierCache::sharedErrors)
+                    .tags(cacheTags.and("tier", "l2"))
+                    .description("Failed L2 cache operations")
+                    .register(registry);
+        };
+    }
+
+    private static void tier(final MeterRegistry registry, final Tags tags,
+                             final TwoTierCache cache, final ToLongFunction<TwoTierCache> hits,
+                             final ToLongFunction<TwoTierCache> misses) {
+        FunctionCounter.builder("cache.tier.gets", cache, c -> hits.applyAsLong(c))
+                .tags(tags.and("result", "hit"))
+                .register(registry);
+        FunctionCounter.builder("cache.tier.gets", cache, c -> misses.applyAsLong(c))
+                .tags(tags.and("result", "miss"))
+                .register(registry);
+        Gauge.builder("cache.tier.hit.ratio", cache, c -> {
+                    long hit = hits.applyAsLong(c);
+                    long total = hit + misses.applyAsLong(c);
+                    return total == 0 ? 0 : (double) hit / total;
+                })
+                .tags(tags)
+                .register(registry);
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.springapp.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Конфигурация пакетного создания сущностей.
+ */
+@Configuration
+@EnableConfigurationProperties(BatchInsertProperties.class)
+public class BatchInsertConfig {
+}
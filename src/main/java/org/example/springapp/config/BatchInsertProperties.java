@@ -0,0 +1,22 @@
+package org.example.springapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Настройки пакетного создания сущностей.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.batch-insert")
+public class BatchInsertProperties {
+    /**
+     * Максимальное количество сущностей в одном запросе.
+     */
+    private int maxItems = 10_000;
+    /**
+     * Количество строк, отправляемых в базу одним пакетом JDBC.
+     */
+    private int jdbcBatchSize = 500;
+}
@@ -0,0 +1,169 @@
+package org.example.springapp.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.example.springapp.cache.CacheNames;
+import org.example.springapp.cache.CacheRefresher;
+import org.example.springapp.cache.PinnedKeys;
+import org.example.springapp.cache.StaleWhileRevalidateCache;
+import org.example.springapp.cache.l2.AttractionGraphCodec;
+import org.example.springapp.cache.l2.L2CacheStore;
+import org.example.springapp.cache.l2.RespL2CacheStore;
+import org.example.springapp.cache.l2.TwoTierCache;
+import org.example.springapp.cache.l2.TwoTierCacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Конфигурация кэшей сущностей.
+ * Все кэши отдают устаревшие записи, пока идёт фоновое обновление или база недоступна,
+ * см. {@link StaleWhileRevalidateCache}.
+ * Если настроено общее хранилище ({@code app.cache.l2.type}), кэши достопримечательностей
+ * и результатов поиска становятся двухуровневыми, см. {@link TwoTierCache}.
+ * Записи с ключами из {@link PinnedKeys} не учитываются в ограничении размера и не истекают.
+ * При чтении с реплик кэши загружают записи на основной базе, пока после сброса не пройдёт
+ * допустимое отставание реплики и интервал его проверки.
+ * Кэши создаются при старте, поэтому actuator регистрирует для них метрики
+ * {@code cache.gets}, {@code cache.puts} и {@code cache.evictions}.
+ */
+@Configuration
+@EnableCaching(order = CacheConfig.CACHE_ADVICE_ORDER)
+@EnableConfigurationProperties({CatalogCacheProperties.class, InvalidationProperties.class})
+public class CacheConfig {
+    /**
+     * Порядок кэширующего совета: он выполняется раньше
+     * {@link org.example.springapp.aspect.SingleFlightAspect} и транзакций,
+     * поэтому попадание в кэш не открывает транзакцию и не ждёт чужую загрузку.
+     */
+    public static final int CACHE_ADVICE_ORDER = Ordered.LOWEST_PRECEDENCE - 200;
+
+    /**
+     * Менеджер кэшей с ограничением по размеру и времени жизни записей.
+     *
+     * @param properties настройки кэшей
+     * @param refresher  исполнитель фонового обновления записей
+     * @param sharedStore общее хранилище второго уровня, если оно настроено
+     * @param pinnedKeys  закреплённые ключи
+     * @param replica     настройки реплик, если чтение с реплик включено
+     * @return менеджер кэшей
+     */
+    @Bean
+    public CacheManager cacheManager(final CatalogCacheProperties properties, final CacheRefresher refresher,
+                                     final Optional<L2CacheStore> sharedStore, final PinnedKeys pinnedKeys,
+                                     final Optional<ReplicaProperties> replica) {
+        var stale = properties.getStale();
+        var primaryAfterInvalidation = ReplicaProperties.replicationWindow(replica);
+        List<Cache> caches = new ArrayList<>();
+        Stream.of(CacheNames.ADDRESSES, CacheNames.SERVICES, CacheNames.TICKETS, CacheNames.SHAPED_READS)
+                .map(name -> entityCache(name, properties.getEntity(), stale, refresher, pinnedKeys,
+                        primaryAfterInvalidation))
+                .forEach(caches::add);
+        var attractions = entityCache(CacheNames.ATTRACTIONS, properties.getEntity(), stale, refresher, pinnedKeys,
+                primaryAfterInvalidation);
+        var search = searchCache(properties.getSearch(), stale, refresher, pinnedKeys, primaryAfterInvalidation);
+        Stream.of(attractions, search).forEach(cache -> pinnedKeys.onChange(cache.getName(), cache::repin));
+        if (sharedStore.isPresent()) {
+            var codec = new AttractionGraphCodec();
+            var timeToLive = properties.getL2().getTimeToLive();
+            caches.add(new TwoTierCache(attractions, sharedStore.get(), codec, timeToLive));
+            caches.add(new TwoTierCache(search, sharedStore.get(), codec, timeToLive));
+        } else {
+            caches.add(attractions);
+            caches.add(search);
+        }
+
+        var manager = new SimpleCacheManager();
+        manager.setCaches(caches);
+        return manager;
+    }
+
+    /**
+     * Общее хранилище второго уровня на сервере Redis или совместимом с ним.
+     *
+     * @param properties настройки кэшей
+     * @return хранилище второго уровня
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "app.cache.l2", name = "type", havingValue = "resp")
+    public RespL2CacheStore respL2CacheStore(final CatalogCacheProperties properties) {
+        return new RespL2CacheStore(properties.getL2());
+    }
+
+    /**
+     * Метрики двухуровневых кэшей для actuator.
+     *
+     * @return поставщик метрик
+     */
+    @Bean
+    public TwoTierCacheMeterBinderProvider twoTierCacheMeterBinderProvider() {
+        return new TwoTierCacheMeterBinderProvider();
+    }
+
+    private StaleWhileRevalidateCache entityCache(final String name, final CatalogCacheProperties.Entity entity,
+                                                  final CatalogCacheProperties.Stale stale,
+                                                  final CacheRefresher refresher, final PinnedKeys pinnedKeys,
+                                                  final Duration primaryAfterInvalidation) {
+        return new StaleWhileRevalidateCache(name, Caffeine.newBuilder()
+                .maximumWeight(entity.getMaximumSize())
+                .weigher((key, value) -> pinnedKeys.isPinned(name, key) ? 0 : 1)
+                .expireAfter(expireUnlessPinned(name, entity.getTimeToLive().plus(stale.getRetention()), pinnedKeys))
+                .recordStats()
+                .build(), entity.getTimeToLive(), refresher, Ticker.systemTicker(), primaryAfterInvalidation);
+    }
+
+    private StaleWhileRevalidateCache searchCache(final CatalogCacheProperties.Search search,
+                                                  final CatalogCacheProperties.Stale stale, final CacheRefresher refresher,
+                                                  final PinnedKeys pinnedKeys, final Duration primaryAfterInvalidation) {
+        var name = CacheNames.ATTRACTION_SEARCH;
+        return new StaleWhileRevalidateCache(name, Caffeine.newBuilder()
+                .maximumWeight(search.getMaximumWeight())
+                .weigher((key, value) -> pinnedKeys.isPinned(name, key) ? 0
+                        : StaleWhileRevalidateCache.unwrap(value) instanceof Collection<?> list ? list.size() + 1 : 1)
+                .expireAfter(expireUnlessPinned(name, search.getTimeToLive().plus(stale.getRetention()), pinnedKeys))
+                .recordStats()
+                .build(), search.getTimeToLive(), refresher, Ticker.systemTicker(), primaryAfterInvalidation);
+    }
+
+    /**
+     * Срок хранения записи отсчитывается от её записи или перезаписи, закреплённые записи не истекают.
+     * Закрепление влияет только на хранение: свежесть записи по-прежнему проверяет
+     * {@link StaleWhileRevalidateCache}, поэтому закреплённая запись обновляется в фоне как обычно.
+     */
+    private static Expiry<Object, Object> expireUnlessPinned(final String cache, final Duration lifetime,
+                                                             final PinnedKeys pinnedKeys) {
+        long lifetimeNanos = lifetime.toNanos();
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(final Object key, final Object value, final long currentTime) {
+                return pinnedKeys.isPinned(cache, key) ? Long.MAX_VALUE : lifetimeNanos;
+            }
+
+            @Override
+            public long expireAfterUpdate(final Object key, final Object value, final long currentTime,
+                                          final long currentDuration) {
+                return expireAfterCreate(key, value, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(final Object key, final Object value, final long currentTime,
+                                        final long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+}
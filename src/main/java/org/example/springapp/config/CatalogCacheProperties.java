@@ -0,0 +1,239 @@
+package org.example.springapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Настройки кэшей сервисного слоя.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.cache")
+public class CatalogCacheProperties {
+
+    /**
+     * Настройки кэшей сущностей по ID.
+     */
+    private final Entity entity = new Entity();
+
+    /**
+     * Настройки кэша результатов поиска.
+     */
+    private final Search search = new Search();
+
+    /**
+     * Настройки отдачи устаревших записей.
+     */
+    private final Stale stale = new Stale();
+
+    /**
+     * Настройки фильтров существующих идентификаторов.
+     */
+    private final IdFilter idFilter = new IdFilter();
+
+    /**
+     * Настройки общего второго уровня кэша достопримечательностей.
+     */
+    private final L2 l2 = new L2();
+
+    /**
+     * Настройки поиска и закрепления часто запрашиваемых ключей.
+     */
+    private final HotKeys hotKeys = new HotKeys();
+
+    /**
+     * Настройки прогрева кэшей при старте.
+     */
+    private final Warmup warmup = new Warmup();
+
+    /**
+     * Ограничения кэша сущностей.
+     */
+    @Getter
+    @Setter
+    public static class Entity {
+        /**
+         * Максимальное количество записей в каждом кэше.
+         */
+        private long maximumSize = 10_000;
+        /**
+         * Время жизни записи после её добавления.
+         */
+        private Duration timeToLive = Duration.ofMinutes(10);
+    }
+
+    /**
+     * Ограничения кэша результатов поиска.
+     * Вес записи равен количеству найденных достопримечательностей,
+     * поэтому один большой город не вытесняет остальные запросы целиком.
+     */
+    @Getter
+    @Setter
+    public static class Search {
+        /**
+         * Суммарный вес всех записей кэша.
+         */
+        private long maximumWeight = 100_000;
+        /**
+         * Время жизни записи после её добавления.
+         */
+        private Duration timeToLive = Duration.ofMinutes(30);
+    }
+
+    /**
+     * Отдача устаревших записей.
+     * После {@code timeToLive} запись считается устаревшей: она отдаётся сразу, а обновляется в фоне.
+     * Дополнительно запись хранится ещё {@code retention}, чтобы её можно было отдать при недоступности базы.
+     */
+    @Getter
+    @Setter
+    public static class Stale {
+        /**
+         * Сколько запись хранится после окончания срока свежести.
+         */
+        private Duration retention = Duration.ofHours(1);
+        /**
+         * Количество потоков фонового обновления.
+         */
+        private int refreshThreads = 2;
+        /**
+         * Размер очереди фонового обновления.
+         */
+        private int refreshQueueCapacity = 1_000;
+    }
+
+    /**
+     * Фильтры Блума существующих идентификаторов, см. {@link org.example.springapp.cache.IdMembershipFilters}.
+     */
+    @Getter
+    @Setter
+    public static class IdFilter {
+        /**
+         * Допустимая доля ложноположительных ответов сразу после перестроения.
+         */
+        private double falsePositiveRate = 0.01;
+        /**
+         * Интервал перестроения, после которого удалённые идентификаторы исчезают из фильтра.
+         */
+        private Duration rebuildInterval = Duration.ofMinutes(10);
+        /**
+         * Задержка перед первым перестроением после старта.
+         * Только после него фильтр начинает отклонять запросы.
+         */
+        private Duration settleDelay = Duration.ofSeconds(30);
+        /**
+         * Наибольшее число экземпляров приложения, одновременно выдающих ID из блоков последовательностей.
+         * Столько блоков ниже максимума, найденного предыдущим перестроением, фильтр не проверяет.
+         */
+        private int maxInstances = 10;
+    }
+
+    /**
+     * Второй уровень кэшей достопримечательностей и результатов поиска,
+     * см. {@link org.example.springapp.cache.l2.TwoTierCache}.
+     */
+    @Getter
+    @Setter
+    public static class L2 {
+        /**
+         * Реализация хранилища: {@code none} или {@code resp} (Redis и совместимые серверы).
+         */
+        private String type = "none";
+        /**
+         * Адрес сервера.
+         */
+        private String host = "localhost";
+        /**
+         * Порт сервера.
+         */
+        private int port = 6379;
+        /**
+         * Таймаут подключения и ответа сервера.
+         */
+        private Duration timeout = Duration.ofMillis(100);
+        /**
+         * Количество соединений, которые остаются открытыми между запросами.
+         */
+        private int poolSize = 8;
+        /**
+         * Время жизни записи второго уровня.
+         */
+        private Duration timeToLive = Duration.ofMinutes(5);
+        /**
+         * Префикс ключей, чтобы несколько приложений могли использовать один сервер.
+         */
+        private String keyPrefix = "springapp";
+        /**
+         * Как долго используется прочитанный номер поколения кэша.
+         */
+        private Duration generationTtl = Duration.ofSeconds(1);
+        /**
+         * Сколько хранилище не используется после ошибки соединения.
+         */
+        private Duration retryAfter = Duration.ofSeconds(5);
+    }
+
+    /**
+     * Поиск часто запрашиваемых ключей, см. {@link org.example.springapp.cache.HotKeyTracker}.
+     */
+    @Getter
+    @Setter
+    public static class HotKeys {
+        /**
+         * Сколько самых частых ключей каждого вида отслеживается.
+         */
+        private int topK = 50;
+        /**
+         * Количество строк count-min sketch.
+         */
+        private int sketchDepth = 4;
+        /**
+         * Количество счётчиков в строке count-min sketch.
+         */
+        private int sketchWidth = 4096;
+        /**
+         * Минимальная оценка частоты, начиная с которой ключ закрепляется в кэше.
+         */
+        private long pinThreshold = 20;
+        /**
+         * Интервал, через который все частоты уменьшаются вдвое.
+         */
+        private Duration decayInterval = Duration.ofMinutes(1);
+        /**
+         * Интервал пересчёта закреплённых ключей.
+         */
+        private Duration pinInterval = Duration.ofSeconds(10);
+    }
+
+    /**
+     * Прогрев кэшей часто запрашиваемыми ключами, см. {@link org.example.springapp.cache.CacheWarmup}.
+     */
+    @Getter
+    @Setter
+    public static class Warmup {
+        /**
+         * Включить сохранение ключей и прогрев.
+         */
+        private boolean enabled = true;
+        /**
+         * Файл с ключами для прогрева.
+         */
+        private Path file = Path.of("cache", "hot-keys.txt");
+        /**
+         * Интервал сохранения ключей.
+         */
+        private Duration persistInterval = Duration.ofMinutes(1);
+        /**
+         * Количество одновременных запросов к базе во время прогрева.
+         */
+        private int parallelism = 4;
+        /**
+         * Максимальное время прогрева, после которого приложение становится готовым.
+         */
+        private Duration timeBudget = Duration.ofSeconds(30);
+    }
+}
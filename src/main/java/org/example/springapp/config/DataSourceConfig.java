@@ -0,0 +1,57 @@
+package org.example.springapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+
+/**
+ * Конфигурация пула соединений JDBC.
+ * <p>
+ * Автоконфигурация JDBC не создаёт пул, если в контексте есть {@code io.r2dbc.spi.ConnectionFactory},
+ * а он нужен реактивному API (см. {@link R2dbcConfig}). Поэтому настройки {@code spring.datasource} и пул
+ * объявлены здесь: на них работают JPA, Liquibase и {@code JdbcTemplate}.
+ * При чтении с реплик бин {@code dataSource} объявляет {@link ReplicaDataSourceConfig}.
+ * </p>
+ */
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * @return настройки {@code spring.datasource}
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource")
+    public DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    /**
+     * @param properties настройки {@code spring.datasource}
+     * @return пул соединений основной базы
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(final DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Пул закрывается вместе с бином {@code primaryDataSource}.
+     *
+     * @param primaryDataSource пул соединений основной базы
+     * @return источник соединений приложения
+     */
+    @Bean(destroyMethod = "")
+    @Primary
+    @ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "false",
+            matchIfMissing = true)
+    public DataSource dataSource(final HikariDataSource primaryDataSource) {
+        return primaryDataSource;
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.springapp.config;
+
+import org.example.springapp.utils.enums.IdStrategy;
+import org.example.springapp.utils.id.CatalogIdGenerator;
+import org.example.springapp.utils.id.CatalogIds;
+import org.example.springapp.utils.id.IdsAsStringsModule;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Конфигурация назначения ID: один экземпляр {@link CatalogIds} для JPA и пакетной вставки через JDBC.
+ */
+@Configuration
+@EnableConfigurationProperties(IdGenerationProperties.class)
+public class IdGenerationConfig {
+    @Bean
+    public CatalogIds catalogIds(final IdGenerationProperties properties) {
+        return new CatalogIds(properties.getStrategy(), properties.getNodeId());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer catalogIdsHibernateCustomizer(final CatalogIds catalogIds) {
+        return properties -> properties.put(CatalogIdGenerator.IDS_SETTING, catalogIds);
+    }
+
+    /**
+     * ID стратегии {@link IdStrategy#TIME} больше 2^53, и JavaScript-клиенты теряют их младшие разряды,
+     * поэтому в JSON такие ID передаются строками, см. {@link IdsAsStringsModule}. Остальные числа
+     * остаются числами. Строки принимаются и во входящих запросах.
+     *
+     * @param properties настройки назначения ID
+     * @return настройка JSON-сериализации ID
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer catalogIdsJsonCustomizer(final IdGenerationProperties properties) {
+        return builder -> {
+            if (properties.getStrategy() == IdStrategy.TIME) {
+                builder.postConfigurer(mapper -> mapper.registerModule(new IdsAsStringsModule()));
+            }
+        };
+    }
+}
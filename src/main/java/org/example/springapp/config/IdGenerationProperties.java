@@ -0,0 +1,23 @@
+package org.example.springapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.example.springapp.utils.enums.IdStrategy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Настройки назначения ID новым сущностям каталога.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.id")
+public class IdGenerationProperties {
+    /**
+     * Способ назначения ID.
+     */
+    private IdStrategy strategy = IdStrategy.SEQUENCE;
+    /**
+     * Номер экземпляра приложения от 0 до 1023 для стратегии {@link IdStrategy#TIME}; у каждого экземпляра свой.
+     */
+    private int nodeId = 0;
+}
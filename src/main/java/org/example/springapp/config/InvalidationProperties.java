@@ -0,0 +1,45 @@
+package org.example.springapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Настройки рассылки изменений между экземплярами приложения через Postgres {@code LISTEN/NOTIFY}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.invalidation")
+public class InvalidationProperties {
+    /**
+     * Включает рассылку и приём изменений.
+     */
+    private boolean enabled = true;
+    /**
+     * Канал {@code NOTIFY}, общий для всех экземпляров.
+     */
+    private String channel = "catalog_invalidation";
+    /**
+     * Идентификатор экземпляра, по нему экземпляр пропускает собственные сообщения.
+     */
+    private String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    /**
+     * Время накопления изменений перед отправкой одного сообщения.
+     */
+    private Duration batchWindow = Duration.ofMillis(50);
+    /**
+     * Максимальное время ожидания уведомлений за одно обращение к соединению.
+     */
+    private Duration pollTimeout = Duration.ofMillis(500);
+    /**
+     * Начальная задержка переподключения, удваивается после каждой неудачи.
+     */
+    private Duration reconnectDelay = Duration.ofSeconds(1);
+    /**
+     * Максимальная задержка переподключения.
+     */
+    private Duration maxReconnectDelay = Duration.ofSeconds(30);
+}
@@ -0,0 +1,68 @@
+package org.example.springapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.example.springapp.exception.BadRequestException;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Настройки постраничной выдачи списков.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.pagination")
+public class PaginationProperties {
+    /**
+     * Размер страницы, если клиент его не указал.
+     */
+    private int defaultSize = 50;
+    /**
+     * Максимальный размер страницы.
+     */
+    private int maxSize = 500;
+    /**
+     * Максимальное количество ID в одном запросе нескольких сущностей.
+     */
+    private int maxIds = 100;
+
+    /**
+     * Размер страницы для запроса клиента.
+     *
+     * @param requested запрошенный размер или {@code null}
+     * @return размер страницы, не больше {@code maxSize}
+     * @throws BadRequestException если запрошен неположительный размер
+     */
+    public int limit(final Integer requested) throws BadRequestException {
+        if (requested == null) {
+            return Math.min(defaultSize, maxSize);
+        }
+        if (requested < 1) {
+            throw new BadRequestException("Page size must be positive");
+        }
+        return Math.min(requested, maxSize);
+    }
+
+    /**
+     * Список ID для запроса нескольких сущностей.
+     *
+     * @param requested ID из запроса клиента
+     * @return ID без повторов в порядке первого появления
+     * @throws BadRequestException если список пуст, содержит {@code null} или длиннее {@code maxIds}
+     */
+    public List<Long> ids(final List<Long> requested) throws BadRequestException {
+        if (requested == null || requested.isEmpty()) {
+            throw new BadRequestException("At least one id is required");
+        }
+        if (requested.contains(null)) {
+            throw new BadRequestException("Ids must be numbers");
+        }
+        var ids = List.copyOf(new LinkedHashSet<>(requested));
+        if (ids.size() > maxIds) {
+            throw new BadRequestException("At most " + maxIds + " ids can be requested at once");
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.springapp.config;
+
+import org.example.springapp.datasource.DeadlineDataSource;
+import org.example.springapp.datasource.QueryDeadline;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+import javax.sql.DataSource;
+
+/**
+ * Конфигурация крайних сроков запросов к базе.
+ * <p>
+ * Источник соединений приложения оборачивается в {@link DeadlineDataSource}. Остальные пулы
+ * (основной и реплики при чтении с реплик) остаются как есть: все запросы приложения проходят
+ * через бин {@code dataSource}.
+ * </p>
+ */
+@Configuration
+@EnableConfigurationProperties(QueryTimeoutProperties.class)
+public class QueryTimeoutConfig {
+    private static final String DATA_SOURCE = "dataSource";
+
+    /**
+     * @return обработчик, оборачивающий бин {@code dataSource}
+     */
+    @Bean
+    public static BeanPostProcessor deadlineDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                if (DATA_SOURCE.equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof DeadlineDataSource)) {
+                    return new DeadlineDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Переносит срок запроса в потоки асинхронной обработки, например при потоковой выгрузке каталога.
+     *
+     * @return декоратор задач {@code applicationTaskExecutor}
+     */
+    @Bean
+    public TaskDecorator queryDeadlineTaskDecorator() {
+        return QueryDeadline::propagate;
+    }
+}
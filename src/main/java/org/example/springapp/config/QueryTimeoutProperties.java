@@ -0,0 +1,32 @@
+package org.example.springapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Настройки крайних сроков запросов к базе при обработке HTTP-запросов.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.query-timeout")
+public class QueryTimeoutProperties {
+    /**
+     * Срок для эндпоинтов, не перечисленных в {@link #endpoints}. Нулевое значение снимает ограничение.
+     */
+    private Duration defaultTimeout = Duration.ofSeconds(10);
+    /**
+     * Сроки по шаблонам путей, например {@code /api/attractions/all}. При совпадении нескольких шаблонов
+     * выбирается самый конкретный. Нулевое значение снимает ограничение.
+     */
+    private Map<String, Duration> endpoints = new LinkedHashMap<>();
+    /**
+     * Заголовок, в котором клиент может передать, сколько миллисекунд он готов ждать ответа.
+     * Срок сокращается до этого значения, но не увеличивается.
+     */
+    private String clientTimeoutHeader = "X-Request-Timeout";
+}
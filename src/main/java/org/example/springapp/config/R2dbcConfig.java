@@ -0,0 +1,28 @@
+package org.example.springapp.config;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Конфигурация неблокирующего доступа к базе для реактивного API.
+ * <p>
+ * Пул соединений создаётся автоконфигурацией по настройкам {@code spring.r2dbc}. Реактивный менеджер
+ * транзакций отключён: реактивное API только читает отдельными запросами, а единственным менеджером
+ * транзакций для {@code @Transactional} остаётся JPA. Из-за пула R2DBC автоконфигурация JDBC
+ * не создаёт {@code DataSource}, поэтому он объявлен в {@link DataSourceConfig}.
+ * </p>
+ */
+@Configuration
+public class R2dbcConfig {
+
+    /**
+     * @param connectionFactory пул соединений R2DBC
+     * @return клиент для выполнения запросов
+     */
+    @Bean
+    public DatabaseClient databaseClient(final ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+}
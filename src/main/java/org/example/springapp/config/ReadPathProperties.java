@@ -0,0 +1,36 @@
+package org.example.springapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.example.springapp.utils.enums.ReadPath;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Способ чтения данных для самых нагруженных эндпоинтов достопримечательностей.
+ * По умолчанию все эндпоинты читают через JPA.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.read-path")
+public class ReadPathProperties {
+    /**
+     * Получение достопримечательности по ID.
+     */
+    private ReadPath attractionById = ReadPath.JPA;
+    /**
+     * Поиск достопримечательностей по городу.
+     */
+    private ReadPath searchByCity = ReadPath.JPA;
+    /**
+     * Поиск достопримечательностей по региону.
+     */
+    private ReadPath searchByRegion = ReadPath.JPA;
+    /**
+     * Поиск достопримечательностей по типу услуги.
+     */
+    private ReadPath searchByService = ReadPath.JPA;
+    /**
+     * Поиск достопримечательностей по части названия.
+     */
+    private ReadPath searchByName = ReadPath.JPA;
+}
@@ -0,0 +1,67 @@
+package org.example.springapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.example.springapp.datasource.ReplicaPool;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Конфигурация чтения с реплик.
+ * <p>
+ * Приложение получает {@link LazyConnectionDataSourceProxy}: соединение берётся только при первом запросе,
+ * когда уже известно, что транзакция помечена {@code readOnly}. Такие транзакции получают соединение
+ * из {@link ReplicaPool}, остальные и запросы вне транзакций идут на основную базу, пул которой
+ * объявлен в {@link DataSourceConfig}.
+ * </p>
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    /**
+     * @param primaryDataSource пул соединений основной базы
+     * @param dataSource        настройки {@code spring.datasource}
+     * @param replica           настройки реплик
+     * @return реплики с основной базой в качестве запасного варианта
+     */
+    @Bean
+    public ReplicaPool replicaPool(final HikariDataSource primaryDataSource, final DataSourceProperties dataSource,
+                                   final ReplicaProperties replica) {
+        List<ReplicaPool.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < replica.getUrls().size(); i++) {
+            var pool = dataSource.initializeDataSourceBuilder().type(HikariDataSource.class)
+                    .url(replica.getUrls().get(i))
+                    .username(replica.getUsername() == null ? dataSource.determineUsername() : replica.getUsername())
+                    .password(replica.getPassword() == null ? dataSource.determinePassword() : replica.getPassword())
+                    .build();
+            pool.setPoolName("replica-" + i);
+            pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+            pool.setReadOnly(true);
+            replicas.add(new ReplicaPool.Replica(pool.getPoolName(), pool));
+        }
+        return new ReplicaPool(primaryDataSource, replicas, replica.getMaxLag());
+    }
+
+    /**
+     * @param primaryDataSource пул соединений основной базы
+     * @param replicaPool       источник соединений для транзакций только на чтение
+     * @return источник соединений приложения
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(final HikariDataSource primaryDataSource, final ReplicaPool replicaPool) {
+        var proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        proxy.setReadOnlyDataSource(replicaPool);
+        return proxy;
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.springapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Настройки чтения с реплик Postgres.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public class ReplicaProperties {
+    /**
+     * Включает маршрутизацию транзакций только на чтение на реплики.
+     */
+    private boolean enabled = false;
+    /**
+     * JDBC URL реплик.
+     */
+    private List<String> urls = new ArrayList<>();
+    /**
+     * Пользователь реплик, по умолчанию пользователь основной базы.
+     */
+    private String username;
+    /**
+     * Пароль реплик, по умолчанию пароль основной базы.
+     */
+    private String password;
+    /**
+     * Максимальный размер пула соединений каждой реплики.
+     */
+    private int maximumPoolSize = 10;
+    /**
+     * Максимальное отставание, при котором реплика используется для чтения.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+    /**
+     * Интервал проверки отставания реплик.
+     */
+    private Duration lagCheckInterval = Duration.ofSeconds(2);
+    /**
+     * Время после изменения данных клиентом, в течение которого его чтения выполняются на основной базе.
+     * Нулевое значение отключает привязку.
+     */
+    private Duration stickiness = Duration.ofSeconds(5);
+
+    /**
+     * Время, за которое изменение на основной базе гарантированно доходит до используемых реплик:
+     * допустимое отставание плюс интервал его проверки.
+     *
+     * @param replica настройки реплик, если они объявлены
+     * @return время или ноль, если чтение с реплик выключено
+     */
+    public static Duration replicationWindow(final Optional<ReplicaProperties> replica) {
+        return replica.filter(ReplicaProperties::isEnabled)
+                .map(r -> r.getMaxLag().plus(r.getLagCheckInterval()))
+                .orElse(Duration.ZERO);
+    }
+}
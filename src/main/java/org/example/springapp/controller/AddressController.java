@@ -1,6 +1,7 @@
 package org.example.springapp.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -9,18 +10,27 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.example.springapp.aspect.AspectAnnotation;
+import org.example.springapp.config.PaginationProperties;
 import org.example.springapp.dto.AddressDTO;
+import org.example.springapp.dto.BatchResultDTO;
+import org.example.springapp.dto.MultiGetDTO;
+import org.example.springapp.dto.PageDTO;
+import org.example.springapp.exception.BadRequestException;
 import org.example.springapp.exception.ResourceNotFoundException;
 import org.example.springapp.model.Address;
+import org.example.springapp.repository.AddressShapeRepository;
 import org.example.springapp.service.impl.AddressService;
-import org.example.springapp.service.impl.AttractionService;
+import org.example.springapp.service.impl.CatalogBatchService;
+import org.example.springapp.utils.enums.SortKey;
+import org.example.springapp.utils.fields.FieldSelection;
 import org.example.springapp.utils.mapper.AddressMapper;
-import org.example.springapp.utils.mapper.EntityByIDMapper;
+import org.example.springapp.utils.pagination.MultiGets;
+import org.example.springapp.utils.pagination.PageCursor;
+import org.example.springapp.utils.pagination.Pages;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -34,38 +44,98 @@ import java.util.List;
 public class AddressController {
 
     private final AddressService addressService;
-    private final AttractionService attractionService;
     private final AddressMapper addressMapper;
+    private final PaginationProperties paginationProperties;
+    private final CatalogBatchService catalogBatchService;
 
     /**
-     * Получить все адреса.
+     * Получить страницу адресов, упорядоченных по ID.
      *
-     * @return Список всех адресов.
+     * @param cursor Позиция из {@code nextCursor} предыдущей страницы.
+     * @param size   Размер страницы.
+     * @param fields Поля адреса через запятую.
+     * @param expand Раскрываемые связи через запятую.
+     * @return Страница адресов, в запрошенной форме, если указаны {@code fields} или {@code expand}.
+     * @throws BadRequestException если позиция, размер страницы, поля или связи некорректны.
      */
     @GetMapping("/all")
-    @Operation(summary = "Получить все адреса", description = "Возвращает список всех адресов.")
+    @Operation(summary = "Получить все адреса", description = "Возвращает страницу адресов, упорядоченных по ID.")
     @ApiResponse(responseCode = "200", description = "Успешное получение списка адресов")
-    public List<Address> readAll() {
-        return addressService.read();
+    public PageDTO<?> readAll(
+            @Parameter(description = "Значение nextCursor предыдущей страницы")
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @Parameter(description = "Размер страницы", example = "50")
+            @RequestParam(name = "size", required = false) Integer size,
+            @Parameter(description = "Поля адреса", example = "id,city,latitude,longitude")
+            @RequestParam(name = "fields", required = false) String fields,
+            @Parameter(description = "Раскрываемые связи: attractions", example = "attractions")
+            @RequestParam(name = "expand", required = false) String expand
+    ) throws BadRequestException {
+        var limit = paginationProperties.limit(size);
+        var after = PageCursor.decode(cursor, SortKey.ID);
+        if (FieldSelection.isRequested(fields, expand)) {
+            var selection = FieldSelection.parse(fields, expand,
+                    AddressShapeRepository.FIELDS, AddressShapeRepository.EXPANSIONS);
+            var rows = addressService.readShapedPage(selection, after, limit + 1);
+            return Pages.of(rows, limit, row -> PageCursor.afterId((Long) row.get("id")));
+        }
+        var items = addressService.readPage(after, limit + 1);
+        return Pages.of(items, limit, address -> PageCursor.afterId(address.getId()));
+    }
+
+    /**
+     * Получить адреса по списку ID одним запросом.
+     *
+     * @param ids Идентификаторы через запятую, не больше {@code app.pagination.max-ids}.
+     * @return Найденные адреса в порядке запроса и ID, которых нет в базе.
+     * @throws BadRequestException если список пуст или слишком длинный.
+     */
+    @Operation(summary = "Получить адреса по списку ID",
+            description = "Возвращает адреса в порядке ID запроса и список отсутствующих ID")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Адреса получены"),
+            @ApiResponse(responseCode = "400", description = "Список ID пуст или слишком длинный")
+    })
+    @GetMapping(params = "ids")
+    public MultiGetDTO<Address> getByIds(
+            @Parameter(description = "Идентификаторы через запятую", example = "1,2,3")
+            @RequestParam(name = "ids") List<Long> ids
+    ) throws BadRequestException {
+        var requested = paginationProperties.ids(ids);
+        return MultiGets.of(requested, addressService.readByIds(requested), Address::getId);
     }
 
     /**
      * Получить адрес по его ID.
      *
-     * @param ID Идентификатор адреса.
-     * @return ResponseEntity с адресом, если найден.
+     * @param ID     Идентификатор адреса.
+     * @param fields Поля адреса через запятую.
+     * @param expand Раскрываемые связи через запятую.
+     * @return ResponseEntity с адресом, если найден, в запрошенной форме, если указаны {@code fields} или {@code expand}.
      * @throws ResourceNotFoundException если адрес с данным ID не найден.
+     * @throws BadRequestException       если запрошены неизвестные поля или связи.
      */
     @Operation(summary = "Получить адрес по ID", description = "Возвращает адрес по его ID.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Адрес найден",
                     content = @Content(schema = @Schema(implementation = Address.class))),
+            @ApiResponse(responseCode = "400", description = "Неизвестные поля или связи"),
             @ApiResponse(responseCode = "404", description = "Адрес не найден")
     })
     @GetMapping("find/{id}")
     @AspectAnnotation
-    public ResponseEntity<Address> getAddressById(final @PathVariable(name = "id") Long ID)
-            throws ResourceNotFoundException {
+    public ResponseEntity<?> getAddressById(
+            final @PathVariable(name = "id") Long ID,
+            @Parameter(description = "Поля адреса", example = "id,city,latitude,longitude")
+            @RequestParam(name = "fields", required = false) String fields,
+            @Parameter(description = "Раскрываемые связи: attractions", example = "attractions")
+            @RequestParam(name = "expand", required = false) String expand
+    ) throws ResourceNotFoundException, BadRequestException {
+        if (FieldSelection.isRequested(fields, expand)) {
+            var selection = FieldSelection.parse(fields, expand,
+                    AddressShapeRepository.FIELDS, AddressShapeRepository.EXPANSIONS);
+            return new ResponseEntity<>(addressService.getShapedById(ID, selection), HttpStatus.OK);
+        }
         return new ResponseEntity<>(addressService.getByID(ID), HttpStatus.OK);
     }
 
@@ -86,15 +156,33 @@ public class AddressController {
     })
     @AspectAnnotation
     public HttpStatus createAddress(@Valid @RequestBody AddressDTO addressDTO) throws ResourceNotFoundException {
-        var entity = addressMapper.toEntity(addressDTO);
-        if (addressDTO.getAttractionID() != null)
-            entity.setAttraction(EntityByIDMapper.fetchByIds(addressDTO.getAttractionID(), attractionService, "Attraction"));
-        else
-            entity.setAttraction(new ArrayList<>());
-        addressService.create(entity);
+        addressService.create(addressMapper.toEntity(addressDTO), addressDTO.getAttractionID());
         return HttpStatus.CREATED;
     }
 
+    /**
+     * Создать несколько адресов одним запросом.
+     *
+     * @param items Данные адресов.
+     * @return ID созданных записей и скорость вставки со статусом 201 или ошибки элементов со статусом 400.
+     * @throws BadRequestException если количество элементов вне допустимого диапазона.
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Создать несколько адресов",
+            description = "Проверяет все элементы и создаёт их в одной транзакции пакетами JDBC")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Адреса созданы"),
+            @ApiResponse(responseCode = "400", description = "Элементы содержат ошибки, ничего не создано")
+    })
+    public ResponseEntity<BatchResultDTO> createAddresses(
+            @Parameter(description = "Данные адресов")
+            @RequestBody List<AddressDTO> items
+    ) throws BadRequestException {
+        var result = catalogBatchService.createAddresses(items);
+        return ResponseEntity.status(result.getErrors().isEmpty() ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST)
+                .body(result);
+    }
+
     /**
      * Обновить информацию об адресе.
      *
@@ -111,13 +199,7 @@ public class AddressController {
     })
     @AspectAnnotation
     public HttpStatus updateAddress(@Valid @RequestBody AddressDTO addressDTO) throws ResourceNotFoundException {
-        var entity = addressMapper.toEntity(addressDTO);
-        if (addressDTO.getAttractionID() != null)
-            entity.setAttraction(EntityByIDMapper.fetchByIds(addressDTO.getAttractionID(), attractionService, "Attraction"));
-        else
-            entity.setAttraction(new ArrayList<>());
-        System.out.println(entity.getAttraction().size());
-        addressService.update(entity);
+        addressService.update(addressMapper.toEntity(addressDTO), addressDTO.getAttractionID());
         return HttpStatus.OK;
     }
 
@@ -0,0 +1,50 @@
+package org.example.springapp.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import org.example.springapp.cache.HotKeyTracker;
+import org.example.springapp.cache.PinnedKeys;
+import org.example.springapp.dto.HotKeyDTO;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Контроллер служебной информации о работе кэшей.
+ */
+@RestController
+@AllArgsConstructor
+@Tag(name = "Admin Controller", description = "Служебная информация")
+@RequestMapping("api/admin")
+public class AdminController {
+
+    private final HotKeyTracker hotKeyTracker;
+    private final PinnedKeys pinnedKeys;
+
+    /**
+     * Получить наиболее запрашиваемые ключи.
+     *
+     * @return Список ключей по убыванию оценки частоты.
+     */
+    @Operation(summary = "Получить наиболее запрашиваемые ключи",
+            description = "Возвращает часто запрашиваемые ключи и признак их закрепления в кэше")
+    @ApiResponse(responseCode = "200", description = "Список успешно получен")
+    @GetMapping("/hot-keys")
+    public List<HotKeyDTO> getHotKeys() {
+        return hotKeyTracker.hotKeys().stream()
+                .map(hotKey -> {
+                    var cacheKey = hotKey.type().cacheKey(hotKey.value());
+                    return HotKeyDTO.builder()
+                            .type(hotKey.type())
+                            .key(hotKey.value())
+                            .estimatedCount(hotKey.estimatedCount())
+                            .pinned(cacheKey != null && pinnedKeys.isPinned(hotKey.type().getCacheName(), cacheKey))
+                            .build();
+                })
+                .toList();
+    }
+}
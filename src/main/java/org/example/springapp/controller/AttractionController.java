@@ -8,21 +8,34 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.example.springapp.aspect.AspectAnnotation;
+import org.example.springapp.aspect.TrackHotKey;
+import org.example.springapp.config.PaginationProperties;
 import org.example.springapp.dto.AttractionDTO;
+import org.example.springapp.dto.AttractionSummary;
+import org.example.springapp.dto.BatchResultDTO;
+import org.example.springapp.dto.MultiGetDTO;
+import org.example.springapp.dto.PageDTO;
+import org.example.springapp.exception.BadRequestException;
 import org.example.springapp.exception.ResourceNotFoundException;
 import org.example.springapp.model.Attraction;
-import org.example.springapp.service.impl.AddressService;
+import org.example.springapp.repository.AttractionShapeRepository;
 import org.example.springapp.service.impl.AttractionService;
-import org.example.springapp.service.impl.ServiceService;
-import org.example.springapp.service.impl.TicketInfoService;
+import org.example.springapp.service.impl.CatalogBatchService;
+import org.example.springapp.service.impl.CatalogExportService;
+import org.example.springapp.utils.enums.HotKeyType;
 import org.example.springapp.utils.enums.ServiceType;
+import org.example.springapp.utils.enums.SortKey;
+import org.example.springapp.utils.fields.FieldSelection;
 import org.example.springapp.utils.mapper.AttractionMapper;
-import org.example.springapp.utils.mapper.EntityByIDMapper;
+import org.example.springapp.utils.pagination.MultiGets;
+import org.example.springapp.utils.pagination.PageCursor;
+import org.example.springapp.utils.pagination.Pages;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -37,61 +50,125 @@ public class AttractionController {
 
     private final AttractionService attractionService;
     private final AttractionMapper attractionMapper;
-    private final AddressService addressService;
-    private final TicketInfoService ticketInfoService;
-    private final ServiceService serviceService;
+    private final PaginationProperties paginationProperties;
+    private final CatalogBatchService catalogBatchService;
+    private final CatalogExportService catalogExportService;
 
     /**
-     * Инициализация сущности достопримечательности на основе данных DTO.
+     * Получить страницу достопримечательностей.
      *
-     * @param attractionDTO DTO с информацией о достопримечательности.
-     * @return Сущность достопримечательности, готовая к сохранению или обновлению.
-     * @throws ResourceNotFoundException если не удается найти связанные сущности.
+     * @param cursor Позиция из {@code nextCursor} предыдущей страницы.
+     * @param size   Размер страницы.
+     * @param sort   Порядок сортировки: по ID или по названию.
+     * @param fields Поля достопримечательности через запятую.
+     * @param expand Раскрываемые связи через запятую.
+     * @return Страница кратких описаний или, если указаны {@code fields} или {@code expand},
+     * страница достопримечательностей в запрошенной форме.
+     * @throws BadRequestException если позиция, размер страницы, поля или связи некорректны.
      */
-    private Attraction initEntity(final AttractionDTO attractionDTO) throws ResourceNotFoundException {
-        var entity = attractionMapper.toEntity(attractionDTO);
-        entity.setAddress(addressService.getByID(attractionDTO.getAddressID()));
-        if (attractionDTO.getTicketInfoID() != null)
-            entity.setTicketInfo(ticketInfoService.getByID(attractionDTO.getTicketInfoID()));
-        if (attractionDTO.getServicesID() != null)
-            entity.setServices(EntityByIDMapper.fetchByIds(attractionDTO.getServicesID(), serviceService, "Service"));
-        else
-            entity.setServices(new ArrayList<>());
-        return entity;
+    @Operation(summary = "Получить все достопримечательности",
+            description = "Возвращает страницу достопримечательностей, упорядоченных по ID или названию")
+    @ApiResponse(responseCode = "200", description = "Список успешно получен")
+    @GetMapping("/all")
+    public PageDTO<?> readAll(
+            @Parameter(description = "Значение nextCursor предыдущей страницы")
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @Parameter(description = "Размер страницы", example = "50")
+            @RequestParam(name = "size", required = false) Integer size,
+            @Parameter(description = "Порядок сортировки: id или name", example = "id")
+            @RequestParam(name = "sort", defaultValue = "id") SortKey sort,
+            @Parameter(description = "Поля достопримечательности", example = "id,name,attractionType,latitude,longitude")
+            @RequestParam(name = "fields", required = false) String fields,
+            @Parameter(description = "Раскрываемые связи: address, ticketInfo, services", example = "address")
+            @RequestParam(name = "expand", required = false) String expand
+    ) throws BadRequestException {
+        var limit = paginationProperties.limit(size);
+        var after = PageCursor.decode(cursor, sort);
+        if (FieldSelection.isRequested(fields, expand)) {
+            var selection = FieldSelection.parse(fields, expand,
+                    AttractionShapeRepository.FIELDS, AttractionShapeRepository.EXPANSIONS);
+            var rows = attractionService.readShapedPage(
+                    sort == SortKey.NAME ? selection.with("name") : selection, after, sort, limit + 1);
+            return Pages.of(rows, limit, row -> PageCursor.at(sort, (Long) row.get("id"), (String) row.get("name")));
+        }
+        var items = sort == SortKey.NAME
+                ? attractionService.readSummariesByName(after, limit + 1)
+                : attractionService.readSummaries(after, limit + 1);
+        return Pages.of(items, limit, attraction -> PageCursor.at(sort, attraction.id(), attraction.name()));
     }
 
     /**
-     * Получить все достопримечательности.
+     * Выгрузить все достопримечательности потоком, по одной в строке (NDJSON).
+     * Ответ формируется по мере чтения из базы, поэтому подходит для выгрузки всей таблицы.
      *
-     * @return Список всех достопримечательностей.
+     * @return Тело ответа, записываемое в отдельном потоке.
      */
-    @Operation(summary = "Получить все достопримечательности",
-            description = "Возвращает список всех доступных достопримечательностей")
-    @ApiResponse(responseCode = "200", description = "Список успешно получен")
-    @GetMapping("/all")
-    public List<Attraction> readAll() {
-        return attractionService.read();
+    @Operation(summary = "Выгрузить все достопримечательности",
+            description = "Возвращает все достопримечательности в формате NDJSON без постраничной разбивки")
+    @ApiResponse(responseCode = "200", description = "Выгрузка выполняется")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAll() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(catalogExportService::exportAttractions);
+    }
+
+    /**
+     * Получить достопримечательности по списку ID одним запросом.
+     *
+     * @param ids Идентификаторы через запятую, не больше {@code app.pagination.max-ids}.
+     * @return Найденные достопримечательности в порядке запроса и ID, которых нет в базе.
+     * @throws BadRequestException если список пуст или слишком длинный.
+     */
+    @Operation(summary = "Получить достопримечательности по списку ID",
+            description = "Возвращает достопримечательности в порядке ID запроса и список отсутствующих ID")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Достопримечательности получены"),
+            @ApiResponse(responseCode = "400", description = "Список ID пуст или слишком длинный")
+    })
+    @GetMapping(params = "ids")
+    public MultiGetDTO<Attraction> getByIds(
+            @Parameter(description = "Идентификаторы через запятую", example = "1,2,3")
+            @RequestParam(name = "ids") List<Long> ids
+    ) throws BadRequestException {
+        var requested = paginationProperties.ids(ids);
+        return MultiGets.of(requested, attractionService.readByIds(requested), Attraction::getId);
     }
 
     /**
      * Получить достопримечательность по ее ID.
      *
-     * @param ID Идентификатор достопримечательности.
-     * @return ResponseEntity с найденной достопримечательностью.
+     * @param ID     Идентификатор достопримечательности.
+     * @param fields Поля достопримечательности через запятую.
+     * @param expand Раскрываемые связи через запятую.
+     * @return ResponseEntity с найденной достопримечательностью, в запрошенной форме, если указаны
+     * {@code fields} или {@code expand}.
      * @throws ResourceNotFoundException если достопримечательность с данным ID не найдена.
+     * @throws BadRequestException       если запрошены неизвестные поля или связи.
      */
     @Operation(summary = "Получить достопримечательность по ID",
             description = "Возвращает достопримечательность по указанному ID")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Достопримечательность найдена"),
+            @ApiResponse(responseCode = "400", description = "Неизвестные поля или связи"),
             @ApiResponse(responseCode = "404", description = "Достопримечательность не найдена")
     })
     @GetMapping("/find/{id}")
     @AspectAnnotation
-    public ResponseEntity<Attraction> getById(
+    @TrackHotKey(HotKeyType.ATTRACTION_ID)
+    public ResponseEntity<?> getById(
             @Parameter(description = "Идентификатор достопримечательности", example = "1")
-            @PathVariable(name = "id") Long ID
-    ) throws ResourceNotFoundException {
+            @PathVariable(name = "id") Long ID,
+            @Parameter(description = "Поля достопримечательности", example = "id,name,attractionType,latitude,longitude")
+            @RequestParam(name = "fields", required = false) String fields,
+            @Parameter(description = "Раскрываемые связи: address, ticketInfo, services", example = "ticketInfo")
+            @RequestParam(name = "expand", required = false) String expand
+    ) throws ResourceNotFoundException, BadRequestException {
+        if (FieldSelection.isRequested(fields, expand)) {
+            var selection = FieldSelection.parse(fields, expand,
+                    AttractionShapeRepository.FIELDS, AttractionShapeRepository.EXPANSIONS);
+            return new ResponseEntity<>(attractionService.getShapedById(ID, selection), HttpStatus.OK);
+        }
         return new ResponseEntity<>(attractionService.getByID(ID), HttpStatus.OK);
     }
 
@@ -99,8 +176,11 @@ public class AttractionController {
     /**
      * Получить список достопримечательностей по имени.
      *
-     * @param name Часть или полное имя достопримечательности.
-     * @return Список достопримечательностей, соответствующих имени.
+     * @param name   Часть или полное имя достопримечательности.
+     * @param cursor Позиция из {@code nextCursor} предыдущей страницы.
+     * @param size   Размер страницы.
+     * @return Страница достопримечательностей, соответствующих имени, упорядоченных по ID.
+     * @throws BadRequestException если позиция или размер страницы некорректны.
      */
 
     @Operation(summary = "Получить достопримечательности по имени",
@@ -108,11 +188,19 @@ public class AttractionController {
     @ApiResponse(responseCode = "200", description = "Список достопримечательностей успешно получен")
     @GetMapping("/find/")
     @AspectAnnotation
-    public ResponseEntity<List<Attraction>> getByName(
+    @TrackHotKey(HotKeyType.NAME)
+    public ResponseEntity<PageDTO<AttractionSummary>> getByName(
             @Parameter(description = "Часть или полное имя достопримечательности", example = "Tower")
-            @RequestParam(name = "name") String name
-    ) {
-        return new ResponseEntity<>(attractionService.findByNameContaining(name), HttpStatus.OK);
+            @RequestParam(name = "name") String name,
+            @Parameter(description = "Значение nextCursor предыдущей страницы")
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @Parameter(description = "Размер страницы", example = "50")
+            @RequestParam(name = "size", required = false) Integer size
+    ) throws BadRequestException {
+        var limit = paginationProperties.limit(size);
+        var items = attractionService.findByNameContaining(name, PageCursor.decode(cursor, SortKey.ID), limit + 1);
+        return new ResponseEntity<>(Pages.of(items, limit, attraction -> PageCursor.afterId(attraction.id())),
+                HttpStatus.OK);
     }
 
     /**
@@ -134,10 +222,34 @@ public class AttractionController {
             @Parameter(description = "Данные для создания новой достопримечательности")
             @Valid @RequestBody AttractionDTO attractionDTO
     ) throws ResourceNotFoundException {
-        attractionService.create(initEntity(attractionDTO));
+        attractionService.create(attractionMapper.toEntity(attractionDTO), attractionDTO.getAddressID(),
+                attractionDTO.getTicketInfoID(), attractionDTO.getServicesID());
         return HttpStatus.CREATED;
     }
 
+    /**
+     * Создать несколько достопримечательностей одним запросом.
+     *
+     * @param items Данные достопримечательностей.
+     * @return ID созданных записей и скорость вставки со статусом 201 или ошибки элементов со статусом 400.
+     * @throws BadRequestException если количество элементов вне допустимого диапазона.
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Создать несколько достопримечательностей",
+            description = "Проверяет все элементы и создаёт их в одной транзакции пакетами JDBC")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Достопримечательности созданы"),
+            @ApiResponse(responseCode = "400", description = "Элементы содержат ошибки, ничего не создано")
+    })
+    public ResponseEntity<BatchResultDTO> createAttractions(
+            @Parameter(description = "Данные достопримечательностей")
+            @RequestBody List<AttractionDTO> items
+    ) throws BadRequestException {
+        var result = catalogBatchService.createAttractions(items);
+        return ResponseEntity.status(result.getErrors().isEmpty() ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST)
+                .body(result);
+    }
+
     /**
      * Обновить информацию о существующей достопримечательности.
      *
@@ -157,7 +269,8 @@ public class AttractionController {
             @Parameter(description = "Обновлённые данные достопримечательности")
             @Valid @RequestBody AttractionDTO attractionDTO
     ) throws ResourceNotFoundException {
-        attractionService.update(initEntity(attractionDTO));
+        attractionService.update(attractionMapper.toEntity(attractionDTO), attractionDTO.getAddressID(),
+                attractionDTO.getTicketInfoID(), attractionDTO.getServicesID());
         return HttpStatus.OK;
     }
 
@@ -187,42 +300,87 @@ public class AttractionController {
     /**
      * Найти достопримечательности по городу.
      *
-     * @param city Название города.
-     * @return Список достопримечательностей, расположенных в указанном городе.
+     * @param city   Название города.
+     * @param cursor Позиция из {@code nextCursor} предыдущей страницы.
+     * @param size   Размер страницы.
+     * @return Страница достопримечательностей, расположенных в указанном городе, упорядоченных по ID.
+     * @throws BadRequestException если позиция или размер страницы некорректны.
      */
     @Operation(summary = "Поиск достопримечательностей по городу")
     @ApiResponse(responseCode = "200", description = "Список достопримечательностей найден")
     @GetMapping("/search-by-city/{city}")
     @AspectAnnotation
-    public List<Attraction> searchAttractionsByCity(final @PathVariable(name = "city") String city) {
-        return attractionService.searchAttractionsByCity(city);
+    @TrackHotKey(HotKeyType.CITY)
+    public PageDTO<AttractionSummary> searchAttractionsByCity(
+            final @PathVariable(name = "city") String city,
+            @Parameter(description = "Значение nextCursor предыдущей страницы")
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @Parameter(description = "Размер страницы", example = "50")
+            @RequestParam(name = "size", required = false) Integer size
+    ) throws BadRequestException {
+        var after = PageCursor.decode(cursor, SortKey.ID);
+        int limit = paginationProperties.limit(size);
+        var items = after == null
+                ? attractionService.searchAttractionsByCity(city)
+                : attractionService.searchAttractionsByCity(city, after, limit + 1);
+        return Pages.of(items, limit, summary -> PageCursor.afterId(summary.id()));
     }
 
     /**
      * Найти достопримечательности по региону.
      *
      * @param region Название региона.
-     * @return Список достопримечательностей, расположенных в указанном регионе.
+     * @param cursor Позиция из {@code nextCursor} предыдущей страницы.
+     * @param size   Размер страницы.
+     * @return Страница достопримечательностей, расположенных в указанном регионе, упорядоченных по ID.
+     * @throws BadRequestException если позиция или размер страницы некорректны.
      */
     @Operation(summary = "Поиск достопримечательностей по региону")
     @ApiResponse(responseCode = "200", description = "Список достопримечательностей найден")
     @GetMapping("/search-by-region/{region}")
     @AspectAnnotation
-    public List<Attraction> searchAttractionsByRegion(@PathVariable(name = "region") String region) {
-        return attractionService.searchAttractionsByRegion(region);
+    @TrackHotKey(HotKeyType.REGION)
+    public PageDTO<AttractionSummary> searchAttractionsByRegion(
+            @PathVariable(name = "region") String region,
+            @Parameter(description = "Значение nextCursor предыдущей страницы")
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @Parameter(description = "Размер страницы", example = "50")
+            @RequestParam(name = "size", required = false) Integer size
+    ) throws BadRequestException {
+        var after = PageCursor.decode(cursor, SortKey.ID);
+        int limit = paginationProperties.limit(size);
+        var items = after == null
+                ? attractionService.searchAttractionsByRegion(region)
+                : attractionService.searchAttractionsByRegion(region, after, limit + 1);
+        return Pages.of(items, limit, summary -> PageCursor.afterId(summary.id()));
     }
 
     /**
      * Найти достопримечательности по типу услуги.
      *
      * @param serviceName Название или тип услуги.
-     * @return Список достопримечательностей, которые предлагают указанную услугу.
+     * @param cursor      Позиция из {@code nextCursor} предыдущей страницы.
+     * @param size        Размер страницы.
+     * @return Страница достопримечательностей, которые предлагают указанную услугу, упорядоченных по ID.
+     * @throws BadRequestException если позиция или размер страницы некорректны.
      */
     @Operation(summary = "Поиск достопримечательностей по типу услуги")
     @ApiResponse(responseCode = "200", description = "Список достопримечательностей найден")
     @GetMapping("/search-by-service-type/{type}")
     @AspectAnnotation
-    public List<Attraction> searchAttractionsByService(@PathVariable(name = "type") String serviceName) {
-        return attractionService.searchAttractionsByService(ServiceType.fromDisplayName(serviceName));
+    public PageDTO<AttractionSummary> searchAttractionsByService(
+            @PathVariable(name = "type") String serviceName,
+            @Parameter(description = "Значение nextCursor предыдущей страницы")
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @Parameter(description = "Размер страницы", example = "50")
+            @RequestParam(name = "size", required = false) Integer size
+    ) throws BadRequestException {
+        var serviceType = ServiceType.fromDisplayName(serviceName);
+        var after = PageCursor.decode(cursor, SortKey.ID);
+        int limit = paginationProperties.limit(size);
+        var items = after == null
+                ? attractionService.searchAttractionsByService(serviceType)
+                : attractionService.searchAttractionsByService(serviceType, after, limit + 1);
+        return Pages.of(items, limit, summary -> PageCursor.afterId(summary.id()));
     }
 }
@@ -0,0 +1,109 @@
+package org.example.springapp.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import org.example.springapp.dto.AttractionSummary;
+import org.example.springapp.exception.ResourceNotFoundException;
+import org.example.springapp.repository.AttractionReactiveRepository;
+import org.example.springapp.utils.enums.ServiceType;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Неблокирующее API поиска достопримечательностей.
+ * <p>
+ * Запросы к базе выполняются через R2DBC, поэтому поток обработки запроса освобождается на время
+ * ожидания базы. Результаты поиска отдаются потоком NDJSON: следующая строка запрашивается у базы
+ * после отправки предыдущей клиенту.
+ * </p>
+ */
+@AllArgsConstructor
+@RestController
+@Tag(name = "Reactive Attraction Controller", description = "Неблокирующий поиск достопримечательностей")
+@RequestMapping("api/reactive/attractions")
+public class ReactiveAttractionController {
+
+    private final AttractionReactiveRepository repository;
+
+    /**
+     * Получить краткое описание достопримечательности по ее ID.
+     *
+     * @param ID Идентификатор достопримечательности.
+     * @return Краткое описание или ошибка {@link ResourceNotFoundException}, если достопримечательности нет.
+     */
+    @Operation(summary = "Получить достопримечательность по ID",
+            description = "Возвращает краткое описание достопримечательности по указанному ID")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Достопримечательность найдена"),
+            @ApiResponse(responseCode = "404", description = "Достопримечательность не найдена")
+    })
+    @GetMapping("/find/{id}")
+    public Mono<AttractionSummary> getById(
+            @Parameter(description = "Идентификатор достопримечательности", example = "1")
+            @PathVariable(name = "id") Long ID
+    ) {
+        return repository.findSummaryById(ID)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Attraction with this id doesn't exist")));
+    }
+
+    /**
+     * Найти достопримечательности по имени.
+     *
+     * @param name Часть или полное имя достопримечательности.
+     * @return Поток кратких описаний, упорядоченных по ID.
+     */
+    @Operation(summary = "Поиск достопримечательностей по имени")
+    @ApiResponse(responseCode = "200", description = "Поток достопримечательностей")
+    @GetMapping(value = "/find/", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<AttractionSummary> getByName(
+            @Parameter(description = "Часть или полное имя достопримечательности", example = "Tower")
+            @RequestParam(name = "name") String name
+    ) {
+        return repository.findSummariesByNameContaining(name);
+    }
+
+    /**
+     * Найти достопримечательности по городу.
+     *
+     * @param city Название города.
+     * @return Поток кратких описаний, упорядоченных по ID.
+     */
+    @Operation(summary = "Поиск достопримечательностей по городу")
+    @ApiResponse(responseCode = "200", description = "Поток достопримечательностей")
+    @GetMapping(value = "/search-by-city/{city}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<AttractionSummary> searchAttractionsByCity(@PathVariable(name = "city") String city) {
+        return repository.findSummariesByCity(city);
+    }
+
+    /**
+     * Найти достопримечательности по региону.
+     *
+     * @param region Название региона.
+     * @return Поток кратких описаний, упорядоченных по ID.
+     */
+    @Operation(summary = "Поиск достопримечательностей по региону")
+    @ApiResponse(responseCode = "200", description = "Поток достопримечательностей")
+    @GetMapping(value = "/search-by-region/{region}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<AttractionSummary> searchAttractionsByRegion(@PathVariable(name = "region") String region) {
+        return repository.findSummariesByRegion(region);
+    }
+
+    /**
+     * Найти достопримечательности по типу услуги.
+     *
+     * @param serviceName Название или тип услуги.
+     * @return Поток кратких описаний, упорядоченных по ID.
+     */
+    @Operation(summary = "Поиск достопримечательностей по типу услуги")
+    @ApiResponse(responseCode = "200", description = "Поток достопримечательностей")
+    @GetMapping(value = "/search-by-service-type/{type}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<AttractionSummary> searchAttractionsByService(@PathVariable(name = "type") String serviceName) {
+        return repository.findSummariesByServiceType(ServiceType.fromDisplayName(serviceName));
+    }
+}
@@ -1,19 +1,30 @@
 package org.example.springapp.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.example.springapp.aspect.AspectAnnotation;
+import org.example.springapp.config.PaginationProperties;
+import org.example.springapp.dto.BatchResultDTO;
+import org.example.springapp.dto.MultiGetDTO;
+import org.example.springapp.dto.PageDTO;
 import org.example.springapp.dto.ServiceDTO;
+import org.example.springapp.exception.BadRequestException;
 import org.example.springapp.exception.ResourceNotFoundException;
 import org.example.springapp.model.Service;
 import org.example.springapp.service.impl.AttractionService;
+import org.example.springapp.service.impl.CatalogBatchService;
 import org.example.springapp.service.impl.ServiceService;
+import org.example.springapp.utils.enums.SortKey;
 import org.example.springapp.utils.mapper.EntityByIDMapper;
 import org.example.springapp.utils.mapper.ServiceMapper;
+import org.example.springapp.utils.pagination.MultiGets;
+import org.example.springapp.utils.pagination.PageCursor;
+import org.example.springapp.utils.pagination.Pages;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -33,17 +44,57 @@ public class ServiceController {
     private final ServiceService serviceService;
     private final ServiceMapper serviceMapper;
     private final AttractionService attractionService;
+    private final PaginationProperties paginationProperties;
+    private final CatalogBatchService catalogBatchService;
 
     /**
-     * Получить все услуги.
+     * Получить страницу услуг.
      *
-     * @return Список всех услуг.
+     * @param cursor Позиция из {@code nextCursor} предыдущей страницы.
+     * @param size   Размер страницы.
+     * @param sort   Порядок сортировки: по ID или по названию.
+     * @return Страница услуг.
+     * @throws BadRequestException если позиция или размер страницы некорректны.
      */
-    @Operation(summary = "Получить все услуги", description = "Возвращает список всех доступных услуг")
+    @Operation(summary = "Получить все услуги", description = "Возвращает страницу услуг, упорядоченных по ID или названию")
     @ApiResponse(responseCode = "200", description = "Список успешно получен")
     @GetMapping("/all")
-    public List<Service> readAll() {
-        return serviceService.read();
+    public PageDTO<Service> readAll(
+            @Parameter(description = "Значение nextCursor предыдущей страницы")
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @Parameter(description = "Размер страницы", example = "50")
+            @RequestParam(name = "size", required = false) Integer size,
+            @Parameter(description = "Порядок сортировки: id или name", example = "id")
+            @RequestParam(name = "sort", defaultValue = "id") SortKey sort
+    ) throws BadRequestException {
+        var limit = paginationProperties.limit(size);
+        var after = PageCursor.decode(cursor, sort);
+        var items = sort == SortKey.NAME
+                ? serviceService.readPageByName(after, limit + 1)
+                : serviceService.readPage(after, limit + 1);
+        return Pages.of(items, limit, service -> PageCursor.at(sort, service.getId(), service.getName()));
+    }
+
+    /**
+     * Получить услуги по списку ID одним запросом.
+     *
+     * @param ids Идентификаторы через запятую, не больше {@code app.pagination.max-ids}.
+     * @return Найденные услуги в порядке запроса и ID, которых нет в базе.
+     * @throws BadRequestException если список пуст или слишком длинный.
+     */
+    @Operation(summary = "Получить услуги по списку ID",
+            description = "Возвращает услуги в порядке ID запроса и список отсутствующих ID")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Услуги получены"),
+            @ApiResponse(responseCode = "400", description = "Список ID пуст или слишком длинный")
+    })
+    @GetMapping(params = "ids")
+    public MultiGetDTO<Service> getByIds(
+            @Parameter(description = "Идентификаторы через запятую", example = "1,2,3")
+            @RequestParam(name = "ids") List<Long> ids
+    ) throws BadRequestException {
+        var requested = paginationProperties.ids(ids);
+        return MultiGets.of(requested, serviceService.readByIds(requested), Service::getId);
     }
 
     /**
@@ -89,6 +140,29 @@ public class ServiceController {
         return HttpStatus.CREATED;
     }
 
+    /**
+     * Создать несколько услуг одним запросом.
+     *
+     * @param items Данные услуг.
+     * @return ID созданных записей и скорость вставки со статусом 201 или ошибки элементов со статусом 400.
+     * @throws BadRequestException если количество элементов вне допустимого диапазона.
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Создать несколько услуг",
+            description = "Проверяет все элементы и создаёт их в одной транзакции пакетами JDBC")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Услуги созданы"),
+            @ApiResponse(responseCode = "400", description = "Элементы содержат ошибки, ничего не создано")
+    })
+    public ResponseEntity<BatchResultDTO> createServices(
+            @Parameter(description = "Данные услуг")
+            @RequestBody List<ServiceDTO> items
+    ) throws BadRequestException {
+        var result = catalogBatchService.createServices(items);
+        return ResponseEntity.status(result.getErrors().isEmpty() ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST)
+                .body(result);
+    }
+
     /**
      * Обновить информацию о существующем услуге.
      *
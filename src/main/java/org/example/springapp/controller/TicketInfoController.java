@@ -8,12 +8,22 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.example.springapp.aspect.AspectAnnotation;
+import org.example.springapp.config.PaginationProperties;
+import org.example.springapp.dto.BatchResultDTO;
+import org.example.springapp.dto.MultiGetDTO;
+import org.example.springapp.dto.PageDTO;
 import org.example.springapp.dto.TicketInfoDTO;
+import org.example.springapp.exception.BadRequestException;
 import org.example.springapp.exception.ResourceNotFoundException;
 import org.example.springapp.model.TicketInfo;
 import org.example.springapp.service.impl.AttractionService;
+import org.example.springapp.service.impl.CatalogBatchService;
 import org.example.springapp.service.impl.TicketInfoService;
+import org.example.springapp.utils.enums.SortKey;
 import org.example.springapp.utils.mapper.TicketInfoMapper;
+import org.example.springapp.utils.pagination.MultiGets;
+import org.example.springapp.utils.pagination.PageCursor;
+import org.example.springapp.utils.pagination.Pages;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -33,17 +43,51 @@ public class TicketInfoController {
     private final TicketInfoService ticketInfoService;
     private final AttractionService attractionService;
     private final TicketInfoMapper ticketInfoMapper;
+    private final PaginationProperties paginationProperties;
+    private final CatalogBatchService catalogBatchService;
 
     /**
-     * Получить всю информацию о билетах.
+     * Получить страницу информации о билетах, упорядоченную по ID.
      *
-     * @return Список всех билетов.
+     * @param cursor Позиция из {@code nextCursor} предыдущей страницы.
+     * @param size   Размер страницы.
+     * @return Страница билетов.
+     * @throws BadRequestException если позиция или размер страницы некорректны.
      */
-    @Operation(summary = "Получить весь список билетов", description = "Возвращает список всех доступных билетов")
+    @Operation(summary = "Получить весь список билетов", description = "Возвращает страницу билетов, упорядоченных по ID")
     @ApiResponse(responseCode = "200", description = "Список билетов успешно получен")
     @GetMapping("/all")
-    public List<TicketInfo> readAll() {
-        return ticketInfoService.read();
+    public PageDTO<TicketInfo> readAll(
+            @Parameter(description = "Значение nextCursor предыдущей страницы")
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @Parameter(description = "Размер страницы", example = "50")
+            @RequestParam(name = "size", required = false) Integer size
+    ) throws BadRequestException {
+        var limit = paginationProperties.limit(size);
+        var items = ticketInfoService.readPage(PageCursor.decode(cursor, SortKey.ID), limit + 1);
+        return Pages.of(items, limit, ticket -> PageCursor.afterId(ticket.getId()));
+    }
+
+    /**
+     * Получить билеты по списку ID одним запросом.
+     *
+     * @param ids Идентификаторы через запятую, не больше {@code app.pagination.max-ids}.
+     * @return Найденные билеты в порядке запроса и ID, которых нет в базе.
+     * @throws BadRequestException если список пуст или слишком длинный.
+     */
+    @Operation(summary = "Получить билеты по списку ID",
+            description = "Возвращает билеты в порядке ID запроса и список отсутствующих ID")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Билеты получены"),
+            @ApiResponse(responseCode = "400", description = "Список ID пуст или слишком длинный")
+    })
+    @GetMapping(params = "ids")
+    public MultiGetDTO<TicketInfo> getByIds(
+            @Parameter(description = "Идентификаторы через запятую", example = "1,2,3")
+            @RequestParam(name = "ids") List<Long> ids
+    ) throws BadRequestException {
+        var requested = paginationProperties.ids(ids);
+        return MultiGets.of(requested, ticketInfoService.readByIds(requested), TicketInfo::getId);
     }
 
     /**
@@ -92,6 +136,29 @@ public class TicketInfoController {
         return HttpStatus.CREATED;
     }
 
+    /**
+     * Создать несколько записей информации о билетах одним запросом.
+     *
+     * @param items Данные информации о билетах.
+     * @return ID созданных записей и скорость вставки со статусом 201 или ошибки элементов со статусом 400.
+     * @throws BadRequestException если количество элементов вне допустимого диапазона.
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Создать несколько записей информации о билетах",
+            description = "Проверяет все элементы и создаёт их в одной транзакции пакетами JDBC")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Информация о билетах создана"),
+            @ApiResponse(responseCode = "400", description = "Элементы содержат ошибки, ничего не создано")
+    })
+    public ResponseEntity<BatchResultDTO> createTicketInfos(
+            @Parameter(description = "Данные информации о билетах")
+            @RequestBody List<TicketInfoDTO> items
+    ) throws BadRequestException {
+        var result = catalogBatchService.createTicketInfos(items);
+        return ResponseEntity.status(result.getErrors().isEmpty() ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST)
+                .body(result);
+    }
+
     /**
      * Обновить информацию о существующем билете.
      *
@@ -0,0 +1,117 @@
+package org.example.springapp.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+
+/**
+ * Источник соединений, ограничивающий запросы крайним сроком {@link QueryDeadline}.
+ * <p>
+ * Соединения, полученные при установленном сроке, выдают запросы, которые перед выполнением получают
+ * тайм-аут JDBC по оставшемуся времени. По истечении тайм-аута драйвер Postgres отправляет серверу
+ * запрос отмены, поэтому ограничение работает и для JPA, и для {@code JdbcTemplate}, в том числе
+ * вне транзакций. Если срок уже истёк, запрос не отправляется в базу.
+ * </p>
+ */
+public class DeadlineDataSource extends DelegatingDataSource {
+    /**
+     * SQLSTATE {@code query_canceled}: тот же код Postgres возвращает при срабатывании тайм-аута.
+     */
+    static final String QUERY_CANCELED = "57014";
+
+    /**
+     * @param targetDataSource источник соединений приложения
+     */
+    public DeadlineDataSource(final DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return withDeadline(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return withDeadline(super.getConnection(username, password));
+    }
+
+    private static Connection withDeadline(final Connection connection) {
+        var deadline = QueryDeadline.current();
+        if (deadline == null) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(DeadlineDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    var result = invoke(connection, method, args);
+                    if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                        return Proxy.newProxyInstance(DeadlineDataSource.class.getClassLoader(),
+                                new Class<?>[]{method.getReturnType()}, new StatementHandler(statement, deadline));
+                    }
+                    return result;
+                });
+    }
+
+    private static Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Выставляет тайм-аут перед каждым выполнением и регистрирует запрос в сроке на время выполнения.
+     * Тайм-аут, заданный самим приложением, соблюдается, если он меньше оставшегося времени.
+     */
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final QueryDeadline deadline;
+        private int requestedTimeout;
+
+        private StatementHandler(final Statement statement, final QueryDeadline deadline) {
+            this.statement = statement;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "setQueryTimeout" -> {
+                    requestedTimeout = (Integer) args[0];
+                    return null;
+                }
+                case "getQueryTimeout" -> {
+                    return requestedTimeout;
+                }
+                default -> {
+                    if (!method.getName().startsWith("execute")) {
+                        return DeadlineDataSource.invoke(statement, method, args);
+                    }
+                }
+            }
+            var remaining = deadline.remaining();
+            if (remaining.isZero()) {
+                throw new SQLTimeoutException(deadline.isCancelled()
+                        ? "Query cancelled: client request aborted" : "Query deadline exceeded", QUERY_CANCELED);
+            }
+            // Тайм-аут JDBC задаётся в секундах, поэтому остаток округляется вверх.
+            var seconds = (int) Math.min(Integer.MAX_VALUE, (remaining.toMillis() + 999) / 1000);
+            statement.setQueryTimeout(requestedTimeout > 0 ? Math.min(requestedTimeout, seconds) : seconds);
+            deadline.register(statement);
+            try {
+                return DeadlineDataSource.invoke(statement, method, args);
+            } finally {
+                deadline.unregister(statement);
+            }
+        }
+    }
+}
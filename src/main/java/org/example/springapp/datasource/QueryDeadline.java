@@ -0,0 +1,179 @@
+package org.example.springapp.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Крайний срок запросов к базе, выполняемых при обработке одного HTTP-запроса.
+ * <p>
+ * Срок привязывается к потоку обработки запроса. {@link DeadlineDataSource} ограничивает им время
+ * выполнения каждого SQL-запроса и запоминает выполняющиеся запросы, чтобы {@link #cancel()} мог
+ * прервать их, когда клиент уже не ждёт ответа.
+ * </p>
+ * <p>
+ * Загрузки, результат которых получат и другие запросы, выполняются со сроком эндпоинта, а не с сокращённым
+ * клиентом, см. {@link #enterShared()}: иначе короткое время ожидания одного клиента завершало бы ошибкой
+ * запросы всех, кто ждёт ту же загрузку.
+ * </p>
+ */
+@Slf4j
+public final class QueryDeadline {
+    private static final ThreadLocal<QueryDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadline;
+    private final Set<Statement> inFlight = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+    /**
+     * Срок общих загрузок: этот же срок, отдельный или {@code null}, если они не ограничены.
+     */
+    private QueryDeadline shared;
+
+    private QueryDeadline(final long deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Установить крайний срок для текущего потока до вызова {@link #clear()}.
+     *
+     * @param timeout время, отведённое на запросы к базе
+     * @return установленный срок
+     */
+    public static QueryDeadline start(final Duration timeout) {
+        return start(timeout, timeout);
+    }
+
+    /**
+     * Установить крайний срок для текущего потока до вызова {@link #clear()}.
+     *
+     * @param timeout       время, отведённое на запросы к базе
+     * @param sharedTimeout время, отведённое на общие загрузки; ноль снимает с них ограничение
+     * @return установленный срок
+     */
+    public static QueryDeadline start(final Duration timeout, final Duration sharedTimeout) {
+        long now = System.nanoTime();
+        var deadline = new QueryDeadline(now + timeout.toNanos());
+        if (sharedTimeout.equals(timeout)) {
+            deadline.shared = deadline;
+        } else if (!sharedTimeout.isZero()) {
+            deadline.shared = new QueryDeadline(now + sharedTimeout.toNanos());
+            deadline.shared.shared = deadline.shared;
+        }
+        CURRENT.set(deadline);
+        return deadline;
+    }
+
+    /**
+     * @return срок текущего потока или {@code null}, если запросы к базе не ограничены
+     */
+    public static QueryDeadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Снять срок с текущего потока.
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Перейти к сроку общей загрузки, результат которой получат и другие запросы.
+     * Её запросы не отменяются вызовом {@link #cancel()} срока клиента.
+     *
+     * @return срок, который нужно вернуть вызовом {@link #restore(QueryDeadline)} после загрузки
+     */
+    public static QueryDeadline enterShared() {
+        var current = CURRENT.get();
+        if (current != null && current.shared != current) {
+            restore(current.shared);
+        }
+        return current;
+    }
+
+    /**
+     * Вернуть текущему потоку срок, действовавший до {@link #enterShared()}.
+     *
+     * @param previous прежний срок или {@code null}
+     */
+    public static void restore(final QueryDeadline previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Перенести срок текущего потока в задачу, выполняемую в другом потоке,
+     * например при асинхронной записи ответа.
+     *
+     * @param task задача
+     * @return задача, выполняемая с тем же сроком
+     */
+    public static Runnable propagate(final Runnable task) {
+        var deadline = CURRENT.get();
+        if (deadline == null) {
+            return task;
+        }
+        return () -> {
+            var previous = CURRENT.get();
+            CURRENT.set(deadline);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * @return оставшееся время или ноль, если срок истёк или запросы отменены
+     */
+    public Duration remaining() {
+        if (cancelled) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+    }
+
+    /**
+     * @return {@code true}, если запросы отменены вызовом {@link #cancel()}
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Прервать выполняющиеся запросы и запретить новые.
+     */
+    public void cancel() {
+        cancelled = true;
+        for (var statement : inFlight) {
+            try {
+                statement.cancel();
+            } catch (SQLException e) {
+                log.debug("Не удалось отменить запрос к базе", e);
+            }
+        }
+    }
+
+    void register(final Statement statement) {
+        inFlight.add(statement);
+        if (cancelled) {
+            cancel();
+        }
+    }
+
+    void unregister(final Statement statement) {
+        inFlight.remove(statement);
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.springapp.datasource;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Признак того, что чтения текущего потока должны выполняться на основной базе, а не на реплике.
+ * Устанавливается на время запроса клиента, который недавно изменял данные, чтобы он видел свои изменения.
+ */
+public final class ReadRouting {
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    /**
+     * Направлять чтения текущего потока на основную базу до вызова {@link #clear()}.
+     */
+    public static void primaryOnly() {
+        PRIMARY_ONLY.set(Boolean.TRUE);
+    }
+
+    /**
+     * @return {@code true}, если чтения текущего потока должны выполняться на основной базе
+     */
+    public static boolean isPrimaryOnly() {
+        return PRIMARY_ONLY.get() != null;
+    }
+
+    /**
+     * Выполнить действие, направляя чтения текущего потока на основную базу.
+     * Признак, установленный до вызова, после него сохраняется.
+     *
+     * @param action действие
+     * @param <T>    тип результата
+     * @return результат действия
+     * @throws Exception исключение действия
+     */
+    public static <T> T onPrimary(final Callable<T> action) throws Exception {
+        if (isPrimaryOnly()) {
+            return action.call();
+        }
+        primaryOnly();
+        try {
+            return action.call();
+        } finally {
+            clear();
+        }
+    }
+
+    /**
+     * Снять признак с текущего потока.
+     */
+    public static void clear() {
+        PRIMARY_ONLY.remove();
+    }
+}
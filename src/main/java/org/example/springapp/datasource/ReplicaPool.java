@@ -0,0 +1,134 @@
+package org.example.springapp.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Источник соединений для транзакций только на чтение: реплики по очереди, основная база как запасной вариант.
+ * <p>
+ * Соединение берётся с основной базы, если текущий поток помечен {@link ReadRouting#primaryOnly()},
+ * если все реплики отстают больше допустимого или недоступны. Отставание реплик проверяется
+ * по расписанию запросом к {@code pg_last_xact_replay_timestamp()}. Реплика, к которой не удалось
+ * подключиться, исключается до следующей успешной проверки.
+ * </p>
+ */
+@Slf4j
+public class ReplicaPool extends AbstractDataSource implements AutoCloseable {
+    private static final String LAG_QUERY = """
+            SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END
+            """;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param primary  основная база
+     * @param replicas реплики
+     * @param maxLag   максимальное отставание, при котором реплика используется для чтения
+     */
+    public ReplicaPool(final DataSource primary, final List<Replica> replicas, final Duration maxLag) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLag = maxLag;
+    }
+
+    /**
+     * Реплика и её состояние по последней проверке.
+     */
+    public static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean available = true;
+
+        /**
+         * @param name       имя реплики для журнала
+         * @param dataSource пул соединений реплики
+         */
+        public Replica(final String name, final DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private void setAvailable(final boolean available, final String reason) {
+            if (this.available != available) {
+                if (available) {
+                    log.info("Replica {} is back in the read pool", name);
+                } else {
+                    log.warn("Replica {} is excluded from the read pool: {}", name, reason);
+                }
+            }
+            this.available = available;
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!ReadRouting.isPrimaryOnly()) {
+            for (int attempt = 0; attempt < replicas.size(); attempt++) {
+                var replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+                if (!replica.available) {
+                    continue;
+                }
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException e) {
+                    replica.setAvailable(false, e.toString());
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica pool uses the credentials of its data sources");
+    }
+
+    /**
+     * Проверить отставание каждой реплики и исключить из чтения отстающие и недоступные.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:PT2S}")
+    public void checkLag() {
+        for (var replica : replicas) {
+            try (var connection = replica.dataSource.getConnection();
+                 var statement = connection.createStatement()) {
+                statement.setQueryTimeout(Math.max(1, (int) maxLag.toSeconds()));
+                try (var rs = statement.executeQuery(LAG_QUERY)) {
+                    rs.next();
+                    var lag = Duration.ofMillis((long) (rs.getDouble(1) * 1000));
+                    replica.setAvailable(lag.compareTo(maxLag) <= 0, "lag " + lag);
+                }
+            } catch (SQLException e) {
+                replica.setAvailable(false, e.toString());
+            }
+        }
+    }
+
+    /**
+     * @return количество реплик, используемых для чтения
+     */
+    public long availableReplicas() {
+        return replicas.stream().filter(replica -> replica.available).count();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (var replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
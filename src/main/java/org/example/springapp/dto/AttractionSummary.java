@@ -0,0 +1,47 @@
+package org.example.springapp.dto;
+
+import org.example.springapp.utils.enums.AttractionType;
+import org.example.springapp.utils.enums.ServiceType;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Краткое описание достопримечательности для списков и результатов поиска.
+ * <p>
+ * Заполняется выражением-конструктором прямо из запроса, поэтому выбираются только нужные столбцы,
+ * а управляемые сущности не создаются. Типы услуг выбираются отдельным запросом для всей страницы.
+ * </p>
+ *
+ * @param id             ID достопримечательности
+ * @param name           название
+ * @param attractionType тип достопримечательности
+ * @param city           город
+ * @param region         регион
+ * @param price          цена билета или {@code null}, если информации о билетах нет
+ * @param currency       валюта цены
+ * @param serviceTypes   типы доступных услуг
+ */
+public record AttractionSummary(Long id, String name, AttractionType attractionType, String city, String region,
+                                BigDecimal price, String currency, List<ServiceType> serviceTypes) {
+
+    public AttractionSummary {
+        serviceTypes = serviceTypes == null ? List.of() : List.copyOf(serviceTypes);
+    }
+
+    /**
+     * Конструктор для выражения {@code select new} без типов услуг.
+     */
+    public AttractionSummary(final Long id, final String name, final AttractionType attractionType, final String city,
+                             final String region, final BigDecimal price, final String currency) {
+        this(id, name, attractionType, city, region, price, currency, List.of());
+    }
+
+    /**
+     * @param types типы доступных услуг
+     * @return копия описания с указанными типами услуг
+     */
+    public AttractionSummary withServiceTypes(final List<ServiceType> types) {
+        return new AttractionSummary(id, name, attractionType, city, region, price, currency, types);
+    }
+}
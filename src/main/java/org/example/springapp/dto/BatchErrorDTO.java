@@ -0,0 +1,21 @@
+package org.example.springapp.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO для передачи ошибок одного элемента пакетного запроса.
+ */
+@Data
+@Builder
+public class BatchErrorDTO {
+
+    /**
+     * Позиция элемента в запросе, начиная с нуля.
+     */
+    private int index;
+
+    private List<String> messages;
+}
@@ -0,0 +1,40 @@
+package org.example.springapp.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO для передачи результата пакетного создания сущностей.
+ * Если хотя бы один элемент содержит ошибки, ни одна сущность не создаётся.
+ */
+@Data
+@Builder
+public class BatchResultDTO {
+
+    /**
+     * Количество созданных сущностей.
+     */
+    private int created;
+
+    /**
+     * ID созданных сущностей в порядке элементов запроса.
+     */
+    private List<Long> ids;
+
+    /**
+     * Ошибки элементов запроса.
+     */
+    private List<BatchErrorDTO> errors;
+
+    /**
+     * Время проверки и вставки в миллисекундах.
+     */
+    private long elapsedMillis;
+
+    /**
+     * Скорость вставки: созданные строки в секунду.
+     */
+    private double rowsPerSecond;
+}
@@ -0,0 +1,21 @@
+package org.example.springapp.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import org.example.springapp.utils.enums.HotKeyType;
+
+/**
+ * DTO для передачи информации о часто запрашиваемом ключе.
+ */
+@Data
+@Builder
+public class HotKeyDTO {
+
+    private HotKeyType type;
+
+    private String key;
+
+    private long estimatedCount;
+
+    private boolean pinned;
+}
@@ -0,0 +1,26 @@
+package org.example.springapp.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO для передачи результата запроса нескольких сущностей по списку ID.
+ *
+ * @param <T> тип сущностей
+ */
+@Data
+@Builder
+public class MultiGetDTO<T> {
+
+    /**
+     * Найденные сущности в порядке ID запроса.
+     */
+    private List<T> items;
+
+    /**
+     * Запрошенные ID, для которых сущности не найдены.
+     */
+    private List<Long> missingIds;
+}
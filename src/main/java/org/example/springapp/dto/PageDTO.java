@@ -0,0 +1,21 @@
+package org.example.springapp.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO для передачи страницы списка.
+ * Следующая страница запрашивается с параметром {@code cursor}, равным {@code nextCursor}.
+ *
+ * @param <T> тип элементов страницы
+ */
+@Data
+@Builder
+public class PageDTO<T> {
+
+    private List<T> items;
+
+    private String nextCursor;
+}
@@ -0,0 +1,162 @@
+package org.example.springapp.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.springapp.config.InvalidationProperties;
+import org.example.springapp.utils.enums.ChangeType;
+import org.postgresql.PGConnection;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.example.springapp.repository.CatalogVersionRepository.ENTITY_TABLES;
+
+/**
+ * Принимает изменения других экземпляров приложения через Postgres {@code LISTEN}
+ * и публикует их локально как {@link EntityChangedEvent} с флагом {@code remote}.
+ * <p>
+ * Слушает на отдельном соединении вне пула. После разрыва соединения переподключается с растущей задержкой.
+ * Уведомления, отправленные во время разрыва, теряются, поэтому после переподключения, как и при пропуске
+ * номера сообщения, публикуется полный сброс: по событию без идентификатора для каждой сущности.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.invalidation", name = "enabled", matchIfMissing = true)
+public class CatalogChangeListener implements SmartLifecycle {
+    private final InvalidationProperties properties;
+    private final DataSourceProperties dataSourceProperties;
+    private final ApplicationEventPublisher publisher;
+    private final Map<String, Long> lastSequences = new HashMap<>();
+
+    private volatile boolean running;
+    private volatile boolean listening;
+    private Thread thread;
+
+    public CatalogChangeListener(final InvalidationProperties properties,
+                                 final DataSourceProperties dataSourceProperties,
+                                 final ApplicationEventPublisher publisher) {
+        if (!properties.getChannel().matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid notification channel: " + properties.getChannel());
+        }
+        this.properties = properties;
+        this.dataSourceProperties = dataSourceProperties;
+        this.publisher = publisher;
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        thread = new Thread(this::listen, "catalog-listen");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * @return {@code true}, если соединение установлено и {@code LISTEN} выполнен
+     */
+    public boolean isListening() {
+        return listening;
+    }
+
+    private void listen() {
+        var delay = properties.getReconnectDelay();
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (var statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + properties.getChannel());
+                }
+                listening = true;
+                if (connectedBefore) {
+                    flushAll("reconnected");
+                }
+                connectedBefore = true;
+                delay = properties.getReconnectDelay();
+                var pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    var notifications = pgConnection.getNotifications((int) properties.getPollTimeout().toMillis());
+                    if (notifications != null) {
+                        for (var notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                listening = false;
+                if (running) {
+                    log.warn("Change listener connection lost, reconnecting in {}: {}", delay, e.toString());
+                    sleep(delay);
+                    delay = min(delay.multipliedBy(2), properties.getMaxReconnectDelay());
+                }
+            }
+        }
+        listening = false;
+    }
+
+    /**
+     * Обработать payload одного уведомления.
+     *
+     * @param payload payload уведомления
+     */
+    void handle(final String payload) {
+        ChangeNotification notification;
+        try {
+            notification = ChangeNotification.decode(payload);
+        } catch (IllegalArgumentException e) {
+            log.warn("Unreadable change notification, flushing caches: {}", e.getMessage());
+            flushAll("unreadable notification");
+            return;
+        }
+        if (notification.nodeId().equals(properties.getNodeId())) {
+            return;
+        }
+        var previous = lastSequences.put(notification.nodeId(), notification.sequence());
+        if (previous != null && notification.sequence() != previous + 1) {
+            flushAll("gap in notifications of node " + notification.nodeId()
+                    + " after " + previous + ": " + notification.sequence());
+            return;
+        }
+        notification.changes().forEach(publisher::publishEvent);
+    }
+
+    private void flushAll(final String reason) {
+        log.info("Flushing all catalog caches: {}", reason);
+        ENTITY_TABLES.keySet().forEach(type ->
+                publisher.publishEvent(new EntityChangedEvent(type, null, ChangeType.UPDATED, true)));
+    }
+
+    private static void sleep(final Duration delay) {
+        try {
+            Thread.sleep(delay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Duration min(final Duration first, final Duration second) {
+        return first.compareTo(second) <= 0 ? first : second;
+    }
+}
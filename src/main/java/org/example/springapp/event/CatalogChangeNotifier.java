@@ -0,0 +1,106 @@
+package org.example.springapp.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.springapp.config.InvalidationProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Рассылает локальные изменения сущностей остальным экземплярам приложения через {@code pg_notify}.
+ * <p>
+ * Изменения накапливаются после коммита и отправляются пачками раз в {@code app.invalidation.batch-window}.
+ * Номер сообщения увеличивается и тогда, когда отправка не удалась, чтобы получатели увидели
+ * пропуск и полностью сбросили кэши.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.invalidation", name = "enabled", matchIfMissing = true)
+public class CatalogChangeNotifier implements InitializingBean, DisposableBean {
+    private final JdbcTemplate jdbcTemplate;
+    private final InvalidationProperties properties;
+    private final Queue<EntityChangedEvent> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ScheduledExecutorService executor =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("catalog-notify-"));
+
+    public CatalogChangeNotifier(final JdbcTemplate jdbcTemplate, final InvalidationProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        long window = properties.getBatchWindow().toMillis();
+        executor.scheduleWithFixedDelay(this::flush, window, window, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+        flush();
+    }
+
+    /**
+     * Ставит локальное изменение в очередь на отправку.
+     *
+     * @param event событие изменения сущности
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(final EntityChangedEvent event) {
+        if (!event.remote()) {
+            pending.add(event);
+        }
+    }
+
+    /**
+     * Отправить накопленные изменения. Повторяющиеся изменения отправляются один раз.
+     */
+    public synchronized void flush() {
+        Set<String> changes = new LinkedHashSet<>();
+        for (var event = pending.poll(); event != null; event = pending.poll()) {
+            changes.add(ChangeNotification.encode(event));
+        }
+        List<String> batch = new ArrayList<>();
+        int length = 0;
+        for (var change : changes) {
+            if (!batch.isEmpty() && length + change.length() + 1 > ChangeNotification.MAX_CHANGES_LENGTH) {
+                send(batch);
+                batch = new ArrayList<>();
+                length = 0;
+            }
+            batch.add(change);
+            length += change.length() + 1;
+        }
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+
+    private void send(final List<String> changes) {
+        var payload = ChangeNotification.payload(properties.getNodeId(), sequence.incrementAndGet(), changes);
+        try {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> {
+            }, properties.getChannel(), payload);
+        } catch (DataAccessException e) {
+            log.warn("Change notification {} was not sent: {}", sequence.get(), e.toString());
+        }
+    }
+}
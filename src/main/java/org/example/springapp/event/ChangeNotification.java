@@ -0,0 +1,92 @@
+package org.example.springapp.event;
+
+import org.example.springapp.utils.enums.ChangeType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.example.springapp.repository.CatalogVersionRepository.ENTITY_TABLES;
+
+/**
+ * Сообщение {@code NOTIFY} с пачкой изменений одного экземпляра приложения.
+ * <p>
+ * Формат: {@code nodeId|sequence|table:id:C,table::U}, где последняя буква — вид изменения,
+ * а пустой идентификатор означает изменение любой строки таблицы.
+ * Номер сообщения растёт на единицу, пропуск номера означает потерянные изменения.
+ * </p>
+ *
+ * @param nodeId   идентификатор отправителя
+ * @param sequence порядковый номер сообщения отправителя
+ * @param changes  изменения
+ */
+public record ChangeNotification(String nodeId, long sequence, List<EntityChangedEvent> changes) {
+    /**
+     * Ограничение Postgres на размер payload составляет 8000 байт, остаток оставлен под заголовок.
+     */
+    public static final int MAX_CHANGES_LENGTH = 7_800;
+
+    private static final Map<String, Class<?>> ENTITY_TYPES = ENTITY_TABLES.entrySet().stream()
+            .collect(Collectors.toMap(Map.Entry::getValue, Map.Entry::getKey));
+
+    /**
+     * Закодировать одно изменение.
+     *
+     * @param change изменение сущности каталога
+     * @return строка вида {@code table:id:C}
+     */
+    public static String encode(final EntityChangedEvent change) {
+        var table = ENTITY_TABLES.get(change.entityType());
+        if (table == null) {
+            throw new IllegalArgumentException("Not a catalog entity: " + change.entityType());
+        }
+        return table + ':' + (change.id() == null ? "" : change.id()) + ':' + change.changeType().name().charAt(0);
+    }
+
+    /**
+     * Собрать payload из уже закодированных изменений.
+     *
+     * @param nodeId   идентификатор отправителя
+     * @param sequence порядковый номер сообщения
+     * @param changes  результаты {@link #encode(EntityChangedEvent)}
+     * @return payload сообщения
+     */
+    public static String payload(final String nodeId, final long sequence, final List<String> changes) {
+        return nodeId + '|' + sequence + '|' + String.join(",", changes);
+    }
+
+    /**
+     * Разобрать payload. Все изменения помечаются как {@link EntityChangedEvent#remote() удалённые}.
+     *
+     * @param payload payload сообщения
+     * @return сообщение
+     * @throws IllegalArgumentException если payload имеет неверный формат
+     */
+    public static ChangeNotification decode(final String payload) {
+        var parts = payload.split("\\|", -1);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed change notification: " + payload);
+        }
+        List<EntityChangedEvent> changes = new ArrayList<>();
+        for (var token : parts[2].isEmpty() ? new String[0] : parts[2].split(",")) {
+            var fields = token.split(":", -1);
+            var type = fields.length == 3 ? ENTITY_TYPES.get(fields[0]) : null;
+            if (type == null || fields[2].length() != 1) {
+                throw new IllegalArgumentException("Malformed change: " + token);
+            }
+            changes.add(new EntityChangedEvent(type, fields[1].isEmpty() ? null : Long.valueOf(fields[1]),
+                    changeType(fields[2].charAt(0)), true));
+        }
+        return new ChangeNotification(parts[0], Long.parseLong(parts[1]), changes);
+    }
+
+    private static ChangeType changeType(final char code) {
+        for (var type : ChangeType.values()) {
+            if (type.name().charAt(0) == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown change type: " + code);
+    }
+}
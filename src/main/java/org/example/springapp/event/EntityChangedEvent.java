@@ -0,0 +1,18 @@
+package org.example.springapp.event;
+
+import org.example.springapp.utils.enums.ChangeType;
+
+/**
+ * Событие об успешном изменении сущности через сервисный слой.
+ *
+ * @param entityType класс изменённой сущности
+ * @param id         идентификатор изменённой сущности или {@code null}, если могла измениться любая
+ * @param changeType вид изменения
+ * @param remote     {@code true}, если изменение выполнено другим экземпляром приложения
+ */
+public record EntityChangedEvent(Class<?> entityType, Long id, ChangeType changeType, boolean remote) {
+
+    public EntityChangedEvent(final Class<?> entityType, final Long id, final ChangeType changeType) {
+        this(entityType, id, changeType, false);
+    }
+}
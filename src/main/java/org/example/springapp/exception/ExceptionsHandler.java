@@ -1,8 +1,12 @@
 package org.example.springapp.exception;
 
 import jakarta.validation.ConstraintDeclarationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -92,4 +96,38 @@ public class ExceptionsHandler {
         );
         return new ResponseEntity<>(exceptionDetails, HttpStatus.BAD_REQUEST);
     }
+
+    /**
+     * Обрабатывает превышение крайнего срока запроса к базе и возвращает статус 504 GATEWAY_TIMEOUT.
+     * Текст исходного исключения не передаётся клиенту, так как содержит SQL.
+     *
+     * @param ex пойманное исключение QueryTimeoutException
+     * @return ResponseEntity с объектом ExceptionDetails и статусом GATEWAY_TIMEOUT
+     */
+    @ExceptionHandler({QueryTimeoutException.class, jakarta.persistence.QueryTimeoutException.class})
+    public ResponseEntity<ExceptionDetails> queryTimeoutException(final RuntimeException ex) {
+        ExceptionDetails exceptionDetails = new ExceptionDetails(
+                new Date(),
+                "Превышено время выполнения запроса к базе данных"
+        );
+        return new ResponseEntity<>(exceptionDetails, HttpStatus.GATEWAY_TIMEOUT);
+    }
+
+    /**
+     * Обрабатывает нехватку соединений с базой и возвращает статус 503 SERVICE_UNAVAILABLE
+     * с предложением повторить запрос.
+     *
+     * @param ex пойманное исключение CannotCreateTransactionException или CannotGetJdbcConnectionException
+     * @return ResponseEntity с объектом ExceptionDetails и статусом SERVICE_UNAVAILABLE
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class})
+    public ResponseEntity<ExceptionDetails> connectionUnavailableException(final RuntimeException ex) {
+        ExceptionDetails exceptionDetails = new ExceptionDetails(
+                new Date(),
+                "База данных временно недоступна"
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(exceptionDetails);
+    }
 }
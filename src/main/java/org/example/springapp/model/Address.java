@@ -3,7 +3,11 @@ package org.example.springapp.model;
 import com.fasterxml.jackson.annotation.*;
 import jakarta.persistence.*;
 import lombok.*;
+import org.example.springapp.utils.id.CatalogId;
+import org.example.springapp.utils.id.CatalogIds;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -21,10 +25,18 @@ import java.util.List;
         property = "id"
 )
 @Table(name = "address", schema = "tourism")
+@NamedEntityGraph(name = Address.WITH_ATTRACTIONS,
+        attributeNodes = @NamedAttributeNode(value = "attraction", subgraph = "attraction"),
+        subgraphs = @NamedSubgraph(name = "attraction", attributeNodes = @NamedAttributeNode("ticketInfo")))
 public class Address {
+    /**
+     * Граф загрузки с достопримечательностями по адресу и их билетами.
+     * Содержит коллекцию, поэтому используется только для выборки одного адреса.
+     */
+    public static final String WITH_ATTRACTIONS = "Address.withAttractions";
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @CatalogId(sequence = CatalogIds.ADDRESS_SEQUENCE)
     @Column(name = "id")
     private Long id;
 
@@ -46,6 +58,11 @@ public class Address {
     @Column(name = "longitude")
     private Double longitude;
 
+    @JsonIgnore
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     /**
      * Список достопримечательностей, расположенных по данному адресу.
      * Связь "один ко многим" с сущностью Attraction.
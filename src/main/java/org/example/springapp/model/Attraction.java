@@ -4,7 +4,11 @@ import com.fasterxml.jackson.annotation.*;
 import jakarta.persistence.*;
 import lombok.*;
 import org.example.springapp.utils.enums.AttractionType;
+import org.example.springapp.utils.id.CatalogId;
+import org.example.springapp.utils.id.CatalogIds;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -22,11 +26,20 @@ import java.util.List;
         property = "id"
 )
 @Table(name = "attraction", schema = "tourism")
+@NamedEntityGraph(name = Attraction.WITH_ADDRESS_AND_TICKET, attributeNodes = {
+        @NamedAttributeNode("address"),
+        @NamedAttributeNode("ticketInfo")
+})
 public class Attraction {
+    /**
+     * Граф загрузки с адресом и информацией о билетах. Содержит только связи "к одному",
+     * поэтому подходит для запросов с ограничением количества строк.
+     */
+    public static final String WITH_ADDRESS_AND_TICKET = "Attraction.withAddressAndTicket";
 
     @Id
     @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @CatalogId(sequence = CatalogIds.ATTRACTION_SEQUENCE)
     private Long id;
 
     @Column(name = "name")
@@ -39,6 +52,11 @@ public class Attraction {
     @Column(name = "attraction_type")
     private AttractionType attractionType;
 
+    @JsonIgnore
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     /**
      * Адрес достопримечательности.
      * Связь "многие к одному" с сущностью Address.
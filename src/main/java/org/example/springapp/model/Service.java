@@ -1,10 +1,15 @@
 package org.example.springapp.model;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 import org.example.springapp.utils.enums.ServiceType;
+import org.example.springapp.utils.id.CatalogId;
+import org.example.springapp.utils.id.CatalogIds;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -20,7 +25,7 @@ import java.util.List;
 public class Service {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @CatalogId(sequence = CatalogIds.SERVICE_SEQUENCE)
     @Column(name = "id")
     private Long id;
 
@@ -34,6 +39,11 @@ public class Service {
     @Column(name = "service_type")
     private ServiceType serviceType;
 
+    @JsonIgnore
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     /**
      * Список достопримечательностей, в которых доступна данная услуга.
      * Связь "многие ко многим", управляемая со стороны сущности Attraction.
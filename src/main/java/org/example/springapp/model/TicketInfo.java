@@ -1,11 +1,16 @@
 package org.example.springapp.model;
 
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import jakarta.persistence.*;
 import lombok.*;
+import org.example.springapp.utils.id.CatalogId;
+import org.example.springapp.utils.id.CatalogIds;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 
 /**
  * Сущность, представляющая информацию о билете для достопримечательности.
@@ -21,9 +26,16 @@ import java.math.BigDecimal;
         property = "id"
 )
 @Table(name = "ticket_info", schema = "tourism")
+@NamedEntityGraph(name = TicketInfo.WITH_ATTRACTION,
+        attributeNodes = @NamedAttributeNode(value = "attraction", subgraph = "attraction"),
+        subgraphs = @NamedSubgraph(name = "attraction", attributeNodes = @NamedAttributeNode("address")))
 public class TicketInfo {
+    /**
+     * Граф загрузки с достопримечательностью и её адресом.
+     */
+    public static final String WITH_ATTRACTION = "TicketInfo.withAttraction";
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @CatalogId(sequence = CatalogIds.TICKET_INFO_SEQUENCE)
     @Column(name = "id")
     private Long id;
 
@@ -36,6 +48,11 @@ public class TicketInfo {
     @Column(name = "availability")
     private Boolean availability;
 
+    @JsonIgnore
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     /**
      * Связь с достопримечательностью, для которой предоставляется информация о билете.
      **/
@@ -1,20 +1,46 @@
 package org.example.springapp.repository;
 
 import org.example.springapp.model.Address;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Репозиторий для работы с сущностями {@link Address}.
  */
 @Repository
-public interface AddressRepository extends JpaRepository<Address, Long> {
+public interface AddressRepository extends JpaRepository<Address, Long>, AddressShapeRepository {
     /**
      *  Метод для получения {@link Address} по айди
      * @return  {@link Optional} для  {@link Address}
      */
+    @EntityGraph(Address.WITH_ATTRACTIONS)
     Optional<Address> getAddressById(Long id);
 
+    /**
+     * Получить страницу адресов, упорядоченных по ID.
+     * Запрос использует первичный ключ и не пропускает строки через OFFSET.
+     *
+     * @param id    ID последней записи предыдущей страницы
+     * @param limit максимальное количество записей
+     * @return записи с ID больше указанного
+     */
+    List<Address> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Получить адреса по списку ID одним запросом.
+     * Список передаётся одним параметром-массивом, поэтому текст запроса и его план
+     * не зависят от количества ID.
+     *
+     * @param ids ID записей
+     * @return найденные записи в произвольном порядке
+     */
+    @Query(value = "select * from tourism.address where id = any(cast(:ids as bigint[]))", nativeQuery = true)
+    List<Address> findAllByIdArray(@Param("ids") Long[] ids);
 }
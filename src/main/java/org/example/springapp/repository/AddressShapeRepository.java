@@ -0,0 +1,39 @@
+package org.example.springapp.repository;
+
+import org.example.springapp.utils.fields.FieldSelection;
+import org.example.springapp.utils.pagination.PageCursor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Чтение адресов в форме, запрошенной клиентом.
+ * В SQL попадают только выбранные столбцы, достопримечательности выбираются только при раскрытии.
+ */
+public interface AddressShapeRepository {
+    /**
+     * Поля адреса.
+     */
+    List<String> FIELDS = List.of("id", "building", "street", "region", "city", "latitude", "longitude");
+
+    /**
+     * Раскрываемые связи адреса.
+     */
+    List<String> EXPANSIONS = List.of("attractions");
+
+    /**
+     * @param id        ID адреса
+     * @param selection форма ответа
+     * @return адрес в запрошенной форме, если он существует
+     */
+    Optional<Map<String, Object>> findShapedById(Long id, FieldSelection selection);
+
+    /**
+     * @param selection форма ответа
+     * @param after     позиция последней записи предыдущей страницы или {@code null}
+     * @param limit     максимальное количество записей
+     * @return адреса с ID больше указанного в запрошенной форме
+     */
+    List<Map<String, Object>> findShapedPage(FieldSelection selection, PageCursor after, int limit);
+}
@@ -0,0 +1,85 @@
+package org.example.springapp.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.example.springapp.model.Address;
+import org.example.springapp.utils.enums.SortKey;
+import org.example.springapp.utils.fields.FieldSelection;
+import org.example.springapp.utils.pagination.PageCursor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+/**
+ * Реализация {@link AddressShapeRepository} на Criteria API.
+ * Достопримечательности по адресам выбираются вторым запросом для всех строк сразу.
+ */
+class AddressShapeRepositoryImpl implements AddressShapeRepository {
+    private static final String ATTRACTIONS = "attractions";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Map<String, Object>> findShapedById(final Long id, final FieldSelection selection) {
+        return find(selection, (builder, root) -> builder.equal(root.get("id"), id), 1).stream().findFirst();
+    }
+
+    @Override
+    public List<Map<String, Object>> findShapedPage(final FieldSelection selection, final PageCursor after,
+                                                    final int limit) {
+        return find(selection, (builder, root) -> after == null ? builder.conjunction()
+                : ShapedRows.after(builder, root, after), limit);
+    }
+
+    private List<Map<String, Object>> find(final FieldSelection selection,
+                                           final BiFunction<CriteriaBuilder, Root<Address>, Predicate> where,
+                                           final int limit) {
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createTupleQuery();
+        var root = query.from(Address.class);
+        var columns = FIELDS.stream().filter(selection::includes).toList();
+        List<Selection<?>> selections = new ArrayList<>();
+        ShapedRows.select(selections, root, "", columns);
+        query.multiselect(selections).where(where.apply(builder, root))
+                .orderBy(ShapedRows.order(builder, root, SortKey.ID));
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : entityManager.createQuery(query).setMaxResults(limit).getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            columns.forEach(column -> row.put(column, tuple.get(column)));
+            rows.add(row);
+        }
+        if (selection.expands(ATTRACTIONS) && !rows.isEmpty()) {
+            attachAttractions(rows);
+        }
+        return rows;
+    }
+
+    private void attachAttractions(final List<Map<String, Object>> rows) {
+        var ids = rows.stream().map(row -> (Long) row.get("id")).toList();
+        Map<Long, List<Map<String, Object>>> attractions = new HashMap<>();
+        entityManager.createQuery("select a.address.id, a.id, a.name, a.attractionType from Attraction a "
+                        + "where a.address.id in :ids order by a.id", Object[].class)
+                .setParameter("ids", ids)
+                .getResultList()
+                .forEach(row -> {
+                    Map<String, Object> attraction = new LinkedHashMap<>();
+                    attraction.put("id", row[1]);
+                    attraction.put("name", row[2]);
+                    attraction.put("attractionType", row[3]);
+                    attractions.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(attraction);
+                });
+        rows.forEach(row -> row.put(ATTRACTIONS, attractions.getOrDefault((Long) row.get("id"), List.of())));
+    }
+}
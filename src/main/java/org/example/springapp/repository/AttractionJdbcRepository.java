@@ -0,0 +1,218 @@
+package org.example.springapp.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.springapp.dto.AttractionSummary;
+import org.example.springapp.model.Address;
+import org.example.springapp.model.Attraction;
+import org.example.springapp.model.TicketInfo;
+import org.example.springapp.utils.enums.AttractionType;
+import org.example.springapp.utils.enums.ServiceType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Репозиторий для чтения достопримечательностей через {@link JdbcTemplate}.
+ * <p>
+ * Строки отображаются сразу в объекты ответа: сущности не попадают в контекст персистентности,
+ * для них не создаются снимки проверки изменений. Типы услуг выбираются тем же запросом, что и описания.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class AttractionJdbcRepository {
+    /**
+     * Начало запросов кратких описаний, общее с {@link AttractionReactiveRepository}.
+     */
+    static final String SUMMARY_QUERY = """
+            SELECT a.id, a.name, a.attraction_type, ad.city, ad.region, t.price, t.currency,
+                   ARRAY(SELECT s.service_type FROM tourism.attraction_service sa
+                         JOIN tourism.service s ON s.id = sa.service_id
+                         WHERE sa.attraction_id = a.id ORDER BY s.id) AS service_types
+            FROM tourism.attraction a
+            LEFT JOIN tourism.address ad ON ad.id = a.address_id
+            LEFT JOIN tourism.ticket_info t ON t.attraction_id = a.id
+            """;
+
+    /**
+     * Достопримечательность и все достопримечательности по её адресу: этот граф попадает в JSON ответа.
+     */
+    private static final String GRAPH_QUERY = """
+            SELECT a.id, a.name, a.description, a.attraction_type, a.updated_at,
+                   ad.id AS address_id, ad.building, ad.street, ad.region, ad.city, ad.latitude, ad.longitude,
+                   ad.updated_at AS address_updated_at,
+                   t.id AS ticket_id, t.price, t.currency, t.availability, t.updated_at AS ticket_updated_at
+            FROM tourism.attraction a
+            LEFT JOIN tourism.address ad ON ad.id = a.address_id
+            LEFT JOIN tourism.ticket_info t ON t.attraction_id = a.id
+            WHERE a.id = ? OR a.address_id = (SELECT address_id FROM tourism.attraction WHERE id = ?)
+            ORDER BY a.id
+            """;
+
+    static final char LIKE_ESCAPE = '\\';
+
+    private static final RowMapper<AttractionSummary> SUMMARY = (rs, rowNum) -> new AttractionSummary(
+            rs.getLong("id"),
+            rs.getString("name"),
+            attractionType(rs.getString("attraction_type")),
+            rs.getString("city"),
+            rs.getString("region"),
+            rs.getBigDecimal("price"),
+            rs.getString("currency"),
+            serviceTypes(rs));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Получить достопримечательность по ID вместе с адресом, достопримечательностями по этому адресу
+     * и информацией о билетах одним запросом. Услуги не загружаются, как и при кодировании для кэша.
+     *
+     * @param id ID достопримечательности
+     * @return достопримечательность, если она существует
+     */
+    public Optional<Attraction> findGraphById(final Long id) {
+        List<Attraction> attractions = new ArrayList<>();
+        Address[] address = new Address[1];
+        jdbcTemplate.query(GRAPH_QUERY, rs -> {
+            var attraction = Attraction.builder()
+                    .id(rs.getLong("id"))
+                    .name(rs.getString("name"))
+                    .description(rs.getString("description"))
+                    .attractionType(attractionType(rs.getString("attraction_type")))
+                    .updatedAt(instant(rs.getTimestamp("updated_at")))
+                    .build();
+            if (rs.getObject("ticket_id") != null) {
+                attraction.setTicketInfo(TicketInfo.builder()
+                        .id(rs.getLong("ticket_id"))
+                        .price(rs.getBigDecimal("price"))
+                        .currency(rs.getString("currency"))
+                        .availability(rs.getObject("availability", Boolean.class))
+                        .updatedAt(instant(rs.getTimestamp("ticket_updated_at")))
+                        .attraction(attraction)
+                        .build());
+            }
+            if (address[0] == null && rs.getObject("address_id") != null) {
+                address[0] = Address.builder()
+                        .id(rs.getLong("address_id"))
+                        .building(rs.getObject("building", Integer.class))
+                        .street(rs.getString("street"))
+                        .region(rs.getString("region"))
+                        .city(rs.getString("city"))
+                        .latitude(rs.getObject("latitude", Double.class))
+                        .longitude(rs.getObject("longitude", Double.class))
+                        .updatedAt(instant(rs.getTimestamp("address_updated_at")))
+                        .attraction(attractions)
+                        .build();
+            }
+            attractions.add(attraction);
+        }, id, id);
+        if (address[0] != null) {
+            attractions.forEach(attraction -> attraction.setAddress(address[0]));
+        }
+        return attractions.stream().filter(attraction -> attraction.getId().equals(id)).findFirst();
+    }
+
+    /**
+     * Найти страницу кратких описаний достопримечательностей по городу, упорядоченных по ID.
+     *
+     * @param city  город, в котором расположена достопримечательность
+     * @param id    ID последней записи предыдущей страницы
+     * @param limit максимальное количество записей
+     * @return описания с типами услуг и ID больше указанного
+     */
+    public List<AttractionSummary> findSummariesByCity(final String city, final Long id, final int limit) {
+        return jdbcTemplate.query(SUMMARY_QUERY + "WHERE ad.city = ? AND a.id > ? ORDER BY a.id LIMIT ?",
+                SUMMARY, city, id, limit);
+    }
+
+    /**
+     * Найти страницу кратких описаний достопримечательностей по региону, упорядоченных по ID.
+     *
+     * @param region регион, в котором расположена достопримечательность
+     * @param id     ID последней записи предыдущей страницы
+     * @param limit  максимальное количество записей
+     * @return описания с типами услуг и ID больше указанного
+     */
+    public List<AttractionSummary> findSummariesByRegion(final String region, final Long id, final int limit) {
+        return jdbcTemplate.query(SUMMARY_QUERY + "WHERE ad.region = ? AND a.id > ? ORDER BY a.id LIMIT ?",
+                SUMMARY, region, id, limit);
+    }
+
+    /**
+     * Найти страницу кратких описаний достопримечательностей по типу услуги, упорядоченных по ID.
+     *
+     * @param serviceType тип услуги, предоставляемой достопримечательностью
+     * @param id          ID последней записи предыдущей страницы
+     * @param limit       максимальное количество записей
+     * @return описания с типами услуг и ID больше указанного
+     */
+    public List<AttractionSummary> findSummariesByServiceType(final ServiceType serviceType, final Long id,
+                                                              final int limit) {
+        return jdbcTemplate.query(SUMMARY_QUERY + """
+                WHERE EXISTS (SELECT 1 FROM tourism.attraction_service sa
+                              JOIN tourism.service s ON s.id = sa.service_id
+                              WHERE sa.attraction_id = a.id AND s.service_type = ?)
+                  AND a.id > ?
+                ORDER BY a.id
+                LIMIT ?
+                """, SUMMARY, serviceType.name(), id, limit);
+    }
+
+    /**
+     * Найти страницу кратких описаний достопримечательностей по части названия, упорядоченных по ID.
+     *
+     * @param name  часть названия достопримечательности
+     * @param id    ID последней записи предыдущей страницы
+     * @param limit максимальное количество записей
+     * @return описания с типами услуг и ID больше указанного, названия которых содержат фрагмент, игнорируя регистр
+     */
+    public List<AttractionSummary> findSummariesByNameContaining(final String name, final Long id, final int limit) {
+        return jdbcTemplate.query(SUMMARY_QUERY + "WHERE LOWER(a.name) LIKE LOWER(?) ESCAPE '" + LIKE_ESCAPE
+                + "' AND a.id > ? ORDER BY a.id LIMIT ?", SUMMARY, "%" + escapeLike(name) + "%", id, limit);
+    }
+
+    static String escapeLike(final String value) {
+        var escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    private static List<ServiceType> serviceTypes(final ResultSet rs) throws SQLException {
+        var array = rs.getArray("service_types");
+        if (array == null) {
+            return List.of();
+        }
+        try {
+            List<ServiceType> types = new ArrayList<>();
+            for (Object type : (Object[]) array.getArray()) {
+                if (type != null) {
+                    types.add(ServiceType.valueOf((String) type));
+                }
+            }
+            return types;
+        } finally {
+            array.free();
+        }
+    }
+
+    private static AttractionType attractionType(final String value) {
+        return value == null ? null : AttractionType.valueOf(value);
+    }
+
+    private static Instant instant(final Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+}
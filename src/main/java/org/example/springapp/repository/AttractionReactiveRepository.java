@@ -0,0 +1,124 @@
+package org.example.springapp.repository;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.example.springapp.dto.AttractionSummary;
+import org.example.springapp.utils.enums.AttractionType;
+import org.example.springapp.utils.enums.ServiceType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.example.springapp.repository.AttractionJdbcRepository.*;
+
+/**
+ * Репозиторий для неблокирующего чтения кратких описаний достопримечательностей через R2DBC.
+ * <p>
+ * Строки читаются порциями по {@link #FETCH_SIZE}: следующая порция запрашивается у базы,
+ * только когда подписчик готов принять строки, поэтому медленный клиент не накапливает результат в памяти.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class AttractionReactiveRepository {
+    /**
+     * Количество строк, которое драйвер получает от базы за одно обращение.
+     */
+    static final int FETCH_SIZE = 100;
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Найти краткое описание достопримечательности по ID.
+     *
+     * @param id ID достопримечательности
+     * @return описание с типами услуг или пустой результат, если достопримечательности нет
+     */
+    public Mono<AttractionSummary> findSummaryById(final Long id) {
+        return databaseClient.sql(SUMMARY_QUERY + "WHERE a.id = :id")
+                .bind("id", id)
+                .map(AttractionReactiveRepository::summary)
+                .one();
+    }
+
+    /**
+     * Найти краткие описания достопримечательностей по городу.
+     *
+     * @param city город, в котором расположена достопримечательность
+     * @return описания с типами услуг по возрастанию ID
+     */
+    public Flux<AttractionSummary> findSummariesByCity(final String city) {
+        return stream(SUMMARY_QUERY + "WHERE ad.city = :value ORDER BY a.id", city);
+    }
+
+    /**
+     * Найти краткие описания достопримечательностей по региону.
+     *
+     * @param region регион, в котором расположена достопримечательность
+     * @return описания с типами услуг по возрастанию ID
+     */
+    public Flux<AttractionSummary> findSummariesByRegion(final String region) {
+        return stream(SUMMARY_QUERY + "WHERE ad.region = :value ORDER BY a.id", region);
+    }
+
+    /**
+     * Найти краткие описания достопримечательностей по типу услуги.
+     *
+     * @param serviceType тип услуги, предоставляемой достопримечательностью
+     * @return описания с типами услуг по возрастанию ID
+     */
+    public Flux<AttractionSummary> findSummariesByServiceType(final ServiceType serviceType) {
+        return stream(SUMMARY_QUERY + """
+                WHERE EXISTS (SELECT 1 FROM tourism.attraction_service sa
+                              JOIN tourism.service s ON s.id = sa.service_id
+                              WHERE sa.attraction_id = a.id AND s.service_type = :value)
+                ORDER BY a.id
+                """, serviceType.name());
+    }
+
+    /**
+     * Найти краткие описания достопримечательностей по части названия.
+     *
+     * @param name часть названия достопримечательности
+     * @return описания с типами услуг по возрастанию ID, названия которых содержат фрагмент, игнорируя регистр
+     */
+    public Flux<AttractionSummary> findSummariesByNameContaining(final String name) {
+        return stream(SUMMARY_QUERY + "WHERE LOWER(a.name) LIKE LOWER(:value) ESCAPE '" + LIKE_ESCAPE
+                + "' ORDER BY a.id", "%" + escapeLike(name) + "%");
+    }
+
+    private Flux<AttractionSummary> stream(final String sql, final Object value) {
+        return databaseClient.sql(sql)
+                .bind("value", value)
+                .filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .map(AttractionReactiveRepository::summary)
+                .all();
+    }
+
+    private static AttractionSummary summary(final Readable row) {
+        var type = row.get("attraction_type", String.class);
+        List<ServiceType> serviceTypes = new ArrayList<>();
+        var types = row.get("service_types", String[].class);
+        if (types != null) {
+            for (var serviceType : types) {
+                if (serviceType != null) {
+                    serviceTypes.add(ServiceType.valueOf(serviceType));
+                }
+            }
+        }
+        return new AttractionSummary(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                type == null ? null : AttractionType.valueOf(type),
+                row.get("city", String.class),
+                row.get("region", String.class),
+                row.get("price", BigDecimal.class),
+                row.get("currency", String.class),
+                serviceTypes);
+    }
+}
@@ -1,18 +1,63 @@
 package org.example.springapp.repository;
 
+import jakarta.persistence.QueryHint;
+import org.example.springapp.dto.AttractionSummary;
 import org.example.springapp.model.Attraction;
 import org.example.springapp.utils.enums.ServiceType;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Репозиторий для работы с сущностями {@link Attraction}.
  */
 @Repository
-public interface AttractionRepository extends JpaRepository<Attraction, Long> {
+public interface AttractionRepository extends JpaRepository<Attraction, Long>, AttractionShapeRepository {
+    /**
+     * Количество строк, которое драйвер получает от базы за одно обращение при потоковом чтении.
+     */
+    String STREAM_FETCH_SIZE = "1000";
+
+    /**
+     * Начало запросов кратких описаний: только столбцы {@link AttractionSummary}, связи "к одному"
+     * присоединяются без загрузки сущностей.
+     */
+    String SUMMARY_SELECT = "select new org.example.springapp.dto.AttractionSummary(a.id, a.name, a.attractionType, "
+            + "ad.city, ad.region, t.price, t.currency) "
+            + "from Attraction a left join a.address ad left join a.ticketInfo t ";
+
+    /**
+     * Получить все достопримечательности вместе с адресами и информацией о билетах.
+     *
+     * @return Список всех достопримечательностей.
+     */
+    @Override
+    @EntityGraph(Attraction.WITH_ADDRESS_AND_TICKET)
+    List<Attraction> findAll();
+
+    /**
+     * Потоково прочитать все достопримечательности вместе с адресами и информацией о билетах.
+     * Строки читаются курсором порциями по {@link #STREAM_FETCH_SIZE}, поэтому поток нужно
+     * использовать внутри транзакции и закрыть после чтения.
+     *
+     * @return Поток достопримечательностей по возрастанию ID.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select a from Attraction a left join fetch a.address left join fetch a.ticketInfo order by a.id")
+    Stream<Attraction> streamAll();
 
     /**
      * Получить достопримечательность по её ID.
@@ -20,6 +65,7 @@ public interface AttractionRepository extends JpaRepository<Attraction, Long> {
      * @param id Идентификатор достопримечательности.
      * @return {@link Optional} с найденной достопримечательностью, если она существует.
      */
+    @EntityGraph(Attraction.WITH_ADDRESS_AND_TICKET)
     Optional<Attraction> getAttractionById(Long id);
 
     /**
@@ -28,29 +74,193 @@ public interface AttractionRepository extends JpaRepository<Attraction, Long> {
      * @param name Часть названия достопримечательности.
      * @return Список достопримечательностей, названия которых содержат указанный фрагмент, игнорируя регистр.
      */
+    @EntityGraph(Attraction.WITH_ADDRESS_AND_TICKET)
     List<Attraction> findByNameContainingIgnoreCase(String name);
 
     /**
-     * Найти достопримечательности по городу.
+     * Получить страницу достопримечательностей, упорядоченных по ID.
+     * Запрос использует первичный ключ и не пропускает строки через OFFSET.
      *
-     * @param city Город, в котором расположена достопримечательность.
-     * @return Список достопримечательностей, расположенных в указанном городе.
+     * @param id    ID последней записи предыдущей страницы
+     * @param limit максимальное количество записей
+     * @return записи с ID больше указанного
      */
-    List<Attraction> findByAddressCity(String city);
+    @EntityGraph(Attraction.WITH_ADDRESS_AND_TICKET)
+    List<Attraction> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 
     /**
-     * Найти достопримечательности по региону.
+     * Получить страницу кратких описаний достопримечательностей, упорядоченных по ID.
      *
-     * @param region Регион, в котором расположена достопримечательность.
-     * @return Список достопримечательностей, расположенных в указанном регионе.
+     * @param id    ID последней записи предыдущей страницы
+     * @param limit максимальное количество записей
+     * @return описания с ID больше указанного, без типов услуг
      */
-    List<Attraction> findByAddressRegion(String region);
+    @Query(SUMMARY_SELECT + "where a.id > :id order by a.id")
+    List<AttractionSummary> findSummariesAfterId(@Param("id") Long id, Limit limit);
+
+    /**
+     * Получить первую страницу кратких описаний достопримечательностей, упорядоченных по названию и ID.
+     *
+     * @param limit максимальное количество записей
+     * @return первые описания в порядке названия, без типов услуг
+     */
+    @Query(SUMMARY_SELECT + "order by a.name, a.id")
+    List<AttractionSummary> findSummariesOrderByName(Limit limit);
+
+    /**
+     * Получить следующую страницу кратких описаний достопримечательностей, упорядоченных по названию и ID.
+     * Сравнение пары {@code (name, id)} выполняется одним просмотром индекса {@code (name, id)}.
+     * Достопримечательности без названия в выборку не входят: они идут последними,
+     * как в {@link #findSummariesOrderByName(Limit)}, и выбираются {@link #findUnnamedSummariesAfterId(Long, Limit)}.
+     *
+     * @param name  название последней записи предыдущей страницы
+     * @param id    ID последней записи предыдущей страницы
+     * @param limit максимальное количество записей
+     * @return описания после указанного в порядке названия, без типов услуг
+     */
+    @Query(SUMMARY_SELECT + "where (a.name, a.id) > (:name, :id) order by a.name, a.id")
+    List<AttractionSummary> findSummariesAfterName(@Param("name") String name, @Param("id") Long id, Limit limit);
+
+    /**
+     * Получить следующую страницу кратких описаний достопримечательностей без названия.
+     * Такие записи идут в конце порядка по названию и упорядочены по ID.
+     *
+     * @param id    ID последней записи предыдущей страницы
+     * @param limit максимальное количество записей
+     * @return описания без названия с ID больше указанного, без типов услуг
+     */
+    @Query(SUMMARY_SELECT + "where a.name is null and a.id > :id order by a.id")
+    List<AttractionSummary> findUnnamedSummariesAfterId(@Param("id") Long id, Limit limit);
+
+    /**
+     * Найти страницу кратких описаний достопримечательностей по части названия, упорядоченных по ID.
+     *
+     * @param name  часть названия достопримечательности
+     * @param id    ID последней записи предыдущей страницы
+     * @param limit максимальное количество записей
+     * @return описания с ID больше указанного, названия которых содержат фрагмент, игнорируя регистр
+     */
+    @Query(SUMMARY_SELECT + "where lower(a.name) like lower(concat('%', :#{escape(#name)}, '%')) "
+            + "escape :#{escapeCharacter()} and a.id > :id order by a.id")
+    List<AttractionSummary> findSummariesByNameContaining(@Param("name") String name, @Param("id") Long id,
+                                                          Limit limit);
+
+    /**
+     * Найти страницу кратких описаний достопримечательностей по городу, упорядоченных по ID.
+     *
+     * @param city  город, в котором расположена достопримечательность
+     * @param id    ID последней записи предыдущей страницы
+     * @param limit максимальное количество записей
+     * @return описания с ID больше указанного, без типов услуг
+     */
+    @Query(SUMMARY_SELECT + "where ad.city = :city and a.id > :id order by a.id")
+    List<AttractionSummary> findSummariesByCity(@Param("city") String city, @Param("id") Long id, Limit limit);
+
+    /**
+     * Найти страницу кратких описаний достопримечательностей по региону, упорядоченных по ID.
+     *
+     * @param region регион, в котором расположена достопримечательность
+     * @param id     ID последней записи предыдущей страницы
+     * @param limit  максимальное количество записей
+     * @return описания с ID больше указанного, без типов услуг
+     */
+    @Query(SUMMARY_SELECT + "where ad.region = :region and a.id > :id order by a.id")
+    List<AttractionSummary> findSummariesByRegion(@Param("region") String region, @Param("id") Long id,
+                                                  Limit limit);
+
+    /**
+     * Найти страницу кратких описаний достопримечательностей по типу услуги, упорядоченных по ID.
+     *
+     * @param serviceType тип услуги, предоставляемой достопримечательностью
+     * @param id          ID последней записи предыдущей страницы
+     * @param limit       максимальное количество записей
+     * @return описания с ID больше указанного, без типов услуг
+     */
+    @Query(SUMMARY_SELECT + "where a.id in (select sa.id from Attraction sa join sa.services s "
+            + "where s.serviceType = :serviceType) and a.id > :id order by a.id")
+    List<AttractionSummary> findSummariesByServiceType(@Param("serviceType") ServiceType serviceType,
+                                                       @Param("id") Long id, Limit limit);
+
+    /**
+     * Получить типы услуг указанных достопримечательностей.
+     *
+     * @param ids ID достопримечательностей
+     * @return пары из ID достопримечательности и типа услуги
+     */
+    @Query("select a.id as attractionId, s.serviceType as serviceType from Attraction a join a.services s "
+            + "where a.id in :ids")
+    List<ServiceTypeView> findServiceTypes(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Загрузить одним запросом сущности, на которые ссылается достопримечательность.
+     * Каждая строка содержит адрес, информацию о билетах или {@code null} и одну из услуг или {@code null}.
+     *
+     * @param addressId    ID адреса
+     * @param ticketInfoId ID информации о билетах или {@code null}
+     * @param serviceIds   ID услуг
+     * @return строки {@code [Address, TicketInfo, Service]}; пустой список, если адреса нет
+     */
+    @Query("select ad, t, s from Address ad "
+            + "left join TicketInfo t on t.id = :ticketInfoId "
+            + "left join Service s on s.id in :serviceIds "
+            + "where ad.id = :addressId")
+    List<Object[]> findReferences(@Param("addressId") Long addressId, @Param("ticketInfoId") Long ticketInfoId,
+                                  @Param("serviceIds") Collection<Long> serviceIds);
+
+    /**
+     * Проверить одним запросом, какие из сущностей, на которые ссылается достопримечательность, существуют.
+     *
+     * @param addressId    ID адреса
+     * @param ticketInfoId ID информации о билетах или {@code null}
+     * @param serviceIds   ID услуг
+     * @return существующие ссылки
+     */
+    @Query(value = "select 'ADDRESS' as kind, id from tourism.address where id = cast(:addressId as bigint) "
+            + "union all select 'TICKET_INFO', id from tourism.ticket_info where id = cast(:ticketInfoId as bigint) "
+            + "union all select 'SERVICE', id from tourism.service where id = any(cast(:serviceIds as bigint[]))",
+            nativeQuery = true)
+    List<ReferenceView> findExistingReferences(@Param("addressId") Long addressId,
+                                               @Param("ticketInfoId") Long ticketInfoId,
+                                               @Param("serviceIds") Long[] serviceIds);
+
+    /**
+     * Существующая сущность, на которую ссылается достопримечательность.
+     */
+    interface ReferenceView {
+        /**
+         * @return {@code ADDRESS}, {@code TICKET_INFO} или {@code SERVICE}
+         */
+        String getKind();
+
+        /**
+         * @return ID сущности
+         */
+        Long getId();
+    }
+
+    /**
+     * Тип услуги, доступной в достопримечательности.
+     */
+    interface ServiceTypeView {
+        /**
+         * @return ID достопримечательности
+         */
+        Long getAttractionId();
+
+        /**
+         * @return тип услуги
+         */
+        ServiceType getServiceType();
+    }
 
     /**
-     * Найти достопримечательности по типу услуги.
+     * Получить достопримечательности по списку ID одним запросом.
+     * Список передаётся одним параметром-массивом, поэтому текст запроса и его план
+     * не зависят от количества ID.
      *
-     * @param serviceType Тип услуги, предоставляемой достопримечательностью.
-     * @return Список достопримечательностей, которые предоставляют указанную услугу.
+     * @param ids ID записей
+     * @return найденные записи в произвольном порядке
      */
-    List<Attraction> findByServicesServiceType(ServiceType serviceType);
+    @Query(value = "select * from tourism.attraction where id = any(cast(:ids as bigint[]))", nativeQuery = true)
+    List<Attraction> findAllByIdArray(@Param("ids") Long[] ids);
 }
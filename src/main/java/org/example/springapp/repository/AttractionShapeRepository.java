@@ -0,0 +1,41 @@
+package org.example.springapp.repository;
+
+import org.example.springapp.utils.enums.SortKey;
+import org.example.springapp.utils.fields.FieldSelection;
+import org.example.springapp.utils.pagination.PageCursor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Чтение достопримечательностей в форме, запрошенной клиентом.
+ * В SQL попадают только выбранные столбцы и соединения с раскрытыми связями.
+ */
+public interface AttractionShapeRepository {
+    /**
+     * Поля достопримечательности. Координаты берутся из адреса.
+     */
+    List<String> FIELDS = List.of("id", "name", "description", "attractionType", "latitude", "longitude");
+
+    /**
+     * Раскрываемые связи достопримечательности.
+     */
+    List<String> EXPANSIONS = List.of("address", "ticketInfo", "services");
+
+    /**
+     * @param id        ID достопримечательности
+     * @param selection форма ответа
+     * @return достопримечательность в запрошенной форме, если она существует
+     */
+    Optional<Map<String, Object>> findShapedById(Long id, FieldSelection selection);
+
+    /**
+     * @param selection форма ответа
+     * @param after     позиция последней записи предыдущей страницы или {@code null}
+     * @param sort      порядок сортировки
+     * @param limit     максимальное количество записей
+     * @return достопримечательности после указанной позиции в запрошенной форме
+     */
+    List<Map<String, Object>> findShapedPage(FieldSelection selection, PageCursor after, SortKey sort, int limit);
+}
@@ -0,0 +1,122 @@
+package org.example.springapp.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.example.springapp.model.Address;
+import org.example.springapp.model.Attraction;
+import org.example.springapp.model.TicketInfo;
+import org.example.springapp.utils.enums.SortKey;
+import org.example.springapp.utils.fields.FieldSelection;
+import org.example.springapp.utils.pagination.PageCursor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+/**
+ * Реализация {@link AttractionShapeRepository} на Criteria API.
+ * Адрес и информация о билетах присоединяются левым соединением только при необходимости,
+ * услуги выбираются вторым запросом для всех строк сразу.
+ */
+class AttractionShapeRepositoryImpl implements AttractionShapeRepository {
+    private static final List<String> COLUMNS = List.of("id", "name", "description", "attractionType");
+    private static final List<String> COORDINATES = List.of("latitude", "longitude");
+    private static final List<String> ADDRESS_COLUMNS = List.of("id", "building", "street", "region", "city",
+            "latitude", "longitude");
+    private static final List<String> TICKET_COLUMNS = List.of("id", "price", "currency", "availability");
+    private static final String ADDRESS = "address";
+    private static final String TICKET_INFO = "ticketInfo";
+    private static final String SERVICES = "services";
+    private static final String ADDRESS_PREFIX = "address.";
+    private static final String TICKET_PREFIX = "ticketInfo.";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Map<String, Object>> findShapedById(final Long id, final FieldSelection selection) {
+        return find(selection, (builder, root) -> builder.equal(root.get("id"), id), SortKey.ID, 1)
+                .stream().findFirst();
+    }
+
+    @Override
+    public List<Map<String, Object>> findShapedPage(final FieldSelection selection, final PageCursor after,
+                                                    final SortKey sort, final int limit) {
+        var rows = find(selection, (builder, root) -> after == null ? builder.conjunction()
+                : ShapedRows.after(builder, root, after), sort, limit);
+        if (rows.size() < limit && ShapedRows.continuesWithUnnamed(after)) {
+            rows.addAll(find(selection, (builder, root) -> ShapedRows.unnamedAfter(builder, root, Long.MIN_VALUE), sort,
+                    limit - rows.size()));
+        }
+        return rows;
+    }
+
+    private List<Map<String, Object>> find(final FieldSelection selection,
+                                           final BiFunction<CriteriaBuilder, Root<Attraction>, Predicate> where,
+                                           final SortKey sort, final int limit) {
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createTupleQuery();
+        var root = query.from(Attraction.class);
+        var columns = COLUMNS.stream().filter(selection::includes).toList();
+        var coordinates = COORDINATES.stream().filter(selection::includes).toList();
+        List<Selection<?>> selections = new ArrayList<>();
+        ShapedRows.select(selections, root, "", columns);
+        if (!coordinates.isEmpty() || selection.expands(ADDRESS)) {
+            var address = root.<Attraction, Address>join(ADDRESS, JoinType.LEFT);
+            ShapedRows.select(selections, address, "", coordinates);
+            if (selection.expands(ADDRESS)) {
+                ShapedRows.select(selections, address, ADDRESS_PREFIX, ADDRESS_COLUMNS);
+            }
+        }
+        if (selection.expands(TICKET_INFO)) {
+            ShapedRows.select(selections, root.<Attraction, TicketInfo>join(TICKET_INFO, JoinType.LEFT),
+                    TICKET_PREFIX, TICKET_COLUMNS);
+        }
+        query.multiselect(selections).where(where.apply(builder, root)).orderBy(ShapedRows.order(builder, root, sort));
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : entityManager.createQuery(query).setMaxResults(limit).getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            columns.forEach(column -> row.put(column, tuple.get(column)));
+            coordinates.forEach(column -> row.put(column, tuple.get(column)));
+            if (selection.expands(ADDRESS)) {
+                row.put(ADDRESS, ShapedRows.nested(tuple, ADDRESS_PREFIX, ADDRESS_COLUMNS));
+            }
+            if (selection.expands(TICKET_INFO)) {
+                row.put(TICKET_INFO, ShapedRows.nested(tuple, TICKET_PREFIX, TICKET_COLUMNS));
+            }
+            rows.add(row);
+        }
+        if (selection.expands(SERVICES) && !rows.isEmpty()) {
+            attachServices(rows);
+        }
+        return rows;
+    }
+
+    private void attachServices(final List<Map<String, Object>> rows) {
+        var ids = rows.stream().map(row -> (Long) row.get("id")).toList();
+        Map<Long, List<Map<String, Object>>> services = new HashMap<>();
+        entityManager.createQuery("select a.id, s.id, s.name, s.serviceType from Attraction a join a.services s "
+                        + "where a.id in :ids order by s.id", Object[].class)
+                .setParameter("ids", ids)
+                .getResultList()
+                .forEach(row -> {
+                    Map<String, Object> service = new LinkedHashMap<>();
+                    service.put("id", row[1]);
+                    service.put("name", row[2]);
+                    service.put("serviceType", row[3]);
+                    services.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(service);
+                });
+        rows.forEach(row -> row.put(SERVICES, services.getOrDefault((Long) row.get("id"), List.of())));
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.springapp.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.springapp.config.BatchInsertProperties;
+import org.example.springapp.model.Address;
+import org.example.springapp.model.Attraction;
+import org.example.springapp.model.Service;
+import org.example.springapp.model.TicketInfo;
+import org.example.springapp.utils.id.CatalogIds;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Репозиторий для вставки сущностей каталога пакетами JDBC.
+ * <p>
+ * ID назначаются до вставки через {@link CatalogIds}, поэтому строки отправляются пакетами по
+ * {@link BatchInsertProperties#getJdbcBatchSize()} без чтения сгенерированных ключей.
+ * Колонка {@code updated_at} заполняется значением по умолчанию.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class CatalogBatchRepository {
+    private static final String INSERT_ADDRESS = """
+            INSERT INTO tourism.address (id, building, street, region, city, latitude, longitude)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String INSERT_ATTRACTION = """
+            INSERT INTO tourism.attraction (id, name, description, attraction_type, address_id)
+            VALUES (?, ?, ?, ?)
+            """;
+    private static final String INSERT_ATTRACTION_SERVICE = """
+            INSERT INTO tourism.attraction_service (attraction_id, service_id)
+            VALUES (?, ?)
+            """;
+    private static final String INSERT_SERVICE = """
+            INSERT INTO tourism.service (id, name, description, service_type)
+            VALUES (?, ?, ?, ?)
+            """;
+    private static final String INSERT_TICKET_INFO = """
+            INSERT INTO tourism.ticket_info (id, price, currency, availability, attraction_id)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BatchInsertProperties properties;
+    private final CatalogIds catalogIds;
+
+    /**
+     * Вставить адреса.
+     *
+     * @param addresses адреса без ID
+     * @return ID вставленных адресов в порядке списка
+     */
+    public List<Long> insertAddresses(final List<Address> addresses) {
+        return insert(INSERT_ADDRESS, CatalogIds.ADDRESS_SEQUENCE, addresses, (ps, address) -> {
+            ps.setObject(2, address.getBuilding(), Types.INTEGER);
+            ps.setString(3, address.getStreet());
+            ps.setString(4, address.getRegion());
+            ps.setString(5, address.getCity());
+            ps.setObject(6, address.getLatitude(), Types.DOUBLE);
+            ps.setObject(7, address.getLongitude(), Types.DOUBLE);
+        });
+    }
+
+    /**
+     * Вставить достопримечательности и их связи с услугами.
+     *
+     * @param attractions достопримечательности без ID; у адреса и услуг заполнены только ID
+     * @return ID вставленных достопримечательностей в порядке списка
+     */
+    public List<Long> insertAttractions(final List<Attraction> attractions) {
+        var ids = insert(INSERT_ATTRACTION, CatalogIds.ATTRACTION_SEQUENCE, attractions, (ps, attraction) -> {
+            ps.setString(2, attraction.getName());
+            ps.setString(3, attraction.getDescription());
+            ps.setString(4, attraction.getAttractionType() == null ? null : attraction.getAttractionType().name());
+            ps.setObject(5, attraction.getAddress() == null ? null : attraction.getAddress().getId(), Types.BIGINT);
+        });
+        List<long[]> links = new ArrayList<>();
+        for (int i = 0; i < attractions.size(); i++) {
+            var services = attractions.get(i).getServices();
+            if (services != null) {
+                for (var service : services) {
+                    links.add(new long[]{ids.get(i), service.getId()});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_ATTRACTION_SERVICE, links, properties.getJdbcBatchSize(), (ps, link) -> {
+            ps.setLong(1, link[0]);
+            ps.setLong(2, link[1]);
+        });
+        return ids;
+    }
+
+    /**
+     * Вставить услуги.
+     *
+     * @param services услуги без ID
+     * @return ID вставленных услуг в порядке списка
+     */
+    public List<Long> insertServices(final List<Service> services) {
+        return insert(INSERT_SERVICE, CatalogIds.SERVICE_SEQUENCE, services, (ps, service) -> {
+            ps.setString(2, service.getName());
+            ps.setString(3, service.getDescription());
+            ps.setString(4, service.getServiceType() == null ? null : service.getServiceType().name());
+        });
+    }
+
+    /**
+     * Вставить информацию о билетах.
+     *
+     * @param tickets информация о билетах без ID; у достопримечательности заполнен только ID
+     * @return ID вставленной информации о билетах в порядке списка
+     */
+    public List<Long> insertTicketInfos(final List<TicketInfo> tickets) {
+        return insert(INSERT_TICKET_INFO, CatalogIds.TICKET_INFO_SEQUENCE, tickets, (ps, ticket) -> {
+            ps.setBigDecimal(2, ticket.getPrice());
+            ps.setString(3, ticket.getCurrency());
+            ps.setObject(4, ticket.getAvailability(), Types.BOOLEAN);
+            ps.setObject(5, ticket.getAttraction() == null ? null : ticket.getAttraction().getId(), Types.BIGINT);
+        });
+    }
+
+    private <T> List<Long> insert(final String sql, final String sequence, final List<T> rows,
+                                  final ParameterizedPreparedStatementSetter<T> setter) {
+        List<Long> ids = new ArrayList<>(rows.size());
+        List<Integer> positions = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            ids.add(catalogIds.next(sequence, this::nextBlock));
+            positions.add(i);
+        }
+        jdbcTemplate.batchUpdate(sql, positions, properties.getJdbcBatchSize(), (ps, i) -> {
+            ps.setLong(1, ids.get(i));
+            setter.setValues(ps, rows.get(i));
+        });
+        return ids;
+    }
+
+    private long[] nextBlock(final String sequence) {
+        return jdbcTemplate.queryForObject(CatalogIds.NEXT_BLOCK,
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)}, sequence, sequence);
+    }
+}
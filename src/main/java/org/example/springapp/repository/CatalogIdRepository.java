@@ -0,0 +1,84 @@
+package org.example.springapp.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+import static org.example.springapp.repository.CatalogVersionRepository.*;
+
+/**
+ * Репозиторий для чтения идентификаторов строк таблиц каталога без загрузки сущностей.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CatalogIdRepository {
+    private static final Set<String> TABLES = Set.of(ADDRESS, ATTRACTION, SERVICE, TICKET_INFO);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Получить количество строк таблицы.
+     *
+     * @param table имя таблицы каталога
+     * @return количество строк
+     */
+    public long countRows(final String table) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tourism." + checked(table), Long.class);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Передать каждый идентификатор таблицы в обработчик, не собирая их в список.
+     *
+     * @param table    имя таблицы каталога
+     * @param consumer обработчик идентификаторов
+     */
+    public void forEachId(final String table, final LongConsumer consumer) {
+        jdbcTemplate.query("SELECT id FROM tourism." + checked(table), rs -> {
+            consumer.accept(rs.getLong(1));
+        });
+    }
+
+    /**
+     * Получить шаг последовательности таблицы, то есть размер блока ID, который экземпляр приложения
+     * берёт за одно обращение.
+     *
+     * @param table имя таблицы каталога
+     * @return шаг последовательности или {@code 1}, если последовательности нет
+     */
+    public long sequenceIncrement(final String table) {
+        return jdbcTemplate.queryForList(
+                        "SELECT increment_by FROM pg_sequences WHERE schemaname = 'tourism' AND sequencename = ?",
+                        Long.class, checked(table) + "_seq").stream()
+                .findFirst()
+                .orElse(1L);
+    }
+
+    /**
+     * Выбрать из набора идентификаторы, для которых в таблице есть строки, одним запросом.
+     *
+     * @param table имя таблицы каталога
+     * @param ids   проверяемые идентификаторы
+     * @return существующие идентификаторы
+     */
+    public Set<Long> findExistingIds(final String table, final Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT id FROM tourism." + checked(table) + " WHERE id = ANY(CAST(? AS BIGINT[]))",
+                Long.class, (Object) ids.toArray(Long[]::new)));
+    }
+
+    private static String checked(final String table) {
+        if (!TABLES.contains(table)) {
+            throw new IllegalArgumentException("Unknown catalog table: " + table);
+        }
+        return table;
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.springapp.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.springapp.model.Address;
+import org.example.springapp.model.Attraction;
+import org.example.springapp.model.Service;
+import org.example.springapp.model.TicketInfo;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Репозиторий для получения версий таблиц каталога из таблицы {@code catalog_version}.
+ * Версии увеличивает триггер при каждом изменении таблицы, поэтому их чтение не зависит от размера каталога.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CatalogVersionRepository {
+    public static final String ADDRESS = "address";
+    public static final String ATTRACTION = "attraction";
+    public static final String SERVICE = "service";
+    public static final String TICKET_INFO = "ticket_info";
+
+    /**
+     * Таблицы сущностей каталога.
+     */
+    public static final Map<Class<?>, String> ENTITY_TABLES = Map.of(
+            Attraction.class, ATTRACTION,
+            Address.class, ADDRESS,
+            Service.class, SERVICE,
+            TicketInfo.class, TICKET_INFO
+    );
+
+    private static final String VERSIONS_QUERY =
+            "SELECT table_name, version, updated_at FROM tourism.catalog_version";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Версия таблицы.
+     *
+     * @param version     номер версии, увеличивается при каждом изменении таблицы
+     * @param lastUpdated время последнего изменения таблицы
+     */
+    public record TableVersion(long version, Instant lastUpdated) {
+    }
+
+    /**
+     * Получить версии всех таблиц каталога.
+     *
+     * @return версии таблиц по их именам
+     */
+    public Map<String, TableVersion> findTableVersions() {
+        Map<String, TableVersion> versions = new HashMap<>();
+        jdbcTemplate.query(VERSIONS_QUERY, rs -> {
+            Timestamp updatedAt = rs.getTimestamp("updated_at");
+            versions.put(rs.getString("table_name"), new TableVersion(rs.getLong("version"),
+                    updatedAt == null ? null : updatedAt.toInstant()));
+        });
+        return versions;
+    }
+}
@@ -1,9 +1,13 @@
 package org.example.springapp.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.example.springapp.model.Service;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -16,4 +20,58 @@ public interface ServiceRepository extends JpaRepository<Service, Long> {
      * @return  {@link Optional} для  {@link Service}
      */
     Optional<Service> getServiceById(Long id);
+
+    /**
+     * Получить страницу услуг, упорядоченных по ID.
+     * Запрос использует первичный ключ и не пропускает строки через OFFSET.
+     *
+     * @param id    ID последней записи предыдущей страницы
+     * @param limit максимальное количество записей
+     * @return записи с ID больше указанного
+     */
+    List<Service> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Получить первую страницу услуг, упорядоченных по названию и ID.
+     *
+     * @param limit максимальное количество записей
+     * @return первые записи в порядке названия
+     */
+    List<Service> findAllByOrderByNameAscIdAsc(Limit limit);
+
+    /**
+     * Получить следующую страницу услуг, упорядоченных по названию и ID.
+     * Сравнение пары {@code (name, id)} выполняется одним просмотром индекса {@code (name, id)}.
+     * Услуги без названия в выборку не входят: они идут последними, как в
+     * {@link #findAllByOrderByNameAscIdAsc(Limit)}, и выбираются
+     * {@link #findByNameIsNullAndIdGreaterThanOrderByIdAsc(Long, Limit)}.
+     *
+     * @param name  название последней записи предыдущей страницы
+     * @param id    ID последней записи предыдущей страницы
+     * @param limit максимальное количество записей
+     * @return записи после указанной в порядке названия
+     */
+    @Query("select e from Service e where (e.name, e.id) > (:name, :id) order by e.name, e.id")
+    List<Service> findByNameAfter(@Param("name") String name, @Param("id") Long id, Limit limit);
+
+    /**
+     * Получить следующую страницу услуг без названия.
+     * Такие записи идут в конце порядка по названию и упорядочены по ID.
+     *
+     * @param id    ID последней записи предыдущей страницы
+     * @param limit максимальное количество записей
+     * @return записи без названия с ID больше указанного
+     */
+    List<Service> findByNameIsNullAndIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Получить услуги по списку ID одним запросом.
+     * Список передаётся одним параметром-массивом, поэтому текст запроса и его план
+     * не зависят от количества ID.
+     *
+     * @param ids ID записей
+     * @return найденные записи в произвольном порядке
+     */
+    @Query(value = "select * from tourism.service where id = any(cast(:ids as bigint[]))", nativeQuery = true)
+    List<Service> findAllByIdArray(@Param("ids") Long[] ids);
 }
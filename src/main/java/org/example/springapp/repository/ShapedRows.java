@@ -0,0 +1,91 @@
+package org.example.springapp.repository;
+
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Selection;
+import org.example.springapp.utils.enums.SortKey;
+import org.example.springapp.utils.pagination.PageCursor;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Общие части запросов, выбирающих только запрошенные столбцы в виде строк {@code поле -> значение}.
+ */
+final class ShapedRows {
+    private static final String ID = "id";
+    private static final String NAME = "name";
+
+    private ShapedRows() {
+    }
+
+    /**
+     * Добавить в выборку атрибуты сущности под псевдонимами {@code prefix + атрибут}.
+     */
+    static void select(final List<Selection<?>> selections, final Path<?> from, final String prefix,
+                       final List<String> attributes) {
+        attributes.forEach(attribute -> selections.add(from.get(attribute).alias(prefix + attribute)));
+    }
+
+    /**
+     * Собрать вложенный объект из столбцов с указанным префиксом.
+     *
+     * @return объект или {@code null}, если связанной строки нет
+     */
+    static Map<String, Object> nested(final Tuple tuple, final String prefix, final List<String> attributes) {
+        if (tuple.get(prefix + ID) == null) {
+            return null;
+        }
+        Map<String, Object> value = new LinkedHashMap<>();
+        attributes.forEach(attribute -> value.put(attribute, tuple.get(prefix + attribute)));
+        return value;
+    }
+
+    /**
+     * Условие "после позиции курсора" для порядка по ID или по паре {@code (name, id)}.
+     * Для курсора с названием условие {@code name >= :name} задаёт начало просмотра индекса {@code (name, id)},
+     * строки без названия в него не входят: их выбирает {@link #unnamedAfter}, см. {@link #continuesWithUnnamed}.
+     */
+    static Predicate after(final CriteriaBuilder builder, final Path<?> root, final PageCursor cursor) {
+        Path<Long> id = root.get(ID);
+        if (cursor.sort() != SortKey.NAME) {
+            return builder.greaterThan(id, cursor.id());
+        }
+        if (cursor.name() == null) {
+            return unnamedAfter(builder, root, cursor.id());
+        }
+        Path<String> name = root.get(NAME);
+        return builder.and(builder.greaterThanOrEqualTo(name, cursor.name()),
+                builder.or(builder.greaterThan(name, cursor.name()), builder.greaterThan(id, cursor.id())));
+    }
+
+    /**
+     * Условие для строк без названия, которые идут в конце порядка по названию, как при сортировке
+     * PostgreSQL по возрастанию.
+     *
+     * @param id ID последней строки без названия или {@link Long#MIN_VALUE} с начала таких строк
+     */
+    static Predicate unnamedAfter(final CriteriaBuilder builder, final Path<?> root, final Long id) {
+        return builder.and(builder.isNull(root.get(NAME)), builder.greaterThan(root.<Long>get(ID), id));
+    }
+
+    /**
+     * @return {@code true}, если неполную страницу после курсора нужно дополнить строками без названия
+     */
+    static boolean continuesWithUnnamed(final PageCursor cursor) {
+        return cursor != null && cursor.sort() == SortKey.NAME && cursor.name() != null;
+    }
+
+    /**
+     * Порядок строк страницы.
+     */
+    static List<Order> order(final CriteriaBuilder builder, final Path<?> root, final SortKey sort) {
+        return sort == SortKey.NAME
+                ? List.of(builder.asc(root.get(NAME)), builder.asc(root.get(ID)))
+                : List.of(builder.asc(root.get(ID)));
+    }
+}
@@ -1,9 +1,14 @@
 package org.example.springapp.repository;
 
 import org.example.springapp.model.TicketInfo;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -16,6 +21,37 @@ public interface TicketInfoRepository extends JpaRepository<TicketInfo, Long> {
      *
      * @return {@link Optional} для  {@link TicketInfo}
      */
+    @EntityGraph(TicketInfo.WITH_ATTRACTION)
     Optional<TicketInfo> getTicketInfoById(Long id);
 
+    /**
+     * Получить всю информацию о билетах вместе с достопримечательностями и их адресами.
+     *
+     * @return Список всей информации о билетах.
+     */
+    @Override
+    @EntityGraph(TicketInfo.WITH_ATTRACTION)
+    List<TicketInfo> findAll();
+
+    /**
+     * Получить страницу информации о билетах, упорядоченных по ID.
+     * Запрос использует первичный ключ и не пропускает строки через OFFSET.
+     *
+     * @param id    ID последней записи предыдущей страницы
+     * @param limit максимальное количество записей
+     * @return записи с ID больше указанного
+     */
+    @EntityGraph(TicketInfo.WITH_ATTRACTION)
+    List<TicketInfo> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Получить информацию о билетах по списку ID одним запросом.
+     * Список передаётся одним параметром-массивом, поэтому текст запроса и его план
+     * не зависят от количества ID.
+     *
+     * @param ids ID записей
+     * @return найденные записи в произвольном порядке
+     */
+    @Query(value = "select * from tourism.ticket_info where id = any(cast(:ids as bigint[]))", nativeQuery = true)
+    List<TicketInfo> findAllByIdArray(@Param("ids") Long[] ids);
 }
@@ -1,9 +1,12 @@
 package org.example.springapp.service;
 
 import org.example.springapp.exception.ResourceNotFoundException;
+import org.example.springapp.utils.pagination.PageCursor;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Универсальный интерфейс для CRUD операций.
@@ -27,6 +30,32 @@ public interface CRUDService<T> {
      */
     List<T> read();
 
+    /**
+     * Считывает страницу сущностей, упорядоченных по ID.
+     *
+     * @param after позиция последней сущности предыдущей страницы или {@code null} для первой страницы
+     * @param limit максимальное количество сущностей
+     * @return сущности после указанной позиции
+     */
+    List<T> readPage(PageCursor after, int limit);
+
+    /**
+     * Считывает сущности по списку ID одним запросом.
+     *
+     * @param ids ID сущностей
+     * @return найденные сущности в произвольном порядке; отсутствующие ID пропускаются
+     */
+    List<T> readByIds(List<Long> ids);
+
+    /**
+     * Получает сущности по набору ID одним запросом, чтобы сослаться на них при записи.
+     * Вызывается внутри транзакции записи, поэтому сущности остаются управляемыми, а их связи не догружаются.
+     *
+     * @param ids уникальные идентификаторы сущностей
+     * @return найденные сущности по их ID; отсутствующих ID в результате нет
+     */
+    Map<Long, T> getByIDs(Collection<Long> ids);
+
     /**
      * Получает сущность по её ID.
      *
@@ -1,13 +1,28 @@
 package org.example.springapp.service.impl;
 
 import lombok.AllArgsConstructor;
+import org.example.springapp.aspect.SingleFlight;
+import org.example.springapp.cache.CacheNames;
+import org.example.springapp.cache.EvictCatalogCaches;
 import org.example.springapp.exception.ResourceNotFoundException;
 import org.example.springapp.model.Address;
+import org.example.springapp.model.Attraction;
 import org.example.springapp.repository.AddressRepository;
 import org.example.springapp.service.CRUDService;
+import org.example.springapp.utils.fields.FieldSelection;
+import org.example.springapp.utils.mapper.EntityByIDMapper;
+import org.example.springapp.utils.pagination.PageCursor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Сервисный класс для выполнения CRUD операций с сущностью {@link  Address}.
@@ -16,6 +31,7 @@ import java.util.List;
 @AllArgsConstructor
 public class AddressService implements CRUDService<Address> {
     private final AddressRepository repository;
+    private final AttractionService attractionService;
 
     /**
      * Создает новый объект Address и сохраняет его в базе данных.
@@ -24,18 +40,77 @@ public class AddressService implements CRUDService<Address> {
      * @return сохранённый объект Address
      */
     @Override
+    @Transactional
+    @EvictCatalogCaches
     public Address create(Address entity) {
         return repository.save(entity);
     }
 
+    /**
+     * Создает адрес вместе со списком достопримечательностей по нему.
+     * Достопримечательности загружаются в той же транзакции, что и сохранение, так как сохранение
+     * адреса каскадируется на них.
+     *
+     * @param entity        объект Address без достопримечательностей
+     * @param attractionIds ID достопримечательностей или {@code null}
+     * @return сохранённый объект Address
+     * @throws ResourceNotFoundException если хотя бы одной достопримечательности нет
+     */
+    @Transactional
+    @EvictCatalogCaches
+    public Address create(Address entity, List<Long> attractionIds) throws ResourceNotFoundException {
+        entity.setAttraction(attractions(attractionIds));
+        return repository.save(entity);
+    }
+
     /**
      * Получает список всех объектов Address из базы данных.
      *
      * @return список всех объектов Address
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Address> read() {
-        return repository.findAll();
+        return FetchPlans.addresses(repository.findAll());
+    }
+
+    /**
+     * Получает страницу объектов Address, упорядоченных по ID.
+     *
+     * @param after позиция последнего объекта предыдущей страницы или {@code null} для первой страницы
+     * @param limit максимальное количество объектов
+     * @return объекты Address после указанной позиции
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Address> readPage(PageCursor after, int limit) {
+        return FetchPlans.addresses(repository.findByIdGreaterThanOrderByIdAsc(
+                after == null ? Long.MIN_VALUE : after.id(), Limit.of(limit)));
+    }
+
+    /**
+     * Получает объекты Address по списку ID одним запросом.
+     *
+     * @param ids уникальные идентификаторы объектов Address
+     * @return найденные объекты Address в произвольном порядке
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Address> readByIds(List<Long> ids) {
+        return FetchPlans.addresses(repository.findAllByIdArray(ids.toArray(Long[]::new)));
+    }
+
+    /**
+     * Получает объекты Address по набору ID одним запросом.
+     *
+     * @param ids уникальные идентификаторы объектов Address
+     * @return найденные объекты Address по их ID
+     */
+    @Override
+    @Transactional
+    public Map<Long, Address> getByIDs(Collection<Long> ids) {
+        return repository.findAllByIdArray(ids.toArray(Long[]::new)).stream()
+                .collect(Collectors.toMap(Address::getId, Function.identity()));
     }
 
     /**
@@ -46,8 +121,42 @@ public class AddressService implements CRUDService<Address> {
      * @throws ResourceNotFoundException если объект с таким ID не найден
      */
     @Override
+    @Cacheable(cacheNames = CacheNames.ADDRESSES, key = "#id", sync = true)
+    @SingleFlight
+    @Transactional(readOnly = true)
     public Address getByID(Long id) throws ResourceNotFoundException {
-        return repository.getAddressById(id).orElseThrow(() -> new ResourceNotFoundException("Address with this id doesn't exist"));
+        return FetchPlans.address(repository.getAddressById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Address with this id doesn't exist")));
+    }
+
+    /**
+     * Ищет адрес по ID и возвращает только запрошенные поля и связи.
+     *
+     * @param id        уникальный идентификатор объекта Address
+     * @param selection форма ответа
+     * @return адрес в запрошенной форме
+     * @throws ResourceNotFoundException если объект с таким ID не найден
+     */
+    @Cacheable(cacheNames = CacheNames.SHAPED_READS, key = "'address:' + #id + ':' + #selection.cacheKey()",
+            sync = true)
+    @SingleFlight
+    @Transactional(readOnly = true)
+    public Map<String, Object> getShapedById(Long id, FieldSelection selection) throws ResourceNotFoundException {
+        return repository.findShapedById(id, selection)
+                .orElseThrow(() -> new ResourceNotFoundException("Address with this id doesn't exist"));
+    }
+
+    /**
+     * Получает страницу адресов, упорядоченных по ID, только с запрошенными полями и связями.
+     *
+     * @param selection форма ответа
+     * @param after     позиция последнего адреса предыдущей страницы или {@code null}
+     * @param limit     максимальное количество адресов
+     * @return адреса после указанной позиции в запрошенной форме
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> readShapedPage(FieldSelection selection, PageCursor after, int limit) {
+        return repository.findShapedPage(selection, after, limit);
     }
 
     /**
@@ -57,6 +166,8 @@ public class AddressService implements CRUDService<Address> {
      * @throws ResourceNotFoundException если объект с таким ID не найден
      */
     @Override
+    @Transactional
+    @EvictCatalogCaches
     public void update(Address entity) throws ResourceNotFoundException {
         if (!repository.existsById(entity.getId())) {
             throw new ResourceNotFoundException("Address with this id doesn't exist");
@@ -64,6 +175,20 @@ public class AddressService implements CRUDService<Address> {
         repository.save(entity);
     }
 
+    /**
+     * Обновляет адрес и список достопримечательностей по нему в одной транзакции.
+     *
+     * @param entity        обновлённый объект Address без достопримечательностей
+     * @param attractionIds ID достопримечательностей или {@code null}
+     * @throws ResourceNotFoundException если адреса или хотя бы одной достопримечательности нет
+     */
+    @Transactional
+    @EvictCatalogCaches
+    public void update(Address entity, List<Long> attractionIds) throws ResourceNotFoundException {
+        entity.setAttraction(attractions(attractionIds));
+        update(entity);
+    }
+
     /**
      * Удаляет объект Address из базы данных по его ID.
      *
@@ -71,10 +196,16 @@ public class AddressService implements CRUDService<Address> {
      * @throws ResourceNotFoundException если объект с таким ID не найден
      */
     @Override
+    @Transactional
+    @EvictCatalogCaches
     public void delete(Long id) throws ResourceNotFoundException {
         if (!repository.existsById(id)) {
             throw new ResourceNotFoundException("Address with this id doesn't exist");
         }
         repository.deleteById(id);
     }
+
+    private List<Attraction> attractions(List<Long> ids) throws ResourceNotFoundException {
+        return ids == null ? new ArrayList<>() : EntityByIDMapper.fetchByIds(ids, attractionService, "Attraction");
+    }
 }
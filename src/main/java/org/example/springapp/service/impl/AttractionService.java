@@ -1,14 +1,39 @@
 package org.example.springapp.service.impl;
 
+import jakarta.persistence.EntityManager;
 import lombok.AllArgsConstructor;
+import org.example.springapp.aspect.SingleFlight;
+import org.example.springapp.cache.CacheNames;
+import org.example.springapp.cache.EvictCatalogCaches;
+import org.example.springapp.config.PaginationProperties;
+import org.example.springapp.config.ReadPathProperties;
+import org.example.springapp.dto.AttractionSummary;
 import org.example.springapp.exception.ResourceNotFoundException;
+import org.example.springapp.model.Address;
 import org.example.springapp.model.Attraction;
+import org.example.springapp.model.TicketInfo;
+import org.example.springapp.repository.AttractionJdbcRepository;
 import org.example.springapp.repository.AttractionRepository;
 import org.example.springapp.service.CRUDService;
+import org.example.springapp.utils.enums.ReadPath;
 import org.example.springapp.utils.enums.ServiceType;
+import org.example.springapp.utils.enums.SortKey;
+import org.example.springapp.utils.fields.FieldSelection;
+import org.example.springapp.utils.pagination.PageCursor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Сервисный класс для выполнения CRUD операций с сущностью {@link Attraction}.
@@ -16,16 +41,34 @@ import java.util.List;
 @Service
 @AllArgsConstructor
 public class AttractionService implements CRUDService<Attraction> {
+    private static final int SERVICE_TYPES_BATCH = 1000;
+
     private final AttractionRepository repository;
+    private final AttractionJdbcRepository jdbcRepository;
+    private final ReadPathProperties readPaths;
+    private final PaginationProperties pagination;
+    private final EntityManager entityManager;
 
     /**
      * Создает новый объект {@link Attraction} и сохраняет его в базе данных.
+     * Адрес и информация о билетах могут быть прочитаны в другой транзакции: сохранение каскадируется
+     * на них, поэтому они заменяются ссылками того же контекста персистентности по ID.
      *
      * @param entity объект {@link Attraction}, который нужно сохранить
      * @return сохранённый объект {@link Attraction}
      */
     @Override
+    @Transactional
+    @EvictCatalogCaches
     public Attraction create(Attraction entity) {
+        var address = entity.getAddress();
+        if (address != null && address.getId() != null && !entityManager.contains(address)) {
+            entity.setAddress(entityManager.getReference(Address.class, address.getId()));
+        }
+        var ticketInfo = entity.getTicketInfo();
+        if (ticketInfo != null && ticketInfo.getId() != null && !entityManager.contains(ticketInfo)) {
+            entity.setTicketInfo(entityManager.getReference(TicketInfo.class, ticketInfo.getId()));
+        }
         return repository.save(entity);
     }
 
@@ -35,23 +78,212 @@ public class AttractionService implements CRUDService<Attraction> {
      * @return список всех объектов {@link Attraction}
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Attraction> read() {
-        return repository.findAll();
+        return FetchPlans.attractions(repository.findAll());
+    }
+
+    /**
+     * Получает страницу объектов {@link Attraction}, упорядоченных по ID.
+     *
+     * @param after позиция последнего объекта предыдущей страницы или {@code null} для первой страницы
+     * @param limit максимальное количество объектов
+     * @return объекты {@link Attraction} после указанной позиции
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Attraction> readPage(PageCursor after, int limit) {
+        return FetchPlans.attractions(repository.findByIdGreaterThanOrderByIdAsc(
+                after == null ? Long.MIN_VALUE : after.id(), Limit.of(limit)));
+    }
+
+    /**
+     * Получает страницу кратких описаний достопримечательностей, упорядоченных по ID.
+     *
+     * @param after позиция последней достопримечательности предыдущей страницы или {@code null} для первой страницы
+     * @param limit максимальное количество достопримечательностей
+     * @return краткие описания после указанной позиции
+     */
+    @Transactional(readOnly = true)
+    public List<AttractionSummary> readSummaries(PageCursor after, int limit) {
+        return withServiceTypes(repository.findSummariesAfterId(
+                after == null ? Long.MIN_VALUE : after.id(), Limit.of(limit)));
+    }
+
+    /**
+     * Получает страницу кратких описаний достопримечательностей, упорядоченных по названию и ID.
+     *
+     * @param after позиция последней достопримечательности предыдущей страницы или {@code null} для первой страницы
+     * @param limit максимальное количество достопримечательностей
+     * @return краткие описания после указанной позиции
+     */
+    @Transactional(readOnly = true)
+    public List<AttractionSummary> readSummariesByName(PageCursor after, int limit) {
+        if (after == null) {
+            return withServiceTypes(repository.findSummariesOrderByName(Limit.of(limit)));
+        }
+        if (after.name() == null) {
+            return withServiceTypes(repository.findUnnamedSummariesAfterId(after.id(), Limit.of(limit)));
+        }
+        List<AttractionSummary> page = new ArrayList<>(
+                repository.findSummariesAfterName(after.name(), after.id(), Limit.of(limit)));
+        if (page.size() < limit) {
+            page.addAll(repository.findUnnamedSummariesAfterId(Long.MIN_VALUE, Limit.of(limit - page.size())));
+        }
+        return withServiceTypes(page);
+    }
+
+    /**
+     * Получает объекты {@link Attraction} по списку ID одним запросом.
+     *
+     * @param ids уникальные идентификаторы объектов {@link Attraction}
+     * @return найденные объекты {@link Attraction} в произвольном порядке
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Attraction> readByIds(List<Long> ids) {
+        return FetchPlans.attractions(repository.findAllByIdArray(ids.toArray(Long[]::new)));
+    }
+
+    /**
+     * Получает объекты {@link Attraction} по набору ID одним запросом.
+     *
+     * @param ids уникальные идентификаторы объектов {@link Attraction}
+     * @return найденные объекты {@link Attraction} по их ID
+     */
+    @Override
+    @Transactional
+    public Map<Long, Attraction> getByIDs(Collection<Long> ids) {
+        return repository.findAllByIdArray(ids.toArray(Long[]::new)).stream()
+                .collect(Collectors.toMap(Attraction::getId, Function.identity()));
     }
 
     /**
      * Ищет и возвращает объект {@link Attraction} по его ID.
+     * Способ чтения задаётся настройкой {@code app.read-path.attraction-by-id}.
      *
      * @param id уникальный идентификатор объекта {@link Attraction}
      * @return объект {@link Attraction} с заданным ID
      * @throws ResourceNotFoundException если объект с таким ID не найден
      */
     @Override
+    @Cacheable(cacheNames = CacheNames.ATTRACTIONS, key = "#id", sync = true)
+    @SingleFlight
+    @Transactional(readOnly = true)
     public Attraction getByID(Long id) throws ResourceNotFoundException {
-        return repository.getAttractionById(id)
+        var attraction = readPaths.getAttractionById() == ReadPath.JDBC
+                ? jdbcRepository.findGraphById(id)
+                : repository.getAttractionById(id).map(FetchPlans::attraction);
+        return attraction.orElseThrow(() -> new ResourceNotFoundException("Attraction with this id doesn't exist"));
+    }
+
+    /**
+     * Ищет достопримечательность по ID и возвращает только запрошенные поля и связи.
+     *
+     * @param id        уникальный идентификатор объекта {@link Attraction}
+     * @param selection форма ответа
+     * @return достопримечательность в запрошенной форме
+     * @throws ResourceNotFoundException если объект с таким ID не найден
+     */
+    @Cacheable(cacheNames = CacheNames.SHAPED_READS, key = "'attraction:' + #id + ':' + #selection.cacheKey()",
+            sync = true)
+    @SingleFlight
+    @Transactional(readOnly = true)
+    public Map<String, Object> getShapedById(Long id, FieldSelection selection) throws ResourceNotFoundException {
+        return repository.findShapedById(id, selection)
                 .orElseThrow(() -> new ResourceNotFoundException("Attraction with this id doesn't exist"));
     }
 
+    /**
+     * Получает страницу достопримечательностей только с запрошенными полями и связями.
+     *
+     * @param selection форма ответа
+     * @param after     позиция последней достопримечательности предыдущей страницы или {@code null}
+     * @param sort      порядок сортировки
+     * @param limit     максимальное количество достопримечательностей
+     * @return достопримечательности после указанной позиции в запрошенной форме
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> readShapedPage(FieldSelection selection, PageCursor after, SortKey sort,
+                                                    int limit) {
+        return repository.findShapedPage(selection, after, sort, limit);
+    }
+
+    /**
+     * Создает достопримечательность со ссылками на существующие сущности.
+     * Ссылки загружаются в той же транзакции, что и сохранение, поэтому каскадное сохранение
+     * получает управляемые сущности.
+     *
+     * @param entity       объект {@link Attraction} без связей
+     * @param addressId    ID адреса
+     * @param ticketInfoId ID информации о билетах или {@code null}
+     * @param serviceIds   ID услуг или {@code null}
+     * @return сохранённый объект {@link Attraction}
+     * @throws ResourceNotFoundException если не найден адрес, информация о билетах или хотя бы одна услуга
+     */
+    @Transactional
+    @EvictCatalogCaches
+    public Attraction create(Attraction entity, Long addressId, Long ticketInfoId, List<Long> serviceIds)
+            throws ResourceNotFoundException {
+        return repository.save(resolveReferences(entity, addressId, ticketInfoId, serviceIds));
+    }
+
+    /**
+     * Обновляет достопримечательность и её ссылки на существующие сущности в одной транзакции.
+     *
+     * @param entity       обновлённый объект {@link Attraction} без связей
+     * @param addressId    ID адреса
+     * @param ticketInfoId ID информации о билетах или {@code null}
+     * @param serviceIds   ID услуг или {@code null}
+     * @throws ResourceNotFoundException если не найдена достопримечательность, адрес, информация о билетах
+     *                                   или хотя бы одна услуга
+     */
+    @Transactional
+    @EvictCatalogCaches
+    public void update(Attraction entity, Long addressId, Long ticketInfoId, List<Long> serviceIds)
+            throws ResourceNotFoundException {
+        resolveReferences(entity, addressId, ticketInfoId, serviceIds);
+        if (!repository.existsById(entity.getId())) {
+            throw new ResourceNotFoundException("Attraction with this id doesn't exist");
+        }
+        repository.save(entity);
+    }
+
+    /**
+     * Устанавливает достопримечательности адрес, информацию о билетах и услуги, загружая их одним запросом.
+     * Если каких-то из них нет, второй запрос выясняет, каких именно.
+     * Вызывается внутри транзакции записи, чтобы связи оставались управляемыми до сохранения.
+     *
+     * @param entity       объект {@link Attraction}
+     * @param addressId    ID адреса
+     * @param ticketInfoId ID информации о билетах или {@code null}
+     * @param serviceIds   ID услуг или {@code null}
+     * @return объект {@link Attraction} со связями
+     * @throws ResourceNotFoundException если не найден адрес, информация о билетах или хотя бы одна услуга;
+     *                                   сообщение перечисляет все отсутствующие ссылки
+     */
+    Attraction resolveReferences(Attraction entity, Long addressId, Long ticketInfoId, List<Long> serviceIds)
+            throws ResourceNotFoundException {
+        var requestedServices = serviceIds == null ? List.<Long>of() : serviceIds.stream().distinct().toList();
+        var rows = repository.findReferences(addressId, ticketInfoId, requestedServices);
+        TicketInfo ticketInfo = null;
+        Map<Long, org.example.springapp.model.Service> services = new HashMap<>();
+        for (var row : rows) {
+            ticketInfo = (TicketInfo) row[1];
+            if (row[2] instanceof org.example.springapp.model.Service service) {
+                services.put(service.getId(), service);
+            }
+        }
+        if (rows.isEmpty() || ticketInfoId != null && ticketInfo == null
+                || services.size() < requestedServices.size()) {
+            throw missingReferences(addressId, ticketInfoId, requestedServices);
+        }
+        entity.setAddress((Address) rows.get(0)[0]);
+        entity.setTicketInfo(ticketInfo);
+        entity.setServices(requestedServices.stream().map(services::get).collect(Collectors.toCollection(ArrayList::new)));
+        return entity;
+    }
+
     /**
      * Обновляет существующий объект {@link Attraction} в базе данных.
      *
@@ -59,6 +291,8 @@ public class AttractionService implements CRUDService<Attraction> {
      * @throws ResourceNotFoundException если объект с таким ID не найден
      */
     @Override
+    @Transactional
+    @EvictCatalogCaches
     public void update(Attraction entity) throws ResourceNotFoundException {
         if (!repository.existsById(entity.getId())) {
             throw new ResourceNotFoundException("Attraction with this id doesn't exist");
@@ -73,6 +307,8 @@ public class AttractionService implements CRUDService<Attraction> {
      * @throws ResourceNotFoundException если объект с таким ID не найден
      */
     @Override
+    @Transactional
+    @EvictCatalogCaches
     public void delete(Long id) throws ResourceNotFoundException {
         if (!repository.existsById(id)) {
             throw new ResourceNotFoundException("Attraction with this id doesn't exist");
@@ -86,37 +322,176 @@ public class AttractionService implements CRUDService<Attraction> {
      * @param name фрагмент названия достопримечательности
      * @return список достопримечательностей, чьи названия содержат указанный фрагмент, игнорируя регистр
      */
+    @Transactional(readOnly = true)
     public List<Attraction> findByNameContaining(String name) {
-        return repository.findByNameContainingIgnoreCase(name);
+        return FetchPlans.attractions(repository.findByNameContainingIgnoreCase(name));
     }
 
     /**
-     * Находит достопримечательности по городу.
+     * Находит страницу кратких описаний достопримечательностей по фрагменту названия, упорядоченных по ID.
+     * Способ чтения задаётся настройкой {@code app.read-path.search-by-name}.
+     *
+     * @param name  фрагмент названия достопримечательности
+     * @param after позиция последней достопримечательности предыдущей страницы или {@code null}
+     * @param limit максимальное количество достопримечательностей
+     * @return описания после указанной позиции, чьи названия содержат фрагмент, игнорируя регистр
+     */
+    @Transactional(readOnly = true)
+    public List<AttractionSummary> findByNameContaining(String name, PageCursor after, int limit) {
+        var afterId = after == null ? Long.MIN_VALUE : after.id();
+        if (readPaths.getSearchByName() == ReadPath.JDBC) {
+            return jdbcRepository.findSummariesByNameContaining(name, afterId, limit);
+        }
+        return withServiceTypes(repository.findSummariesByNameContaining(name, afterId, Limit.of(limit)));
+    }
+
+    /**
+     * Находит первую страницу достопримечательностей по городу.
+     * В кэше хранятся только первые {@code maxSize + 1} описаний, из них вырезается первая страница
+     * любого допустимого размера; следующие страницы читает {@link #searchAttractionsByCity(String, PageCursor, int)}.
      *
      * @param city город, в котором расположены достопримечательности
-     * @return список достопримечательностей, расположенных в указанном городе
+     * @return не больше {@code app.pagination.max-size + 1} кратких описаний по возрастанию ID
+     * @see ReadPathProperties#getSearchByCity()
+     */
+    @Cacheable(cacheNames = CacheNames.ATTRACTION_SEARCH, key = "'city:' + #city", sync = true)
+    @SingleFlight
+    @Transactional(readOnly = true)
+    public List<AttractionSummary> searchAttractionsByCity(String city) {
+        return searchAttractionsByCity(city, null, headSize());
+    }
+
+    /**
+     * Находит страницу достопримечательностей по городу, упорядоченных по ID.
+     *
+     * @param city  город, в котором расположены достопримечательности
+     * @param after позиция последней достопримечательности предыдущей страницы или {@code null}
+     * @param limit максимальное количество достопримечательностей
+     * @return краткие описания достопримечательностей в указанном городе после указанной позиции
+     * @see ReadPathProperties#getSearchByCity()
+     */
+    @Transactional(readOnly = true)
+    public List<AttractionSummary> searchAttractionsByCity(String city, PageCursor after, int limit) {
+        var afterId = after == null ? Long.MIN_VALUE : after.id();
+        if (readPaths.getSearchByCity() == ReadPath.JDBC) {
+            return jdbcRepository.findSummariesByCity(city, afterId, limit);
+        }
+        return withServiceTypes(repository.findSummariesByCity(city, afterId, Limit.of(limit)));
+    }
+
+    /**
+     * Находит первую страницу достопримечательностей по региону.
+     * В кэше хранятся только первые {@code maxSize + 1} описаний, как в {@link #searchAttractionsByCity(String)}.
+     *
+     * @param region регион, в котором расположены достопримечательности
+     * @return не больше {@code app.pagination.max-size + 1} кратких описаний по возрастанию ID
+     * @see ReadPathProperties#getSearchByRegion()
      */
-    public List<Attraction> searchAttractionsByCity(String city) {
-        return repository.findByAddressCity(city);
+    @Cacheable(cacheNames = CacheNames.ATTRACTION_SEARCH, key = "'region:' + #region", sync = true)
+    @SingleFlight
+    @Transactional(readOnly = true)
+    public List<AttractionSummary> searchAttractionsByRegion(String region) {
+        return searchAttractionsByRegion(region, null, headSize());
     }
 
     /**
-     * Находит достопримечательности по региону.
+     * Находит страницу достопримечательностей по региону, упорядоченных по ID.
      *
      * @param region регион, в котором расположены достопримечательности
-     * @return список достопримечательностей, расположенных в указанном регионе
+     * @param after  позиция последней достопримечательности предыдущей страницы или {@code null}
+     * @param limit  максимальное количество достопримечательностей
+     * @return краткие описания достопримечательностей в указанном регионе после указанной позиции
+     * @see ReadPathProperties#getSearchByRegion()
+     */
+    @Transactional(readOnly = true)
+    public List<AttractionSummary> searchAttractionsByRegion(String region, PageCursor after, int limit) {
+        var afterId = after == null ? Long.MIN_VALUE : after.id();
+        if (readPaths.getSearchByRegion() == ReadPath.JDBC) {
+            return jdbcRepository.findSummariesByRegion(region, afterId, limit);
+        }
+        return withServiceTypes(repository.findSummariesByRegion(region, afterId, Limit.of(limit)));
+    }
+
+    /**
+     * Находит первую страницу достопримечательностей по типу услуги.
+     * В кэше хранятся только первые {@code maxSize + 1} описаний, как в {@link #searchAttractionsByCity(String)}.
+     *
+     * @param serviceName тип услуги, предоставляемой достопримечательностью
+     * @return не больше {@code app.pagination.max-size + 1} кратких описаний по возрастанию ID
+     * @see ReadPathProperties#getSearchByService()
      */
-    public List<Attraction> searchAttractionsByRegion(String region) {
-        return repository.findByAddressRegion(region);
+    @Cacheable(cacheNames = CacheNames.ATTRACTION_SEARCH, key = "'service:' + #serviceName.name()", sync = true)
+    @SingleFlight
+    @Transactional(readOnly = true)
+    public List<AttractionSummary> searchAttractionsByService(ServiceType serviceName) {
+        return searchAttractionsByService(serviceName, null, headSize());
     }
 
     /**
-     * Находит достопримечательности по типу услуги.
+     * Находит страницу достопримечательностей по типу услуги, упорядоченных по ID.
      *
      * @param serviceName тип услуги, предоставляемой достопримечательностью
-     * @return список достопримечательностей, предоставляющих указанную услугу
+     * @param after       позиция последней достопримечательности предыдущей страницы или {@code null}
+     * @param limit       максимальное количество достопримечательностей
+     * @return краткие описания достопримечательностей с указанной услугой после указанной позиции
+     * @see ReadPathProperties#getSearchByService()
      */
-    public List<Attraction> searchAttractionsByService(ServiceType serviceName) {
-        return repository.findByServicesServiceType(serviceName);
+    @Transactional(readOnly = true)
+    public List<AttractionSummary> searchAttractionsByService(ServiceType serviceName, PageCursor after, int limit) {
+        var afterId = after == null ? Long.MIN_VALUE : after.id();
+        if (readPaths.getSearchByService() == ReadPath.JDBC) {
+            return jdbcRepository.findSummariesByServiceType(serviceName, afterId, limit);
+        }
+        return withServiceTypes(repository.findSummariesByServiceType(serviceName, afterId, Limit.of(limit)));
+    }
+
+    /**
+     * Размер кэшируемого начала результата поиска: самая большая страница и признак следующей.
+     */
+    private int headSize() {
+        return pagination.getMaxSize() + 1;
+    }
+
+    private ResourceNotFoundException missingReferences(Long addressId, Long ticketInfoId, List<Long> serviceIds) {
+        Map<String, Set<Long>> existing = new HashMap<>();
+        for (var reference : repository.findExistingReferences(addressId, ticketInfoId,
+                serviceIds.toArray(Long[]::new))) {
+            existing.computeIfAbsent(reference.getKind(), kind -> new HashSet<>()).add(reference.getId());
+        }
+        List<String> missing = new ArrayList<>();
+        if (!existing.getOrDefault("ADDRESS", Set.of()).contains(addressId)) {
+            missing.add("Address with this id doesn't exist");
+        }
+        if (ticketInfoId != null && !existing.getOrDefault("TICKET_INFO", Set.of()).contains(ticketInfoId)) {
+            missing.add("Ticket info with this id doesn't exist");
+        }
+        var services = existing.getOrDefault("SERVICE", Set.of());
+        var missingServices = serviceIds.stream().filter(id -> !services.contains(id)).toList();
+        if (!missingServices.isEmpty()) {
+            missing.add("Services with these IDs don't exist: " + missingServices);
+        }
+        return new ResourceNotFoundException(missing.isEmpty()
+                ? "Referenced entities were deleted concurrently" : String.join("; ", missing));
+    }
+
+    /**
+     * Дополняет краткие описания типами услуг. Типы выбираются одним запросом на каждые
+     * {@link #SERVICE_TYPES_BATCH} описаний, чтобы список параметров запроса оставался ограниченным.
+     */
+    private List<AttractionSummary> withServiceTypes(List<AttractionSummary> summaries) {
+        if (summaries.isEmpty()) {
+            return summaries;
+        }
+        Map<Long, List<ServiceType>> types = new HashMap<>();
+        var ids = summaries.stream().map(AttractionSummary::id).toList();
+        for (int from = 0; from < ids.size(); from += SERVICE_TYPES_BATCH) {
+            var batch = ids.subList(from, Math.min(ids.size(), from + SERVICE_TYPES_BATCH));
+            for (var row : repository.findServiceTypes(batch)) {
+                types.computeIfAbsent(row.getAttractionId(), id -> new ArrayList<>()).add(row.getServiceType());
+            }
+        }
+        return summaries.stream()
+                .map(summary -> summary.withServiceTypes(types.getOrDefault(summary.id(), List.of())))
+                .toList();
     }
 }
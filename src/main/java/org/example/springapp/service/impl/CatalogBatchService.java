@@ -0,0 +1,255 @@
+package org.example.springapp.service.impl;
+
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.springapp.cache.CacheNames;
+import org.example.springapp.cache.EvictCatalogCaches;
+import org.example.springapp.config.BatchInsertProperties;
+import org.example.springapp.dto.AddressDTO;
+import org.example.springapp.dto.AttractionDTO;
+import org.example.springapp.dto.BatchErrorDTO;
+import org.example.springapp.dto.BatchResultDTO;
+import org.example.springapp.dto.ServiceDTO;
+import org.example.springapp.dto.TicketInfoDTO;
+import org.example.springapp.event.EntityChangedEvent;
+import org.example.springapp.exception.BadRequestException;
+import org.example.springapp.model.Address;
+import org.example.springapp.model.Attraction;
+import org.example.springapp.model.Service;
+import org.example.springapp.model.TicketInfo;
+import org.example.springapp.repository.CatalogBatchRepository;
+import org.example.springapp.repository.CatalogIdRepository;
+import org.example.springapp.utils.enums.ChangeType;
+import org.example.springapp.utils.mapper.AddressMapper;
+import org.example.springapp.utils.mapper.AttractionMapper;
+import org.example.springapp.utils.mapper.ServiceMapper;
+import org.example.springapp.utils.mapper.TicketInfoMapper;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import static org.example.springapp.repository.CatalogVersionRepository.*;
+
+/**
+ * Сервис пакетного создания сущностей каталога.
+ * <p>
+ * Все элементы проверяются до вставки: ограничения DTO, значения перечислений и существование связанных
+ * сущностей одним запросом на таблицу. Если хотя бы один элемент содержит ошибки, ничего не создаётся
+ * и ошибки возвращаются по позициям элементов. Иначе строки вставляются пакетами JDBC в одной транзакции.
+ * Как и при создании по одному, списки {@code attractionID} адреса и {@code attractionsID} услуги,
+ * а также {@code ticketInfoID} достопримечательности только проверяются: эти связи хранятся на другой стороне.
+ * </p>
+ */
+@Slf4j
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+public class CatalogBatchService {
+    private final CatalogBatchRepository batchRepository;
+    private final CatalogIdRepository idRepository;
+    private final Validator validator;
+    private final ApplicationEventPublisher publisher;
+    private final AddressMapper addressMapper;
+    private final AttractionMapper attractionMapper;
+    private final ServiceMapper serviceMapper;
+    private final TicketInfoMapper ticketInfoMapper;
+    private final BatchInsertProperties properties;
+
+    /**
+     * Создать адреса.
+     *
+     * @param items данные адресов
+     * @return ID созданных адресов или ошибки элементов
+     * @throws BadRequestException если количество элементов вне допустимого диапазона
+     */
+    @Transactional
+    @EvictCatalogCaches
+    public BatchResultDTO createAddresses(final List<AddressDTO> items) throws BadRequestException {
+        var batch = prepare(items, addressMapper::toEntity);
+        batch.require(AddressDTO::getAttractionID, ATTRACTION,
+                missing -> "Attractions with these IDs don't exist: " + missing);
+        return insert(batch, Address.class, batchRepository::insertAddresses);
+    }
+
+    /**
+     * Создать достопримечательности вместе со связями с услугами.
+     *
+     * @param items данные достопримечательностей
+     * @return ID созданных достопримечательностей или ошибки элементов
+     * @throws BadRequestException если количество элементов вне допустимого диапазона
+     */
+    @Transactional
+    @EvictCatalogCaches
+    public BatchResultDTO createAttractions(final List<AttractionDTO> items) throws BadRequestException {
+        var batch = prepare(items, attractionMapper::toEntity);
+        batch.require(dto -> single(dto.getAddressID()), ADDRESS, missing -> "Address with this id doesn't exist");
+        batch.require(dto -> single(dto.getTicketInfoID()), TICKET_INFO,
+                missing -> "Ticket info with this id doesn't exist");
+        batch.require(AttractionDTO::getServicesID, SERVICE,
+                missing -> "Services with these IDs don't exist: " + missing);
+        batch.complete((dto, attraction) -> {
+            attraction.setAddress(Address.builder().id(dto.getAddressID()).build());
+            attraction.setServices(dto.getServicesID() == null ? List.of() : dto.getServicesID().stream()
+                    .distinct()
+                    .map(id -> Service.builder().id(id).build())
+                    .toList());
+        });
+        return insert(batch, Attraction.class, batchRepository::insertAttractions);
+    }
+
+    /**
+     * Создать услуги.
+     *
+     * @param items данные услуг
+     * @return ID созданных услуг или ошибки элементов
+     * @throws BadRequestException если количество элементов вне допустимого диапазона
+     */
+    @Transactional
+    @CacheEvict(cacheNames = {CacheNames.ATTRACTION_SEARCH, CacheNames.SHAPED_READS}, allEntries = true)
+    public BatchResultDTO createServices(final List<ServiceDTO> items) throws BadRequestException {
+        var batch = prepare(items, serviceMapper::toEntity);
+        batch.require(ServiceDTO::getAttractionsID, ATTRACTION,
+                missing -> "Attractions with these IDs don't exist: " + missing);
+        return insert(batch, Service.class, batchRepository::insertServices);
+    }
+
+    /**
+     * Создать информацию о билетах.
+     *
+     * @param items данные информации о билетах
+     * @return ID созданной информации о билетах или ошибки элементов
+     * @throws BadRequestException если количество элементов вне допустимого диапазона
+     */
+    @Transactional
+    @EvictCatalogCaches
+    public BatchResultDTO createTicketInfos(final List<TicketInfoDTO> items) throws BadRequestException {
+        var batch = prepare(items, ticketInfoMapper::toEntity);
+        batch.require(dto -> single(dto.getAttractionID()), ATTRACTION,
+                missing -> "Attraction with this id doesn't exist");
+        batch.complete((dto, ticket) -> ticket.setAttraction(Attraction.builder().id(dto.getAttractionID()).build()));
+        return insert(batch, TicketInfo.class, batchRepository::insertTicketInfos);
+    }
+
+    private <D, E> Batch<D, E> prepare(final List<D> items, final Function<D, E> mapper) throws BadRequestException {
+        if (items == null || items.isEmpty() || items.size() > properties.getMaxItems()) {
+            throw new BadRequestException("Batch must contain from 1 to " + properties.getMaxItems() + " items");
+        }
+        var batch = new Batch<D, E>(items);
+        for (int i = 0; i < items.size(); i++) {
+            var item = items.get(i);
+            if (item == null) {
+                batch.reject(i, "Item cannot be null");
+                continue;
+            }
+            var index = i;
+            validator.validate(item).stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .forEach(message -> batch.reject(index, message));
+            try {
+                batch.entities.set(i, mapper.apply(item));
+            } catch (IllegalArgumentException e) {
+                batch.reject(i, e.getMessage());
+            }
+        }
+        return batch;
+    }
+
+    private <D, E> BatchResultDTO insert(final Batch<D, E> batch, final Class<E> type,
+                                         final Function<List<E>, List<Long>> insert) {
+        if (!batch.errors.isEmpty()) {
+            return batch.result(List.of());
+        }
+        var ids = insert.apply(batch.entities);
+        ids.forEach(id -> publisher.publishEvent(new EntityChangedEvent(type, id, ChangeType.CREATED)));
+        var result = batch.result(ids);
+        log.info("Created {} {} in {} ms ({} rows/s)", result.getCreated(), type.getSimpleName(),
+                result.getElapsedMillis(), Math.round(result.getRowsPerSecond()));
+        return result;
+    }
+
+    private static List<Long> single(final Long id) {
+        return id == null ? List.of() : List.of(id);
+    }
+
+    /**
+     * Элементы запроса, сущности, полученные из них, и ошибки по позициям элементов.
+     */
+    private final class Batch<D, E> {
+        private final long started = System.nanoTime();
+        private final List<D> items;
+        private final List<E> entities;
+        private final Map<Integer, List<String>> errors = new TreeMap<>();
+
+        private Batch(final List<D> items) {
+            this.items = items;
+            this.entities = new ArrayList<>(items.size());
+            items.forEach(item -> entities.add(null));
+        }
+
+        private void reject(final int index, final String message) {
+            errors.computeIfAbsent(index, i -> new ArrayList<>()).add(message);
+        }
+
+        /**
+         * Проверить существование связанных сущностей всех элементов одним запросом.
+         */
+        private void require(final Function<D, Collection<Long>> references, final String table,
+                             final Function<List<Long>, String> message) {
+            Set<Long> requested = new HashSet<>();
+            for (var item : items) {
+                if (item != null && references.apply(item) != null) {
+                    references.apply(item).stream().filter(id -> id != null).forEach(requested::add);
+                }
+            }
+            var existing = idRepository.findExistingIds(table, requested);
+            for (int i = 0; i < items.size(); i++) {
+                var item = items.get(i);
+                if (item == null || references.apply(item) == null) {
+                    continue;
+                }
+                var missing = references.apply(item).stream()
+                        .filter(id -> id != null && !existing.contains(id))
+                        .distinct()
+                        .toList();
+                if (!missing.isEmpty()) {
+                    reject(i, message.apply(missing));
+                }
+            }
+        }
+
+        private void complete(final BiConsumer<D, E> completion) {
+            for (int i = 0; i < items.size(); i++) {
+                if (entities.get(i) != null) {
+                    completion.accept(items.get(i), entities.get(i));
+                }
+            }
+        }
+
+        private BatchResultDTO result(final List<Long> ids) {
+            var elapsed = System.nanoTime() - started;
+            return BatchResultDTO.builder()
+                    .created(ids.size())
+                    .ids(ids)
+                    .errors(errors.entrySet().stream()
+                            .map(entry -> BatchErrorDTO.builder()
+                                    .index(entry.getKey())
+                                    .messages(entry.getValue())
+                                    .build())
+                            .toList())
+                    .elapsedMillis(elapsed / 1_000_000)
+                    .rowsPerSecond(ids.isEmpty() || elapsed == 0 ? 0 : ids.size() * 1e9 / elapsed)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.springapp.service.impl;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import org.example.springapp.model.Address;
+import org.example.springapp.model.Attraction;
+import org.example.springapp.repository.AttractionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Потоковая выгрузка каталога в формате NDJSON: по одному JSON-объекту на строку.
+ * <p>
+ * Строки читаются курсором базы вместе с адресом и информацией о билетах, каждая сущность сериализуется
+ * и записывается сразу после чтения. Обратная коллекция {@link Address#getAttraction()} не выгружается:
+ * иначе каждая строка тянула бы отдельный запрос и повторяла соседние достопримечательности по адресу.
+ * Через каждые {@code clearEvery} сущностей контекст персистентности очищается, а буфер
+ * отправляется клиенту, поэтому память не зависит от размера таблицы. Запись в сокет блокирует
+ * чтение, пока клиент не примет данные, так что медленный клиент не накапливает строки в памяти.
+ * </p>
+ */
+@Service
+public class CatalogExportService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final AttractionRepository attractionRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter writer;
+    private final int clearEvery;
+
+    public CatalogExportService(final AttractionRepository attractionRepository, final EntityManager entityManager,
+                                final ObjectMapper objectMapper,
+                                @Value("${app.export.clear-every:1000}") final int clearEvery) {
+        this.attractionRepository = attractionRepository;
+        this.entityManager = entityManager;
+        this.writer = objectMapper.copy()
+                .addMixIn(Address.class, ExportedAddress.class)
+                .writerFor(Attraction.class);
+        this.clearEvery = clearEvery;
+    }
+
+    /**
+     * Выгрузить все достопримечательности.
+     *
+     * @param output поток ответа
+     * @return количество выгруженных достопримечательностей
+     * @throws IOException если клиент закрыл соединение
+     */
+    @Transactional(readOnly = true)
+    public long exportAttractions(final OutputStream output) throws IOException {
+        var buffered = new BufferedOutputStream(output, BUFFER_SIZE);
+        long count = 0;
+        try (var attractions = attractionRepository.streamAll()) {
+            var iterator = attractions.iterator();
+            while (iterator.hasNext()) {
+                buffered.write(writer.writeValueAsBytes(iterator.next()));
+                buffered.write('\n');
+                if (++count % clearEvery == 0) {
+                    entityManager.clear();
+                    buffered.flush();
+                }
+            }
+        }
+        buffered.flush();
+        return count;
+    }
+
+    /**
+     * Вид адреса в выгрузке: без списка достопримечательностей по адресу.
+     */
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "attraction"})
+    private interface ExportedAddress {
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.springapp.service.impl;
+
+import org.example.springapp.model.Address;
+import org.example.springapp.model.Attraction;
+import org.example.springapp.model.TicketInfo;
+import org.hibernate.Hibernate;
+
+import java.util.List;
+
+/**
+ * Догружает ленивые связи, которые попадают в JSON-ответы и кэши, пока открыта транзакция
+ * сервисного метода. После неё сущности используются без сессии, поэтому граф должен быть полным.
+ * <p>
+ * Связи "к одному" загружаются графами репозиториев, а коллекции {@code Address.attraction}
+ * загружаются здесь пачками по {@code hibernate.default_batch_fetch_size}. Поэтому количество
+ * запросов для страницы не зависит от её размера.
+ * </p>
+ */
+final class FetchPlans {
+
+    private FetchPlans() {
+    }
+
+    static Attraction attraction(final Attraction attraction) {
+        if (attraction != null && attraction.getAddress() != null) {
+            Hibernate.initialize(attraction.getAddress().getAttraction());
+        }
+        return attraction;
+    }
+
+    static List<Attraction> attractions(final List<Attraction> attractions) {
+        attractions.forEach(FetchPlans::attraction);
+        return attractions;
+    }
+
+    static Address address(final Address address) {
+        Hibernate.initialize(address.getAttraction());
+        return address;
+    }
+
+    static List<Address> addresses(final List<Address> addresses) {
+        addresses.forEach(FetchPlans::address);
+        return addresses;
+    }
+
+    static TicketInfo ticket(final TicketInfo ticket) {
+        attraction(ticket.getAttraction());
+        return ticket;
+    }
+
+    static List<TicketInfo> tickets(final List<TicketInfo> tickets) {
+        tickets.forEach(FetchPlans::ticket);
+        return tickets;
+    }
+}
@@ -1,12 +1,25 @@
 package org.example.springapp.service.impl;
 
 import lombok.AllArgsConstructor;
+import org.example.springapp.aspect.SingleFlight;
+import org.example.springapp.cache.CacheNames;
 import org.example.springapp.exception.ResourceNotFoundException;
 import org.example.springapp.model.Service;
 import org.example.springapp.repository.ServiceRepository;
 import org.example.springapp.service.CRUDService;
+import org.example.springapp.utils.pagination.PageCursor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Сервисный класс для выполнения CRUD операций с сущностью {@link Service}.
@@ -23,6 +36,8 @@ public class ServiceService implements CRUDService<Service> {
      * @return сохранённый объект Service
      */
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = {CacheNames.ATTRACTION_SEARCH, CacheNames.SHAPED_READS}, allEntries = true)
     public Service create(Service entity) {
         return repository.save(entity);
     }
@@ -33,10 +48,72 @@ public class ServiceService implements CRUDService<Service> {
      * @return список всех объектов Service
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Service> read() {
         return repository.findAll();
     }
 
+    /**
+     * Получает страницу объектов {@link Service}, упорядоченных по ID.
+     *
+     * @param after позиция последнего объекта предыдущей страницы или {@code null} для первой страницы
+     * @param limit максимальное количество объектов
+     * @return объекты {@link Service} после указанной позиции
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Service> readPage(PageCursor after, int limit) {
+        return repository.findByIdGreaterThanOrderByIdAsc(after == null ? Long.MIN_VALUE : after.id(), Limit.of(limit));
+    }
+
+    /**
+     * Получает страницу объектов {@link Service}, упорядоченных по названию и ID.
+     *
+     * @param after позиция последнего объекта предыдущей страницы или {@code null} для первой страницы
+     * @param limit максимальное количество объектов
+     * @return объекты {@link Service} после указанной позиции
+     */
+    @Transactional(readOnly = true)
+    public List<Service> readPageByName(PageCursor after, int limit) {
+        if (after == null) {
+            return repository.findAllByOrderByNameAscIdAsc(Limit.of(limit));
+        }
+        if (after.name() == null) {
+            return repository.findByNameIsNullAndIdGreaterThanOrderByIdAsc(after.id(), Limit.of(limit));
+        }
+        List<Service> page = new ArrayList<>(repository.findByNameAfter(after.name(), after.id(), Limit.of(limit)));
+        if (page.size() < limit) {
+            page.addAll(repository.findByNameIsNullAndIdGreaterThanOrderByIdAsc(Long.MIN_VALUE,
+                    Limit.of(limit - page.size())));
+        }
+        return page;
+    }
+
+    /**
+     * Получает объекты Service по списку ID одним запросом.
+     *
+     * @param ids уникальные идентификаторы объектов Service
+     * @return найденные объекты Service в произвольном порядке
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Service> readByIds(List<Long> ids) {
+        return repository.findAllByIdArray(ids.toArray(Long[]::new));
+    }
+
+    /**
+     * Получает объекты Service по набору ID одним запросом.
+     *
+     * @param ids уникальные идентификаторы объектов Service
+     * @return найденные объекты Service по их ID
+     */
+    @Override
+    @Transactional
+    public Map<Long, Service> getByIDs(Collection<Long> ids) {
+        return repository.findAllByIdArray(ids.toArray(Long[]::new)).stream()
+                .collect(Collectors.toMap(Service::getId, Function.identity()));
+    }
+
     /**
      * Ищет и возвращает объект Service по его ID.
      *
@@ -45,6 +122,9 @@ public class ServiceService implements CRUDService<Service> {
      * @throws ResourceNotFoundException если объект с таким ID не найден
      */
     @Override
+    @Cacheable(cacheNames = CacheNames.SERVICES, key = "#id", sync = true)
+    @SingleFlight
+    @Transactional(readOnly = true)
     public Service getByID(Long id) throws ResourceNotFoundException {
         return repository.getServiceById(id).orElseThrow(()
                 -> new ResourceNotFoundException("Service with this id doesn't exist"));
@@ -57,6 +137,11 @@ public class ServiceService implements CRUDService<Service> {
      * @throws ResourceNotFoundException если объект с таким ID не найден
      */
     @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheNames.SERVICES, key = "#entity.id"),
+            @CacheEvict(cacheNames = {CacheNames.ATTRACTION_SEARCH, CacheNames.SHAPED_READS}, allEntries = true)
+    })
     public void update(Service entity) throws ResourceNotFoundException {
         if (!repository.existsById(entity.getId())) {
             throw new ResourceNotFoundException("Service with this id doesn't exist");
@@ -71,6 +156,11 @@ public class ServiceService implements CRUDService<Service> {
      * @throws ResourceNotFoundException если объект с таким ID не найден
      */
     @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheNames.SERVICES, key = "#id"),
+            @CacheEvict(cacheNames = {CacheNames.ATTRACTION_SEARCH, CacheNames.SHAPED_READS}, allEntries = true)
+    })
     public void delete(Long id) throws ResourceNotFoundException {
         if (!repository.existsById(id)) {
             throw new ResourceNotFoundException("Service with this id doesn't exist");
@@ -1,13 +1,24 @@
 package org.example.springapp.service.impl;
 
 import lombok.AllArgsConstructor;
+import org.example.springapp.aspect.SingleFlight;
+import org.example.springapp.cache.CacheNames;
+import org.example.springapp.cache.EvictCatalogCaches;
 import org.example.springapp.exception.ResourceNotFoundException;
 import org.example.springapp.model.TicketInfo;
 import org.example.springapp.repository.TicketInfoRepository;
 import org.example.springapp.service.CRUDService;
+import org.example.springapp.utils.pagination.PageCursor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Сервисный класс для выполнения CRUD операций с сущностью {@link TicketInfo}.
@@ -24,6 +35,8 @@ public class TicketInfoService implements CRUDService<TicketInfo> {
      * @return сохранённый объект TicketInfo
      */
     @Override
+    @Transactional
+    @EvictCatalogCaches
     public TicketInfo create(TicketInfo entity) {
         return repository.save(entity);
     }
@@ -34,8 +47,48 @@ public class TicketInfoService implements CRUDService<TicketInfo> {
      * @return список всех объектов TicketInfo
      */
     @Override
+    @Transactional(readOnly = true)
     public List<TicketInfo> read() {
-        return repository.findAll();
+        return FetchPlans.tickets(repository.findAll());
+    }
+
+    /**
+     * Получает страницу объектов TicketInfo, упорядоченных по ID.
+     *
+     * @param after позиция последнего объекта предыдущей страницы или {@code null} для первой страницы
+     * @param limit максимальное количество объектов
+     * @return объекты TicketInfo после указанной позиции
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TicketInfo> readPage(PageCursor after, int limit) {
+        return FetchPlans.tickets(repository.findByIdGreaterThanOrderByIdAsc(
+                after == null ? Long.MIN_VALUE : after.id(), Limit.of(limit)));
+    }
+
+    /**
+     * Получает объекты TicketInfo по списку ID одним запросом.
+     *
+     * @param ids уникальные идентификаторы объектов TicketInfo
+     * @return найденные объекты TicketInfo в произвольном порядке
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TicketInfo> readByIds(List<Long> ids) {
+        return FetchPlans.tickets(repository.findAllByIdArray(ids.toArray(Long[]::new)));
+    }
+
+    /**
+     * Получает объекты TicketInfo по набору ID одним запросом.
+     *
+     * @param ids уникальные идентификаторы объектов TicketInfo
+     * @return найденные объекты TicketInfo по их ID
+     */
+    @Override
+    @Transactional
+    public Map<Long, TicketInfo> getByIDs(Collection<Long> ids) {
+        return repository.findAllByIdArray(ids.toArray(Long[]::new)).stream()
+                .collect(Collectors.toMap(TicketInfo::getId, Function.identity()));
     }
 
     /**
@@ -46,9 +99,12 @@ public class TicketInfoService implements CRUDService<TicketInfo> {
      * @throws ResourceNotFoundException если объект с таким ID не найден
      */
     @Override
+    @Cacheable(cacheNames = CacheNames.TICKETS, key = "#id", sync = true)
+    @SingleFlight
+    @Transactional(readOnly = true)
     public TicketInfo getByID(Long id) throws ResourceNotFoundException {
-        return repository.getTicketInfoById(id).orElseThrow(()
-                -> new ResourceNotFoundException("Ticket info with this id doesn't exist"));
+        return FetchPlans.ticket(repository.getTicketInfoById(id).orElseThrow(()
+                -> new ResourceNotFoundException("Ticket info with this id doesn't exist")));
     }
 
     /**
@@ -58,6 +114,8 @@ public class TicketInfoService implements CRUDService<TicketInfo> {
      * @throws ResourceNotFoundException если объект с таким ID не найден
      */
     @Override
+    @Transactional
+    @EvictCatalogCaches
     public void update(TicketInfo entity) throws ResourceNotFoundException {
         if (!repository.existsById(entity.getId())) {
             throw new ResourceNotFoundException("Ticket info with this id doesn't exist");
@@ -72,6 +130,8 @@ public class TicketInfoService implements CRUDService<TicketInfo> {
      * @throws ResourceNotFoundException если объект с таким ID не найден
      */
     @Override
+    @Transactional
+    @EvictCatalogCaches
     public void delete(Long id) throws ResourceNotFoundException {
         if (!repository.existsById(id)) {
             throw new ResourceNotFoundException("Ticket info with this id doesn't exist");
@@ -0,0 +1,10 @@
+package org.example.springapp.utils.enums;
+
+/**
+ * Перечисление, представляющее вид изменения сущности.
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,49 @@
+package org.example.springapp.utils.enums;
+
+import org.example.springapp.cache.CacheNames;
+
+/**
+ * Перечисление, представляющее вид отслеживаемого ключа запросов к достопримечательностям.
+ * Для ключей, ответы на которые кэшируются, задаёт кэш и ключ записи в нём.
+ */
+public enum HotKeyType {
+    ATTRACTION_ID(CacheNames.ATTRACTIONS, null),
+    CITY(CacheNames.ATTRACTION_SEARCH, "city:"),
+    REGION(CacheNames.ATTRACTION_SEARCH, "region:"),
+    NAME(null, null);
+
+    private final String cacheName;
+    private final String keyPrefix;
+
+    HotKeyType(final String cacheName, final String keyPrefix) {
+        this.cacheName = cacheName;
+        this.keyPrefix = keyPrefix;
+    }
+
+    /**
+     * @return имя кэша или {@code null}, если ответы не кэшируются
+     */
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    /**
+     * Ключ записи кэша для значения ключа запроса.
+     *
+     * @param value значение из запроса
+     * @return ключ записи или {@code null}, если значение не соответствует записи кэша
+     */
+    public Object cacheKey(final String value) {
+        if (cacheName == null) {
+            return null;
+        }
+        if (keyPrefix != null) {
+            return keyPrefix + value;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
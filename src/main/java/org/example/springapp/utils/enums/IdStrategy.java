@@ -0,0 +1,16 @@
+package org.example.springapp.utils.enums;
+
+/**
+ * Перечисление, представляющее способ назначения ID новым сущностям каталога.
+ */
+public enum IdStrategy {
+    /**
+     * Блоки ID из последовательности таблицы: одно обращение к базе на блок.
+     */
+    SEQUENCE,
+    /**
+     * 64-битные ID из времени, номера экземпляра приложения и счётчика без обращений к базе.
+     * Они не помещаются в число JavaScript без потери точности, поэтому в JSON передаются строками.
+     */
+    TIME
+}
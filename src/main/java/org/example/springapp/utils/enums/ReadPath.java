@@ -0,0 +1,15 @@
+package org.example.springapp.utils.enums;
+
+/**
+ * Перечисление, представляющее способ чтения данных для эндпоинта.
+ */
+public enum ReadPath {
+    /**
+     * Чтение через JPA-репозитории.
+     */
+    JPA,
+    /**
+     * Чтение через {@code JdbcTemplate} с отображением строк сразу в объекты ответа.
+     */
+    JDBC
+}
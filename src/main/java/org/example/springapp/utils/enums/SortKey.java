@@ -0,0 +1,10 @@
+package org.example.springapp.utils.enums;
+
+/**
+ * Перечисление, представляющее порядок сортировки страниц списков.
+ * Оба порядка однозначны: при равных названиях записи упорядочиваются по ID.
+ */
+public enum SortKey {
+    ID,
+    NAME
+}
@@ -0,0 +1,111 @@
+package org.example.springapp.utils.fields;
+
+import org.example.springapp.exception.BadRequestException;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Запрошенная клиентом форма ответа: поля сущности и раскрываемые связи.
+ * Передаётся в запросе параметрами {@code fields} и {@code expand}, значения разделяются запятыми.
+ *
+ * @param fields поля сущности; пустой набор означает все поля
+ * @param expand раскрываемые связи
+ */
+public record FieldSelection(Set<String> fields, Set<String> expand) {
+    private static final String ID = "id";
+    private static final String SEPARATOR = ",";
+
+    public FieldSelection {
+        fields = Set.copyOf(fields);
+        expand = Set.copyOf(expand);
+    }
+
+    /**
+     * @param fields значение параметра {@code fields}
+     * @param expand значение параметра {@code expand}
+     * @return {@code true}, если клиент запросил форму ответа, отличную от полной сущности
+     */
+    public static boolean isRequested(final String fields, final String expand) {
+        return fields != null || expand != null;
+    }
+
+    /**
+     * Разобрать параметры запроса.
+     * Поле {@code id} добавляется к любому непустому набору полей: по нему строятся позиции страниц
+     * и присоединяются раскрытые коллекции.
+     *
+     * @param fields        значение параметра {@code fields} или {@code null} для всех полей
+     * @param expand        значение параметра {@code expand} или {@code null}
+     * @param allowedFields допустимые поля
+     * @param allowedExpand допустимые связи
+     * @return форма ответа
+     * @throws BadRequestException если запрошено неизвестное поле или связь
+     */
+    public static FieldSelection parse(final String fields, final String expand, final Collection<String> allowedFields,
+                                       final Collection<String> allowedExpand) throws BadRequestException {
+        var selected = split(fields, allowedFields, "field");
+        if (!selected.isEmpty()) {
+            selected.add(ID);
+        }
+        return new FieldSelection(selected, split(expand, allowedExpand, "expansion"));
+    }
+
+    /**
+     * @param field поле сущности
+     * @return {@code true}, если поле нужно выбрать
+     */
+    public boolean includes(final String field) {
+        return fields.isEmpty() || fields.contains(field);
+    }
+
+    /**
+     * @param relation связь сущности
+     * @return {@code true}, если связь нужно раскрыть
+     */
+    public boolean expands(final String relation) {
+        return expand.contains(relation);
+    }
+
+    /**
+     * @param field обязательное поле
+     * @return форма ответа, в которой выбрано указанное поле
+     */
+    public FieldSelection with(final String field) {
+        if (includes(field)) {
+            return this;
+        }
+        var extended = new HashSet<>(fields);
+        extended.add(field);
+        return new FieldSelection(extended, expand);
+    }
+
+    /**
+     * @return строка, одинаковая для одинаковых форм ответа независимо от порядка параметров
+     */
+    public String cacheKey() {
+        return "fields=" + String.join(SEPARATOR, new TreeSet<>(fields))
+                + ";expand=" + String.join(SEPARATOR, new TreeSet<>(expand));
+    }
+
+    private static Set<String> split(final String value, final Collection<String> allowed, final String kind)
+            throws BadRequestException {
+        Set<String> result = new HashSet<>();
+        if (value == null || value.isBlank()) {
+            return result;
+        }
+        for (var part : value.split(SEPARATOR)) {
+            var name = part.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new BadRequestException("Unknown " + kind + " '" + name + "', expected one of " + allowed);
+            }
+            result.add(name);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.springapp.utils.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Назначение ID сущности через {@link CatalogIds} до вставки, чтобы Hibernate мог объединять вставки в пакеты.
+ */
+@IdGeneratorType(CatalogIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface CatalogId {
+    /**
+     * @return последовательность таблицы сущности
+     */
+    String sequence();
+}
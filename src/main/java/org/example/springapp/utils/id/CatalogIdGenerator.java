@@ -0,0 +1,63 @@
+package org.example.springapp.utils.id;
+
+import org.example.springapp.utils.enums.IdStrategy;
+import org.hibernate.HibernateException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.sql.SQLException;
+import java.util.EnumSet;
+
+/**
+ * Генератор Hibernate для {@link CatalogId}.
+ * <p>
+ * Экземпляр {@link CatalogIds} передаётся из контекста Spring через настройку {@link #IDS_SETTING}.
+ * Блоки последовательности запрашиваются через соединение текущей сессии.
+ * </p>
+ */
+public class CatalogIdGenerator implements BeforeExecutionGenerator {
+    /**
+     * Настройка Hibernate с экземпляром {@link CatalogIds}.
+     */
+    public static final String IDS_SETTING = "app.id.catalog-ids";
+
+    private final String sequence;
+    private final CatalogIds ids;
+
+    public CatalogIdGenerator(final CatalogId config, final Member member,
+                              final CustomIdGeneratorCreationContext context) {
+        this.sequence = config.sequence();
+        var setting = context.getServiceRegistry().getService(ConfigurationService.class).getSettings().get(IDS_SETTING);
+        this.ids = setting instanceof CatalogIds catalogIds ? catalogIds : new CatalogIds(IdStrategy.SEQUENCE, 0);
+    }
+
+    @Override
+    public Object generate(final SharedSessionContractImplementor session, final Object owner,
+                           final Object currentValue, final EventType eventType) {
+        return ids.next(sequence, name -> nextBlock(session, name));
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    private static long[] nextBlock(final SharedSessionContractImplementor session, final String sequence) {
+        var connection = session.getJdbcCoordinator().getLogicalConnection().getPhysicalConnection();
+        try (var statement = connection.prepareStatement(CatalogIds.NEXT_BLOCK)) {
+            statement.setString(1, sequence);
+            statement.setString(2, sequence);
+            try (var resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return new long[]{resultSet.getLong(1), resultSet.getLong(2)};
+            }
+        } catch (SQLException e) {
+            throw new HibernateException("Could not get next id block from sequence " + sequence, e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.springapp.utils.id;
+
+import org.example.springapp.utils.enums.IdStrategy;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Источник ID новых сущностей каталога, общий для JPA и пакетной вставки через JDBC.
+ * <p>
+ * При стратегии {@link IdStrategy#SEQUENCE} ID выдаются из блоков последовательности таблицы:
+ * шаг последовательности задаёт размер блока, и база опрашивается один раз на блок.
+ * При стратегии {@link IdStrategy#TIME} ID строятся из времени и номера экземпляра приложения
+ * без обращений к базе. Так ID известны до вставки, и вставки можно отправлять пакетами.
+ * </p>
+ */
+public class CatalogIds {
+    public static final String ADDRESS_SEQUENCE = "address_seq";
+    public static final String ATTRACTION_SEQUENCE = "attraction_seq";
+    public static final String SERVICE_SEQUENCE = "service_seq";
+    public static final String TICKET_INFO_SEQUENCE = "ticket_info_seq";
+
+    /**
+     * Запрос нового блока: значение последовательности и её шаг. Параметры — имя последовательности дважды.
+     */
+    public static final String NEXT_BLOCK = """
+            SELECT nextval(CAST('tourism.' || ? AS REGCLASS)),
+                   (SELECT increment_by FROM pg_sequences WHERE schemaname = 'tourism' AND sequencename = ?)
+            """;
+
+    private final IdStrategy strategy;
+    private final TimeOrderedIds timeOrdered;
+    private final Map<String, PooledIds> pools = new ConcurrentHashMap<>();
+
+    /**
+     * @param strategy способ назначения ID
+     * @param nodeId   номер экземпляра приложения от 0 до 1023, уникальный при стратегии {@link IdStrategy#TIME}
+     */
+    public CatalogIds(final IdStrategy strategy, final int nodeId) {
+        this.strategy = strategy;
+        this.timeOrdered = strategy == IdStrategy.TIME ? new TimeOrderedIds(nodeId) : null;
+    }
+
+    /**
+     * @return способ назначения ID
+     */
+    public IdStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Получить следующий ID.
+     *
+     * @param sequence  последовательность таблицы
+     * @param nextBlock запрос нового блока последовательности: первый ID и размер блока
+     * @return ID
+     */
+    public long next(final String sequence, final Function<String, long[]> nextBlock) {
+        if (strategy == IdStrategy.TIME) {
+            return timeOrdered.next();
+        }
+        return pools.computeIfAbsent(sequence, name -> new PooledIds()).next(() -> nextBlock.apply(sequence));
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.springapp.utils.id;
+
+import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.NumberSerializers;
+import com.fasterxml.jackson.databind.ser.std.StdDelegatingSerializer;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.fasterxml.jackson.databind.type.MapType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.util.Converter;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Записывает ID строками, а остальные значения {@link Long} — числами.
+ * <p>
+ * ID считается свойство {@code id}, {@code ids} или свойство, имя которого оканчивается
+ * на {@code ID}, {@code Id} или {@code Ids}, в объектах и в словарях с произвольными значениями (строки выборочных ответов),
+ * а также ссылка на уже записанную сущность с {@link JsonIdentityInfo}.
+ * Примитивные {@code long} этот модуль не затрагивает.
+ * </p>
+ */
+public class IdsAsStringsModule extends SimpleModule {
+    private static final Set<String> ID_NAMES = Set.of("id", "ids");
+    private static final List<String> ID_SUFFIXES = List.of("ID", "Id", "Ids");
+
+    public IdsAsStringsModule() {
+        super(IdsAsStringsModule.class.getSimpleName());
+        addSerializer(Long.class, new LongSerializer());
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public JsonSerializer<?> modifyMapSerializer(final SerializationConfig config, final MapType valueType,
+                                                         final BeanDescription beanDesc,
+                                                         final JsonSerializer<?> serializer) {
+                if (!valueType.getContentType().isJavaLangObject()) {
+                    return serializer;
+                }
+                return new StdDelegatingSerializer(new MapIdsConverter(valueType), valueType, serializer);
+            }
+        });
+    }
+
+    /**
+     * @param name имя свойства или ключ словаря
+     * @return {@code true}, если под этим именем записывается ID
+     */
+    static boolean isIdName(final String name) {
+        return ID_NAMES.contains(name) || ID_SUFFIXES.stream().anyMatch(name::endsWith);
+    }
+
+    /**
+     * Значение {@link Long} строкой, если оно записывается как ID, иначе числом.
+     */
+    private static final class LongSerializer extends NumberSerializers.LongSerializer implements ContextualSerializer {
+        private LongSerializer() {
+            super(Long.class);
+        }
+
+        @Override
+        public JsonSerializer<?> createContextual(final SerializerProvider provider, final BeanProperty property) {
+            if (property != null && (isIdName(property.getName()) || refersToIdentity(property.getType()))) {
+                return ToStringSerializer.instance;
+            }
+            return this;
+        }
+
+        /**
+         * Ссылку на сущность, уже записанную выше в том же ответе, Jackson пишет её ID,
+         * запрашивая сериализатор {@link Long} для свойства со ссылкой.
+         */
+        private static boolean refersToIdentity(final JavaType type) {
+            var target = type.isContainerType() ? type.getContentType() : type;
+            return target != null && target.getRawClass().isAnnotationPresent(JsonIdentityInfo.class);
+        }
+    }
+
+    /**
+     * Копия словаря, в которой значения под ключами ID записаны строками.
+     */
+    private record MapIdsConverter(JavaType type) implements Converter<Object, Object> {
+
+        @Override
+        public Object convert(final Object value) {
+            var map = (Map<?, ?>) value;
+            if (map.keySet().stream().noneMatch(key -> key instanceof String name && isIdName(name))) {
+                return map;
+            }
+            Map<Object, Object> converted = new LinkedHashMap<>(map);
+            converted.replaceAll((key, id) -> key instanceof String name && isIdName(name) ? asString(id) : id);
+            return converted;
+        }
+
+        private static Object asString(final Object id) {
+            if (id instanceof Long value) {
+                return value.toString();
+            }
+            if (id instanceof Collection<?> ids) {
+                return ids.stream().map(IdsAsStringsModule.MapIdsConverter::asString).toList();
+            }
+            return id;
+        }
+
+        @Override
+        public JavaType getInputType(final TypeFactory typeFactory) {
+            return type;
+        }
+
+        @Override
+        public JavaType getOutputType(final TypeFactory typeFactory) {
+            return type;
+        }
+    }
+}
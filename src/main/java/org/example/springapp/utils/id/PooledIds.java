@@ -0,0 +1,25 @@
+package org.example.springapp.utils.id;
+
+import java.util.function.Supplier;
+
+/**
+ * ID из блоков последовательности. Значение последовательности — первый ID блока,
+ * шаг последовательности — размер блока, поэтому блоки разных экземпляров приложения не пересекаются.
+ */
+final class PooledIds {
+    private long next;
+    private long limit;
+
+    /**
+     * @param nextBlock получение нового блока: первый ID и размер
+     * @return следующий ID
+     */
+    synchronized long next(final Supplier<long[]> nextBlock) {
+        if (next >= limit) {
+            var block = nextBlock.get();
+            next = block[0];
+            limit = block[0] + Math.max(1, block[1]);
+        }
+        return next++;
+    }
+}
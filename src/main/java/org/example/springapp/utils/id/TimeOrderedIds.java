@@ -0,0 +1,51 @@
+package org.example.springapp.utils.id;
+
+import java.time.Instant;
+import java.util.function.LongSupplier;
+
+/**
+ * Возрастающие 64-битные ID: 41 бит миллисекунд от {@link #EPOCH}, 10 бит номера экземпляра
+ * приложения и 12 бит счётчика внутри миллисекунды.
+ * <p>
+ * ID разных экземпляров не совпадают, если у них разные номера. Если часы идут назад или счётчик
+ * миллисекунды исчерпан, ID продолжают отсчитываться от последней использованной миллисекунды.
+ * </p>
+ */
+final class TimeOrderedIds {
+    static final long EPOCH = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 10;
+    static final int COUNTER_BITS = 12;
+    static final int MAX_NODE = (1 << NODE_BITS) - 1;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    private final long node;
+    private final LongSupplier clock;
+    private long lastMillis = -1;
+    private long counter;
+
+    TimeOrderedIds(final int node) {
+        this(node, System::currentTimeMillis);
+    }
+
+    TimeOrderedIds(final int node, final LongSupplier clock) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE);
+        }
+        this.node = node;
+        this.clock = clock;
+    }
+
+    synchronized long next() {
+        var millis = Math.max(clock.getAsLong(), lastMillis);
+        if (millis == lastMillis) {
+            counter = (counter + 1) & COUNTER_MASK;
+            if (counter == 0) {
+                millis++;
+            }
+        } else {
+            counter = 0;
+        }
+        lastMillis = millis;
+        return ((millis - EPOCH) << (NODE_BITS + COUNTER_BITS)) | (node << COUNTER_BITS) | counter;
+    }
+}
@@ -4,8 +4,9 @@ import org.example.springapp.exception.ResourceNotFoundException;
 import org.example.springapp.service.CRUDService;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.stream.Collectors;
 
 /**
  * Класс создает список энтити E из списка
@@ -15,31 +16,27 @@ public class EntityByIDMapper {
     }
 
     /**
+     * Загружает все энтити одним запросом через {@link CRUDService#getByIDs(java.util.Collection)}.
+     * Отсутствующие айди находятся как разность запрошенных и найденных.
+     *
      * @param ids        список айди энтити {@link  E}
      * @param service    сервис для возвращаемго {@link  E}
      * @param classEName имя энтити {@link  E}
      * @param <E>        возвращаемое энтити
-     * @return список энтити {@link  E}
+     * @return список энтити {@link  E} в порядке айди
      * @throws ResourceNotFoundException если хотя бы 1 айдишник не сущетвует
      */
     public static <E> List<E> fetchByIds(List<Long> ids, CRUDService<E> service, String classEName)
             throws ResourceNotFoundException {
-        List<Long> failedIds = new ArrayList<>();
-        var entityList = ids.stream()
-                .map(id -> {
-                    try {
-                        return service.getByID(id);
-                    } catch (ResourceNotFoundException e) {
-                        failedIds.add(id);
-                        return null;
-                    }
-                })
-                .filter(Objects::nonNull)
-                .toList();
-
-        if (!failedIds.isEmpty()) {
-            throw new ResourceNotFoundException(classEName + "s with these IDs don't exist: " + failedIds);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        var requested = new LinkedHashSet<>(ids);
+        var found = service.getByIDs(requested);
+        requested.removeAll(found.keySet());
+        if (!requested.isEmpty()) {
+            throw new ResourceNotFoundException(classEName + "s with these IDs don't exist: " + requested);
         }
-        return entityList;
+        return ids.stream().map(found::get).collect(Collectors.toCollection(ArrayList::new));
     }
 }
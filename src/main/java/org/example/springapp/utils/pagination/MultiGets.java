@@ -0,0 +1,44 @@
+package org.example.springapp.utils.pagination;
+
+import org.example.springapp.dto.MultiGetDTO;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Сборка ответов на запрос нескольких сущностей по списку ID.
+ */
+public final class MultiGets {
+
+    private MultiGets() {
+    }
+
+    /**
+     * Расставить найденные сущности в порядке запроса и перечислить отсутствующие ID.
+     *
+     * @param requested запрошенные ID без повторов
+     * @param found     найденные сущности в любом порядке
+     * @param idOf      ID сущности
+     * @param <T>       тип сущностей
+     * @return ответ на запрос
+     */
+    public static <T> MultiGetDTO<T> of(final List<Long> requested, final List<T> found,
+                                        final Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>();
+        found.forEach(item -> byId.put(idOf.apply(item), item));
+        List<T> items = new ArrayList<>(requested.size());
+        List<Long> missing = new ArrayList<>();
+        for (var id : requested) {
+            var item = byId.get(id);
+            if (item == null) {
+                missing.add(id);
+            } else {
+                items.add(item);
+            }
+        }
+        return MultiGetDTO.<T>builder().items(items).missingIds(missing).build();
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.springapp.utils.pagination;
+
+import org.example.springapp.exception.BadRequestException;
+import org.example.springapp.utils.enums.SortKey;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Позиция в упорядоченном списке: ключ сортировки последнего элемента предыдущей страницы.
+ * Клиенту передаётся в виде непрозрачной строки, см. {@link #encode()}.
+ *
+ * @param sort порядок сортировки, для которого получена позиция
+ * @param id   ID последнего элемента
+ * @param name название последнего элемента, если сортировка по названию
+ */
+public record PageCursor(SortKey sort, long id, String name) {
+    private static final char SEPARATOR = ':';
+    private static final char NULL_NAME = '-';
+    private static final char NAME_VALUE = '=';
+
+    /**
+     * @param id ID последнего элемента
+     * @return позиция в списке, упорядоченном по ID
+     */
+    public static PageCursor afterId(final long id) {
+        return new PageCursor(SortKey.ID, id, null);
+    }
+
+    /**
+     * @param sort порядок сортировки
+     * @param id   ID элемента
+     * @param name название элемента, сохраняется только для сортировки по названию
+     * @return позиция элемента в списке с указанным порядком
+     */
+    public static PageCursor at(final SortKey sort, final long id, final String name) {
+        return new PageCursor(sort, id, sort == SortKey.NAME ? name : null);
+    }
+
+    /**
+     * Для сортировки по названию название записывается всегда, отсутствующее название кодируется отдельным
+     * маркером, чтобы курсор на записи без названия тоже можно было разобрать.
+     *
+     * @return строка для передачи клиенту
+     */
+    public String encode() {
+        var raw = sort.name() + SEPARATOR + id;
+        if (sort == SortKey.NAME) {
+            raw += SEPARATOR + (name == null ? String.valueOf(NULL_NAME) : NAME_VALUE + name);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Разобрать строку, полученную от клиента.
+     *
+     * @param token    строка из {@link #encode()} или {@code null} для первой страницы
+     * @param expected порядок сортировки запроса
+     * @return позиция или {@code null} для первой страницы
+     * @throws BadRequestException если строка повреждена или получена для другого порядка сортировки
+     */
+    public static PageCursor decode(final String token, final SortKey expected) throws BadRequestException {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var parts = raw.split(String.valueOf(SEPARATOR), 3);
+            var sort = SortKey.valueOf(parts[0]);
+            var id = Long.parseLong(parts[1]);
+            if (parts.length != (sort == SortKey.NAME ? 3 : 2)) {
+                throw new IllegalArgumentException("Unexpected cursor parts");
+            }
+            if (sort == expected) {
+                return new PageCursor(sort, id, sort == SortKey.NAME ? decodeName(parts[2]) : null);
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+        throw new BadRequestException("Page cursor doesn't match sort order " + expected);
+    }
+
+    private static String decodeName(final String value) {
+        if (value.length() == 1 && value.charAt(0) == NULL_NAME) {
+            return null;
+        }
+        if (value.isEmpty() || value.charAt(0) != NAME_VALUE) {
+            throw new IllegalArgumentException("Unexpected cursor name");
+        }
+        return value.substring(1);
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.springapp.utils.pagination;
+
+import org.example.springapp.dto.PageDTO;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Сборка страниц списков.
+ */
+public final class Pages {
+
+    private Pages() {
+    }
+
+    /**
+     * Построить страницу из результата запроса, выбравшего на один элемент больше размера страницы.
+     * Лишний элемент только показывает, что следующая страница существует.
+     *
+     * @param fetched  не больше {@code limit + 1} элементов после позиции курсора
+     * @param limit    размер страницы
+     * @param cursorOf позиция элемента
+     * @param <T>      тип элементов
+     * @return страница
+     */
+    public static <T> PageDTO<T> of(final List<T> fetched, final int limit, final Function<T, PageCursor> cursorOf) {
+        if (fetched.size() <= limit) {
+            return PageDTO.<T>builder().items(List.copyOf(fetched)).build();
+        }
+        var items = fetched.subList(0, limit);
+        return PageDTO.<T>builder()
+                .items(List.copyOf(items))
+                .nextCursor(cursorOf.apply(items.get(limit - 1)).encode())
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.springapp.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.example.springapp.cache.SerializedResponseCache;
+import org.example.springapp.datasource.ReadRouting;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Отдаёт эндпоинты {@code /all} из {@link SerializedResponseCache} без повторной сериализации.
+ * Вариант тела (gzip или без сжатия) выбирается по заголовку {@code Accept-Encoding}.
+ * Ответ, который пересобирается сразу после изменения данных, читается с основной базы.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogResponseCacheFilter extends OncePerRequestFilter {
+    private final SerializedResponseCache responseCache;
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+                || request.getQueryString() != null
+                || !responseCache.isCached(endpointOf(request));
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        var endpoint = endpointOf(request);
+        var cached = responseCache.get(endpoint);
+        if (cached != null) {
+            write(cached, request, response);
+            return;
+        }
+
+        var generation = responseCache.generation(endpoint);
+        var wrapper = new ContentCachingResponseWrapper(response);
+        var onPrimary = responseCache.rebuildsOnPrimary(endpoint) && !ReadRouting.isPrimaryOnly();
+        if (onPrimary) {
+            ReadRouting.primaryOnly();
+        }
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            if (onPrimary) {
+                ReadRouting.clear();
+            }
+        }
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK && isJson(wrapper.getContentType())) {
+            responseCache.store(endpoint, generation, wrapper.getContentType(), wrapper.getContentAsByteArray());
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private void write(final SerializedResponseCache.CachedResponse cached, final HttpServletRequest request,
+                       final HttpServletResponse response) throws IOException {
+        var body = cached.identity();
+        if (acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            body = cached.gzip();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.contentType());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static String endpointOf(final HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static boolean isJson(final String contentType) {
+        return contentType != null && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+    }
+
+    /**
+     * Проверяет, разрешает ли клиент ответ в gzip (с ненулевым весом q).
+     *
+     * @param acceptEncoding значение заголовка {@code Accept-Encoding}
+     * @return {@code true}, если можно отдать gzip
+     */
+    static boolean acceptsGzip(final String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (var coding : acceptEncoding.split(",")) {
+            var parts = coding.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                var param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.springapp.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.springapp.cache.CatalogVersions;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.example.springapp.repository.CatalogVersionRepository.*;
+
+/**
+ * Поддержка условных GET-запросов ({@code If-None-Match}/{@code If-Modified-Since}) для эндпоинтов каталога.
+ * <p>
+ * Валидаторы вычисляются по версиям таблиц, из которых строится ответ, поэтому ответ 304
+ * отдаётся без загрузки и сериализации сущностей. Фильтр стоит перед
+ * {@link CatalogResponseCacheFilter}, чтобы условные запросы не доходили до кэша ответов.
+ * </p>
+ * Если версии таблиц прочитать не удалось, запрос обрабатывается без валидаторов,
+ * чтобы ответ мог быть построен из кэша.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.LOWEST_PRECEDENCE - 10)
+public class ConditionalGetFilter extends OncePerRequestFilter {
+    private static final List<String> CATALOG_GRAPH = List.of(ATTRACTION, ADDRESS, TICKET_INFO);
+
+    /**
+     * Таблицы, из которых строятся ответы каждого контроллера.
+     * Поиск по типу услуги дополнительно зависит от таблицы услуг. Изменение связей достопримечательности
+     * с услугами обновляет её {@code updated_at}, поэтому отдельная версия для таблицы связей не нужна.
+     */
+    private static final Map<String, List<String>> DEPENDENCIES = Map.of(
+            "/api/attractions", List.of(ATTRACTION, ADDRESS, TICKET_INFO, SERVICE),
+            "/api/addresses", CATALOG_GRAPH,
+            "/api/tickets", CATALOG_GRAPH,
+            "/api/services", List.of(SERVICE)
+    );
+
+    private final CatalogVersions catalogVersions;
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod()) || tablesFor(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        CatalogVersions.Validators validators;
+        try {
+            validators = catalogVersions.validatorsFor(tablesFor(request));
+        } catch (DataAccessException e) {
+            log.warn("Conditional GET skipped, table versions are unavailable: {}", e.toString());
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (new ServletWebRequest(request, response).checkNotModified(validators.etag(), validators.lastModified())) {
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static List<String> tablesFor(final HttpServletRequest request) {
+        var path = request.getRequestURI().substring(request.getContextPath().length());
+        return DEPENDENCIES.entrySet().stream()
+                .filter(entry -> path.equals(entry.getKey()) || path.startsWith(entry.getKey() + "/"))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+}
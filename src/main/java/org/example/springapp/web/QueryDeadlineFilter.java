@@ -0,0 +1,128 @@
+package org.example.springapp.web;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.springapp.config.QueryTimeoutProperties;
+import org.example.springapp.datasource.QueryDeadline;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Устанавливает крайний срок запросов к базе на время обработки HTTP-запроса.
+ * <p>
+ * Срок берётся из настроек эндпоинта и сокращается до времени ожидания, переданного клиентом.
+ * Загрузки, общие для нескольких запросов, ограничены только сроком эндпоинта, см. {@link QueryDeadline#enterShared()}.
+ * Контейнер сервлетов сообщает о разрыве соединения только для асинхронных запросов, поэтому
+ * для них выполняющиеся запросы к базе отменяются сразу при ошибке или тайм-ауте запроса.
+ * Синхронные запросы ограничены сроком.
+ * </p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class QueryDeadlineFilter extends OncePerRequestFilter {
+    private final QueryTimeoutProperties properties;
+    private final List<Map.Entry<PathPattern, Duration>> endpoints;
+
+    /**
+     * @param properties настройки сроков
+     */
+    public QueryDeadlineFilter(final QueryTimeoutProperties properties) {
+        this.properties = properties;
+        this.endpoints = properties.getEndpoints().entrySet().stream()
+                .map(entry -> Map.entry(PathPatternParser.defaultInstance.parse(entry.getKey()), entry.getValue()))
+                .sorted(Map.Entry.comparingByKey(PathPattern.SPECIFICITY_COMPARATOR))
+                .toList();
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        var endpointTimeout = endpointTimeoutOf(request);
+        var timeout = clientLimited(endpointTimeout, request);
+        if (timeout.isZero()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        var deadline = QueryDeadline.start(timeout, endpointTimeout);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryDeadline.clear();
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new CancelOnAbort(deadline));
+            }
+        }
+    }
+
+    Duration timeoutOf(final HttpServletRequest request) {
+        return clientLimited(endpointTimeoutOf(request), request);
+    }
+
+    private Duration endpointTimeoutOf(final HttpServletRequest request) {
+        var path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        return endpoints.stream()
+                .filter(entry -> entry.getKey().matches(path))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(properties.getDefaultTimeout());
+    }
+
+    private Duration clientLimited(final Duration timeout, final HttpServletRequest request) {
+        var client = clientTimeout(request.getHeader(properties.getClientTimeoutHeader()));
+        if (client == null) {
+            return timeout;
+        }
+        return timeout.isZero() || client.compareTo(timeout) < 0 ? client : timeout;
+    }
+
+    private static Duration clientTimeout(final String header) {
+        if (header == null) {
+            return null;
+        }
+        try {
+            var millis = Long.parseLong(header.trim());
+            return millis > 0 ? Duration.ofMillis(millis) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Отменяет запросы к базе, если асинхронная обработка завершилась ошибкой (в том числе разрывом
+     * соединения клиентом) или тайм-аутом.
+     */
+    private record CancelOnAbort(QueryDeadline deadline) implements AsyncListener {
+        @Override
+        public void onComplete(final AsyncEvent event) {
+        }
+
+        @Override
+        public void onTimeout(final AsyncEvent event) {
+            deadline.cancel();
+        }
+
+        @Override
+        public void onError(final AsyncEvent event) {
+            deadline.cancel();
+        }
+
+        @Override
+        public void onStartAsync(final AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.springapp.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.example.springapp.config.ReplicaProperties;
+import org.example.springapp.datasource.ReadRouting;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Чтение своих изменений при работе с репликами.
+ * <p>
+ * После изменяющего запроса клиент получает cookie со временем, до которого его чтения выполняются
+ * на основной базе. Время хранится у клиента, поэтому привязка работает на любом экземпляре приложения.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+public class ReplicaStickinessFilter extends OncePerRequestFilter {
+    static final String COOKIE = "primary-until";
+
+    private final ReplicaProperties properties;
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        return properties.getStickiness().isZero();
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        var method = request.getMethod();
+        if (!HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)
+                && !HttpMethod.OPTIONS.matches(method)) {
+            var until = System.currentTimeMillis() + properties.getStickiness().toMillis();
+            response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE, Long.toString(until))
+                    .path("/").httpOnly(true).sameSite("Lax").maxAge(properties.getStickiness()).build().toString());
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (stickyUntil(request) <= System.currentTimeMillis()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ReadRouting.primaryOnly();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadRouting.clear();
+        }
+    }
+
+    private static long stickyUntil(final HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return 0;
+        }
+        return Arrays.stream(request.getCookies())
+                .filter(cookie -> COOKIE.equals(cookie.getName()))
+                .map(Cookie::getValue)
+                .mapToLong(value -> {
+                    try {
+                        return Long.parseLong(value);
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                })
+                .max()
+                .orElse(0);
+    }
+}
@@ -1,16 +1,73 @@
 package org.example.springapp;
 
+import io.r2dbc.spi.ConnectionFactory;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest(classes = {SecondHomeworkApplicationTest.class})
+/**
+ * Полный контекст приложения: JDBC-пул для JPA и Liquibase поднимается вместе с пулом R2DBC.
+ */
+@Testcontainers
+@SpringBootTest(classes = SecondHomeworkApplication.class)
 class SecondHomeworkApplicationTest {
-    @Test
-    void contextLoads() {
-        String asd = "sonarqube";
-        assertNotNull(asd);
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("tourism_test")
+            .withUsername("test")
+            .withPassword("test")
+            .withInitScript("init.sql");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeAll
+    static void setup() {
+        System.setProperty("spring.datasource.url", postgres.getJdbcUrl());
+        System.setProperty("spring.datasource.username", postgres.getUsername());
+        System.setProperty("spring.datasource.password", postgres.getPassword());
+        System.setProperty("spring.r2dbc.url", "r2dbc:postgresql://" + postgres.getHost() + ":"
+                + postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/" + postgres.getDatabaseName()
+                + "?schema=tourism");
+        System.setProperty("spring.r2dbc.username", postgres.getUsername());
+        System.setProperty("spring.r2dbc.password", postgres.getPassword());
+
+        System.setProperty("spring.liquibase.default_schema", "tourism");
     }
 
-}
\ No newline at end of file
+    @Test
+    void contextLoadsWithJdbcAndR2dbc() {
+        assertNotNull(dataSource);
+        assertNotNull(entityManagerFactory);
+        assertNotNull(connectionFactory);
+
+        var count = jdbcTemplate.queryForObject("SELECT count(*) FROM tourism.attraction", Long.class);
+        assertEquals(count, databaseClient.sql("SELECT count(*) FROM tourism.attraction")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block());
+    }
+}
@@ -0,0 +1,160 @@
+package org.example.springapp.aspect;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.springapp.datasource.QueryDeadline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightAspectTest {
+    private static final int CALLERS = 4;
+
+    private SimpleMeterRegistry registry;
+    private SlowLoader target;
+    private SlowLoader proxy;
+    private ExecutorService executor;
+
+    static class SlowLoader {
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicReference<QueryDeadline> deadline = new AtomicReference<>();
+
+        @SingleFlight
+        public String load(final Long id) throws InterruptedException {
+            calls.incrementAndGet();
+            deadline.set(QueryDeadline.current());
+            release.await();
+            if (id < 0) {
+                throw new IllegalArgumentException("negative id");
+            }
+            return "value-" + id;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        target = new SlowLoader();
+        var factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new SingleFlightAspect(registry));
+        proxy = factory.getProxy();
+        executor = Executors.newFixedThreadPool(CALLERS + 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentIdenticalCallsShareOneLoad() throws Exception {
+        var results = startCallers(1L);
+        awaitCoalesced(CALLERS - 1);
+        target.release.countDown();
+
+        for (var result : results) {
+            assertEquals("value-1", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, target.calls.get());
+        assertEquals(CALLERS - 1, registry.get("singleflight.coalesced").counter().count());
+        assertEquals(CALLERS - 1, registry.get("singleflight.wait").timer().count());
+    }
+
+    @Test
+    void waitersReceiveLeaderException() throws Exception {
+        var results = startCallers(-1L);
+        awaitCoalesced(CALLERS - 1);
+        target.release.countDown();
+
+        for (var result : results) {
+            var e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalArgumentException.class, e.getCause());
+        }
+        assertEquals(1, target.calls.get());
+    }
+
+    @Test
+    void clientTimeoutLimitsOnlyItsOwnWait() throws Exception {
+        var results = startCallers(1L);
+        awaitCoalesced(CALLERS - 1);
+        var impatient = executor.submit(() -> {
+            QueryDeadline.start(Duration.ofMillis(100), Duration.ofSeconds(10));
+            try {
+                return proxy.load(1L);
+            } finally {
+                QueryDeadline.clear();
+            }
+        });
+
+        var e = assertThrows(Exception.class, () -> impatient.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(QueryTimeoutException.class, e.getCause());
+
+        target.release.countDown();
+        for (var result : results) {
+            assertEquals("value-1", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, target.calls.get());
+    }
+
+    @Test
+    void leaderLoadsWithEndpointDeadline() throws Exception {
+        target.release.countDown();
+        var deadline = QueryDeadline.start(Duration.ofMillis(100), Duration.ofSeconds(10));
+        try {
+            proxy.load(1L);
+
+            assertNotSame(deadline, target.deadline.get());
+            assertTrue(target.deadline.get().remaining().compareTo(Duration.ofSeconds(1)) > 0);
+            assertSame(deadline, QueryDeadline.current());
+        } finally {
+            QueryDeadline.clear();
+        }
+    }
+
+    @Test
+    void sequentialCallsAreNotCoalesced() throws Exception {
+        target.release.countDown();
+
+        assertEquals("value-1", proxy.load(1L));
+        assertEquals("value-1", proxy.load(1L));
+
+        assertEquals(2, target.calls.get());
+        assertTrue(registry.find("singleflight.coalesced").counters().isEmpty());
+    }
+
+    private List<Future<String>> startCallers(final Long id) {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> proxy.load(id)));
+        }
+        return results;
+    }
+
+    private void awaitCoalesced(final int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            var counter = registry.find("singleflight.coalesced").counter();
+            if (counter != null && counter.count() >= expected) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        fail("Callers were not coalesced");
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.springapp.cache;
+
+import org.example.springapp.config.CatalogCacheProperties;
+import org.example.springapp.exception.ResourceNotFoundException;
+import org.example.springapp.model.Address;
+import org.example.springapp.model.Attraction;
+import org.example.springapp.service.impl.AddressService;
+import org.example.springapp.service.impl.AttractionService;
+import org.example.springapp.utils.enums.HotKeyType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmupTest {
+    @Mock
+    private AttractionService attractionService;
+    @Mock
+    private AddressService addressService;
+
+    @TempDir
+    private Path directory;
+
+    private CatalogCacheProperties properties;
+    private HotKeyTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CatalogCacheProperties();
+        properties.getWarmup().setFile(directory.resolve("hot-keys.txt"));
+        tracker = new HotKeyTracker(properties, new PinnedKeys());
+    }
+
+    @Test
+    void persistedKeysAreReplayedOnStartup() throws Exception {
+        tracker.record(HotKeyType.ATTRACTION_ID, "1");
+        tracker.record(HotKeyType.ATTRACTION_ID, "404");
+        tracker.record(HotKeyType.CITY, "Minsk");
+        tracker.record(HotKeyType.NAME, "Tower");
+        new CacheWarmup(tracker, attractionService, addressService, properties).persist();
+
+        var attraction = Attraction.builder().id(1L).address(Address.builder().id(5L).build()).build();
+        when(attractionService.getByID(1L)).thenReturn(attraction);
+        when(attractionService.getByID(404L)).thenThrow(new ResourceNotFoundException("missing"));
+        var warmup = new CacheWarmup(new HotKeyTracker(properties, new PinnedKeys()),
+                attractionService, addressService, properties);
+
+        assertEquals(3, warmup.readKeys().size());
+        warmup.run(null);
+
+        verify(addressService).getByID(5L);
+        verify(attractionService).searchAttractionsByCity("Minsk");
+        verify(attractionService, never()).findByNameContaining(anyString());
+    }
+
+    @Test
+    void emptyHotSetDoesNotOverwriteFile() throws Exception {
+        var file = properties.getWarmup().getFile();
+        Files.write(file, List.of("REGION\tMinsk region"));
+
+        new CacheWarmup(tracker, attractionService, addressService, properties).persist();
+
+        assertEquals(List.of("REGION\tMinsk region"), Files.readAllLines(file));
+    }
+
+    @Test
+    void warmupStopsAfterTimeBudget() throws Exception {
+        var file = properties.getWarmup().getFile();
+        Files.write(file, List.of("CITY\tMinsk", "CITY\tBrest"));
+        properties.getWarmup().setParallelism(1);
+        properties.getWarmup().setTimeBudget(Duration.ofMillis(50));
+        when(attractionService.searchAttractionsByCity("Minsk")).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of();
+        });
+
+        long started = System.nanoTime();
+        new CacheWarmup(tracker, attractionService, addressService, properties).run(null);
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofSeconds(2)) < 0);
+        verify(attractionService, never()).searchAttractionsByCity("Brest");
+    }
+}
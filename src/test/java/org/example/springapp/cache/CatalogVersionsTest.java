@@ -0,0 +1,99 @@
+package org.example.springapp.cache;
+
+import org.example.springapp.event.EntityChangedEvent;
+import org.example.springapp.model.Attraction;
+import org.example.springapp.repository.CatalogVersionRepository;
+import org.example.springapp.repository.CatalogVersionRepository.TableVersion;
+import org.example.springapp.utils.enums.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogVersionsTest {
+    private static final Instant UPDATED_AT = Instant.parse("2025-01-01T10:00:00Z");
+
+    @Mock
+    private CatalogVersionRepository repository;
+
+    private CatalogVersions catalogVersions;
+
+    @BeforeEach
+    void setUp() {
+        catalogVersions = new CatalogVersions(repository, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void versionsAreCachedUntilLocalChange() {
+        when(repository.findTableVersions()).thenReturn(Map.of("attraction", new TableVersion(2, UPDATED_AT)));
+
+        var first = catalogVersions.validatorsFor(List.of("attraction"));
+        var second = catalogVersions.validatorsFor(List.of("attraction"));
+        assertEquals(first, second);
+        verify(repository, times(1)).findTableVersions();
+
+        catalogVersions.onEntityChanged(new EntityChangedEvent(Attraction.class, 1L, ChangeType.UPDATED));
+        catalogVersions.validatorsFor(List.of("attraction"));
+        verify(repository, times(2)).findTableVersions();
+    }
+
+    @Test
+    void etagAndLastModifiedFollowTableVersion() {
+        var deletedAt = UPDATED_AT.plusSeconds(5);
+        when(repository.findTableVersions())
+                .thenReturn(Map.of("attraction", new TableVersion(2, UPDATED_AT)))
+                .thenReturn(Map.of("attraction", new TableVersion(3, deletedAt)));
+
+        var before = catalogVersions.validatorsFor(List.of("attraction"));
+        catalogVersions.onEntityChanged(new EntityChangedEvent(Attraction.class, 1L, ChangeType.DELETED));
+        var after = catalogVersions.validatorsFor(List.of("attraction"));
+
+        assertNotEquals(before.etag(), after.etag());
+        assertTrue(after.etag().startsWith("W/\""));
+        assertEquals(UPDATED_AT.toEpochMilli(), before.lastModified());
+        assertEquals(deletedAt.toEpochMilli(), after.lastModified());
+    }
+
+    @Test
+    void readersDoNotWaitForRefresh() throws Exception {
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(repository.findTableVersions())
+                .thenReturn(Map.of("attraction", new TableVersion(2, UPDATED_AT)))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    release.await();
+                    return Map.of("attraction", new TableVersion(3, UPDATED_AT));
+                });
+        var before = catalogVersions.validatorsFor(List.of("attraction"));
+        catalogVersions.onEntityChanged(new EntityChangedEvent(Attraction.class, 1L, ChangeType.UPDATED));
+
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            var refreshed = executor.submit(() -> catalogVersions.validatorsFor(List.of("attraction")));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            assertEquals(before, catalogVersions.validatorsFor(List.of("attraction")));
+
+            release.countDown();
+            assertNotEquals(before, refreshed.get(5, TimeUnit.SECONDS));
+            assertEquals(refreshed.get(), catalogVersions.validatorsFor(List.of("attraction")));
+            verify(repository, times(2)).findTableVersions();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.springapp.cache;
+
+import org.example.springapp.config.CatalogCacheProperties;
+import org.example.springapp.utils.enums.HotKeyType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotKeyTrackerTest {
+
+    @Test
+    void sketchNeverUnderestimates() {
+        var sketch = new CountMinSketch(4, 64);
+        for (int i = 0; i < 1_000; i++) {
+            sketch.increment("key-" + (i % 100));
+        }
+        for (int i = 0; i < 100; i++) {
+            assertTrue(sketch.estimate("key-" + i) >= 10);
+        }
+        sketch.halve();
+        assertTrue(sketch.estimate("key-0") >= 5);
+    }
+
+    @Test
+    void tracksMostFrequentKeysPerType() {
+        var properties = new CatalogCacheProperties();
+        properties.getHotKeys().setTopK(2);
+        var tracker = new HotKeyTracker(properties, new PinnedKeys());
+        record(tracker, HotKeyType.CITY, "Minsk", 30);
+        record(tracker, HotKeyType.CITY, "Brest", 20);
+        record(tracker, HotKeyType.CITY, "Grodno", 5);
+        record(tracker, HotKeyType.ATTRACTION_ID, "7", 10);
+
+        var hotKeys = tracker.hotKeys();
+        assertEquals(List.of("Minsk", "Brest", "7"), hotKeys.stream().map(HotKeyTracker.HotKey::value).toList());
+        assertTrue(hotKeys.get(0).estimatedCount() >= 30);
+    }
+
+    @Test
+    void pinsKeysAboveThresholdAndReleasesThemAfterDecay() {
+        var properties = new CatalogCacheProperties();
+        properties.getHotKeys().setPinThreshold(10);
+        var pinnedKeys = new PinnedKeys();
+        List<Object> repinned = new ArrayList<>();
+        pinnedKeys.onChange(CacheNames.ATTRACTIONS, repinned::add);
+        var tracker = new HotKeyTracker(properties, pinnedKeys);
+        record(tracker, HotKeyType.ATTRACTION_ID, "1", 12);
+        record(tracker, HotKeyType.ATTRACTION_ID, "2", 3);
+        record(tracker, HotKeyType.REGION, "Minsk region", 15);
+        record(tracker, HotKeyType.NAME, "Tower", 50);
+
+        tracker.pin();
+
+        assertTrue(pinnedKeys.isPinned(CacheNames.ATTRACTIONS, 1L));
+        assertFalse(pinnedKeys.isPinned(CacheNames.ATTRACTIONS, 2L));
+        assertTrue(pinnedKeys.isPinned(CacheNames.ATTRACTION_SEARCH, "region:Minsk region"));
+        assertEquals(List.of(1L), repinned);
+
+        tracker.decay();
+        tracker.pin();
+
+        assertFalse(pinnedKeys.isPinned(CacheNames.ATTRACTIONS, 1L));
+        assertEquals(List.of(1L, 1L), repinned);
+    }
+
+    private static void record(final HotKeyTracker tracker, final HotKeyType type, final String value,
+                               final int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.record(type, value);
+        }
+    }
+}
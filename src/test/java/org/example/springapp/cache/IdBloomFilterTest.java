@@ -0,0 +1,43 @@
+package org.example.springapp.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdBloomFilterTest {
+
+    @Test
+    void addedIdsAreAlwaysFound() {
+        var filter = new IdBloomFilter(10_000, 0.01);
+        for (long id = 1; id <= 10_000; id++) {
+            filter.put(id);
+        }
+        for (long id = 1; id <= 10_000; id++) {
+            assertTrue(filter.mightContain(id));
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearConfigured() {
+        var filter = new IdBloomFilter(10_000, 0.01);
+        for (long id = 1; id <= 10_000; id++) {
+            filter.put(id);
+        }
+        int falsePositives = 0;
+        for (long id = 10_001; id <= 110_000; id++) {
+            if (filter.mightContain(id)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives / 100_000.0 < 0.02, "observed rate " + falsePositives / 100_000.0);
+        assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.005);
+        assertTrue(filter.memoryBytes() < 16 * 1024);
+    }
+
+    @Test
+    void emptyFilterRejectsEverything() {
+        var filter = new IdBloomFilter(0, 0.01);
+        assertFalse(filter.mightContain(1));
+        assertEquals(0, filter.expectedFalsePositiveRate());
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.springapp.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.springapp.config.CatalogCacheProperties;
+import org.example.springapp.event.EntityChangedEvent;
+import org.example.springapp.model.Address;
+import org.example.springapp.model.Attraction;
+import org.example.springapp.repository.CatalogIdRepository;
+import org.example.springapp.utils.enums.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdMembershipFiltersTest {
+    @Mock
+    private CatalogIdRepository repository;
+
+    private SimpleMeterRegistry registry;
+    private IdMembershipFilters filters;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        filters = new IdMembershipFilters(repository, registry, new CatalogCacheProperties());
+    }
+
+    @Test
+    void nothingIsRejectedBeforeSecondBuild() {
+        givenIds(1L, 2L, 5L);
+        filters.rebuild();
+
+        assertFalse(filters.isDefinitelyMissing(Attraction.class, 3L));
+    }
+
+    @Test
+    void missingIdsBelowPreviousMaximumAreRejected() {
+        givenIds(1L, 2L, 5L);
+        filters.rebuild();
+        filters.rebuild();
+
+        assertTrue(filters.isDefinitelyMissing(Attraction.class, 3L));
+        assertFalse(filters.isDefinitelyMissing(Attraction.class, 5L));
+        assertFalse(filters.isDefinitelyMissing(Attraction.class, 6L), "ids above the trusted maximum go to the database");
+        assertFalse(filters.isDefinitelyMissing(Attraction.class, null));
+        assertEquals(1, registry.get("idfilter.lookups").tag("entity", "Attraction").tag("result", "rejected")
+                .counter().count());
+        assertTrue(registry.get("idfilter.memory").tag("entity", "Attraction").gauge().value() > 0);
+    }
+
+    @Test
+    void createdIdsAreAdded() {
+        givenIds(1L, 10L);
+        filters.rebuild();
+        filters.rebuild();
+
+        filters.onEntityChanged(new EntityChangedEvent(Address.class, 7L, ChangeType.CREATED));
+
+        assertFalse(filters.isDefinitelyMissing(Address.class, 7L));
+    }
+
+    @Test
+    void idsWithinOpenBlocksOfOtherInstancesAreNotRejected() {
+        var properties = new CatalogCacheProperties();
+        properties.getIdFilter().setMaxInstances(2);
+        filters = new IdMembershipFilters(repository, registry, properties);
+        when(repository.sequenceIncrement(anyString())).thenReturn(50L);
+        givenIds(1L, 2L, 150L);
+        filters.rebuild();
+        filters.rebuild();
+
+        assertTrue(filters.isDefinitelyMissing(Attraction.class, 49L));
+        assertFalse(filters.isDefinitelyMissing(Attraction.class, 51L));
+    }
+
+    @Test
+    void flushOfAllChangesStopsRejectionUntilRebuild() {
+        givenIds(1L, 5L);
+        filters.rebuild();
+        filters.rebuild();
+
+        filters.onEntityChanged(new EntityChangedEvent(Attraction.class, null, ChangeType.UPDATED, true));
+
+        assertFalse(filters.isDefinitelyMissing(Attraction.class, 3L));
+        assertTrue(filters.isDefinitelyMissing(Address.class, 3L));
+        filters.rebuild();
+        assertTrue(filters.isDefinitelyMissing(Attraction.class, 3L));
+    }
+
+    @Test
+    void failedRebuildKeepsPreviousFilter() {
+        givenIds(1L, 5L);
+        filters.rebuild();
+        filters.rebuild();
+        when(repository.countRows(anyString())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        filters.rebuild();
+
+        assertTrue(filters.isDefinitelyMissing(Attraction.class, 3L));
+    }
+
+    private void givenIds(final Long... ids) {
+        lenient().when(repository.countRows(anyString())).thenReturn((long) ids.length);
+        lenient().doAnswer(invocation -> {
+            LongConsumer consumer = invocation.getArgument(1);
+            List.of(ids).forEach(consumer::accept);
+            return null;
+        }).when(repository).forEachId(anyString(), any());
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.springapp.cache;
+
+import org.example.springapp.event.EntityChangedEvent;
+import org.example.springapp.model.Address;
+import org.example.springapp.model.Service;
+import org.example.springapp.utils.enums.ChangeType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SerializedResponseCacheTest {
+    private static final String ATTRACTIONS = "/api/attractions/all";
+    private static final String SERVICES = "/api/services/all";
+
+    private final SerializedResponseCache cache = new SerializedResponseCache();
+
+    @Test
+    void storeKeepsIdentityAndGzipBodies() throws IOException {
+        var body = "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+        cache.store(ATTRACTIONS, cache.generation(ATTRACTIONS), "application/json", body);
+
+        var cached = cache.get(ATTRACTIONS);
+        assertNotNull(cached);
+        assertArrayEquals(body, cached.identity());
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(cached.gzip()))) {
+            assertArrayEquals(body, gzip.readAllBytes());
+        }
+    }
+
+    @Test
+    void writeToDependencyInvalidatesOnlyAffectedEndpoints() {
+        cache.store(ATTRACTIONS, cache.generation(ATTRACTIONS), "application/json", new byte[]{1});
+        cache.store(SERVICES, cache.generation(SERVICES), "application/json", new byte[]{2});
+
+        cache.onEntityChanged(new EntityChangedEvent(Address.class, 1L, ChangeType.UPDATED));
+
+        assertNull(cache.get(ATTRACTIONS));
+        assertNotNull(cache.get(SERVICES));
+    }
+
+    @Test
+    void responseBuiltBeforeWriteIsNotStored() {
+        var generation = cache.generation(SERVICES);
+        cache.onEntityChanged(new EntityChangedEvent(Service.class, 1L, ChangeType.CREATED));
+        cache.store(SERVICES, generation, "application/json", new byte[]{1});
+
+        assertNull(cache.get(SERVICES));
+    }
+}
@@ -0,0 +1,169 @@
+package org.example.springapp.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.springapp.datasource.ReadRouting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StaleWhileRevalidateCacheTest {
+    private static final Duration FRESH_FOR = Duration.ofMinutes(10);
+
+    private final AtomicLong time = new AtomicLong();
+    private final List<Runnable> refreshes = new ArrayList<>();
+    private StaleWhileRevalidateCache cache;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        cache = new StaleWhileRevalidateCache("test", Caffeine.newBuilder().build(), FRESH_FOR,
+                new CacheRefresher(refreshes::add), time::get);
+        response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest(), response));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void freshEntryIsServedWithoutLoading() {
+        cache.put(1L, "v1");
+
+        assertEquals("v1", cache.get(1L, () -> fail("loader must not be called")));
+        assertNull(response.getHeader(StaleWhileRevalidateCache.STALE_HEADER));
+    }
+
+    @Test
+    void expiredEntryIsServedStaleAndRefreshedInBackground() {
+        cache.put(1L, "v1");
+        time.addAndGet(FRESH_FOR.plusSeconds(1).toNanos());
+
+        assertEquals("v1", cache.get(1L, () -> "v2"));
+        assertEquals("true", response.getHeader(StaleWhileRevalidateCache.STALE_HEADER));
+        assertEquals(1, refreshes.size());
+
+        assertEquals("v1", cache.get(1L, () -> "v2"));
+        assertEquals(1, refreshes.size(), "refresh of the same key must not be scheduled twice");
+
+        refreshes.get(0).run();
+        assertEquals("v2", cache.get(1L, () -> fail("loader must not be called")));
+    }
+
+    @Test
+    void evictedEntryIsReloaded() {
+        cache.put(1L, "v1");
+        cache.clear();
+
+        assertNull(cache.get(1L));
+        assertEquals("v2", cache.get(1L, () -> "v2"));
+        assertNull(response.getHeader(StaleWhileRevalidateCache.STALE_HEADER));
+    }
+
+    @Test
+    void evictedEntryIsServedWhenDatabaseIsDown() {
+        cache.put(1L, "v1");
+        cache.evict(1L);
+
+        assertEquals("v1", cache.get(1L, () -> {
+            throw new DataAccessResourceFailureException("connection refused");
+        }));
+        assertEquals("true", response.getHeader(StaleWhileRevalidateCache.STALE_HEADER));
+        assertEquals("no-store", response.getHeader("Cache-Control"));
+    }
+
+    @Test
+    void nonOutageErrorsArePropagated() {
+        cache.put(1L, "v1");
+        cache.evict(1L);
+        var failure = new IllegalStateException("not found");
+
+        var e = assertThrows(Cache.ValueRetrievalException.class, () -> cache.get(1L, () -> {
+            throw failure;
+        }));
+        assertSame(failure, e.getCause());
+    }
+
+    @Test
+    void missingEntryIsNotMaskedOnOutage() {
+        assertThrows(Cache.ValueRetrievalException.class, () -> cache.get(1L, () -> {
+            throw new DataAccessResourceFailureException("connection refused");
+        }));
+    }
+
+    @Test
+    void refreshStartedBeforeClearDoesNotResurrectOldValue() {
+        cache.put(1L, "v1");
+        time.addAndGet(FRESH_FOR.plusSeconds(1).toNanos());
+        cache.get(1L, () -> "v2");
+        cache.clear();
+
+        refreshes.get(0).run();
+
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void reloadsAfterInvalidationReadFromPrimaryWhileReplicasMayLag() {
+        var maxLag = Duration.ofSeconds(7);
+        var routed = new StaleWhileRevalidateCache("test", Caffeine.newBuilder().build(), FRESH_FOR,
+                new CacheRefresher(refreshes::add), time::get, maxLag);
+
+        assertEquals(false, routed.get(1L, ReadRouting::isPrimaryOnly));
+
+        routed.evict(1L);
+        assertEquals(true, routed.get(1L, ReadRouting::isPrimaryOnly));
+        assertFalse(ReadRouting.isPrimaryOnly(), "routing must be restored after the load");
+
+        time.addAndGet(maxLag.toNanos());
+        routed.clear();
+        time.addAndGet(maxLag.toNanos());
+        assertEquals(false, routed.get(1L, ReadRouting::isPrimaryOnly));
+    }
+
+    @Test
+    void backgroundRefreshAfterInvalidationReadsFromPrimary() {
+        var maxLag = Duration.ofSeconds(7);
+        var routed = new StaleWhileRevalidateCache("test", Caffeine.newBuilder().build(), FRESH_FOR,
+                new CacheRefresher(refreshes::add), time::get, maxLag);
+        routed.put(1L, false);
+        time.addAndGet(FRESH_FOR.plusSeconds(1).toNanos());
+        routed.put(2L, "other");
+        routed.evict(2L);
+
+        routed.get(1L, ReadRouting::isPrimaryOnly);
+        refreshes.get(0).run();
+
+        assertEquals(true, routed.get(1L, () -> fail("loader must not be called")));
+    }
+
+    @Test
+    void stickyRoutingSurvivesLoadAfterInvalidation() {
+        var routed = new StaleWhileRevalidateCache("test", Caffeine.newBuilder().build(), FRESH_FOR,
+                new CacheRefresher(refreshes::add), time::get, Duration.ofSeconds(7));
+        routed.clear();
+        ReadRouting.primaryOnly();
+        try {
+            routed.get(1L, () -> "v1");
+
+            assertTrue(ReadRouting.isPrimaryOnly());
+        } finally {
+            ReadRouting.clear();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.springapp.cache.l2;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.springapp.dto.AttractionSummary;
+import org.example.springapp.model.Address;
+import org.example.springapp.model.Attraction;
+import org.example.springapp.model.TicketInfo;
+import org.example.springapp.utils.enums.AttractionType;
+import org.example.springapp.utils.enums.ServiceType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AttractionGraphCodecTest {
+    private final AttractionGraphCodec codec = new AttractionGraphCodec();
+
+    @Test
+    void attractionGraphRoundTrips() {
+        var attraction = attraction();
+
+        var decoded = (Attraction) codec.decode(codec.encode(attraction));
+
+        assertEquals(1L, decoded.getId());
+        assertEquals("Mir Castle", decoded.getName());
+        assertEquals(AttractionType.values()[0], decoded.getAttractionType());
+        assertEquals(Instant.parse("2025-01-01T10:00:00.123456Z"), decoded.getUpdatedAt());
+        assertEquals("Minsk", decoded.getAddress().getCity());
+        assertNull(decoded.getAddress().getBuilding());
+        assertEquals(53.45, decoded.getAddress().getLatitude());
+        assertEquals(new BigDecimal("12.50"), decoded.getTicketInfo().getPrice());
+        assertTrue(decoded.getTicketInfo().getAvailability());
+        assertSame(decoded, decoded.getTicketInfo().getAttraction());
+        assertSame(decoded, decoded.getAddress().getAttraction().get(0));
+        assertEquals("Neighbour", decoded.getAddress().getAttraction().get(1).getName());
+        assertNull(decoded.getServices());
+    }
+
+    @Test
+    void searchResultsRoundTripAndShareObjects() {
+        var first = attraction();
+        var second = first.getAddress().getAttraction().get(1);
+
+        @SuppressWarnings("unchecked")
+        var decoded = (List<Attraction>) codec.decode(codec.encode(List.of(first, second)));
+
+        assertEquals(2, decoded.size());
+        assertSame(decoded.get(0).getAddress(), decoded.get(1).getAddress());
+        assertEquals(List.of(), codec.decode(codec.encode(List.of())));
+    }
+
+    @Test
+    void encodingIsMoreCompactThanJson() throws Exception {
+        var attraction = attraction();
+        var json = new ObjectMapper()
+                .findAndRegisterModules().writeValueAsBytes(attraction);
+
+        assertTrue(codec.encode(attraction).length < json.length);
+    }
+
+    @Test
+    void summariesRoundTrip() {
+        var summaries = List.of(
+                new AttractionSummary(1L, "Mir Castle", AttractionType.values()[0], "Mir", "Grodno region",
+                        new BigDecimal("12.50"), "BYN", List.of(ServiceType.GUIDE, ServiceType.MEALS)),
+                new AttractionSummary(2L, "Neighbour", null, null, null, null, null));
+
+        assertTrue(codec.supports(summaries));
+        assertEquals(summaries, codec.decode(codec.encode(summaries)));
+    }
+
+    @Test
+    void onlyAttractionsAreSupported() {
+        assertTrue(codec.supports(attraction()));
+        assertTrue(codec.supports(List.of(attraction())));
+        assertFalse(codec.supports("value"));
+        assertFalse(codec.supports(List.of("value")));
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(new byte[]{42}));
+    }
+
+    private static Attraction attraction() {
+        var address = Address.builder().id(10L).street("Krasnoarmeyskaya").region("Minsk region")
+                .city("Minsk").latitude(53.45).longitude(26.47).attraction(new ArrayList<>()).build();
+        var attraction = Attraction.builder().id(1L).name("Mir Castle").description("Castle of the 16th century")
+                .attractionType(AttractionType.values()[0]).address(address)
+                .updatedAt(Instant.parse("2025-01-01T10:00:00.123456Z")).build();
+        var neighbour = Attraction.builder().id(2L).name("Neighbour").address(address).build();
+        address.getAttraction().add(attraction);
+        address.getAttraction().add(neighbour);
+        attraction.setTicketInfo(TicketInfo.builder().id(100L).price(new BigDecimal("12.50"))
+                .currency("BYN").availability(true).attraction(attraction).build());
+        return attraction;
+    }
+}
@@ -0,0 +1,161 @@
+package org.example.springapp.cache.l2;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Минимальный сервер RESP для тестов: {@code GET}, {@code SET [PX]}, {@code DEL}, {@code INCR}, {@code PING}.
+ */
+class InProcessRespServer implements Closeable {
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Map<String, byte[]> values = new ConcurrentHashMap<>();
+    private final Map<String, Long> expiresAt = new ConcurrentHashMap<>();
+
+    InProcessRespServer() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        executor.execute(this::accept);
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    int size() {
+        return (int) values.keySet().stream().filter(key -> !expired(key)).count();
+    }
+
+    Long ttlMillis(final String key) {
+        var expiry = expiresAt.get(key);
+        return expiry == null ? null : expiry - System.currentTimeMillis();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        executor.shutdownNow();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                var socket = serverSocket.accept();
+                executor.execute(() -> serve(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(final Socket socket) {
+        try (socket) {
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            while (true) {
+                var command = readCommand(in);
+                if (command == null) {
+                    return;
+                }
+                out.write(handle(command));
+                out.flush();
+            }
+        } catch (IOException ignored) {
+            // клиент закрыл соединение
+        }
+    }
+
+    private byte[] handle(final List<byte[]> command) {
+        var name = new String(command.get(0), StandardCharsets.UTF_8).toUpperCase();
+        var key = command.size() > 1 ? new String(command.get(1), StandardCharsets.UTF_8) : null;
+        switch (name) {
+            case "PING":
+                return "+PONG\r\n".getBytes(StandardCharsets.US_ASCII);
+            case "GET": {
+                var value = expired(key) ? null : values.get(key);
+                return bulk(value);
+            }
+            case "SET":
+                values.put(key, command.get(2));
+                expiresAt.remove(key);
+                if (command.size() == 5) {
+                    expiresAt.put(key, System.currentTimeMillis()
+                            + Long.parseLong(new String(command.get(4), StandardCharsets.US_ASCII)));
+                }
+                return "+OK\r\n".getBytes(StandardCharsets.US_ASCII);
+            case "DEL":
+                return (":" + (values.remove(key) == null ? 0 : 1) + "\r\n").getBytes(StandardCharsets.US_ASCII);
+            case "INCR": {
+                var next = values.merge(key, "1".getBytes(StandardCharsets.US_ASCII), (current, one) ->
+                        Long.toString(Long.parseLong(new String(current, StandardCharsets.US_ASCII)) + 1)
+                                .getBytes(StandardCharsets.US_ASCII));
+                return (":" + new String(next, StandardCharsets.US_ASCII) + "\r\n").getBytes(StandardCharsets.US_ASCII);
+            }
+            default:
+                return ("-ERR unknown command '" + name + "'\r\n").getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private boolean expired(final String key) {
+        var expiry = expiresAt.get(key);
+        return expiry != null && expiry <= System.currentTimeMillis();
+    }
+
+    private static byte[] bulk(final byte[] value) {
+        if (value == null) {
+            return "$-1\r\n".getBytes(StandardCharsets.US_ASCII);
+        }
+        var out = new ByteArrayOutputStream();
+        out.writeBytes(("$" + value.length + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.writeBytes(value);
+        out.writeBytes("\r\n".getBytes(StandardCharsets.US_ASCII));
+        return out.toByteArray();
+    }
+
+    private static List<byte[]> readCommand(final InputStream in) throws IOException {
+        int type = in.read();
+        if (type == -1) {
+            return null;
+        }
+        if (type != '*') {
+            throw new IOException("Only RESP arrays are supported");
+        }
+        int count = Integer.parseInt(readLine(in));
+        List<byte[]> arguments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (in.read() != '$') {
+                throw new IOException("Bulk string expected");
+            }
+            int length = Integer.parseInt(readLine(in));
+            arguments.add(in.readNBytes(length));
+            in.skipNBytes(2);
+        }
+        return arguments;
+    }
+
+    private static String readLine(final InputStream in) throws IOException {
+        var line = new StringBuilder();
+        for (int b = in.read(); b != '\r'; b = in.read()) {
+            if (b == -1) {
+                throw new IOException("Connection closed");
+            }
+            line.append((char) b);
+        }
+        in.read();
+        return line.toString();
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.springapp.cache.l2;
+
+import org.example.springapp.config.CatalogCacheProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RespL2CacheStoreTest {
+    private InProcessRespServer server;
+    private RespL2CacheStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new InProcessRespServer();
+        store = new RespL2CacheStore(properties(server.port()));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+        server.close();
+    }
+
+    @Test
+    void valuesRoundTripWithTimeToLive() {
+        store.put("attractions", "1", new byte[]{1, 2, 3}, Duration.ofMinutes(5));
+
+        assertArrayEquals(new byte[]{1, 2, 3}, store.get("attractions", "1"));
+        assertNull(store.get("attractions", "2"));
+        var ttl = server.ttlMillis("springapp:attractions:0:1");
+        assertNotNull(ttl);
+        assertTrue(ttl > 0 && ttl <= Duration.ofMinutes(5).toMillis());
+    }
+
+    @Test
+    void clearHidesAllEntriesOfCache() {
+        store.put("attractions", "1", new byte[]{1}, Duration.ofMinutes(5));
+        store.put("attractionSearch", "city:Minsk", new byte[]{2}, Duration.ofMinutes(5));
+
+        store.clear("attractions");
+
+        assertNull(store.get("attractions", "1"));
+        assertArrayEquals(new byte[]{2}, store.get("attractionSearch", "city:Minsk"));
+    }
+
+    @Test
+    void clearIsVisibleToOtherNodesAfterGenerationTtl() throws InterruptedException {
+        var properties = properties(server.port());
+        properties.setGenerationTtl(Duration.ofMillis(50));
+        try (var other = new RespL2CacheStore(properties)) {
+            other.put("attractions", "1", new byte[]{1}, Duration.ofMinutes(5));
+            assertArrayEquals(new byte[]{1}, store.get("attractions", "1"));
+
+            store.clear("attractions");
+            Thread.sleep(100);
+
+            assertNull(other.get("attractions", "1"));
+        }
+    }
+
+    @Test
+    void forgetMakesClearVisibleBeforeGenerationTtl() {
+        var properties = properties(server.port());
+        properties.setGenerationTtl(Duration.ofHours(1));
+        try (var other = new RespL2CacheStore(properties)) {
+            other.put("attractions", "1", new byte[]{1}, Duration.ofMinutes(5));
+
+            store.clear("attractions");
+            assertArrayEquals(new byte[]{1}, other.get("attractions", "1"));
+            other.forget("attractions");
+
+            assertNull(other.get("attractions", "1"));
+        }
+    }
+
+    @Test
+    void evictRemovesSingleEntry() {
+        store.put("attractions", "1", new byte[]{1}, Duration.ofMinutes(5));
+        store.evict("attractions", "1");
+
+        assertNull(store.get("attractions", "1"));
+    }
+
+    @Test
+    void unavailableServerFailsFastAfterFirstError() throws IOException {
+        server.close();
+
+        assertThrows(L2CacheException.class, () -> store.get("attractions", "1"));
+        long start = System.nanoTime();
+        assertThrows(L2CacheException.class, () -> store.get("attractions", "1"));
+        assertTrue(System.nanoTime() - start < Duration.ofMillis(50).toNanos());
+    }
+
+    static CatalogCacheProperties.L2 properties(final int port) {
+        var properties = new CatalogCacheProperties().getL2();
+        properties.setType("resp");
+        properties.setHost("127.0.0.1");
+        properties.setPort(port);
+        properties.setTimeout(Duration.ofSeconds(1));
+        return properties;
+    }
+}
@@ -0,0 +1,111 @@
+package org.example.springapp.cache.l2;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.example.springapp.cache.CacheRefresher;
+import org.example.springapp.cache.StaleWhileRevalidateCache;
+import org.example.springapp.config.CatalogCacheProperties;
+import org.example.springapp.model.Attraction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwoTierCacheTest {
+    private InProcessRespServer server;
+    private RespL2CacheStore store;
+    private TwoTierCache firstNode;
+    private TwoTierCache secondNode;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new InProcessRespServer();
+        store = new RespL2CacheStore(RespL2CacheStoreTest.properties(server.port()));
+        firstNode = twoTier(store);
+        secondNode = twoTier(store);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+        server.close();
+    }
+
+    @Test
+    void secondNodeIsFilledFromSharedTier() {
+        var loaded = firstNode.get(1L, this::load);
+        var shared = secondNode.get(1L, this::load);
+
+        assertEquals(1, loads.get());
+        assertEquals(loaded.getName(), shared.getName());
+        assertEquals(0, firstNode.localHits());
+        assertEquals(1, firstNode.sharedMisses());
+        assertEquals(1, secondNode.sharedHits());
+
+        secondNode.get(1L, this::load);
+        assertEquals(1, secondNode.localHits());
+    }
+
+    @Test
+    void clearRemovesBothTiers() {
+        firstNode.get(1L, this::load);
+        firstNode.clear();
+
+        firstNode.get(1L, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void clearLocalKeepsSharedTier() {
+        firstNode.get(1L, this::load);
+        firstNode.clearLocal();
+
+        firstNode.get(1L, this::load);
+
+        assertEquals(1, loads.get());
+        assertEquals(1, firstNode.sharedHits());
+    }
+
+    @Test
+    void remoteClearIsNotRefilledFromOldGeneration() {
+        var properties = RespL2CacheStoreTest.properties(server.port());
+        properties.setGenerationTtl(Duration.ofHours(1));
+        try (var otherStore = new RespL2CacheStore(properties)) {
+            var otherNode = twoTier(otherStore);
+            firstNode.get(1L, this::load);
+            otherNode.get(1L, this::load);
+
+            firstNode.clear();
+            otherNode.clearLocal();
+
+            assertEquals("Attraction 2", otherNode.get(1L, this::load).getName());
+        }
+    }
+
+    @Test
+    void sharedTierOutageFallsBackToDatabase() throws IOException {
+        server.close();
+
+        assertEquals("Attraction 1", firstNode.get(1L, this::load).getName());
+        assertEquals(1, loads.get());
+        assertTrue(firstNode.sharedErrors() > 0);
+    }
+
+    private Attraction load() {
+        return Attraction.builder().id(1L).name("Attraction " + loads.incrementAndGet()).build();
+    }
+
+    private static TwoTierCache twoTier(final L2CacheStore store) {
+        var properties = new CatalogCacheProperties();
+        var local = new StaleWhileRevalidateCache("attractions", Caffeine.newBuilder().build(),
+                Duration.ofMinutes(10), new CacheRefresher(properties), Ticker.systemTicker());
+        return new TwoTierCache(local, store, new AttractionGraphCodec(), Duration.ofMinutes(5));
+    }
+}
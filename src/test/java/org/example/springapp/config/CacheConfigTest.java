@@ -0,0 +1,86 @@
+package org.example.springapp.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.example.springapp.cache.CacheNames;
+import org.example.springapp.cache.CacheRefresher;
+import org.example.springapp.cache.PinnedKeys;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTest {
+
+    @Test
+    void cacheManagerCreatesBoundedEntityCaches() {
+        var properties = new CatalogCacheProperties();
+        properties.getEntity().setMaximumSize(2);
+        properties.getEntity().setTimeToLive(Duration.ofMinutes(1));
+        var manager = (SimpleCacheManager) new CacheConfig().cacheManager(properties, new CacheRefresher(properties), Optional.empty(), new PinnedKeys(), Optional.empty());
+        manager.afterPropertiesSet();
+
+        assertTrue(manager.getCacheNames().containsAll(
+                List.of(CacheNames.ATTRACTIONS, CacheNames.ADDRESSES, CacheNames.SERVICES, CacheNames.TICKETS)));
+
+        var cache = (CaffeineCache) manager.getCache(CacheNames.ATTRACTIONS);
+        assertNotNull(cache);
+        Cache<Object, Object> nativeCache = cache.getNativeCache();
+        assertEquals(2, nativeCache.policy().eviction().orElseThrow().getMaximum());
+
+        cache.put(1L, "value");
+        cache.get(1L);
+        cache.get(2L);
+        assertEquals(1, nativeCache.stats().hitCount());
+        assertEquals(1, nativeCache.stats().missCount());
+    }
+
+    @Test
+    void searchCacheIsBoundedByResultSize() {
+        var properties = new CatalogCacheProperties();
+        properties.getSearch().setMaximumWeight(10);
+        var manager = (SimpleCacheManager) new CacheConfig().cacheManager(properties, new CacheRefresher(properties), Optional.empty(), new PinnedKeys(), Optional.empty());
+        manager.afterPropertiesSet();
+
+        var cache = (CaffeineCache) manager.getCache(CacheNames.ATTRACTION_SEARCH);
+        assertNotNull(cache);
+        cache.put("city:Minsk", List.of(1, 2, 3));
+        cache.put("city:Brest", List.of());
+        Cache<Object, Object> nativeCache = cache.getNativeCache();
+        nativeCache.cleanUp();
+
+        var eviction = nativeCache.policy().eviction().orElseThrow();
+        assertEquals(10, eviction.getMaximum());
+        assertEquals(5, eviction.weightedSize().orElseThrow());
+    }
+
+    @Test
+    void pinnedEntriesAreNotEvicted() {
+        var properties = new CatalogCacheProperties();
+        properties.getEntity().setMaximumSize(2);
+        var pinnedKeys = new PinnedKeys();
+        var manager = (SimpleCacheManager) new CacheConfig().cacheManager(properties, new CacheRefresher(properties),
+                Optional.empty(), pinnedKeys, Optional.empty());
+        manager.afterPropertiesSet();
+
+        var cache = (CaffeineCache) manager.getCache(CacheNames.ATTRACTIONS);
+        assertNotNull(cache);
+        cache.put(1L, "hot");
+        pinnedKeys.update(CacheNames.ATTRACTIONS, Set.of(1L));
+        for (long id = 2; id < 20; id++) {
+            cache.put(id, "cold");
+        }
+        Cache<Object, Object> nativeCache = cache.getNativeCache();
+        nativeCache.cleanUp();
+
+        assertNotNull(cache.get(1L));
+        assertEquals(2, nativeCache.policy().eviction().orElseThrow().weightedSize().orElseThrow());
+        assertTrue(nativeCache.policy().expireVariably().orElseThrow()
+                .getExpiresAfter(1L).orElseThrow().compareTo(Duration.ofDays(365)) > 0);
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.springapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.springapp.dto.BatchResultDTO;
+import org.example.springapp.utils.enums.IdStrategy;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdGenerationConfigTest {
+    private static final long TIME_ID = 144_115_188_075_855_873L;
+
+    record Ids(Long id, List<Long> ids) {
+    }
+
+    record Counted(Long attractionID, Long total) {
+    }
+
+    @Test
+    void timeIdsAreWrittenAsStrings() throws Exception {
+        var mapper = mapper(IdStrategy.TIME);
+
+        var json = mapper.readTree(mapper.writeValueAsString(BatchResultDTO.builder()
+                .created(1).ids(List.of(TIME_ID)).elapsedMillis(3).build()));
+
+        assertEquals(String.valueOf(TIME_ID), json.get("ids").get(0).textValue());
+        assertTrue(json.get("elapsedMillis").isNumber());
+    }
+
+    @Test
+    void onlyIdPropertiesBecomeStrings() throws Exception {
+        var mapper = mapper(IdStrategy.TIME);
+
+        var json = mapper.readTree(mapper.writeValueAsString(new Counted(TIME_ID, 7L)));
+        var row = mapper.readTree(mapper.writeValueAsString(Map.of("id", TIME_ID, "total", 7L)));
+
+        assertEquals(String.valueOf(TIME_ID), json.get("attractionID").textValue());
+        assertTrue(json.get("total").isNumber());
+        assertEquals(String.valueOf(TIME_ID), row.get("id").textValue());
+        assertTrue(row.get("total").isNumber());
+    }
+
+    @Test
+    void stringIdsAreAccepted() throws Exception {
+        var ids = mapper(IdStrategy.TIME).readValue("{\"id\":\"" + TIME_ID + "\",\"ids\":[\"1\",2]}", Ids.class);
+
+        assertEquals(TIME_ID, ids.id());
+        assertEquals(List.of(1L, 2L), ids.ids());
+    }
+
+    @Test
+    void sequenceIdsStayNumbers() throws Exception {
+        var mapper = mapper(IdStrategy.SEQUENCE);
+
+        var json = mapper.readTree(mapper.writeValueAsString(BatchResultDTO.builder().ids(List.of(42L)).build()));
+
+        assertTrue(json.get("ids").get(0).isNumber());
+    }
+
+    private static ObjectMapper mapper(final IdStrategy strategy) {
+        var properties = new IdGenerationProperties();
+        properties.setStrategy(strategy);
+        var builder = new Jackson2ObjectMapperBuilder();
+        new IdGenerationConfig().catalogIdsJsonCustomizer(properties).customize(builder);
+        return builder.build();
+    }
+}
@@ -1,17 +1,17 @@
 package org.example.springapp.controller;
 
+import org.example.springapp.config.PaginationProperties;
 import org.example.springapp.dto.AddressDTO;
+import org.example.springapp.exception.BadRequestException;
 import org.example.springapp.exception.ResourceNotFoundException;
 import org.example.springapp.model.Address;
-import org.example.springapp.model.Attraction;
 import org.example.springapp.service.impl.AddressService;
-import org.example.springapp.service.impl.AttractionService;
 import org.example.springapp.utils.mapper.AddressMapper;
-import org.example.springapp.utils.mapper.EntityByIDMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 
@@ -26,33 +26,34 @@ class AddressControllerTest {
     @Mock
     private AddressService addressService;
     @Mock
-    private AttractionService attractionService;
-    @Mock
     private AddressMapper addressMapper;
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties();
     @InjectMocks
     private AddressController addressController;
 
     @Test
-    void shouldReturnAll() {
+    void shouldReturnAll() throws BadRequestException {
         var address1 = Address.builder().city("test1").build();
         var address2 = Address.builder().city("test2").build();
         var expectedAddresses = List.of(address1, address2);
 
-        when(addressService.read()).thenReturn(expectedAddresses);
+        when(addressService.readPage(null, 51)).thenReturn(expectedAddresses);
 
-        var result = addressController.readAll();
+        var result = addressController.readAll(null, null, null, null);
 
-        assertEquals(expectedAddresses, result);
+        assertEquals(expectedAddresses, result.getItems());
+        assertNull(result.getNextCursor());
 
-        verify(addressService, times(1)).read();
+        verify(addressService, times(1)).readPage(null, 51);
     }
 
     @Test
-    void shouldReturnByID() throws ResourceNotFoundException {
+    void shouldReturnByID() throws ResourceNotFoundException, BadRequestException {
         var id = 1L;
         var exceptedAddress = Address.builder().city("test1").build();
         when(addressService.getByID(id)).thenReturn(exceptedAddress);
-        var response = addressController.getAddressById(id);
+        var response = addressController.getAddressById(id, null, null);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(response.getBody(), exceptedAddress);
 
@@ -62,7 +63,7 @@ class AddressControllerTest {
     void shouldThrowExceptionByID() throws ResourceNotFoundException {
         var id = 1L;
         when(addressService.getByID(id)).thenThrow(ResourceNotFoundException.class);
-        assertThrows(ResourceNotFoundException.class, () -> addressController.getAddressById(id));
+        assertThrows(ResourceNotFoundException.class, () -> addressController.getAddressById(id, null, null));
     }
 
     @Test
@@ -71,50 +72,37 @@ class AddressControllerTest {
         var exceptedAddress = Address.builder().city("test1").attraction(new ArrayList<>()).build();
         when(addressMapper.toEntity(dto)).thenReturn(exceptedAddress);
         var status = addressController.createAddress(dto);
-        verify(addressService, times(1)).create(exceptedAddress);
+        verify(addressService, times(1)).create(exceptedAddress, null);
         assertEquals(status, HttpStatus.CREATED);
     }
 
     @Test
     void shouldCreateAddressWithAttraction() throws ResourceNotFoundException {
         var ids = List.of(1L);
-        var attr = Attraction.builder().id(1L).name("test1").build();
         var dto = AddressDTO.builder().city("test1").attractionID(ids).build();
-        var exceptedAddress = Address.builder().city("test1").attraction(List.of(attr)).build();
+        var exceptedAddress = Address.builder().city("test1").build();
 
         when(addressMapper.toEntity(dto)).thenReturn(exceptedAddress);
-        try (var mockStatic = mockStatic(EntityByIDMapper.class)) {
-            mockStatic.when(() -> EntityByIDMapper.fetchByIds(ids, attractionService, "Attraction"))
-                    .thenReturn(List.of(attr));
-
-            // Вызов контроллера
-            var status = addressController.createAddress(dto);
 
-            // Проверка, что сервис сохранил адрес
-            verify(addressService, times(1)).create(exceptedAddress);
+        var status = addressController.createAddress(dto);
 
-            // Проверка статуса
-            assertEquals(HttpStatus.CREATED, status);
-        }
+        verify(addressService, times(1)).create(exceptedAddress, ids);
+        assertEquals(HttpStatus.CREATED, status);
     }
 
     @Test
-    void shouldThrowExceptionInCreateAddress() {
+    void shouldThrowExceptionInCreateAddress() throws ResourceNotFoundException {
         var ids = List.of(999L);
         var dto = AddressDTO.builder().city("test1").attractionID(ids).build();
 
         when(addressMapper.toEntity(dto)).thenReturn(Address.builder().city("test1").build());
+        when(addressService.create(any(), eq(ids)))
+                .thenThrow(new ResourceNotFoundException("Attractions with these IDs don't exist: " + ids));
 
-        try (var mockStatic = mockStatic(EntityByIDMapper.class)) {
-            mockStatic.when(() -> EntityByIDMapper.fetchByIds(ids, attractionService, "Attraction"))
-                    .thenThrow(new ResourceNotFoundException("Attractions with these IDs don't exist: " + ids));
-
-            var exception = assertThrows(ResourceNotFoundException.class, () -> addressController.createAddress(dto));
-
-            assertEquals("Attractions with these IDs don't exist: [999]", exception.getMessage());
+        var exception = assertThrows(ResourceNotFoundException.class, () -> addressController.createAddress(dto));
 
-            verify(addressService, never()).create(any(Address.class));
-        }
+        assertEquals("Attractions with these IDs don't exist: [999]", exception.getMessage());
+        verify(addressService, never()).create(any(Address.class));
     }
 
     @Test
@@ -149,7 +137,7 @@ class AddressControllerTest {
         var exceptedAddress = Address.builder().city("test1").id(2L).build();
         when(addressMapper.toEntity(dto)).thenReturn(exceptedAddress);
         var status = addressController.updateAddress(dto);
-        verify(addressService, times(1)).update(exceptedAddress);
+        verify(addressService, times(1)).update(exceptedAddress, null);
         assertEquals(status, HttpStatus.OK);
     }
 
@@ -159,31 +147,22 @@ class AddressControllerTest {
         var exceptedAddress = Address.builder().city("test1").id(2L).build();
         when(addressMapper.toEntity(dto)).thenReturn(exceptedAddress);
         doThrow(ResourceNotFoundException.class)
-                .when(addressService).update(exceptedAddress);
+                .when(addressService).update(exceptedAddress, null);
         assertThrows(ResourceNotFoundException.class, () -> addressController.updateAddress(dto));
     }
 
     @Test
     void shouldUpdateAddressWithAttraction() throws ResourceNotFoundException {
         var ids = List.of(1L);
-        var attr = Attraction.builder().id(1L).name("test1").build();
         var dto = AddressDTO.builder().city("test1").attractionID(ids).build();
-        var exceptedAddress = Address.builder().city("test1").attraction(List.of(attr)).build();
+        var exceptedAddress = Address.builder().city("test1").build();
 
         when(addressMapper.toEntity(dto)).thenReturn(exceptedAddress);
-        try (var mockStatic = mockStatic(EntityByIDMapper.class)) {
-            mockStatic.when(() -> EntityByIDMapper.fetchByIds(ids, attractionService, "Attraction"))
-                    .thenReturn(List.of(attr));
-
-            // Вызов контроллера
-            var status = addressController.updateAddress(dto);
 
-            // Проверка, что сервис сохранил адрес
-            verify(addressService, times(1)).update(exceptedAddress);
+        var status = addressController.updateAddress(dto);
 
-            // Проверка статуса
-            assertEquals(HttpStatus.OK, status);
-        }
+        verify(addressService, times(1)).update(exceptedAddress, ids);
+        assertEquals(HttpStatus.OK, status);
     }
 
     @Test
@@ -192,16 +171,12 @@ class AddressControllerTest {
         var dto = AddressDTO.builder().city("test1").attractionID(ids).build();
 
         when(addressMapper.toEntity(dto)).thenReturn(Address.builder().city("test1").build());
+        doThrow(new ResourceNotFoundException("Attractions with these IDs don't exist: " + ids))
+                .when(addressService).update(any(), eq(ids));
 
-        try (var mockStatic = mockStatic(EntityByIDMapper.class)) {
-            mockStatic.when(() -> EntityByIDMapper.fetchByIds(ids, attractionService, "Attraction"))
-                    .thenThrow(new ResourceNotFoundException("Attractions with these IDs don't exist: " + ids));
-
-            var exception = assertThrows(ResourceNotFoundException.class, () -> addressController.updateAddress(dto));
-
-            assertEquals("Attractions with these IDs don't exist: [999]", exception.getMessage());
+        var exception = assertThrows(ResourceNotFoundException.class, () -> addressController.updateAddress(dto));
 
-            verify(addressService, never()).update(any(Address.class));
-        }
+        assertEquals("Attractions with these IDs don't exist: [999]", exception.getMessage());
+        verify(addressService, never()).update(any(Address.class));
     }
-}
\ No newline at end of file
+}
@@ -1,27 +1,35 @@
 package org.example.springapp.controller;
 
+import org.example.springapp.config.PaginationProperties;
 import org.example.springapp.dto.AttractionDTO;
+import org.example.springapp.dto.AttractionSummary;
+import org.example.springapp.dto.BatchErrorDTO;
+import org.example.springapp.dto.BatchResultDTO;
+import org.example.springapp.exception.BadRequestException;
 import org.example.springapp.exception.ResourceNotFoundException;
 import org.example.springapp.model.Address;
 import org.example.springapp.model.Attraction;
 import org.example.springapp.model.TicketInfo;
-import org.example.springapp.service.impl.AddressService;
 import org.example.springapp.service.impl.AttractionService;
-import org.example.springapp.service.impl.ServiceService;
-import org.example.springapp.service.impl.TicketInfoService;
+import org.example.springapp.service.impl.CatalogBatchService;
 import org.example.springapp.utils.enums.ServiceType;
+import org.example.springapp.utils.enums.SortKey;
+import org.example.springapp.utils.fields.FieldSelection;
 import org.example.springapp.utils.mapper.AttractionMapper;
-import org.example.springapp.utils.mapper.EntityByIDMapper;
+import org.example.springapp.utils.pagination.PageCursor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.example.springapp.model.Service.*;
 import static org.mockito.Mockito.*;
@@ -29,37 +37,78 @@ import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(MockitoExtension.class)
 class AttractionControllerTest {
-    @Mock
-    private AddressService addressService;
-    @Mock
-    private ServiceService serviceService;
-    @Mock
-    private TicketInfoService ticketService;
     @Mock
     private AttractionService attractionService;
     @Mock
     private AttractionMapper attractionMapper;
+    @Mock
+    private CatalogBatchService catalogBatchService;
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties();
     @InjectMocks
     private AttractionController attractionController;
 
     @Test
-    void readAllSuccess() {
-        var testValue1 = Attraction.builder().name("test1").build();
-        var testValue2 = Attraction.builder().name("test2").build();
+    void readAllSuccess() throws BadRequestException {
+        var testValue1 = summary(1L, "test1");
+        var testValue2 = summary(2L, "test2");
         var exceptedList = List.of(testValue1, testValue2);
-        when(attractionService.read()).thenReturn(exceptedList);
+        when(attractionService.readSummaries(null, 51)).thenReturn(exceptedList);
+
+        var receivedList = attractionController.readAll(null, null, SortKey.ID, null, null);
+        assertEquals(receivedList.getItems(), exceptedList);
+        assertNull(receivedList.getNextCursor());
+        verify(attractionService, times(1)).readSummaries(null, 51);
+    }
+
+    @Test
+    void readAllReturnsCursorOfLastItem() throws BadRequestException {
+        var first = summary(1L, "Castle");
+        var second = summary(2L, "Tower");
+        var third = summary(3L, "Tower");
+        when(attractionService.readSummariesByName(null, 3)).thenReturn(List.of(first, second, third));
+
+        var page = attractionController.readAll(null, 2, SortKey.NAME, null, null);
+        assertEquals(List.of(first, second), page.getItems());
+
+        var cursor = PageCursor.decode(page.getNextCursor(), SortKey.NAME);
+        when(attractionService.readSummariesByName(cursor, 3)).thenReturn(List.of(third));
+        assertEquals(new PageCursor(SortKey.NAME, 2L, "Tower"), cursor);
+
+        var next = attractionController.readAll(page.getNextCursor(), 2, SortKey.NAME, null, null);
+        assertEquals(List.of(third), next.getItems());
+        assertNull(next.getNextCursor());
+        assertThrows(BadRequestException.class,
+                () -> attractionController.readAll(page.getNextCursor(), 2, SortKey.ID, null, null));
+    }
+
+    @Test
+    void getByIdsKeepsRequestOrderAndReportsMissing() throws BadRequestException {
+        var first = Attraction.builder().id(1L).name("first").build();
+        var third = Attraction.builder().id(3L).name("third").build();
+        when(attractionService.readByIds(List.of(3L, 2L, 1L))).thenReturn(List.of(first, third));
 
-        var receivedList = attractionController.readAll();
-        assertEquals(receivedList, exceptedList);
-        verify(attractionService, times(1)).read();
+        var result = attractionController.getByIds(List.of(3L, 2L, 3L, 1L));
+
+        assertEquals(List.of(third, first), result.getItems());
+        assertEquals(List.of(2L), result.getMissingIds());
     }
 
     @Test
-    void getByIdSuccess() throws ResourceNotFoundException {
+    void getByIdsRejectsTooManyIds() {
+        paginationProperties.setMaxIds(2);
+
+        assertThrows(BadRequestException.class, () -> attractionController.getByIds(List.of(1L, 2L, 3L)));
+        assertThrows(BadRequestException.class, () -> attractionController.getByIds(List.of()));
+        verifyNoInteractions(attractionService);
+    }
+
+    @Test
+    void getByIdSuccess() throws ResourceNotFoundException, BadRequestException {
         var id = 1L;
         var exceptedAttraction = Attraction.builder().name("test1").build();
         when(attractionService.getByID(id)).thenReturn(exceptedAttraction);
-        var response = attractionController.getById(id);
+        var response = attractionController.getById(id, null, null);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(response.getBody(), exceptedAttraction);
     }
@@ -68,17 +117,36 @@ class AttractionControllerTest {
     void getByIdNotFound() throws ResourceNotFoundException {
         var id = 1L;
         when(attractionService.getByID(id)).thenThrow(ResourceNotFoundException.class);
-        assertThrows(ResourceNotFoundException.class, () -> attractionController.getById(id));
+        assertThrows(ResourceNotFoundException.class, () -> attractionController.getById(id, null, null));
     }
 
     @Test
-    void getByNameSuccess() {
+    void getByIdWithFieldsReadsRequestedShape() throws ResourceNotFoundException, BadRequestException {
+        var id = 1L;
+        Map<String, Object> shaped = Map.of("id", id, "name", "test1");
+        var selection = new FieldSelection(Set.of("id", "name"), Set.of("ticketInfo"));
+        when(attractionService.getShapedById(id, selection)).thenReturn(shaped);
+
+        var response = attractionController.getById(id, "name", "ticketInfo");
+
+        assertEquals(shaped, response.getBody());
+        verify(attractionService, never()).getByID(id);
+    }
+
+    @Test
+    void getByIdRejectsUnknownField() {
+        assertThrows(BadRequestException.class, () -> attractionController.getById(1L, "secret", null));
+        verifyNoInteractions(attractionService);
+    }
+
+    @Test
+    void getByNameSuccess() throws BadRequestException {
         var name = "test";
-        var exceptedAddresses = List.of(Attraction.builder().name("test1").build());
-        when(attractionService.findByNameContaining(name)).thenReturn(exceptedAddresses);
-        var response = attractionController.getByName(name);
+        var exceptedAddresses = List.of(summary(1L, "test1"));
+        when(attractionService.findByNameContaining(name, null, 51)).thenReturn(exceptedAddresses);
+        var response = attractionController.getByName(name, null, null);
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(response.getBody(), exceptedAddresses);
+        assertEquals(response.getBody().getItems(), exceptedAddresses);
     }
 
     @Test
@@ -105,14 +173,11 @@ class AttractionControllerTest {
                 .build();
 
         when(attractionMapper.toEntity(dto)).thenReturn(expectedEntity);
-        when(addressService.getByID(1L)).thenReturn(address);
-        when(ticketService.getByID(2L)).thenReturn(ticketInfo);
-        try (var mockStatic = mockStatic(EntityByIDMapper.class)) {
-            mockStatic.when(() -> EntityByIDMapper.fetchByIds(dto.getServicesID(), serviceService, "Service")).thenReturn(services);
-            var status = attractionController.createAttraction(dto);
-            verify(attractionService, times(1)).create(expectedEntity);
-            assertEquals(HttpStatus.CREATED, status);
-        }
+
+        var status = attractionController.createAttraction(dto);
+
+        verify(attractionService, times(1)).create(expectedEntity, 1L, 2L, List.of(3L, 4L));
+        assertEquals(HttpStatus.CREATED, status);
     }
 
 
@@ -132,11 +197,10 @@ class AttractionControllerTest {
                 .build();
 
         when(attractionMapper.toEntity(dto)).thenReturn(expectedEntity);
-        when(addressService.getByID(1L)).thenReturn(address);
 
         var status = attractionController.createAttraction(dto);
 
-        verify(attractionService, times(1)).create(expectedEntity);
+        verify(attractionService, times(1)).create(expectedEntity, 1L, null, null);
         assertEquals(HttpStatus.CREATED, status);
     }
 
@@ -147,7 +211,8 @@ class AttractionControllerTest {
                 .addressID(99L)
                 .build();
 
-        when(addressService.getByID(99L)).thenThrow(new ResourceNotFoundException("Address not found"));
+        when(attractionService.create(any(), eq(99L), isNull(), isNull()))
+                .thenThrow(new ResourceNotFoundException("Address not found"));
 
         var exception = assertThrows(ResourceNotFoundException.class,
                 () -> attractionController.createAttraction(dto));
@@ -156,6 +221,31 @@ class AttractionControllerTest {
         verify(attractionService, never()).create(any());
     }
 
+    @Test
+    void createAttractionsBatch() throws BadRequestException {
+        var items = List.of(AttractionDTO.builder().name("Batch").addressID(1L).build());
+        var created = BatchResultDTO.builder().created(1).ids(List.of(7L)).errors(List.of()).build();
+        when(catalogBatchService.createAttractions(items)).thenReturn(created);
+
+        var response = attractionController.createAttractions(items);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(created, response.getBody());
+    }
+
+    @Test
+    void createAttractionsBatchWithErrors() throws BadRequestException {
+        var items = List.of(AttractionDTO.builder().name("Batch").addressID(99L).build());
+        var rejected = BatchResultDTO.builder().ids(List.of()).errors(List.of(BatchErrorDTO.builder().index(0)
+                .messages(List.of("Address with this id doesn't exist")).build())).build();
+        when(catalogBatchService.createAttractions(items)).thenReturn(rejected);
+
+        var response = attractionController.createAttractions(items);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(rejected, response.getBody());
+    }
+
     @Test
     void deleteAttractionSuccess() throws ResourceNotFoundException {
         Long addressId = 1L;
@@ -198,11 +288,10 @@ class AttractionControllerTest {
                 .build();
 
         when(attractionMapper.toEntity(dto)).thenReturn(expectedEntity);
-        when(addressService.getByID(1L)).thenReturn(address);
 
         var status = attractionController.updateAttraction(dto);
 
-        verify(attractionService, times(1)).update(expectedEntity);
+        verify(attractionService, times(1)).update(expectedEntity, 1L, null, null);
         assertEquals(HttpStatus.OK, status);
     }
     @Test
@@ -212,7 +301,8 @@ class AttractionControllerTest {
                 .addressID(99L)
                 .build();
 
-        when(addressService.getByID(99L)).thenThrow(new ResourceNotFoundException("Address not found"));
+        doThrow(new ResourceNotFoundException("Address not found"))
+                .when(attractionService).update(any(), eq(99L), isNull(), isNull());
 
         var exception = assertThrows(ResourceNotFoundException.class,
                 () -> attractionController.updateAttraction(dto));
@@ -221,29 +311,59 @@ class AttractionControllerTest {
         verify(attractionService, never()).update(any());
     }
     @Test
-    void searchAttractionsByCity() {
+    void searchAttractionsByCity() throws BadRequestException {
         var city = "test";
-        var exceptedAddresses = List.of(Attraction.builder().name("test1").build());
+        var exceptedAddresses = List.of(summary(1L, "test1"));
         when(attractionService.searchAttractionsByCity(city)).thenReturn(exceptedAddresses);
-        var response = attractionController.searchAttractionsByCity(city);
-        assertEquals(response, exceptedAddresses);
+        var response = attractionController.searchAttractionsByCity(city, null, null);
+        assertEquals(response.getItems(), exceptedAddresses);
     }
 
     @Test
-    void searchAttractionsByRegion() {
+    void searchAttractionsByCityReadsNextPageFromDatabase() throws BadRequestException {
+        var city = "test";
+        var after = PageCursor.afterId(1);
+        when(attractionService.searchAttractionsByCity(city, after, 3))
+                .thenReturn(List.of(summary(2L, "a"), summary(3L, "b"), summary(4L, "c")));
+
+        var response = attractionController.searchAttractionsByCity(city, after.encode(), 2);
+
+        assertEquals(List.of(2L, 3L), response.getItems().stream().map(AttractionSummary::id).toList());
+        assertEquals(PageCursor.afterId(3), PageCursor.decode(response.getNextCursor(), SortKey.ID));
+        verify(attractionService, never()).searchAttractionsByCity(city);
+    }
+
+    @Test
+    void searchAttractionsByCityCutsFirstPageFromCachedHead() throws BadRequestException {
+        var city = "test";
+        when(attractionService.searchAttractionsByCity(city))
+                .thenReturn(List.of(summary(1L, "a"), summary(2L, "b"), summary(3L, "c")));
+
+        var response = attractionController.searchAttractionsByCity(city, null, 1);
+
+        assertEquals(List.of(1L), response.getItems().stream().map(AttractionSummary::id).toList());
+        assertEquals(PageCursor.afterId(1), PageCursor.decode(response.getNextCursor(), SortKey.ID));
+    }
+
+    @Test
+    void searchAttractionsByRegion() throws BadRequestException {
         var region = "test";
-        var exceptedAddresses = List.of(Attraction.builder().name("test1").build());
+        var exceptedAddresses = List.of(summary(1L, "test1"));
         when(attractionService.searchAttractionsByRegion(region)).thenReturn(exceptedAddresses);
-        var response = attractionController.searchAttractionsByRegion(region);
-        assertEquals(response, exceptedAddresses);
+        var response = attractionController.searchAttractionsByRegion(region, null, null);
+        assertEquals(response.getItems(), exceptedAddresses);
     }
 
     @Test
-    void searchAttractionsByService() {
+    void searchAttractionsByService() throws BadRequestException {
         var name = ServiceType.CAR_EXCURSION;
-        var exceptedAddresses = List.of(Attraction.builder().name("test1").build());
+        var exceptedAddresses = List.of(summary(1L, "test1"));
         when(attractionService.searchAttractionsByService(name)).thenReturn(exceptedAddresses);
-        var response = attractionController.searchAttractionsByService(name.getDisplayName());
-        assertEquals(response, exceptedAddresses);
+        var response = attractionController.searchAttractionsByService(name.getDisplayName(), null, null);
+        assertEquals(response.getItems(), exceptedAddresses);
+    }
+
+    private static AttractionSummary summary(Long id, String name) {
+        return new AttractionSummary(id, name, null, "Minsk", "Minsk region", null, null);
     }
-}
\ No newline at end of file
+}
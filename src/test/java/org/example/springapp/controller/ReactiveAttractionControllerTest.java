@@ -0,0 +1,63 @@
+package org.example.springapp.controller;
+
+import org.example.springapp.dto.AttractionSummary;
+import org.example.springapp.exception.ResourceNotFoundException;
+import org.example.springapp.repository.AttractionReactiveRepository;
+import org.example.springapp.utils.enums.ServiceType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveAttractionControllerTest {
+    @Mock
+    private AttractionReactiveRepository repository;
+    @InjectMocks
+    private ReactiveAttractionController controller;
+
+    private final AttractionSummary first = new AttractionSummary(1L, "First", null, "Minsk", "Minsk region",
+            null, null, List.of(ServiceType.GUIDE));
+    private final AttractionSummary second = new AttractionSummary(2L, "Second", null, "Minsk", "Minsk region",
+            null, null, List.of());
+
+    @Test
+    void getByIdReturnsSummary() {
+        when(repository.findSummaryById(1L)).thenReturn(Mono.just(first));
+
+        StepVerifier.create(controller.getById(1L)).expectNext(first).verifyComplete();
+    }
+
+    @Test
+    void getByIdFailsWhenAttractionIsMissing() {
+        when(repository.findSummaryById(99L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(controller.getById(99L)).verifyError(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void searchByCityStreamsOnDemand() {
+        when(repository.findSummariesByCity("Minsk")).thenReturn(Flux.just(first, second));
+
+        StepVerifier.create(controller.searchAttractionsByCity("Minsk"), 1)
+                .expectNext(first)
+                .thenRequest(1)
+                .expectNext(second)
+                .verifyComplete();
+    }
+
+    @Test
+    void searchByServiceRejectsUnknownType() {
+        assertThrows(IllegalArgumentException.class, () -> controller.searchAttractionsByService("Unknown"));
+        verifyNoInteractions(repository);
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.springapp.controller;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Пропускная способность поиска по имени через MVC и через реактивное API при большом числе одновременных клиентов.
+ * <p>
+ * Запускается только явно: {@code mvn test -Dtest=ReactiveSearchLoadTest -Dbenchmark=true}.
+ * Пул Tomcat уменьшен до {@link #TOMCAT_THREADS} потоков, чтобы ограничение пула было видно на одной машине.
+ * Поиск по имени выбран потому, что он не кэшируется ни в одном из вариантов.
+ * </p>
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReactiveSearchLoadTest {
+    private static final int TOMCAT_THREADS = 16;
+    private static final int ATTRACTIONS = 50_000;
+    private static final int CONCURRENCY = 256;
+    private static final int REQUESTS = 5_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("tourism_test")
+            .withUsername("test")
+            .withPassword("test")
+            .withInitScript("init.sql");
+
+    @DynamicPropertySource
+    static void properties(final DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://" + postgres.getHost() + ":"
+                + postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/" + postgres.getDatabaseName()
+                + "?schema=tourism");
+        registry.add("spring.r2dbc.username", postgres::getUsername);
+        registry.add("spring.r2dbc.password", postgres::getPassword);
+        registry.add("spring.liquibase.default-schema", () -> "tourism");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("server.tomcat.threads.max", () -> TOMCAT_THREADS);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> TOMCAT_THREADS);
+        registry.add("spring.r2dbc.pool.max-size", () -> TOMCAT_THREADS);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void compareThroughput() throws Exception {
+        jdbcTemplate.update("INSERT INTO tourism.attraction (name, attraction_type) "
+                + "SELECT 'Attraction ' || lpad(i::text, 5, '0'), 'PARK' FROM generate_series(1, ?) i", ATTRACTIONS);
+        var client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        var mvc = "/api/attractions/find/?name=ion%200004&size=50";
+        var reactive = "/api/reactive/attractions/find/?name=ion%200004";
+
+        run(client, mvc, 500);
+        run(client, reactive, 500);
+        var mvcResult = run(client, mvc, REQUESTS);
+        var reactiveResult = run(client, reactive, REQUESTS);
+
+        System.out.printf("mvc       %8.1f req/s   p99 %6d ms%n", mvcResult.throughput(), mvcResult.p99());
+        System.out.printf("reactive  %8.1f req/s   p99 %6d ms%n", reactiveResult.throughput(), reactiveResult.p99());
+        assertThat(mvcResult.failures()).isZero();
+        assertThat(reactiveResult.failures()).isZero();
+    }
+
+    private record Result(double throughput, long p99, int failures) {
+    }
+
+    private Result run(final HttpClient client, final String path, final int requests) throws Exception {
+        var permits = new Semaphore(CONCURRENCY);
+        var failures = new AtomicInteger();
+        var latencies = new long[requests];
+        List<CompletableFuture<?>> pending = new ArrayList<>(requests);
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+        var start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            permits.acquire();
+            var index = i;
+            var sent = System.nanoTime();
+            pending.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        latencies[index] = (System.nanoTime() - sent) / 1_000_000;
+                        if (error != null || response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                        permits.release();
+                    }));
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+        var seconds = (System.nanoTime() - start) / 1e9;
+        Arrays.sort(latencies);
+        return new Result(requests / seconds, latencies[(int) (requests * 0.99) - 1], failures.get());
+    }
+}
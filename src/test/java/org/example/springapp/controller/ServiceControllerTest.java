@@ -1,17 +1,21 @@
 package org.example.springapp.controller;
 
+import org.example.springapp.config.PaginationProperties;
 import org.example.springapp.dto.ServiceDTO;
+import org.example.springapp.exception.BadRequestException;
 import org.example.springapp.exception.ResourceNotFoundException;
 import org.example.springapp.model.Attraction;
 import org.example.springapp.model.Service;
 import org.example.springapp.service.impl.AttractionService;
 import org.example.springapp.service.impl.ServiceService;
+import org.example.springapp.utils.enums.SortKey;
 import org.example.springapp.utils.mapper.EntityByIDMapper;
 import org.example.springapp.utils.mapper.ServiceMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 
@@ -29,22 +33,25 @@ class ServiceControllerTest {
     private ServiceMapper serviceMapper;
     @Mock
     private AttractionService attractionService;
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties();
     @InjectMocks
     private ServiceController serviceController;
 
     @Test
-    void readAllSuccess() {
+    void readAllSuccess() throws BadRequestException {
         var service1 = Service.builder().name("test1").build();
         var service2 = Service.builder().name("test2").build();
         var expectedAddresses = List.of(service1, service2);
 
-        when(serviceService.read()).thenReturn(expectedAddresses);
+        when(serviceService.readPageByName(null, 51)).thenReturn(expectedAddresses);
 
-        var result = serviceController.readAll();
+        var result = serviceController.readAll(null, null, SortKey.NAME);
 
-        assertEquals(expectedAddresses, result);
+        assertEquals(expectedAddresses, result.getItems());
+        assertNull(result.getNextCursor());
 
-        verify(serviceService, times(1)).read();
+        verify(serviceService, times(1)).readPageByName(null, 51);
     }
 
     @Test
@@ -1,6 +1,8 @@
 package org.example.springapp.controller;
 
+import org.example.springapp.config.PaginationProperties;
 import org.example.springapp.dto.TicketInfoDTO;
+import org.example.springapp.exception.BadRequestException;
 import org.example.springapp.exception.ResourceNotFoundException;
 import org.example.springapp.model.Attraction;
 import org.example.springapp.model.TicketInfo;
@@ -11,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 
@@ -28,22 +31,25 @@ class TicketInfoControllerTest {
     private AttractionService attractionService;
     @Mock
     private TicketInfoMapper ticketInfoMapper;
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties();
 
     @InjectMocks
     private TicketInfoController ticketController;
     @Test
-    void readAllSuccess() {
+    void readAllSuccess() throws BadRequestException {
         var ticket1 = TicketInfo.builder().currency("USD").build();
         var ticket2 = TicketInfo.builder().currency("EUR").build();
         var expectedAddresses = List.of(ticket1, ticket2);
 
-        when(ticketInfoService.read()).thenReturn(expectedAddresses);
+        when(ticketInfoService.readPage(null, 51)).thenReturn(expectedAddresses);
 
-        var result = ticketController.readAll();
+        var result = ticketController.readAll(null, null);
 
-        assertEquals(expectedAddresses, result);
+        assertEquals(expectedAddresses, result.getItems());
+        assertNull(result.getNextCursor());
 
-        verify(ticketInfoService, times(1)).read();
+        verify(ticketInfoService, times(1)).readPage(null, 51);
     }
 
     @Test
@@ -0,0 +1,114 @@
+package org.example.springapp.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeadlineDataSourceTest {
+    @Mock
+    private DataSource target;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement statement;
+    @Mock
+    private ResultSet resultSet;
+
+    @AfterEach
+    void tearDown() {
+        QueryDeadline.clear();
+    }
+
+    @Test
+    void connectionsWithoutDeadlineAreNotWrapped() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+
+        assertSame(connection, new DeadlineDataSource(target).getConnection());
+    }
+
+    @Test
+    void remainingTimeBecomesQueryTimeout() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("SELECT 1")).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        QueryDeadline.start(Duration.ofMillis(2_500));
+
+        var prepared = new DeadlineDataSource(target).getConnection().prepareStatement("SELECT 1");
+
+        assertSame(resultSet, prepared.executeQuery());
+        verify(statement).setQueryTimeout(3);
+    }
+
+    @Test
+    void shorterApplicationTimeoutIsKept() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("SELECT 1")).thenReturn(statement);
+        QueryDeadline.start(Duration.ofSeconds(30));
+
+        var prepared = new DeadlineDataSource(target).getConnection().prepareStatement("SELECT 1");
+        prepared.setQueryTimeout(2);
+        prepared.executeQuery();
+
+        assertEquals(2, prepared.getQueryTimeout());
+        verify(statement).setQueryTimeout(2);
+    }
+
+    @Test
+    void expiredDeadlineDoesNotReachDatabase() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("SELECT 1")).thenReturn(statement);
+        QueryDeadline.start(Duration.ZERO);
+
+        var prepared = new DeadlineDataSource(target).getConnection().prepareStatement("SELECT 1");
+
+        var exception = assertThrows(SQLTimeoutException.class, prepared::executeQuery);
+        assertEquals(DeadlineDataSource.QUERY_CANCELED, exception.getSQLState());
+        verify(statement, never()).executeQuery();
+    }
+
+    @Test
+    void cancelInterruptsRunningStatement() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("SELECT 1")).thenReturn(statement);
+        var deadline = QueryDeadline.start(Duration.ofSeconds(30));
+        when(statement.executeQuery()).thenAnswer(invocation -> {
+            deadline.cancel();
+            return resultSet;
+        });
+
+        var prepared = new DeadlineDataSource(target).getConnection().prepareStatement("SELECT 1");
+        prepared.executeQuery();
+
+        verify(statement).cancel();
+        assertThrows(SQLTimeoutException.class, prepared::executeQuery);
+    }
+
+    @Test
+    void deadlineFollowsTaskToAnotherThread() throws Exception {
+        var deadline = QueryDeadline.start(Duration.ofSeconds(30));
+        var seen = new QueryDeadline[1];
+        var task = QueryDeadline.propagate(() -> seen[0] = QueryDeadline.current());
+        QueryDeadline.clear();
+
+        var thread = new Thread(task);
+        thread.start();
+        thread.join();
+
+        assertSame(deadline, seen[0]);
+        assertNull(QueryDeadline.current());
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.springapp.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Отмена запросов выполняется сервером Postgres: после неё соединение снова пригодно для работы.
+ */
+@Testcontainers
+class QueryDeadlineIntegrationTest {
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    private HikariDataSource pool;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        pool = new HikariDataSource();
+        pool.setJdbcUrl(postgres.getJdbcUrl());
+        pool.setUsername(postgres.getUsername());
+        pool.setPassword(postgres.getPassword());
+        pool.setMaximumPoolSize(1);
+        jdbcTemplate = new JdbcTemplate(new DeadlineDataSource(pool));
+    }
+
+    @AfterEach
+    void tearDown() {
+        QueryDeadline.clear();
+        pool.close();
+    }
+
+    @Test
+    void slowQueryIsCancelledAtDeadline() {
+        QueryDeadline.start(Duration.ofSeconds(1));
+        var started = System.nanoTime();
+
+        assertThatThrownBy(() -> jdbcTemplate.execute("SELECT pg_sleep(30)"))
+                .isInstanceOf(QueryTimeoutException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(10));
+
+        QueryDeadline.clear();
+        assertThat(jdbcTemplate.queryForObject("SELECT 1", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void cancelStopsRunningQuery() throws Exception {
+        var deadline = QueryDeadline.start(Duration.ofMinutes(1));
+        var query = CompletableFuture.runAsync(QueryDeadline.propagate(
+                () -> jdbcTemplate.execute("SELECT pg_sleep(30)")));
+        QueryDeadline.clear();
+        while (pool.getHikariPoolMXBean().getActiveConnections() == 0) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(200);
+
+        deadline.cancel();
+
+        assertThatThrownBy(() -> query.get(10, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(QueryTimeoutException.class);
+        assertThat(jdbcTemplate.queryForObject("SELECT 1", Integer.class)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.springapp.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Маршрутизация соединений для методов {@code @Transactional(readOnly = true)} с JPA-менеджером транзакций,
+ * которым пользуются сервисы приложения. Базы различаются именем, как в {@link ReplicaRoutingIntegrationTest}.
+ */
+@Testcontainers
+@SpringJUnitConfig(ReplicaJpaRoutingIntegrationTest.Config.class)
+class ReplicaJpaRoutingIntegrationTest {
+    @Container
+    static PostgreSQLContainer<?> primaryDb = new PostgreSQLContainer<>("postgres:15").withDatabaseName("primary_db");
+
+    @Container
+    static PostgreSQLContainer<?> replicaDb = new PostgreSQLContainer<>("postgres:15").withDatabaseName("replica_db");
+
+    @Autowired
+    private Reader reader;
+
+    @AfterEach
+    void tearDown() {
+        ReadRouting.clear();
+    }
+
+    @Test
+    void readOnlyMethodsGoToReplica() {
+        assertThat(reader.readOnly()).isEqualTo("replica_db");
+        assertThat(reader.readWrite()).isEqualTo("primary_db");
+    }
+
+    @Test
+    void stickyReadsGoToPrimary() {
+        ReadRouting.primaryOnly();
+
+        assertThat(reader.readOnly()).isEqualTo("primary_db");
+    }
+
+    /**
+     * Сервис, читающий имя базы через {@link EntityManager}.
+     */
+    static class Reader {
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        @Transactional(readOnly = true)
+        public String readOnly() {
+            return database();
+        }
+
+        @Transactional
+        public String readWrite() {
+            return database();
+        }
+
+        private String database() {
+            return (String) entityManager.createNativeQuery("SELECT current_database()").getSingleResult();
+        }
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    static class Config {
+        @Bean(destroyMethod = "close")
+        HikariDataSource primary() {
+            return pool(primaryDb);
+        }
+
+        @Bean(destroyMethod = "close")
+        HikariDataSource replica() {
+            return pool(replicaDb);
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(final HikariDataSource primary,
+                                                                    final HikariDataSource replica) {
+            var proxy = new LazyConnectionDataSourceProxy(primary);
+            proxy.setReadOnlyDataSource(new ReplicaPool(primary,
+                    List.of(new ReplicaPool.Replica("replica", replica)), Duration.ofSeconds(5)));
+            var factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(proxy);
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setPackagesToScan(Reader.class.getPackageName());
+            return factory;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(final EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+
+        @Bean
+        Reader reader() {
+            return new Reader();
+        }
+
+        private static HikariDataSource pool(final PostgreSQLContainer<?> container) {
+            var pool = new HikariDataSource();
+            pool.setJdbcUrl(container.getJdbcUrl());
+            pool.setUsername(container.getUsername());
+            pool.setPassword(container.getPassword());
+            pool.setMaximumPoolSize(2);
+            return pool;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.springapp.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaPoolTest {
+    @Mock
+    private DataSource primary;
+    @Mock
+    private DataSource first;
+    @Mock
+    private DataSource second;
+    @Mock
+    private Connection primaryConnection;
+    @Mock
+    private Connection firstConnection;
+    @Mock
+    private Connection secondConnection;
+
+    @AfterEach
+    void tearDown() {
+        ReadRouting.clear();
+    }
+
+    @Test
+    void replicasAreUsedInTurn() throws SQLException {
+        when(first.getConnection()).thenReturn(firstConnection);
+        when(second.getConnection()).thenReturn(secondConnection);
+        var pool = pool();
+
+        assertSame(firstConnection, pool.getConnection());
+        assertSame(secondConnection, pool.getConnection());
+        assertSame(firstConnection, pool.getConnection());
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void unreachableReplicaIsSkipped() throws SQLException {
+        when(first.getConnection()).thenThrow(new SQLException("connection refused"));
+        when(second.getConnection()).thenReturn(secondConnection);
+        var pool = pool();
+
+        assertSame(secondConnection, pool.getConnection());
+        assertSame(secondConnection, pool.getConnection());
+        assertEquals(1, pool.availableReplicas());
+        verify(first, times(1)).getConnection();
+    }
+
+    @Test
+    void stickyThreadReadsFromPrimary() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        ReadRouting.primaryOnly();
+
+        assertSame(primaryConnection, pool().getConnection());
+        verifyNoInteractions(first, second);
+    }
+
+    @Test
+    void laggingReplicasFallBackToPrimary() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        lag(first, firstConnection, 30.0);
+        lag(second, secondConnection, 12.5);
+        var pool = pool();
+
+        pool.checkLag();
+
+        assertEquals(0, pool.availableReplicas());
+        assertSame(primaryConnection, pool.getConnection());
+    }
+
+    @Test
+    void replicaReturnsAfterCatchingUp() throws SQLException {
+        lag(first, firstConnection, 30.0, 0.2);
+        lag(second, secondConnection, 0.0, 0.0);
+        var pool = pool();
+
+        pool.checkLag();
+        assertEquals(1, pool.availableReplicas());
+        pool.checkLag();
+        assertEquals(2, pool.availableReplicas());
+    }
+
+    private ReplicaPool pool() {
+        return new ReplicaPool(primary, List.of(new ReplicaPool.Replica("first", first),
+                new ReplicaPool.Replica("second", second)), Duration.ofSeconds(5));
+    }
+
+    private static void lag(final DataSource dataSource, final Connection connection, final double seconds,
+                            final double... next) throws SQLException {
+        var statement = mock(Statement.class);
+        var resultSet = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        var rest = new Double[next.length];
+        for (int i = 0; i < next.length; i++) {
+            rest[i] = next[i];
+        }
+        when(resultSet.getDouble(1)).thenReturn(seconds, rest);
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.springapp.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Маршрутизация соединений на двух независимых базах: вместо потоковой репликации базы различаются именем.
+ */
+@Testcontainers
+class ReplicaRoutingIntegrationTest {
+    @Container
+    static PostgreSQLContainer<?> primaryDb = new PostgreSQLContainer<>("postgres:15").withDatabaseName("primary_db");
+
+    @Container
+    static PostgreSQLContainer<?> replicaDb = new PostgreSQLContainer<>("postgres:15").withDatabaseName("replica_db");
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        primary = pool(primaryDb);
+        replica = pool(replicaDb);
+        var proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(new ReplicaPool(primary,
+                List.of(new ReplicaPool.Replica("replica", replica)), Duration.ofSeconds(5)));
+        jdbcTemplate = new JdbcTemplate(proxy);
+        var transactionManager = new DataSourceTransactionManager(proxy);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadRouting.clear();
+        primary.close();
+        replica.close();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplica() {
+        assertThat(readOnly.execute(status -> database())).isEqualTo("replica_db");
+        assertThat(readWrite.execute(status -> database())).isEqualTo("primary_db");
+        assertThat(database()).isEqualTo("primary_db");
+    }
+
+    @Test
+    void stickyReadsGoToPrimary() {
+        ReadRouting.primaryOnly();
+
+        assertThat(readOnly.execute(status -> database())).isEqualTo("primary_db");
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToPrimary() {
+        replica.close();
+
+        assertThat(readOnly.execute(status -> database())).isEqualTo("primary_db");
+    }
+
+    private String database() {
+        return jdbcTemplate.queryForObject("SELECT current_database()", String.class);
+    }
+
+    private static HikariDataSource pool(final PostgreSQLContainer<?> container) {
+        var pool = new HikariDataSource();
+        pool.setJdbcUrl(container.getJdbcUrl());
+        pool.setUsername(container.getUsername());
+        pool.setPassword(container.getPassword());
+        pool.setMaximumPoolSize(2);
+        return pool;
+    }
+}
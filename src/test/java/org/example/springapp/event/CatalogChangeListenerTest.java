@@ -0,0 +1,73 @@
+package org.example.springapp.event;
+
+import org.example.springapp.config.InvalidationProperties;
+import org.example.springapp.model.Attraction;
+import org.example.springapp.model.Service;
+import org.example.springapp.utils.enums.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogChangeListenerTest {
+    private final List<Object> published = new ArrayList<>();
+    private CatalogChangeListener listener;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new InvalidationProperties();
+        properties.setNodeId("local");
+        listener = new CatalogChangeListener(properties, new DataSourceProperties(), published::add);
+    }
+
+    @Test
+    void remoteChangesArePublishedLocally() {
+        listener.handle("other|1|attraction:12:U,service::D");
+
+        assertEquals(List.of(
+                new EntityChangedEvent(Attraction.class, 12L, ChangeType.UPDATED, true),
+                new EntityChangedEvent(Service.class, null, ChangeType.DELETED, true)), published);
+    }
+
+    @Test
+    void ownNotificationsAreIgnored() {
+        listener.handle("local|1|attraction:12:U");
+
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    void sequenceGapFlushesEverything() {
+        listener.handle("other|1|attraction:12:U");
+        published.clear();
+
+        listener.handle("other|3|attraction:13:U");
+
+        assertEquals(4, published.size());
+        assertTrue(published.stream().allMatch(event -> ((EntityChangedEvent) event).id() == null));
+    }
+
+    @Test
+    void unreadableNotificationFlushesEverything() {
+        listener.handle("garbage");
+
+        assertEquals(4, published.size());
+    }
+
+    @Test
+    void encodedChangesRoundTrip() {
+        var change = new EntityChangedEvent(Attraction.class, 7L, ChangeType.CREATED);
+        var payload = ChangeNotification.payload("node", 5, List.of(ChangeNotification.encode(change)));
+
+        var decoded = ChangeNotification.decode(payload);
+
+        assertEquals("node", decoded.nodeId());
+        assertEquals(5, decoded.sequence());
+        assertEquals(List.of(new EntityChangedEvent(Attraction.class, 7L, ChangeType.CREATED, true)),
+                decoded.changes());
+    }
+}
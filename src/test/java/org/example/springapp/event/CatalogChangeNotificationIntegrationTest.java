@@ -0,0 +1,90 @@
+package org.example.springapp.event;
+
+import org.example.springapp.config.InvalidationProperties;
+import org.example.springapp.model.Address;
+import org.example.springapp.model.Attraction;
+import org.example.springapp.utils.enums.ChangeType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+class CatalogChangeNotificationIntegrationTest {
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("tourism_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    private final List<Object> received = new CopyOnWriteArrayList<>();
+    private CatalogChangeNotifier notifier;
+    private CatalogChangeListener listener;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        var sender = new InvalidationProperties();
+        sender.setNodeId("sender");
+        notifier = new CatalogChangeNotifier(new JdbcTemplate(new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())), sender);
+
+        var receiver = new InvalidationProperties();
+        receiver.setNodeId("receiver");
+        var dataSource = new DataSourceProperties();
+        dataSource.setUrl(postgres.getJdbcUrl());
+        dataSource.setUsername(postgres.getUsername());
+        dataSource.setPassword(postgres.getPassword());
+        listener = new CatalogChangeListener(receiver, dataSource, received::add);
+        listener.start();
+        await(listener::isListening);
+    }
+
+    @AfterEach
+    void tearDown() {
+        listener.stop();
+    }
+
+    @Test
+    void committedChangesReachOtherNodesInOneBatch() throws InterruptedException {
+        notifier.onEntityChanged(new EntityChangedEvent(Attraction.class, 1L, ChangeType.UPDATED));
+        notifier.onEntityChanged(new EntityChangedEvent(Address.class, 2L, ChangeType.DELETED));
+        notifier.onEntityChanged(new EntityChangedEvent(Attraction.class, 1L, ChangeType.UPDATED));
+        notifier.flush();
+
+        await(() -> received.size() >= 2);
+        assertEquals(List.of(
+                new EntityChangedEvent(Attraction.class, 1L, ChangeType.UPDATED, true),
+                new EntityChangedEvent(Address.class, 2L, ChangeType.DELETED, true)), received);
+    }
+
+    @Test
+    void remoteEventsAreNotSentAgain() throws InterruptedException {
+        notifier.onEntityChanged(new EntityChangedEvent(Attraction.class, 1L, ChangeType.UPDATED, true));
+        notifier.onEntityChanged(new EntityChangedEvent(Attraction.class, 2L, ChangeType.UPDATED));
+        notifier.flush();
+
+        await(() -> !received.isEmpty());
+        assertEquals(List.of(new EntityChangedEvent(Attraction.class, 2L, ChangeType.UPDATED, true)), received);
+    }
+
+    private static void await(final BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition was not met in time");
+            }
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.springapp.repository;
+
+import io.r2dbc.spi.ConnectionFactories;
+import org.example.springapp.dto.AttractionSummary;
+import org.example.springapp.model.Address;
+import org.example.springapp.model.Attraction;
+import org.example.springapp.model.Service;
+import org.example.springapp.model.TicketInfo;
+import org.example.springapp.utils.enums.ServiceType;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.PostgreSQLR2DBCDatabaseContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Данные сохраняются через JPA без общей транзакции, чтобы их видели соединения R2DBC.
+ */
+@Testcontainers
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AttractionReactiveRepositoryTest {
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("tourism_test")
+            .withUsername("test")
+            .withPassword("test")
+            .withInitScript("init.sql");
+
+    @BeforeAll
+    static void setup() {
+        System.setProperty("spring.datasource.url", postgres.getJdbcUrl());
+        System.setProperty("spring.datasource.username", postgres.getUsername());
+        System.setProperty("spring.datasource.password", postgres.getPassword());
+    }
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private TicketInfoRepository ticketInfoRepository;
+
+    private AttractionReactiveRepository repository;
+    private Attraction first;
+    private Attraction second;
+
+    @BeforeEach
+    void setUp() {
+        repository = new AttractionReactiveRepository(DatabaseClient.create(
+                ConnectionFactories.get(PostgreSQLR2DBCDatabaseContainer.getOptions(postgres))));
+        var suffix = System.nanoTime();
+        var address = addressRepository.save(Address.builder().city("Reactive " + suffix)
+                .region("Region " + suffix).build());
+        var guide = serviceRepository.save(Service.builder().serviceType(ServiceType.GUIDE).name("guide").build());
+        first = attractionRepository.save(Attraction.builder().name("reactive_" + suffix).address(address)
+                .services(List.of(guide)).build());
+        second = attractionRepository.save(Attraction.builder().name("reactive " + suffix).address(address).build());
+        ticketInfoRepository.save(TicketInfo.builder().currency("EUR").price(new BigDecimal("4.20"))
+                .attraction(first).build());
+    }
+
+    @Test
+    void citySearchStreamsSummariesInIdOrder() {
+        var city = first.getAddress().getCity();
+
+        StepVerifier.create(repository.findSummariesByCity(city), 1)
+                .assertNext(summary -> {
+                    assertThat(summary.id()).isEqualTo(first.getId());
+                    assertThat(summary.price()).isEqualByComparingTo("4.20");
+                    assertThat(summary.serviceTypes()).containsExactly(ServiceType.GUIDE);
+                })
+                .thenRequest(1)
+                .assertNext(summary -> assertThat(summary.id()).isEqualTo(second.getId()))
+                .verifyComplete();
+    }
+
+    @Test
+    void searchesMatchJdbcSemantics() {
+        assertThat(repository.findSummariesByRegion(first.getAddress().getRegion()).collectList().block())
+                .extracting(AttractionSummary::id).containsExactly(first.getId(), second.getId());
+        assertThat(repository.findSummariesByServiceType(ServiceType.GUIDE).collectList().block())
+                .extracting(AttractionSummary::id).contains(first.getId()).doesNotContain(second.getId());
+        assertThat(repository.findSummariesByNameContaining(first.getName()).collectList().block())
+                .extracting(AttractionSummary::id).containsExactly(first.getId());
+    }
+
+    @Test
+    void lookupById() {
+        StepVerifier.create(repository.findSummaryById(second.getId()))
+                .assertNext(summary -> assertThat(summary.name()).isEqualTo(second.getName()))
+                .verifyComplete();
+        StepVerifier.create(repository.findSummaryById(-1L)).verifyComplete();
+    }
+}
@@ -0,0 +1,165 @@
+package org.example.springapp.repository;
+
+import org.example.springapp.dto.AttractionSummary;
+import org.example.springapp.model.Address;
+import org.example.springapp.model.Attraction;
+import org.example.springapp.model.Service;
+import org.example.springapp.model.TicketInfo;
+import org.example.springapp.utils.enums.ServiceType;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Сравнение времени чтения через JPA и через {@link AttractionJdbcRepository}.
+ * <p>
+ * Запускается только явно: {@code mvn test -Dtest=AttractionReadPathBenchmark -Dbenchmark=true}.
+ * Перед каждым чтением JPA контекст персистентности очищается, чтобы измерялась загрузка сущностей,
+ * а не повторное обращение к уже загруженным.
+ * </p>
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Testcontainers
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(AttractionJdbcRepository.class)
+class AttractionReadPathBenchmark {
+    private static final int ATTRACTIONS = 2_000;
+    private static final int CITIES = 20;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 1_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("tourism_test")
+            .withUsername("test")
+            .withPassword("test")
+            .withInitScript("init.sql");
+
+    @BeforeAll
+    static void setup() {
+        System.setProperty("spring.datasource.url", postgres.getJdbcUrl());
+        System.setProperty("spring.datasource.username", postgres.getUsername());
+        System.setProperty("spring.datasource.password", postgres.getPassword());
+        System.setProperty("spring.jpa.show-sql", "false");
+    }
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private TicketInfoRepository ticketInfoRepository;
+
+    @Autowired
+    private AttractionJdbcRepository attractionJdbcRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void compareReadPaths() {
+        var ids = seed();
+        var probe = ids.get(ids.size() / 2);
+
+        report("getById", () -> {
+            var attraction = attractionRepository.getAttractionById(probe).orElseThrow();
+            Hibernate.initialize(attraction.getAddress().getAttraction());
+            return attraction;
+        }, () -> attractionJdbcRepository.findGraphById(probe).orElseThrow());
+        report("searchByCity", () -> withServiceTypes(
+                        attractionRepository.findSummariesByCity("City 7", Long.MIN_VALUE, Limit.of(51))),
+                () -> attractionJdbcRepository.findSummariesByCity("City 7", Long.MIN_VALUE, 51));
+        report("searchByRegion", () -> withServiceTypes(
+                        attractionRepository.findSummariesByRegion("Region 1", Long.MIN_VALUE, Limit.of(51))),
+                () -> attractionJdbcRepository.findSummariesByRegion("Region 1", Long.MIN_VALUE, 51));
+        report("searchByService", () -> withServiceTypes(attractionRepository.findSummariesByServiceType(
+                        ServiceType.GUIDE, Long.MIN_VALUE, Limit.of(51))),
+                () -> attractionJdbcRepository.findSummariesByServiceType(ServiceType.GUIDE, Long.MIN_VALUE, 51));
+        report("searchByName", () -> withServiceTypes(
+                        attractionRepository.findSummariesByNameContaining("ion 1", Long.MIN_VALUE, Limit.of(51))),
+                () -> attractionJdbcRepository.findSummariesByNameContaining("ion 1", Long.MIN_VALUE, 51));
+    }
+
+    private List<Long> seed() {
+        var guide = serviceRepository.save(Service.builder().serviceType(ServiceType.GUIDE).name("guide").build());
+        var meals = serviceRepository.save(Service.builder().serviceType(ServiceType.MEALS).name("meals").build());
+        List<Address> addresses = new ArrayList<>();
+        for (int i = 0; i < CITIES; i++) {
+            addresses.add(addressRepository.save(Address.builder().city("City " + i).region("Region " + i % 4)
+                    .street("Street " + i).building(i).latitude(53.0 + i).longitude(27.0 + i).build()));
+        }
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < ATTRACTIONS; i++) {
+            var attraction = attractionRepository.save(Attraction.builder().name("Attraction " + i)
+                    .description("Description " + i).address(addresses.get(i % CITIES))
+                    .services(i % 2 == 0 ? List.of(guide, meals) : List.of(meals)).build());
+            ticketInfoRepository.save(TicketInfo.builder().price(BigDecimal.valueOf(i % 50)).currency("BYN")
+                    .availability(true).attraction(attraction).build());
+            ids.add(attraction.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return ids;
+    }
+
+    private List<AttractionSummary> withServiceTypes(final List<AttractionSummary> summaries) {
+        Map<Long, List<ServiceType>> types = new HashMap<>();
+        for (var row : attractionRepository.findServiceTypes(summaries.stream().map(AttractionSummary::id).toList())) {
+            types.computeIfAbsent(row.getAttractionId(), id -> new ArrayList<>()).add(row.getServiceType());
+        }
+        return summaries.stream()
+                .map(summary -> summary.withServiceTypes(types.getOrDefault(summary.id(), List.of())))
+                .toList();
+    }
+
+    private void report(final String name, final Supplier<?> jpa, final Supplier<?> jdbc) {
+        var jpaNanos = measure(jpa);
+        var jdbcNanos = measure(jdbc);
+        System.out.printf("%-16s jpa %8.1f us/op   jdbc %8.1f us/op   x%.2f%n",
+                name, jpaNanos / 1_000.0, jdbcNanos / 1_000.0, (double) jpaNanos / jdbcNanos);
+        assertThat(jpaNanos).isPositive();
+        assertThat(jdbcNanos).isPositive();
+    }
+
+    private long measure(final Supplier<?> read) {
+        for (int i = 0; i < WARMUP; i++) {
+            read.get();
+            entityManager.clear();
+        }
+        long total = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            var start = System.nanoTime();
+            read.get();
+            total += System.nanoTime() - start;
+            entityManager.clear();
+        }
+        return total / ITERATIONS;
+    }
+}
@@ -1,23 +1,38 @@
 package org.example.springapp.repository;
 
 
+import org.example.springapp.config.BatchInsertConfig;
+import org.example.springapp.config.IdGenerationConfig;
+import org.example.springapp.dto.AttractionSummary;
 import org.example.springapp.model.Address;
 import org.example.springapp.model.Attraction;
 import org.example.springapp.model.Service;
 import org.example.springapp.model.TicketInfo;
 import org.example.springapp.utils.enums.ServiceType;
+import org.example.springapp.utils.enums.SortKey;
+import org.example.springapp.utils.fields.FieldSelection;
+import org.example.springapp.utils.pagination.PageCursor;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -25,6 +40,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 @DataJpaTest
 @ExtendWith(SpringExtension.class)
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({AttractionJdbcRepository.class, CatalogBatchRepository.class, CatalogIdRepository.class,
+        CatalogVersionRepository.class, BatchInsertConfig.class, IdGenerationConfig.class})
 public class RepositoryIntegrationTest {
     @Container
     static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
@@ -58,6 +75,21 @@ public class RepositoryIntegrationTest {
     @Autowired
     private TicketInfoRepository ticketInfoRepository;
 
+    @Autowired
+    private AttractionJdbcRepository attractionJdbcRepository;
+
+    @Autowired
+    private CatalogBatchRepository catalogBatchRepository;
+
+    @Autowired
+    private CatalogIdRepository catalogIdRepository;
+
+    @Autowired
+    private CatalogVersionRepository catalogVersionRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
     @Test
     void testAddressRepository() {
         var address = Address.builder().city("Springfield").build();
@@ -97,4 +129,208 @@ public class RepositoryIntegrationTest {
         assertThat(foundTicket.get().getCurrency()).isEqualTo("USD");
     }
 
+    @Test
+    void attractionPageLoadsAddressAndTicketWithoutSession() {
+        var address = addressRepository.save(Address.builder().city("Graph city").build());
+        var attraction = attractionRepository.save(Attraction.builder().name("graph").address(address).build());
+        ticketInfoRepository.save(TicketInfo.builder().currency("USD").attraction(attraction).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        var page = attractionRepository.findByIdGreaterThanOrderByIdAsc(attraction.getId() - 1, Limit.of(1));
+
+        var util = entityManager.getEntityManager().getEntityManagerFactory().getPersistenceUnitUtil();
+        assertThat(page).hasSize(1);
+        assertThat(util.isLoaded(page.get(0), "address")).isTrue();
+        assertThat(util.isLoaded(page.get(0), "ticketInfo")).isTrue();
+    }
+
+    @Test
+    void citySummariesSelectColumnsWithoutManagedEntities() {
+        var address = addressRepository.save(Address.builder().city("Summary city").region("North").build());
+        var guide = serviceRepository.save(Service.builder().serviceType(ServiceType.GUIDE).name("guide").build());
+        var attraction = attractionRepository.save(Attraction.builder().name("summary").address(address)
+                .services(List.of(guide)).build());
+        ticketInfoRepository.save(TicketInfo.builder().currency("USD").price(new BigDecimal("7.50"))
+                .attraction(attraction).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        var summaries = attractionRepository.findSummariesByCity("Summary city", Long.MIN_VALUE, Limit.of(10));
+        var serviceTypes = attractionRepository.findServiceTypes(List.of(attraction.getId()));
+
+        assertThat(summaries).hasSize(1);
+        assertThat(summaries.get(0).region()).isEqualTo("North");
+        assertThat(summaries.get(0).price()).isEqualByComparingTo("7.50");
+        assertThat(serviceTypes).singleElement()
+                .extracting(AttractionRepository.ServiceTypeView::getServiceType).isEqualTo(ServiceType.GUIDE);
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+        assertThat(attractionRepository.findSummariesByNameContaining("umm%", Long.MIN_VALUE, Limit.of(1))).isEmpty();
+    }
+
+    @Test
+    void jdbcReadsMatchJpaReads() {
+        var address = addressRepository.save(Address.builder().city("Jdbc city").region("Jdbc region").build());
+        var guide = serviceRepository.save(Service.builder().serviceType(ServiceType.GUIDE).name("guide").build());
+        var first = attractionRepository.save(Attraction.builder().name("jdbc_first").address(address)
+                .services(List.of(guide)).build());
+        var second = attractionRepository.save(Attraction.builder().name("jdbc second").address(address).build());
+        ticketInfoRepository.save(TicketInfo.builder().currency("USD").price(new BigDecimal("3.00"))
+                .availability(true).attraction(first).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        var summaries = attractionJdbcRepository.findSummariesByCity("Jdbc city", Long.MIN_VALUE, 10);
+        assertThat(summaries).extracting(AttractionSummary::id).containsExactly(first.getId(), second.getId());
+        assertThat(summaries.get(0).serviceTypes()).containsExactly(ServiceType.GUIDE);
+        assertThat(summaries.get(0).price()).isEqualByComparingTo("3.00");
+        assertThat(attractionJdbcRepository.findSummariesByRegion("Jdbc region", Long.MIN_VALUE, 10))
+                .isEqualTo(summaries);
+        assertThat(attractionJdbcRepository.findSummariesByCity("Jdbc city", first.getId(), 10))
+                .extracting(AttractionSummary::id).containsExactly(second.getId());
+        assertThat(attractionRepository.findSummariesByRegion("Jdbc region", Long.MIN_VALUE, Limit.of(1)))
+                .extracting(AttractionSummary::id).containsExactly(first.getId());
+        assertThat(attractionJdbcRepository.findSummariesByServiceType(ServiceType.GUIDE, Long.MIN_VALUE, 10))
+                .extracting(AttractionSummary::id).contains(first.getId()).doesNotContain(second.getId());
+        assertThat(attractionJdbcRepository.findSummariesByNameContaining("jdbc_", Long.MIN_VALUE, 10))
+                .extracting(AttractionSummary::id).containsExactly(first.getId());
+
+        var graph = attractionJdbcRepository.findGraphById(first.getId());
+        assertThat(graph).isPresent();
+        assertThat(graph.get().getAddress().getCity()).isEqualTo("Jdbc city");
+        assertThat(graph.get().getAddress().getAttraction()).extracting(Attraction::getId)
+                .containsExactly(first.getId(), second.getId());
+        assertThat(graph.get().getTicketInfo().getAttraction()).isSameAs(graph.get());
+        assertThat(attractionJdbcRepository.findGraphById(-1L)).isEmpty();
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void namePagesContinuePastAttractionsWithoutName() {
+        var address = addressRepository.save(Address.builder().city("Unnamed city").build());
+        var named = attractionRepository.save(Attraction.builder().name("zzz named").address(address).build());
+        var firstUnnamed = attractionRepository.save(Attraction.builder().address(address).build());
+        var secondUnnamed = attractionRepository.save(Attraction.builder().address(address).build());
+        entityManager.flush();
+
+        assertThat(attractionRepository.findSummariesAfterName(named.getName(), named.getId(), Limit.of(1000)))
+                .extracting(AttractionSummary::id).doesNotContain(firstUnnamed.getId(), secondUnnamed.getId());
+        assertThat(attractionRepository.findUnnamedSummariesAfterId(Long.MIN_VALUE, Limit.of(10)))
+                .extracting(AttractionSummary::id).containsSubsequence(firstUnnamed.getId(), secondUnnamed.getId());
+        assertThat(attractionRepository.findUnnamedSummariesAfterId(firstUnnamed.getId(), Limit.of(10)))
+                .extracting(AttractionSummary::id).containsExactly(secondUnnamed.getId());
+    }
+
+    @Test
+    void shapedAttractionContainsOnlyRequestedFieldsAndExpansions() {
+        var address = addressRepository.save(Address.builder().city("Shape city").latitude(53.9).longitude(27.5).build());
+        var attraction = attractionRepository.save(Attraction.builder().name("shaped").description("long text")
+                .address(address).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        var shaped = attractionRepository.findShapedById(attraction.getId(),
+                new FieldSelection(Set.of("id", "name", "latitude"), Set.of("ticketInfo", "services")));
+
+        assertThat(shaped).isPresent();
+        assertThat(shaped.get()).containsOnlyKeys("id", "name", "latitude", "ticketInfo", "services");
+        assertThat(shaped.get().get("latitude")).isEqualTo(53.9);
+        assertThat(shaped.get().get("ticketInfo")).isNull();
+        assertThat(shaped.get().get("services")).isEqualTo(List.of());
+    }
+
+    @Test
+    void shapedNamePageContinuesWithAttractionsWithoutName() {
+        var last = attractionRepository.save(Attraction.builder().name("zzzz last named").build());
+        var unnamed = attractionRepository.save(Attraction.builder().build());
+        entityManager.flush();
+
+        var page = attractionRepository.findShapedPage(new FieldSelection(Set.of("id", "name"), Set.of()),
+                PageCursor.at(SortKey.NAME, last.getId(), last.getName()), SortKey.NAME, 1000);
+
+        assertThat(page).extracting(row -> row.get("id")).contains(unnamed.getId()).doesNotContain(last.getId())
+                .doesNotHaveDuplicates();
+        assertThat(page.get(page.size() - 1).get("name")).isNull();
+    }
+
+    @Test
+    void batchInsertReturnsIdsInOrderAndLinksServices() {
+        var guide = serviceRepository.saveAndFlush(Service.builder().serviceType(ServiceType.GUIDE).name("guide")
+                .build());
+        var addressIds = catalogBatchRepository.insertAddresses(List.of(
+                Address.builder().city("Batch city 1").region("Batch").latitude(1.0).longitude(2.0).build(),
+                Address.builder().city("Batch city 2").region("Batch").build()));
+        var attractionIds = catalogBatchRepository.insertAttractions(List.of(
+                Attraction.builder().name("batch first").address(Address.builder().id(addressIds.get(0)).build())
+                        .services(List.of(guide)).build(),
+                Attraction.builder().name("batch second").address(Address.builder().id(addressIds.get(1)).build())
+                        .build()));
+        var ticketIds = catalogBatchRepository.insertTicketInfos(List.of(
+                TicketInfo.builder().price(new BigDecimal("3.50")).currency("EUR").availability(true)
+                        .attraction(Attraction.builder().id(attractionIds.get(1)).build()).build()));
+        entityManager.clear();
+
+        assertThat(attractionIds).hasSize(2);
+        assertThat(catalogIdRepository.findExistingIds(CatalogVersionRepository.ATTRACTION,
+                List.of(attractionIds.get(0), attractionIds.get(1), -1L)))
+                .containsExactlyInAnyOrderElementsOf(attractionIds);
+        var first = attractionRepository.findById(attractionIds.get(0)).orElseThrow();
+        assertThat(first.getAddress().getCity()).isEqualTo("Batch city 1");
+        assertThat(first.getServices()).extracting(Service::getId).containsExactly(guide.getId());
+        assertThat(first.getUpdatedAt()).isNotNull();
+        var ticket = ticketInfoRepository.findById(ticketIds.get(0)).orElseThrow();
+        assertThat(ticket.getAttraction().getName()).isEqualTo("batch second");
+    }
+
+    @Test
+    void entityAndBatchIdsComeFromSharedSequenceBlocks() {
+        var first = addressRepository.save(Address.builder().city("Pooled 1").build());
+        var second = addressRepository.save(Address.builder().city("Pooled 2").build());
+        var batchIds = catalogBatchRepository.insertAddresses(List.of(Address.builder().city("Pooled 3").build()));
+
+        assertThat(second.getId()).isGreaterThan(first.getId());
+        assertThat(batchIds.get(0)).isGreaterThan(second.getId());
+        assertThat(catalogIdRepository.findExistingIds(CatalogVersionRepository.ADDRESS, batchIds))
+                .containsExactlyElementsOf(batchIds);
+    }
+
+    @Test
+    void changingServiceLinksBumpsAttractionVersion() {
+        var guide = serviceRepository.save(Service.builder().serviceType(ServiceType.GUIDE).name("guide").build());
+        var meals = serviceRepository.save(Service.builder().serviceType(ServiceType.MEALS).name("meals")
+                .build());
+        var attraction = attractionRepository.saveAndFlush(Attraction.builder().name("linked")
+                .services(new ArrayList<>(List.of(guide))).build());
+        var before = updatedAt(attraction.getId());
+
+        attraction.getServices().clear();
+        attraction.getServices().add(meals);
+        entityManager.flush();
+
+        assertThat(updatedAt(attraction.getId())).isAfter(before);
+    }
+
+    @Test
+    void deletingRowBumpsTableVersion() {
+        var service = serviceRepository.saveAndFlush(Service.builder().serviceType(ServiceType.GUIDE)
+                .name("to delete").build());
+        var before = catalogVersionRepository.findTableVersions().get(CatalogVersionRepository.SERVICE);
+
+        serviceRepository.delete(service);
+        serviceRepository.flush();
+
+        var after = catalogVersionRepository.findTableVersions().get(CatalogVersionRepository.SERVICE);
+        assertThat(after.version()).isGreaterThan(before.version());
+        assertThat(after.lastUpdated()).isAfter(before.lastUpdated());
+        assertThat(catalogVersionRepository.findTableVersions().get(CatalogVersionRepository.ATTRACTION))
+                .isNotNull();
+    }
+
+    private Instant updatedAt(final Long attractionId) {
+        var value = (OffsetDateTime) entityManager.getEntityManager()
+                .createNativeQuery("SELECT updated_at FROM tourism.attraction WHERE id = :id", OffsetDateTime.class)
+                .setParameter("id", attractionId)
+                .getSingleResult();
+        return value.toInstant();
+    }
 }
@@ -2,6 +2,7 @@ package org.example.springapp.service.impl;
 
 import org.example.springapp.exception.ResourceNotFoundException;
 import org.example.springapp.model.Address;
+import org.example.springapp.model.Attraction;
 import org.example.springapp.repository.AddressRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,7 +12,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -20,6 +23,8 @@ import static org.mockito.Mockito.*;
 class AddressServiceTest {
     @Mock
     private AddressRepository repository;
+    @Mock
+    private AttractionService attractionService;
     @InjectMocks
     private AddressService service;
 
@@ -42,6 +47,26 @@ class AddressServiceTest {
         verify(repository, times(1)).save(address);
     }
 
+    @Test
+    void createWithAttractionsLoadsThemInSameCall() throws ResourceNotFoundException {
+        var attraction = Attraction.builder().id(7L).build();
+        when(attractionService.getByIDs(Set.of(7L))).thenReturn(Map.of(7L, attraction));
+        when(repository.save(address)).thenReturn(address);
+
+        service.create(address, List.of(7L));
+
+        assertEquals(List.of(attraction), address.getAttraction());
+        verify(attractionService, never()).readByIds(any());
+    }
+
+    @Test
+    void createWithMissingAttractionSavesNothing() {
+        when(attractionService.getByIDs(Set.of(7L))).thenReturn(Map.of());
+
+        assertThrows(ResourceNotFoundException.class, () -> service.create(address, List.of(7L)));
+        verify(repository, never()).save(any());
+    }
+
     @Test
     void readAllAddressesSuccess() {
         var excepted = List.of(address);
@@ -0,0 +1,128 @@
+package org.example.springapp.service.impl;
+
+import org.example.springapp.config.IdGenerationConfig;
+import org.example.springapp.config.PaginationConfig;
+import org.example.springapp.config.ReadPathConfig;
+import org.example.springapp.exception.ResourceNotFoundException;
+import org.example.springapp.model.Address;
+import org.example.springapp.model.Attraction;
+import org.example.springapp.model.Service;
+import org.example.springapp.model.TicketInfo;
+import org.example.springapp.repository.AddressRepository;
+import org.example.springapp.repository.AttractionJdbcRepository;
+import org.example.springapp.repository.AttractionRepository;
+import org.example.springapp.repository.ServiceRepository;
+import org.example.springapp.repository.TicketInfoRepository;
+import org.example.springapp.utils.enums.ServiceType;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Запись через сервис в собственных транзакциях: связанные сущности приходят из других,
+ * уже закрытых транзакций, как при запросе к контроллеру без open-in-view.
+ */
+@Testcontainers
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({AttractionService.class, AddressService.class, AttractionJdbcRepository.class, IdGenerationConfig.class,
+        PaginationConfig.class, ReadPathConfig.class})
+class AttractionServiceIntegrationTest {
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("tourism_test")
+            .withUsername("test")
+            .withPassword("test")
+            .withInitScript("init.sql");
+
+    @BeforeAll
+    static void setup() {
+        System.setProperty("spring.datasource.url", postgres.getJdbcUrl());
+        System.setProperty("spring.datasource.username", postgres.getUsername());
+        System.setProperty("spring.datasource.password", postgres.getPassword());
+
+        System.setProperty("spring.liquibase.enabled", "true");
+        System.setProperty("spring.liquibase.default_schema", "tourism");
+        System.setProperty("spring.liquibase.url", postgres.getJdbcUrl());
+        System.setProperty("spring.liquibase.user", postgres.getUsername());
+        System.setProperty("spring.liquibase.password", postgres.getPassword());
+    }
+
+    @Autowired
+    private AttractionService attractionService;
+
+    @Autowired
+    private AddressService addressService;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private TicketInfoRepository ticketInfoRepository;
+
+    @Test
+    void createWithAddressReadInAnotherTransaction() throws ResourceNotFoundException {
+        var saved = addressRepository.save(Address.builder().city("Detached city").build());
+        var detached = addressRepository.findById(saved.getId()).orElseThrow();
+
+        var created = attractionService.create(Attraction.builder().name("detached").address(detached).build());
+
+        var stored = attractionService.getByID(created.getId());
+        assertThat(stored.getAddress().getId()).isEqualTo(saved.getId());
+        assertThat(stored.getAddress().getCity()).isEqualTo("Detached city");
+    }
+
+    @Test
+    void createAndUpdateResolveReferencesInWriteTransaction() throws ResourceNotFoundException {
+        var address = addressRepository.save(Address.builder().city("Reference city").build());
+        var ticketInfo = ticketInfoRepository.save(TicketInfo.builder().currency("USD").build());
+        var guide = serviceRepository.save(Service.builder().serviceType(ServiceType.GUIDE).name("guide").build());
+        var meals = serviceRepository.save(Service.builder().serviceType(ServiceType.MEALS).name("meals").build());
+
+        var created = attractionService.create(Attraction.builder().name("referenced").build(),
+                address.getId(), ticketInfo.getId(), List.of(guide.getId(), meals.getId()));
+
+        assertThat(attractionService.getByID(created.getId()).getAddress().getId()).isEqualTo(address.getId());
+        assertThat(attractionRepository.findServiceTypes(List.of(created.getId())))
+                .extracting(AttractionRepository.ServiceTypeView::getServiceType)
+                .containsExactlyInAnyOrder(ServiceType.GUIDE, ServiceType.MEALS);
+
+        attractionService.update(Attraction.builder().id(created.getId()).name("renamed").build(),
+                address.getId(), null, List.of(meals.getId()));
+
+        assertThat(attractionService.getByID(created.getId()).getName()).isEqualTo("renamed");
+        assertThat(attractionRepository.findServiceTypes(List.of(created.getId())))
+                .extracting(AttractionRepository.ServiceTypeView::getServiceType)
+                .containsExactly(ServiceType.MEALS);
+    }
+
+    @Test
+    void createAddressWithExistingAttractions() throws ResourceNotFoundException {
+        var oldAddress = addressRepository.save(Address.builder().city("Old city").build());
+        var attraction = attractionRepository.save(Attraction.builder().name("moved").address(oldAddress).build());
+
+        var created = addressService.create(Address.builder().city("New city").build(),
+                List.of(attraction.getId()));
+
+        assertThat(addressRepository.findById(created.getId())).isPresent();
+    }
+}
@@ -1,16 +1,30 @@
 package org.example.springapp.service.impl;
 
+import jakarta.persistence.EntityManager;
+import org.example.springapp.config.PaginationProperties;
+import org.example.springapp.config.ReadPathProperties;
+import org.example.springapp.dto.AttractionSummary;
 import org.example.springapp.exception.ResourceNotFoundException;
+import org.example.springapp.model.Address;
 import org.example.springapp.model.Attraction;
+import org.example.springapp.model.Service;
+import org.example.springapp.model.TicketInfo;
+import org.example.springapp.repository.AttractionJdbcRepository;
 import org.example.springapp.repository.AttractionRepository;
+import org.example.springapp.utils.enums.ReadPath;
 import org.example.springapp.utils.enums.ServiceType;
+import org.example.springapp.utils.enums.SortKey;
+import org.example.springapp.utils.pagination.PageCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,10 +35,19 @@ import static org.mockito.Mockito.*;
 class AttractionServiceTest {
     @Mock
     private AttractionRepository repository;
+    @Mock
+    private AttractionJdbcRepository jdbcRepository;
+    @Spy
+    private ReadPathProperties readPaths = new ReadPathProperties();
+    @Spy
+    private PaginationProperties pagination = new PaginationProperties();
+    @Mock
+    private EntityManager entityManager;
     @InjectMocks
     private AttractionService service;
 
     private Attraction attraction;
+    private AttractionSummary summary;
 
     @BeforeEach
     void setUp() {
@@ -32,6 +55,7 @@ class AttractionServiceTest {
                 .id(1L)
                 .name("Test")
                 .build();
+        summary = new AttractionSummary(1L, "Test", null, "Minsk", "Minsk region", null, null);
     }
 
     @Test
@@ -109,30 +133,190 @@ class AttractionServiceTest {
     @Test
     void searchByCitySuccess(){
         var city = "Tes";
-        var lists = List.of(attraction);
-        when(repository.findByAddressCity(city)).thenReturn(lists);
+        when(repository.findSummariesByCity(city, Long.MIN_VALUE, Limit.of(501))).thenReturn(List.of(summary));
+        when(repository.findServiceTypes(List.of(1L))).thenReturn(List.of());
         var actual = service.searchAttractionsByCity(city);
 
-        assertEquals(actual, lists);
+        assertEquals(List.of(summary), actual);
+    }
+    @Test
+    void searchByCityUsesJdbcWhenConfigured() {
+        readPaths.setSearchByCity(ReadPath.JDBC);
+        var withTypes = summary.withServiceTypes(List.of(ServiceType.GUIDE));
+        when(jdbcRepository.findSummariesByCity("Minsk", Long.MIN_VALUE, 501)).thenReturn(List.of(withTypes));
+
+        assertEquals(List.of(withTypes), service.searchAttractionsByCity("Minsk"));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void searchByCityReadsNextPageAfterCursor() {
+        when(repository.findSummariesByCity("Minsk", 1L, Limit.of(3))).thenReturn(List.of());
+
+        assertEquals(List.of(), service.searchAttractionsByCity("Minsk", PageCursor.afterId(1), 3));
+        verify(repository, never()).findServiceTypes(any());
+    }
+
+    @Test
+    void getByIdUsesJdbcWhenConfigured() throws ResourceNotFoundException {
+        readPaths.setAttractionById(ReadPath.JDBC);
+        when(jdbcRepository.findGraphById(1L)).thenReturn(Optional.of(attraction));
+
+        assertSame(attraction, service.getByID(1L));
+        verify(repository, never()).getAttractionById(any());
+    }
+
+    @Test
+    void findByNameUsesJdbcWhenConfigured() {
+        readPaths.setSearchByName(ReadPath.JDBC);
+        when(jdbcRepository.findSummariesByNameContaining("Tes", Long.MIN_VALUE, 11)).thenReturn(List.of(summary));
+
+        assertEquals(List.of(summary), service.findByNameContaining("Tes", null, 11));
+        verifyNoInteractions(repository);
     }
+
     @Test
     void searchByRegionSuccess(){
         var region = "Tes";
-        var lists = List.of(attraction);
-        when(repository.findByAddressRegion(region)).thenReturn(lists);
+        when(repository.findSummariesByRegion(region, Long.MIN_VALUE, Limit.of(501))).thenReturn(List.of(summary));
+        when(repository.findServiceTypes(List.of(1L))).thenReturn(List.of());
         var actual = service.searchAttractionsByRegion(region);
 
-        assertEquals(actual, lists);
+        assertEquals(List.of(summary), actual);
     }
     @Test
     void searchByServiceSuccess(){
         var type = ServiceType.GUIDE;
-        var lists = List.of(attraction);
-        when(repository.findByServicesServiceType(type)).thenReturn(lists);
+        when(repository.findSummariesByServiceType(type, Long.MIN_VALUE, Limit.of(501))).thenReturn(List.of(summary));
+        when(repository.findServiceTypes(List.of(1L))).thenReturn(List.of(serviceType(1L, ServiceType.GUIDE),
+                serviceType(1L, ServiceType.MEALS)));
         var actual = service.searchAttractionsByService(type);
 
-        assertEquals(actual, lists);
+        assertEquals(List.of(ServiceType.GUIDE, ServiceType.MEALS), actual.get(0).serviceTypes());
+        assertEquals("Test", actual.get(0).name());
     }
-}
-    
+    @Test
+    void readSummariesSkipsServiceTypesForEmptyPage(){
+        when(repository.findSummariesAfterId(eq(Long.MIN_VALUE), any(Limit.class))).thenReturn(List.of());
+
+        assertEquals(List.of(), service.readSummaries(null, 51));
+        verify(repository, never()).findServiceTypes(any());
+    }
+
+    @Test
+    void readSummariesByNameContinuesWithUnnamedWhenPageIsShort() {
+        var unnamed = new AttractionSummary(7L, null, null, "Minsk", "Minsk region", null, null);
+        when(repository.findSummariesAfterName("A", 5L, Limit.of(3))).thenReturn(List.of(summary));
+        when(repository.findUnnamedSummariesAfterId(Long.MIN_VALUE, Limit.of(2))).thenReturn(List.of(unnamed));
+        when(repository.findServiceTypes(List.of(1L, 7L))).thenReturn(List.of());
+
+        var actual = service.readSummariesByName(PageCursor.at(SortKey.NAME, 5L, "A"), 3);
+
+        assertEquals(List.of(1L, 7L), actual.stream().map(AttractionSummary::id).toList());
+    }
+
+    @Test
+    void readSummariesByNameSkipsUnnamedForFullPage() {
+        when(repository.findSummariesAfterName("A", 5L, Limit.of(1))).thenReturn(List.of(summary));
+        when(repository.findServiceTypes(List.of(1L))).thenReturn(List.of());
+
+        assertEquals(1, service.readSummariesByName(PageCursor.at(SortKey.NAME, 5L, "A"), 1).size());
+        verify(repository, never()).findUnnamedSummariesAfterId(any(), any());
+    }
+
+    @Test
+    void resolveReferencesLoadsEverythingInOneQuery() throws ResourceNotFoundException {
+        var address = Address.builder().id(1L).build();
+        var ticketInfo = TicketInfo.builder().id(2L).build();
+        var guide = Service.builder().id(3L).build();
+        var audio = Service.builder().id(4L).build();
+        when(repository.findReferences(1L, 2L, List.of(4L, 3L))).thenReturn(List.of(
+                new Object[]{address, ticketInfo, guide},
+                new Object[]{address, ticketInfo, audio}));
+
+        var resolved = service.resolveReferences(attraction, 1L, 2L, List.of(4L, 3L, 4L));
+
+        assertSame(address, resolved.getAddress());
+        assertSame(ticketInfo, resolved.getTicketInfo());
+        assertEquals(List.of(audio, guide), resolved.getServices());
+        verify(repository, never()).findExistingReferences(any(), any(), any());
+    }
+
+    @Test
+    void createWithReferencesSavesResolvedEntity() throws ResourceNotFoundException {
+        var address = Address.builder().id(1L).build();
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{address, null, null});
+        when(repository.findReferences(1L, null, List.of())).thenReturn(rows);
+        when(repository.save(attraction)).thenReturn(attraction);
+
+        assertSame(attraction, service.create(attraction, 1L, null, null));
+        assertSame(address, attraction.getAddress());
+    }
+
+    @Test
+    void resolveReferencesWithoutTicketAndServices() throws ResourceNotFoundException {
+        var address = Address.builder().id(1L).build();
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{address, null, null});
+        when(repository.findReferences(1L, null, List.of())).thenReturn(rows);
+
+        var resolved = service.resolveReferences(attraction, 1L, null, null);
+
+        assertSame(address, resolved.getAddress());
+        assertNull(resolved.getTicketInfo());
+        assertEquals(List.of(), resolved.getServices());
+    }
+
+    @Test
+    void updateWithReferencesChecksAttractionAfterResolvingThem() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{Address.builder().id(1L).build(), null, null});
+        when(repository.findReferences(1L, null, List.of())).thenReturn(rows);
+        when(repository.existsById(1L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> service.update(attraction, 1L, null, null));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void resolveReferencesReportsEveryMissingReference() {
+        when(repository.findReferences(99L, 2L, List.of(3L, 4L))).thenReturn(List.of());
+        when(repository.findExistingReferences(eq(99L), eq(2L), any()))
+                .thenReturn(List.of(reference("TICKET_INFO", 2L), reference("SERVICE", 3L)));
+
+        var exception = assertThrows(ResourceNotFoundException.class,
+                () -> service.resolveReferences(attraction, 99L, 2L, List.of(3L, 4L)));
 
+        assertEquals("Address with this id doesn't exist; Services with these IDs don't exist: [4]",
+                exception.getMessage());
+    }
+
+    private static AttractionRepository.ReferenceView reference(String kind, Long id) {
+        return new AttractionRepository.ReferenceView() {
+            @Override
+            public String getKind() {
+                return kind;
+            }
+
+            @Override
+            public Long getId() {
+                return id;
+            }
+        };
+    }
+
+    private static AttractionRepository.ServiceTypeView serviceType(Long attractionId, ServiceType type) {
+        return new AttractionRepository.ServiceTypeView() {
+            @Override
+            public Long getAttractionId() {
+                return attractionId;
+            }
+
+            @Override
+            public ServiceType getServiceType() {
+                return type;
+            }
+        };
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.springapp.service.impl;
+
+import jakarta.validation.Validation;
+import org.example.springapp.config.BatchInsertProperties;
+import org.example.springapp.dto.AttractionDTO;
+import org.example.springapp.dto.BatchErrorDTO;
+import org.example.springapp.dto.TicketInfoDTO;
+import org.example.springapp.event.EntityChangedEvent;
+import org.example.springapp.exception.BadRequestException;
+import org.example.springapp.model.Attraction;
+import org.example.springapp.model.Service;
+import org.example.springapp.model.TicketInfo;
+import org.example.springapp.repository.CatalogBatchRepository;
+import org.example.springapp.repository.CatalogIdRepository;
+import org.example.springapp.utils.enums.ChangeType;
+import org.example.springapp.utils.mapper.AddressMapper;
+import org.example.springapp.utils.mapper.AttractionMapper;
+import org.example.springapp.utils.mapper.ServiceMapper;
+import org.example.springapp.utils.mapper.TicketInfoMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.example.springapp.repository.CatalogVersionRepository.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogBatchServiceTest {
+    @Mock
+    private CatalogBatchRepository batchRepository;
+    @Mock
+    private CatalogIdRepository idRepository;
+    @Mock
+    private ApplicationEventPublisher publisher;
+    @Captor
+    private ArgumentCaptor<List<Attraction>> attractions;
+    @Captor
+    private ArgumentCaptor<List<TicketInfo>> tickets;
+
+    private final BatchInsertProperties properties = new BatchInsertProperties();
+    private CatalogBatchService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CatalogBatchService(batchRepository, idRepository,
+                Validation.buildDefaultValidatorFactory().getValidator(), publisher, new AddressMapper(),
+                new AttractionMapper(), new ServiceMapper(), new TicketInfoMapper(), properties);
+    }
+
+    @Test
+    void attractionsAreInsertedWithReferencesAndPublished() throws BadRequestException {
+        when(idRepository.findExistingIds(eq(ADDRESS), anyCollection())).thenReturn(Set.of(1L));
+        when(idRepository.findExistingIds(eq(TICKET_INFO), anyCollection())).thenReturn(Set.of());
+        when(idRepository.findExistingIds(eq(SERVICE), anyCollection())).thenReturn(Set.of(5L, 6L));
+        when(batchRepository.insertAttractions(any())).thenReturn(List.of(10L, 11L));
+
+        var result = service.createAttractions(List.of(
+                attraction("first").servicesID(List.of(5L, 6L, 5L)).build(),
+                attraction("second").build()));
+
+        assertEquals(2, result.getCreated());
+        assertEquals(List.of(10L, 11L), result.getIds());
+        assertTrue(result.getErrors().isEmpty());
+        verify(batchRepository).insertAttractions(attractions.capture());
+        assertEquals(1L, attractions.getValue().get(0).getAddress().getId());
+        assertEquals(List.of(5L, 6L), attractions.getValue().get(0).getServices().stream().map(Service::getId).toList());
+        verify(publisher).publishEvent(new EntityChangedEvent(Attraction.class, 10L, ChangeType.CREATED));
+        verify(publisher).publishEvent(new EntityChangedEvent(Attraction.class, 11L, ChangeType.CREATED));
+    }
+
+    @Test
+    void invalidItemsAreReportedAndNothingIsInserted() throws BadRequestException {
+        when(idRepository.findExistingIds(eq(ADDRESS), anyCollection())).thenReturn(Set.of(1L));
+        when(idRepository.findExistingIds(eq(TICKET_INFO), anyCollection())).thenReturn(Set.of());
+        when(idRepository.findExistingIds(eq(SERVICE), anyCollection())).thenReturn(Set.of(5L));
+
+        var result = service.createAttractions(List.of(
+                attraction("valid").build(),
+                attraction("ok").attractionType("Nowhere").build(),
+                attraction("missing references").addressID(2L).ticketInfoID(3L).servicesID(List.of(5L, 7L)).build()));
+
+        assertEquals(0, result.getCreated());
+        assertEquals(List.of(1, 2), result.getErrors().stream().map(BatchErrorDTO::getIndex).toList());
+        var second = result.getErrors().get(0).getMessages();
+        assertTrue(second.contains("name: Name must be between 3 and 100 characters"));
+        assertTrue(second.contains("Unknown display name: Nowhere"));
+        assertEquals(List.of("Address with this id doesn't exist", "Ticket info with this id doesn't exist",
+                "Services with these IDs don't exist: [7]"), result.getErrors().get(1).getMessages());
+        verifyNoInteractions(batchRepository, publisher);
+    }
+
+    @Test
+    void ticketsReferenceAttractions() throws BadRequestException {
+        when(idRepository.findExistingIds(eq(ATTRACTION), anyCollection())).thenReturn(Set.of(4L));
+        when(batchRepository.insertTicketInfos(any())).thenReturn(List.of(20L));
+
+        var result = service.createTicketInfos(List.of(TicketInfoDTO.builder().price(BigDecimal.ONE)
+                .currency("EUR").availability(true).attractionID(4L).build()));
+
+        assertEquals(List.of(20L), result.getIds());
+        verify(batchRepository).insertTicketInfos(tickets.capture());
+        assertEquals(4L, tickets.getValue().get(0).getAttraction().getId());
+    }
+
+    @Test
+    void batchSizeIsLimited() {
+        properties.setMaxItems(2);
+
+        assertThrows(BadRequestException.class, () -> service.createTicketInfos(List.of()));
+        assertThrows(BadRequestException.class, () -> service.createTicketInfos(
+                Collections.nCopies(3, TicketInfoDTO.builder().build())));
+        verifyNoInteractions(idRepository, batchRepository);
+    }
+
+    private static AttractionDTO.AttractionDTOBuilder attraction(final String name) {
+        return AttractionDTO.builder().name(name).attractionType("Парк").addressID(1L);
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.springapp.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.example.springapp.model.Address;
+import org.example.springapp.model.Attraction;
+import org.example.springapp.repository.AttractionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogExportServiceTest {
+    @Mock
+    private AttractionRepository repository;
+    @Mock
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void writesOneLinePerAttractionAndClearsContextPeriodically() throws Exception {
+        var closed = new AtomicBoolean();
+        when(repository.streamAll()).thenReturn(LongStream.rangeClosed(1, 5)
+                .mapToObj(id -> Attraction.builder().id(id).name("Attraction " + id).build())
+                .onClose(() -> closed.set(true)));
+        var service = new CatalogExportService(repository, entityManager, objectMapper, 2);
+        var output = new ByteArrayOutputStream();
+
+        assertEquals(5, service.exportAttractions(output));
+
+        var lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(5, lines.length);
+        assertEquals("Attraction 3", objectMapper.readTree(lines[2]).get("name").asText());
+        verify(entityManager, times(2)).clear();
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void addressIsExportedWithoutAttractionsAtIt() throws Exception {
+        var address = Address.builder().id(7L).city("Minsk").build();
+        var attraction = Attraction.builder().id(1L).name("Attraction 1").address(address).build();
+        address.setAttraction(new AbstractList<>() {
+            @Override
+            public Attraction get(int index) {
+                throw new AssertionError("Back collection must not be loaded");
+            }
+
+            @Override
+            public int size() {
+                throw new AssertionError("Back collection must not be loaded");
+            }
+        });
+        when(repository.streamAll()).thenReturn(Stream.of(attraction));
+        var output = new ByteArrayOutputStream();
+
+        new CatalogExportService(repository, entityManager, objectMapper, 1000).exportAttractions(output);
+
+        var exported = objectMapper.readTree(output.toString(StandardCharsets.UTF_8)).get("address");
+        assertEquals("Minsk", exported.get("city").asText());
+        assertFalse(exported.has("attraction"));
+    }
+}
@@ -3,12 +3,15 @@ package org.example.springapp.service.impl;
 import org.example.springapp.exception.ResourceNotFoundException;
 import org.example.springapp.model.Service;
 import org.example.springapp.repository.ServiceRepository;
+import org.example.springapp.utils.enums.SortKey;
+import org.example.springapp.utils.pagination.PageCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.util.List;
 import java.util.Optional;
@@ -42,6 +45,16 @@ class ServiceServiceTest {
         verify(repository, times(1)).save(serviceData);
     }
 
+    @Test
+    void readPageByNameContinuesWithUnnamedWhenPageIsShort() {
+        var unnamed = Service.builder().id(7L).build();
+        when(repository.findByNameAfter("A", 5L, Limit.of(3))).thenReturn(List.of(serviceData));
+        when(repository.findByNameIsNullAndIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, Limit.of(2)))
+                .thenReturn(List.of(unnamed));
+
+        assertEquals(List.of(serviceData, unnamed), service.readPageByName(PageCursor.at(SortKey.NAME, 5L, "A"), 3));
+    }
+
     @Test
     void readAllAddressesSuccess() {
         var excepted = List.of(serviceData);
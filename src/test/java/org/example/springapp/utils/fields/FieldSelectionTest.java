@@ -0,0 +1,48 @@
+package org.example.springapp.utils.fields;
+
+import org.example.springapp.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldSelectionTest {
+    private static final List<String> FIELDS = List.of("id", "name", "description", "latitude");
+    private static final List<String> EXPANSIONS = List.of("address", "services");
+
+    @Test
+    void parseAddsIdToSelectedFields() throws BadRequestException {
+        var selection = FieldSelection.parse("name, latitude", null, FIELDS, EXPANSIONS);
+
+        assertEquals(Set.of("id", "name", "latitude"), selection.fields());
+        assertTrue(selection.includes("id"));
+        assertFalse(selection.includes("description"));
+        assertFalse(selection.expands("address"));
+    }
+
+    @Test
+    void emptyFieldsSelectEverything() throws BadRequestException {
+        var selection = FieldSelection.parse(null, "services", FIELDS, EXPANSIONS);
+
+        assertTrue(selection.includes("description"));
+        assertTrue(selection.expands("services"));
+        assertSame(selection, selection.with("name"));
+    }
+
+    @Test
+    void cacheKeyDoesNotDependOnParameterOrder() throws BadRequestException {
+        var first = FieldSelection.parse("name,latitude", "services,address", FIELDS, EXPANSIONS);
+        var second = FieldSelection.parse("latitude,name", "address,services", FIELDS, EXPANSIONS);
+
+        assertEquals(first.cacheKey(), second.cacheKey());
+        assertNotEquals(first.cacheKey(), FieldSelection.parse("name", null, FIELDS, EXPANSIONS).cacheKey());
+    }
+
+    @Test
+    void unknownNamesAreRejected() {
+        assertThrows(BadRequestException.class, () -> FieldSelection.parse("password", null, FIELDS, EXPANSIONS));
+        assertThrows(BadRequestException.class, () -> FieldSelection.parse(null, "ticketInfo", FIELDS, EXPANSIONS));
+    }
+}
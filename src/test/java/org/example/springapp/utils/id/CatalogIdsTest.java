@@ -0,0 +1,52 @@
+package org.example.springapp.utils.id;
+
+import org.example.springapp.utils.enums.IdStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogIdsTest {
+
+    @Test
+    void sequenceIsQueriedOncePerBlock() {
+        var ids = new CatalogIds(IdStrategy.SEQUENCE, 0);
+        List<String> requests = new ArrayList<>();
+        var nextValue = new long[]{1};
+
+        List<Long> result = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            result.add(ids.next(CatalogIds.ADDRESS_SEQUENCE, sequence -> {
+                requests.add(sequence);
+                var block = new long[]{nextValue[0], 3};
+                nextValue[0] += 3;
+                return block;
+            }));
+        }
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), result);
+        assertEquals(List.of(CatalogIds.ADDRESS_SEQUENCE, CatalogIds.ADDRESS_SEQUENCE), requests);
+    }
+
+    @Test
+    void sequencesHaveSeparateBlocks() {
+        var ids = new CatalogIds(IdStrategy.SEQUENCE, 0);
+
+        assertEquals(10, ids.next(CatalogIds.ADDRESS_SEQUENCE, sequence -> new long[]{10, 50}));
+        assertEquals(100, ids.next(CatalogIds.SERVICE_SEQUENCE, sequence -> new long[]{100, 50}));
+        assertEquals(11, ids.next(CatalogIds.ADDRESS_SEQUENCE, sequence -> fail("block is not used up")));
+    }
+
+    @Test
+    void timeStrategyDoesNotQueryDatabase() {
+        var ids = new CatalogIds(IdStrategy.TIME, 3);
+
+        var first = ids.next(CatalogIds.ATTRACTION_SEQUENCE, sequence -> fail("sequence must not be queried"));
+        var second = ids.next(CatalogIds.SERVICE_SEQUENCE, sequence -> fail("sequence must not be queried"));
+
+        assertTrue(second > first);
+        assertEquals(3, (first >>> 12) & 1023);
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.springapp.utils.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedIdsTest {
+    private static final long NOW = TimeOrderedIds.EPOCH + 1_000;
+
+    @Test
+    void idsContainTimeNodeAndCounter() {
+        var ids = new TimeOrderedIds(5, () -> NOW);
+
+        var first = ids.next();
+        var second = ids.next();
+
+        assertEquals(1_000, first >>> 22);
+        assertEquals(5, (first >>> 12) & 1023);
+        assertEquals(0, first & 4095);
+        assertEquals(first + 1, second);
+    }
+
+    @Test
+    void differentNodesNeverCollide() {
+        var first = new TimeOrderedIds(1, () -> NOW);
+        var second = new TimeOrderedIds(2, () -> NOW);
+
+        assertNotEquals(first.next(), second.next());
+    }
+
+    @Test
+    void idsKeepGrowingWhenClockGoesBackwards() {
+        var clock = new AtomicLong(NOW);
+        var ids = new TimeOrderedIds(0, clock::get);
+
+        var before = ids.next();
+        clock.set(NOW - 500);
+
+        assertTrue(ids.next() > before);
+    }
+
+    @Test
+    void counterOverflowMovesToNextMillisecond() {
+        var ids = new TimeOrderedIds(0, () -> NOW);
+        var last = 0L;
+        for (int i = 0; i < 4096; i++) {
+            last = ids.next();
+        }
+
+        var next = ids.next();
+
+        assertTrue(next > last);
+        assertEquals(1_001, next >>> 22);
+    }
+
+    @Test
+    void nodeOutOfRangeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIds(1024));
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIds(-1));
+    }
+}
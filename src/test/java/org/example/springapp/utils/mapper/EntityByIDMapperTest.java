@@ -3,15 +3,19 @@ package org.example.springapp.utils.mapper;
 import lombok.Builder;
 import org.example.springapp.exception.ResourceNotFoundException;
 import org.example.springapp.service.CRUDService;
+import org.example.springapp.utils.pagination.PageCursor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class EntityByIDMapperTest {
@@ -21,22 +25,19 @@ class EntityByIDMapperTest {
 
     @Test
     void testFetchByIdsAllFound() throws ResourceNotFoundException {
-        List<Long> ids = List.of(1L, 2L, 3L);
-        for (Long id : ids) {
-            when(service.getByID(id)).thenReturn(new TestEntity(id));
-        }
+        List<Long> ids = List.of(3L, 1L, 2L);
+        when(service.getByIDs(Set.of(1L, 2L, 3L))).thenReturn(Map.of(
+                1L, new TestEntity(1L), 2L, new TestEntity(2L), 3L, new TestEntity(3L)));
 
         List<TestEntity> entities = EntityByIDMapper.fetchByIds(ids, service, "TestEntity");
-        assertEquals(3, entities.size());
-        assertTrue(entities.stream().allMatch(e -> ids.contains(e.id())));
+        assertEquals(ids, entities.stream().map(TestEntity::id).toList());
+        verify(service, never()).getByID(anyLong());
     }
 
     @Test
     void testFetchByIdsPartialFailure() {
         List<Long> ids = List.of(1L, 2L, 3L);
-        when(service.getByID(1L)).thenReturn(new TestEntity(1L));
-        when(service.getByID(2L)).thenThrow(new ResourceNotFoundException("Not found"));
-        when(service.getByID(3L)).thenReturn(new TestEntity(3L));
+        when(service.getByIDs(Set.of(1L, 2L, 3L))).thenReturn(Map.of(1L, new TestEntity(1L), 3L, new TestEntity(3L)));
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () ->
                 EntityByIDMapper.fetchByIds(ids, service, "TestEntity"));
@@ -47,9 +48,7 @@ class EntityByIDMapperTest {
     @Test
     void testFetchByIdsAllNotFound() {
         List<Long> ids = List.of(1L, 2L);
-        for (Long id : ids) {
-            when(service.getByID(id)).thenThrow(new ResourceNotFoundException("Not found"));
-        }
+        when(service.getByIDs(Set.of(1L, 2L))).thenReturn(Map.of());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () ->
                 EntityByIDMapper.fetchByIds(ids, service, "TestEntity"));
@@ -72,6 +71,21 @@ class EntityByIDMapperTest {
             return null;
         }
 
+        @Override
+        public List<TestEntity> readPage(PageCursor after, int limit) {
+            return null;
+        }
+
+        @Override
+        public List<TestEntity> readByIds(List<Long> ids) {
+            return null;
+        }
+
+        @Override
+        public Map<Long, TestEntity> getByIDs(Collection<Long> ids) {
+            return null;
+        }
+
         @Override
         public TestEntity getByID(Long id) {
             return TestEntity.builder().id(id).build();
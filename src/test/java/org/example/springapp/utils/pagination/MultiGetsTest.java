@@ -0,0 +1,26 @@
+package org.example.springapp.utils.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiGetsTest {
+
+    @Test
+    void itemsFollowRequestOrder() {
+        var result = MultiGets.of(List.of(30L, 10L, 20L), List.of(10L, 20L, 30L), Long::valueOf);
+
+        assertEquals(List.of(30L, 10L, 20L), result.getItems());
+        assertEquals(List.of(), result.getMissingIds());
+    }
+
+    @Test
+    void missingIdsAreReportedInRequestOrder() {
+        var result = MultiGets.of(List.of(5L, 4L, 3L), List.of(4L), Long::valueOf);
+
+        assertEquals(List.of(4L), result.getItems());
+        assertEquals(List.of(5L, 3L), result.getMissingIds());
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.springapp.utils.pagination;
+
+import org.example.springapp.exception.BadRequestException;
+import org.example.springapp.utils.enums.SortKey;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PagesTest {
+
+    @Test
+    void ofWalksSortedListWithCursors() throws BadRequestException {
+        var ids = LongStream.rangeClosed(1, 5).map(id -> id * 10).boxed().toList();
+
+        var first = Pages.of(after(ids, null, 3), 2, PageCursor::afterId);
+        assertEquals(List.of(10L, 20L), first.getItems());
+
+        var second = Pages.of(after(ids, PageCursor.decode(first.getNextCursor(), SortKey.ID), 3), 2,
+                PageCursor::afterId);
+        assertEquals(List.of(30L, 40L), second.getItems());
+
+        var last = Pages.of(after(ids, PageCursor.decode(second.getNextCursor(), SortKey.ID), 3), 2,
+                PageCursor::afterId);
+        assertEquals(List.of(50L), last.getItems());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void ofCutsPageFromLongerHead() {
+        var page = Pages.of(List.of(10L, 30L, 40L, 50L), 2, PageCursor::afterId);
+        assertEquals(List.of(10L, 30L), page.getItems());
+        assertEquals(PageCursor.afterId(30).encode(), page.getNextCursor());
+    }
+
+    @Test
+    void cursorKeepsNameWithSeparators() throws BadRequestException {
+        var cursor = PageCursor.at(SortKey.NAME, 7, "Tower: east wing");
+        assertEquals(cursor, PageCursor.decode(cursor.encode(), SortKey.NAME));
+        assertNull(PageCursor.at(SortKey.ID, 7, "ignored").name());
+    }
+
+    @Test
+    void cursorKeepsMissingName() throws BadRequestException {
+        var cursor = PageCursor.at(SortKey.NAME, 7, null);
+        assertEquals(cursor, PageCursor.decode(cursor.encode(), SortKey.NAME));
+        assertEquals(PageCursor.at(SortKey.NAME, 7, ""),
+                PageCursor.decode(PageCursor.at(SortKey.NAME, 7, "").encode(), SortKey.NAME));
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThrows(BadRequestException.class, () -> PageCursor.decode("not a cursor", SortKey.ID));
+        assertThrows(BadRequestException.class, () -> PageCursor.decode(PageCursor.afterId(1).encode(), SortKey.NAME));
+        assertNull(assertDoesNotThrow(() -> PageCursor.decode(null, SortKey.ID)));
+    }
+
+    private static List<Long> after(final List<Long> ids, final PageCursor cursor, final int limit) {
+        return ids.stream().filter(id -> cursor == null || id > cursor.id()).limit(limit).toList();
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.springapp.web;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.springapp.cache.SerializedResponseCache;
+import org.example.springapp.datasource.ReadRouting;
+import org.example.springapp.event.EntityChangedEvent;
+import org.example.springapp.model.Service;
+import org.example.springapp.utils.enums.ChangeType;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogResponseCacheFilterTest {
+    private final SerializedResponseCache cache = new SerializedResponseCache();
+    private final CatalogResponseCacheFilter filter = new CatalogResponseCacheFilter(cache);
+
+    @Test
+    void secondRequestIsServedWithoutCallingController() throws Exception {
+        var calls = new AtomicInteger();
+        var servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                calls.incrementAndGet();
+                resp.setContentType("application/json");
+                resp.getOutputStream().write("[]".getBytes(StandardCharsets.UTF_8));
+            }
+        };
+
+        var first = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/services/all"), first, new MockFilterChain(servlet));
+        assertEquals("[]", first.getContentAsString());
+
+        var request = new MockHttpServletRequest("GET", "/api/services/all");
+        request.addHeader("Accept-Encoding", "gzip, deflate");
+        var second = new MockHttpServletResponse();
+        filter.doFilter(request, second, new MockFilterChain(servlet));
+
+        assertEquals(1, calls.get());
+        assertEquals("gzip", second.getHeader("Content-Encoding"));
+        assertArrayEquals(cache.get("/api/services/all").gzip(), second.getContentAsByteArray());
+    }
+
+    @Test
+    void writeToServiceRebuildsAttractionSummaries() throws Exception {
+        var serviceTypes = new AtomicReference<>("[\"GUIDE\"]");
+        var servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType("application/json");
+                resp.getOutputStream().write(("[{\"serviceTypes\":" + serviceTypes.get() + "}]")
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+        };
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/attractions/all"), new MockHttpServletResponse(),
+                new MockFilterChain(servlet));
+
+        serviceTypes.set("[\"GUIDE\",\"MEALS\"]");
+        cache.onEntityChanged(new EntityChangedEvent(Service.class, 1L, ChangeType.UPDATED));
+        var response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/attractions/all"), response,
+                new MockFilterChain(servlet));
+
+        assertEquals("[{\"serviceTypes\":[\"GUIDE\",\"MEALS\"]}]", response.getContentAsString());
+    }
+
+    @Test
+    void rebuildAfterWriteReadsFromPrimary() throws Exception {
+        var cache = new SerializedResponseCache(Duration.ofMinutes(1));
+        var filter = new CatalogResponseCacheFilter(cache);
+        var onPrimary = new ArrayList<Boolean>();
+        var servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                onPrimary.add(ReadRouting.isPrimaryOnly());
+                resp.setContentType("application/json");
+                resp.getOutputStream().write("[]".getBytes(StandardCharsets.UTF_8));
+            }
+        };
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/services/all"), new MockHttpServletResponse(),
+                new MockFilterChain(servlet));
+
+        cache.onEntityChanged(new EntityChangedEvent(Service.class, 1L, ChangeType.CREATED));
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/services/all"), new MockHttpServletResponse(),
+                new MockFilterChain(servlet));
+
+        assertEquals(List.of(false, true), onPrimary);
+        assertFalse(ReadRouting.isPrimaryOnly());
+    }
+
+    @Test
+    void acceptsGzipHonoursQuality() {
+        assertTrue(CatalogResponseCacheFilter.acceptsGzip("br, gzip;q=0.8"));
+        assertFalse(CatalogResponseCacheFilter.acceptsGzip("gzip;q=0"));
+        assertFalse(CatalogResponseCacheFilter.acceptsGzip("identity"));
+        assertFalse(CatalogResponseCacheFilter.acceptsGzip(null));
+    }
+}
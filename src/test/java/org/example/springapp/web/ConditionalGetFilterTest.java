@@ -0,0 +1,98 @@
+package org.example.springapp.web;
+
+import org.example.springapp.cache.CatalogVersions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConditionalGetFilterTest {
+    private static final String ETAG = "W/\"abc\"";
+
+    @Mock
+    private CatalogVersions catalogVersions;
+    @InjectMocks
+    private ConditionalGetFilter filter;
+
+    @Test
+    void matchingEtagShortCircuitsTo304() throws Exception {
+        when(catalogVersions.validatorsFor(List.of("service")))
+                .thenReturn(new CatalogVersions.Validators(ETAG, 1_000L));
+        var request = new MockHttpServletRequest("GET", "/api/services/find/1");
+        request.addHeader("If-None-Match", ETAG);
+        var response = new MockHttpServletResponse();
+        var chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(304, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void freshRequestGetsValidatorsAndReachesController() throws Exception {
+        when(catalogVersions.validatorsFor(List.of("service")))
+                .thenReturn(new CatalogVersions.Validators(ETAG, 1_000L));
+        var response = new MockHttpServletResponse();
+        var chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/services/all"), response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(ETAG, response.getHeader("ETag"));
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void unavailableVersionsDoNotFailRequest() throws Exception {
+        when(catalogVersions.validatorsFor(List.of("service")))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+        var response = new MockHttpServletResponse();
+        var chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/services/all"), response, chain);
+
+        assertNull(response.getHeader("ETag"));
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void multiGetUsesControllerTables() throws Exception {
+        when(catalogVersions.validatorsFor(List.of("attraction", "address", "ticket_info", "service")))
+                .thenReturn(new CatalogVersions.Validators(ETAG, 1_000L));
+        var request = new MockHttpServletRequest("GET", "/api/attractions");
+        request.setParameter("ids", "1,2");
+        request.addHeader("If-None-Match", ETAG);
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertEquals(304, response.getStatus());
+    }
+
+    @Test
+    void unrelatedPathsWithSamePrefixAreNotFiltered() throws Exception {
+        var chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/attractions-legacy/all"), new MockHttpServletResponse(),
+                chain);
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void writesAreNotFiltered() throws Exception {
+        var chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/services/create"), new MockHttpServletResponse(), chain);
+        assertNotNull(chain.getRequest());
+    }
+}
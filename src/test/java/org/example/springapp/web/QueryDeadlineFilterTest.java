@@ -0,0 +1,129 @@
+package org.example.springapp.web;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.example.springapp.config.QueryTimeoutProperties;
+import org.example.springapp.datasource.QueryDeadline;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryDeadlineFilterTest {
+    private final QueryDeadlineFilter filter = new QueryDeadlineFilter(properties());
+
+    @Test
+    void mostSpecificEndpointWins() {
+        assertEquals(Duration.ofSeconds(2), filter.timeoutOf(request("/api/attractions/all")));
+        assertEquals(Duration.ofSeconds(5), filter.timeoutOf(request("/api/services/all")));
+        assertEquals(Duration.ofSeconds(10), filter.timeoutOf(request("/api/attractions/find/1")));
+        assertEquals(Duration.ZERO, filter.timeoutOf(request("/api/attractions/export")));
+    }
+
+    @Test
+    void clientTimeoutOnlyShortensDeadline() {
+        var request = request("/api/attractions/all");
+        request.addHeader("X-Request-Timeout", "500");
+        assertEquals(Duration.ofMillis(500), filter.timeoutOf(request));
+
+        request = request("/api/attractions/all");
+        request.addHeader("X-Request-Timeout", "60000");
+        assertEquals(Duration.ofSeconds(2), filter.timeoutOf(request));
+
+        request = request("/api/attractions/all");
+        request.addHeader("X-Request-Timeout", "soon");
+        assertEquals(Duration.ofSeconds(2), filter.timeoutOf(request));
+    }
+
+    @Test
+    void deadlineIsBoundForRequest() throws Exception {
+        var seen = new AtomicReference<QueryDeadline>();
+
+        filter.doFilter(request("/api/attractions/all"), new MockHttpServletResponse(),
+                (req, res) -> seen.set(QueryDeadline.current()));
+
+        assertNotNull(seen.get());
+        assertTrue(seen.get().remaining().compareTo(Duration.ofSeconds(2)) <= 0);
+        assertNull(QueryDeadline.current());
+    }
+
+    @Test
+    void sharedLoadsIgnoreClientTimeout() throws Exception {
+        var request = request("/api/attractions/all");
+        request.addHeader("X-Request-Timeout", "500");
+        var own = new AtomicReference<Duration>();
+        var shared = new AtomicReference<Duration>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            own.set(QueryDeadline.current().remaining());
+            var previous = QueryDeadline.enterShared();
+            shared.set(QueryDeadline.current().remaining());
+            QueryDeadline.restore(previous);
+        });
+
+        assertTrue(own.get().compareTo(Duration.ofMillis(500)) <= 0);
+        assertTrue(shared.get().compareTo(Duration.ofSeconds(1)) > 0);
+    }
+
+    @Test
+    void sharedLoadsOfUnlimitedEndpointHaveNoDeadline() throws Exception {
+        var request = request("/api/attractions/export");
+        request.addHeader("X-Request-Timeout", "500");
+        var shared = new AtomicReference<QueryDeadline>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            assertNotNull(QueryDeadline.current());
+            var previous = QueryDeadline.enterShared();
+            shared.set(QueryDeadline.current());
+            QueryDeadline.restore(previous);
+        });
+
+        assertNull(shared.get());
+    }
+
+    @Test
+    void unlimitedEndpointHasNoDeadline() throws Exception {
+        var seen = new AtomicReference<QueryDeadline>();
+
+        filter.doFilter(request("/api/attractions/export"), new MockHttpServletResponse(),
+                (req, res) -> seen.set(QueryDeadline.current()));
+
+        assertNull(seen.get());
+    }
+
+    @Test
+    void asyncErrorCancelsQueries() throws Exception {
+        var request = request("/api/attractions/all");
+        request.setAsyncSupported(true);
+        var response = new MockHttpServletResponse();
+        var seen = new AtomicReference<QueryDeadline>();
+
+        filter.doFilter(request, response, (req, res) -> {
+            seen.set(QueryDeadline.current());
+            req.startAsync();
+        });
+        for (AsyncListener listener : ((MockAsyncContext) request.getAsyncContext()).getListeners()) {
+            listener.onError(new AsyncEvent(request.getAsyncContext()));
+        }
+
+        assertTrue(seen.get().isCancelled());
+        assertEquals(Duration.ZERO, seen.get().remaining());
+    }
+
+    private static MockHttpServletRequest request(final String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+
+    private static QueryTimeoutProperties properties() {
+        var properties = new QueryTimeoutProperties();
+        properties.getEndpoints().put("/api/*/all", Duration.ofSeconds(5));
+        properties.getEndpoints().put("/api/attractions/all", Duration.ofSeconds(2));
+        properties.getEndpoints().put("/api/attractions/export", Duration.ZERO);
+        return properties;
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.springapp.web;
+
+import jakarta.servlet.http.Cookie;
+import org.example.springapp.config.ReplicaProperties;
+import org.example.springapp.datasource.ReadRouting;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaStickinessFilterTest {
+    private final ReplicaStickinessFilter filter = new ReplicaStickinessFilter(new ReplicaProperties());
+
+    @Test
+    void writeSetsStickinessCookie() throws Exception {
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/attractions/create"), response,
+                new MockFilterChain());
+
+        var cookie = response.getCookie(ReplicaStickinessFilter.COOKIE);
+        assertNotNull(cookie);
+        assertTrue(Long.parseLong(cookie.getValue()) > System.currentTimeMillis());
+    }
+
+    @Test
+    void readAfterWriteGoesToPrimary() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/api/attractions/find/1");
+        request.setCookies(new Cookie(ReplicaStickinessFilter.COOKIE,
+                Long.toString(System.currentTimeMillis() + 5_000)));
+        var sticky = new AtomicBoolean();
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> sticky.set(ReadRouting.isPrimaryOnly()));
+
+        assertTrue(sticky.get());
+        assertFalse(ReadRouting.isPrimaryOnly());
+    }
+
+    @Test
+    void expiredCookieReadsFromReplica() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/api/attractions/find/1");
+        request.setCookies(new Cookie(ReplicaStickinessFilter.COOKIE, "1"));
+        var sticky = new AtomicBoolean(true);
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> sticky.set(ReadRouting.isPrimaryOnly()));
+
+        assertFalse(sticky.get());
+    }
+}